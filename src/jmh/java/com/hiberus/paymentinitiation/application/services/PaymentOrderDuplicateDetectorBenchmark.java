@@ -0,0 +1,135 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.InMemoryPaymentOrderRepositoryAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Screening against a window holding {@code size} stored orders, ten per debtor, created at a steady
+ * rate over the window and with the filters sized for exactly that many. {@code screenNew} checks
+ * orders that repeat nothing, which the filter clears except for its false positives;
+ * {@code screenRepeat} checks orders that repeat a stored one and so always take the exact check
+ * through the debtor-and-creditor index. The filter's own add and query are measured apart, and the
+ * setup prints the false-positive rate measured over orders never stored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentOrderDuplicateDetectorBenchmark {
+
+    private static final int ORDERS_PER_DEBTOR = 10;
+    private static final int PROBES = 4096;
+    private static final int FALSE_POSITIVE_SAMPLE = 100_000;
+
+    @Param("100000")
+    private int size;
+
+    private PaymentOrderDuplicateDetector detector;
+    private SlidingBloomFilter filter;
+    private final PaymentOrder[] newOrders = new PaymentOrder[PROBES];
+    private final PaymentOrder[] repeats = new PaymentOrder[PROBES];
+    private final long[] newHashes = new long[PROBES];
+    private long nowMillis;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        DuplicateDetectionProperties properties = new DuplicateDetectionProperties();
+        properties.setExpectedOrders(size);
+        InMemoryPaymentOrderRepositoryAdapter repository =
+                new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+        detector = new PaymentOrderDuplicateDetector(repository, properties);
+        filter = new SlidingBloomFilter(properties.getWindow(), properties.getSlices(), size,
+                properties.getFalsePositiveRate());
+        LocalDateTime now = LocalDateTime.now();
+        nowMillis = now.toEpochSecond(ZoneOffset.UTC) * 1000 + now.getNano() / 1_000_000;
+        long windowMillis = properties.getWindow().toMillis();
+        for (int i = 0; i < size; i++) {
+            long age = windowMillis * (size - i) / (size + 1);
+            PaymentOrder order = order("PO-" + i, "EXT-" + i, i, now.minus(age, ChronoUnit.MILLIS));
+            repository.save(order);
+            filter.add(PaymentOrderDuplicateDetector.hash(order), nowMillis - age);
+        }
+        for (int i = 0; i < PROBES; i++) {
+            newOrders[i] = order("PO-N" + i, "EXT-N" + i, size + i, now);
+            newHashes[i] = PaymentOrderDuplicateDetector.hash(newOrders[i]);
+            int repeated = (int) ((long) i * size / PROBES);
+            repeats[i] = order("PO-R" + i, "EXT-R" + i, repeated, now);
+        }
+
+        long hits = 0;
+        for (int i = 0; i < FALSE_POSITIVE_SAMPLE; i++) {
+            if (filter.mightContain(PaymentOrderDuplicateDetector.hash(order("PO-F", "EXT-F", 2 * size + i, now)), nowMillis)) {
+                hits++;
+            }
+        }
+        System.out.printf("%n%d orders in the window: false positives %.3f%% (configured %.1f%%), filters %,d bytes%n",
+                size, 100.0 * hits / FALSE_POSITIVE_SAMPLE, 100 * properties.getFalsePositiveRate(), filter.sizeInBytes());
+    }
+
+    @Benchmark
+    public PaymentOrder screenNew() {
+        return detector.screen(newOrders[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public PaymentOrder screenRepeat() {
+        return detector.screen(repeats[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public boolean filterMightContain() {
+        return filter.mightContain(newHashes[next++ & (PROBES - 1)], nowMillis);
+    }
+
+    @Benchmark
+    public void filterAdd() {
+        filter.add(newHashes[next++ & (PROBES - 1)] + next, nowMillis);
+    }
+
+    /**
+     * Order {@code n} of debtor {@code n / 10}, each to its own creditor, with amounts cycling so that
+     * only the IBANs tell most orders apart.
+     */
+    private static PaymentOrder order(String id, String externalReference, int n, LocalDateTime createdAt) {
+        return PaymentOrder.builder()
+                .id(id)
+                .externalReference(externalReference)
+                .debtorAccount(new Account(iban("ES", n / ORDERS_PER_DEBTOR)))
+                .creditorAccount(new Account(iban("DE", n)))
+                .instructedAmount(new Amount(BigDecimal.valueOf(100 + n % 900, 2), "EUR"))
+                .requestedExecutionDate(LocalDate.of(2025, 10, 31))
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .createdAt(createdAt)
+                .lastUpdate(createdAt)
+                .build();
+    }
+
+    private static String iban(String country, int account) {
+        return country + String.format("%020d", account);
+    }
+}
@@ -0,0 +1,189 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderExposure;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.InMemoryPaymentOrderRepositoryAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Status changes of orders that all belong to one hot debtor, applied by four threads at once to the
+ * projection's {@code LongAdder}s, to the same totals as {@link AtomicLongArray} slots (one CAS per
+ * total, retried under contention) and as {@link BigDecimal}s under a lock. Each change takes the
+ * amount out of one status and into another, overall and for the order's date. Reads compare the
+ * projection with summing the debtor's {@code size} orders through the repository's debtor index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentOrderExposureProjectionBenchmark {
+
+    private static final String DEBTOR = "ES9121000418450200051332";
+    private static final LocalDate DATE = LocalDate.of(2025, 10, 31);
+    // overall totals, then the totals of the date; a count and an amount per status in each
+    private static final int[] OFFSETS = {0, 6};
+
+    @Param("10000")
+    private int size;
+
+    private InMemoryPaymentOrderRepositoryAdapter repository;
+    private PaymentOrderExposureProjection projection;
+    private final AtomicLongArray atomicTotals = new AtomicLongArray(12);
+    private final LockedTotals lockedTotals = new LockedTotals();
+
+    @State(Scope.Thread)
+    public static class Change {
+        PaymentOrder pending;
+        PaymentOrder executed;
+        boolean settled;
+
+        @Setup
+        public void setUp() {
+            pending = order("PO-" + Thread.currentThread().getId(), new BigDecimal("150.75"),
+                    PaymentOrder.PaymentOrderStatus.PENDING);
+            executed = pending.toBuilder().status(PaymentOrder.PaymentOrderStatus.EXECUTED).build();
+        }
+
+        PaymentOrder previous() {
+            return settled ? executed : pending;
+        }
+
+        PaymentOrder next() {
+            settled = !settled;
+            return settled ? executed : pending;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+        for (int i = 0; i < size; i++) {
+            repository.save(order("PO-" + i, BigDecimal.valueOf(100 + i % 900, 2), PaymentOrder.PaymentOrderStatus.PENDING));
+        }
+        projection = new PaymentOrderExposureProjection(repository);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void longAdder(Change change) {
+        PaymentOrder previous = change.previous();
+        projection.onChange(previous, change.next());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void atomicLong(Change change) {
+        PaymentOrder previous = change.previous();
+        PaymentOrder next = change.next();
+        long amount = next.getInstructedAmount().getAmount().movePointRight(2).longValueExact();
+        for (int offset : OFFSETS) {
+            int from = offset + previous.getStatus().ordinal() * 2;
+            int to = offset + next.getStatus().ordinal() * 2;
+            atomicTotals.addAndGet(from, -1);
+            atomicTotals.addAndGet(from + 1, -amount);
+            atomicTotals.addAndGet(to, 1);
+            atomicTotals.addAndGet(to + 1, amount);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void lockedBigDecimal(Change change) {
+        PaymentOrder previous = change.previous();
+        PaymentOrder next = change.next();
+        lockedTotals.move(previous.getStatus(), next.getStatus(), next.getInstructedAmount().getAmount(),
+                next.getRequestedExecutionDate());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public PaymentOrderExposure readProjection() {
+        return projection.exposure(DEBTOR, "EUR", null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BigDecimal readByScanning() {
+        BigDecimal pending = BigDecimal.ZERO;
+        PaymentOrderQuery query = PaymentOrderQuery.builder()
+                .debtorIban(DEBTOR)
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .limit(PaymentOrderQuery.MAX_LIMIT)
+                .build();
+        PaymentOrderPage page;
+        do {
+            page = repository.search(query);
+            for (PaymentOrder order : page.getItems()) {
+                pending = pending.add(order.getInstructedAmount().getAmount());
+            }
+            query = query.toBuilder().cursor(page.getNextCursor()).build();
+        } while (page.getNextCursor() != null);
+        return pending;
+    }
+
+    private static PaymentOrder order(String id, BigDecimal amount, PaymentOrder.PaymentOrderStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        return PaymentOrder.builder()
+                .id(id)
+                .externalReference("EXT-" + id)
+                .debtorAccount(new Account(DEBTOR))
+                .creditorAccount(new Account("DE89370400440532013000"))
+                .instructedAmount(new Amount(amount, "EUR"))
+                .requestedExecutionDate(DATE)
+                .status(status)
+                .createdAt(now)
+                .lastUpdate(now)
+                .build();
+    }
+
+    private static final class LockedTotals {
+
+        private final BigDecimal[] amounts = new BigDecimal[3];
+        private final long[] counts = new long[3];
+        private final Map<LocalDate, BigDecimal[]> byDate = new HashMap<>();
+
+        LockedTotals() {
+            Arrays.fill(amounts, BigDecimal.ZERO);
+        }
+
+        synchronized void move(PaymentOrder.PaymentOrderStatus from, PaymentOrder.PaymentOrderStatus to,
+                               BigDecimal amount, LocalDate date) {
+            counts[from.ordinal()]--;
+            counts[to.ordinal()]++;
+            amounts[from.ordinal()] = amounts[from.ordinal()].subtract(amount);
+            amounts[to.ordinal()] = amounts[to.ordinal()].add(amount);
+            BigDecimal[] onDate = byDate.computeIfAbsent(date,
+                    d -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO});
+            onDate[from.ordinal()] = onDate[from.ordinal()].subtract(amount);
+            onDate[to.ordinal()] = onDate[to.ordinal()].add(amount);
+        }
+    }
+}
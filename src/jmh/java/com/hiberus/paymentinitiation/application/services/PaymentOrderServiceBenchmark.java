@@ -0,0 +1,111 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderChangeListener;
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import com.hiberus.paymentinitiation.infrastructure.adapters.id.IdGeneratorProperties;
+import com.hiberus.paymentinitiation.infrastructure.adapters.id.TimeBasedPaymentOrderIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@code initiatePaymentOrder} itself: validation, id generation, completing the draft and the
+ * duplicate filter check, with a repository that keeps nothing so the measurement is not dominated by
+ * map growth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentOrderServiceBenchmark {
+
+    private final DiscardingRepository repository = new DiscardingRepository();
+    private final PaymentOrderServiceImpl service = new PaymentOrderServiceImpl(
+            repository, new TimeBasedPaymentOrderIdGenerator(idProperties()),
+            new PaymentOrderValidator(new ValidationProperties()),
+            new PaymentOrderDuplicateDetector(repository, new DuplicateDetectionProperties()));
+    private final PaymentOrder request = request();
+
+    @Benchmark
+    public PaymentOrder initiatePaymentOrder() {
+        return service.initiatePaymentOrder(request);
+    }
+
+    private static IdGeneratorProperties idProperties() {
+        IdGeneratorProperties properties = new IdGeneratorProperties();
+        properties.setNodeId(1);
+        return properties;
+    }
+
+    private static PaymentOrder request() {
+        return PaymentOrder.builder()
+                .externalReference("EXT-1")
+                .debtorAccount(new Account("ES9121000418450200051332"))
+                .creditorAccount(new Account("ES7921000813610123456789"))
+                .instructedAmount(new Amount(new BigDecimal("100.00"), "EUR"))
+                .remittanceInformation("Invoice 2025-001")
+                .requestedExecutionDate(LocalDate.of(2025, 1, 1))
+                .build();
+    }
+
+    private static final class DiscardingRepository implements PaymentOrderRepositoryPort {
+
+        @Override
+        public PaymentOrder save(PaymentOrder order) {
+            return order;
+        }
+
+        @Override
+        public List<PaymentOrder> saveAll(List<PaymentOrder> orders) {
+            return orders;
+        }
+
+        @Override
+        public PaymentOrder saveIfAbsent(PaymentOrder order) {
+            return order;
+        }
+
+        @Override
+        public List<PaymentOrder> saveAllIfAbsent(List<PaymentOrder> orders) {
+            return orders;
+        }
+
+        @Override
+        public Optional<PaymentOrder> findById(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public PaymentOrderPage search(PaymentOrderQuery query) {
+            return new PaymentOrderPage(List.of(), null);
+        }
+
+        @Override
+        public long count() {
+            return 0;
+        }
+
+        @Override
+        public void addChangeListener(PaymentOrderChangeListener listener) {
+        }
+    }
+}
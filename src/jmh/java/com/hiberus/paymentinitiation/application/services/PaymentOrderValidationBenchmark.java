@@ -0,0 +1,232 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.Iban;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Payload;
+import jakarta.validation.Valid;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of checking one valid initiation request (two IBANs, currency, amount scale, required fields):
+ * the allocation-free {@link PaymentOrderValidator} with and without its IBAN cache, a naive version
+ * using substrings, {@link BigInteger} and {@link Currency}, and Bean Validation annotations on an
+ * equivalent request class. IBAN strings are copied fresh into a new draft for every operation, as they
+ * would be after deserialization, so no variant benefits from a hash code cached in the string.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentOrderValidationBenchmark {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final BigInteger NINETY_SEVEN = BigInteger.valueOf(97);
+
+    private final char[][] ibans = new char[ACCOUNTS][];
+    private final PaymentOrder template = PaymentOrder.builder()
+            .externalReference("EXT-1")
+            .instructedAmount(new Amount(new BigDecimal("150.75"), "EUR"))
+            .requestedExecutionDate(LocalDate.of(2025, 10, 31))
+            .build();
+    private PaymentOrder request;
+    private final AnnotatedRequest annotated = new AnnotatedRequest();
+    private PaymentOrderValidator validator;
+    private PaymentOrderValidator cachedValidator;
+    private ValidatorFactory validatorFactory;
+    private Validator beanValidator;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            ibans[i] = spanishIban(random).toCharArray();
+        }
+        validator = new PaymentOrderValidator(new ValidationProperties());
+        ValidationProperties cached = new ValidationProperties();
+        cached.setIbanCacheSize(4_096);
+        cachedValidator = new PaymentOrderValidator(cached);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+
+        annotated.externalReference = "EXT-1";
+        annotated.debtorAccount = new AnnotatedAccount();
+        annotated.creditorAccount = new AnnotatedAccount();
+        annotated.instructedAmount = new AnnotatedAmount();
+        annotated.instructedAmount.amount = new BigDecimal("150.75");
+        annotated.instructedAmount.currency = "EUR";
+        annotated.requestedExecutionDate = LocalDate.of(2025, 10, 31);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public PaymentOrder validator() {
+        nextAccounts();
+        validator.validate(request);
+        return request;
+    }
+
+    @Benchmark
+    public PaymentOrder validatorWithIbanCache() {
+        nextAccounts();
+        cachedValidator.validate(request);
+        return request;
+    }
+
+    @Benchmark
+    public PaymentOrder naive() {
+        nextAccounts();
+        naiveValidate(request);
+        return request;
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<AnnotatedRequest>> beanValidation() {
+        nextAccounts();
+        annotated.debtorAccount.iban = request.getDebtorAccount().getIban();
+        annotated.creditorAccount.iban = request.getCreditorAccount().getIban();
+        Set<ConstraintViolation<AnnotatedRequest>> violations = beanValidator.validate(annotated);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException(violations.toString());
+        }
+        return violations;
+    }
+
+    private void nextAccounts() {
+        request = template.toBuilder()
+                .debtorAccount(new Account(new String(ibans[next])))
+                .creditorAccount(new Account(new String(ibans[(next + 1) % ACCOUNTS])))
+                .build();
+        next = (next + 1) % ACCOUNTS;
+    }
+
+    private static void naiveValidate(PaymentOrder request) {
+        if (request.getExternalReference() == null || request.getExternalReference().isBlank()
+                || request.getRequestedExecutionDate() == null) {
+            throw new IllegalArgumentException("missing field");
+        }
+        naiveIban(request.getDebtorAccount().getIban());
+        naiveIban(request.getCreditorAccount().getIban());
+        Currency currency = Currency.getInstance(request.getInstructedAmount().getCurrency());
+        BigDecimal amount = request.getInstructedAmount().getAmount();
+        if (amount.signum() <= 0 || amount.stripTrailingZeros().scale() > currency.getDefaultFractionDigits()) {
+            throw new IllegalArgumentException("invalid amount");
+        }
+    }
+
+    private static void naiveIban(String iban) {
+        String rearranged = iban.substring(4) + iban.substring(0, 4);
+        StringBuilder digits = new StringBuilder(rearranged.length() * 2);
+        for (char c : rearranged.toCharArray()) {
+            digits.append(Character.getNumericValue(c));
+        }
+        if (!new BigInteger(digits.toString()).mod(NINETY_SEVEN).equals(BigInteger.ONE)) {
+            throw new IllegalArgumentException("invalid IBAN");
+        }
+    }
+
+    private static String spanishIban(Random random) {
+        StringBuilder bban = new StringBuilder(20);
+        for (int i = 0; i < 20; i++) {
+            bban.append(random.nextInt(10));
+        }
+        int check = 98 - new BigInteger(bban + "142800").mod(NINETY_SEVEN).intValue();
+        return "ES" + (check < 10 ? "0" : "") + check + bban;
+    }
+
+    public static class AnnotatedRequest {
+        @NotBlank
+        String externalReference;
+        @NotNull
+        @Valid
+        AnnotatedAccount debtorAccount;
+        @NotNull
+        @Valid
+        AnnotatedAccount creditorAccount;
+        @NotNull
+        @Valid
+        AnnotatedAmount instructedAmount;
+        @NotNull
+        LocalDate requestedExecutionDate;
+    }
+
+    public static class AnnotatedAccount {
+        @NotNull
+        @Pattern(regexp = "[A-Z]{2}[0-9]{2}[A-Z0-9]{11,30}")
+        @ValidIban
+        String iban;
+    }
+
+    public static class AnnotatedAmount {
+        @NotNull
+        @Positive
+        @Digits(integer = 18, fraction = 2)
+        BigDecimal amount;
+        @NotNull
+        @Pattern(regexp = "[A-Z]{3}")
+        String currency;
+    }
+
+    /**
+     * The same mod-97 check as the validator, so the comparison isolates what the annotations cost.
+     */
+    @Target(ElementType.FIELD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = IbanConstraintValidator.class)
+    public @interface ValidIban {
+        String message() default "is not a valid IBAN";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    public static class IbanConstraintValidator implements ConstraintValidator<ValidIban, String> {
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+            return value == null || Iban.isValid(value);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.InitiatePaymentOrderRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost per order for each negotiable encoding, with the mappers Spring MVC uses, including {@link PaymentOrderJsonModule}. The
+ * encoded sizes (bytes on the wire, before HTTP framing) are printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentOrderEncodingBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private PaymentOrderMediaType mediaType;
+
+    private ObjectWriter responseWriter;
+    private ObjectReader requestReader;
+    private PaymentOrder response;
+    private byte[] encodedRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = switch (mediaType) {
+            case JSON -> Jackson2ObjectMapperBuilder.json().modulesToInstall(new PaymentOrderJsonModule()).build();
+            case CBOR -> Jackson2ObjectMapperBuilder.cbor().modulesToInstall(new PaymentOrderJsonModule()).build();
+            case SMILE -> Jackson2ObjectMapperBuilder.smile().modulesToInstall(new PaymentOrderJsonModule()).build();
+        };
+        responseWriter = mapper.writerFor(PaymentOrder.class);
+        requestReader = mapper.readerFor(PaymentOrder.class);
+        response = PaymentOrder.builder()
+                .id("PO-0A8MBKE72PY00")
+                .externalReference("EXT-1")
+                .debtorAccount(new Account("ES9121000418450200051332"))
+                .creditorAccount(new Account("ES7921000813610123456789"))
+                .instructedAmount(new Amount(new BigDecimal("1234.56"), "EUR"))
+                .remittanceInformation("Invoice 2025-001")
+                .requestedExecutionDate(LocalDate.of(2025, 1, 1))
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 9, 0))
+                .lastUpdate(LocalDateTime.of(2025, 1, 1, 9, 0))
+                .build();
+        encodedRequest = mapper.writeValueAsBytes(request());
+        System.out.printf("%n%s: request %d bytes, response %d bytes%n", mediaType, encodedRequest.length,
+                encodeResponse().length);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public PaymentOrder decodeRequest() throws IOException {
+        return requestReader.readValue(encodedRequest);
+    }
+
+    private static InitiatePaymentOrderRequest request() {
+        InitiatePaymentOrderRequest request = new InitiatePaymentOrderRequest();
+        request.setExternalReference("EXT-1");
+        InitiatePaymentOrderRequest.Account debtor = new InitiatePaymentOrderRequest.Account();
+        debtor.setIban("ES9121000418450200051332");
+        request.setDebtorAccount(debtor);
+        InitiatePaymentOrderRequest.Account creditor = new InitiatePaymentOrderRequest.Account();
+        creditor.setIban("ES7921000813610123456789");
+        request.setCreditorAccount(creditor);
+        InitiatePaymentOrderRequest.Amount amount = new InitiatePaymentOrderRequest.Amount();
+        amount.setAmount(new BigDecimal("1234.56"));
+        amount.setCurrency("EUR");
+        request.setInstructedAmount(amount);
+        request.setRemittanceInformation("Invoice 2025-001");
+        request.setRequestedExecutionDate(LocalDate.of(2025, 1, 1));
+        return request;
+    }
+}
@@ -0,0 +1,124 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.InitiatePaymentOrderRequest;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost per order of the initiation endpoint's two ends, through the DTOs as before
+ * {@link PaymentOrderJsonModule} (bind {@code InitiatePaymentOrderRequest}, copy it into a draft; copy
+ * the order into a {@code PaymentOrderResponse}, write it) and straight between the domain and the
+ * wire. Run with {@code -prof gc} to compare the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentOrderJsonBenchmark {
+
+    private final PaymentOrder order = PaymentOrder.builder()
+            .id("PO-0A8MBKE72PY00")
+            .externalReference("EXT-1")
+            .debtorAccount(new Account("ES9121000418450200051332"))
+            .creditorAccount(new Account("ES7921000813610123456789"))
+            .instructedAmount(new Amount(new BigDecimal("100.00"), "EUR"))
+            .remittanceInformation("Invoice 2025-001")
+            .requestedExecutionDate(LocalDate.of(2025, 1, 1))
+            .status(PaymentOrder.PaymentOrderStatus.PENDING)
+            .createdAt(LocalDateTime.of(2025, 1, 1, 9, 0))
+            .lastUpdate(LocalDateTime.of(2025, 1, 1, 9, 0))
+            .build();
+    private ObjectReader dtoReader;
+    private ObjectWriter dtoWriter;
+    private ObjectReader directReader;
+    private ObjectWriter directWriter;
+    private byte[] request;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper plain = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper direct = Jackson2ObjectMapperBuilder.json().modulesToInstall(new PaymentOrderJsonModule()).build();
+        dtoReader = plain.readerFor(InitiatePaymentOrderRequest.class);
+        dtoWriter = plain.writerFor(PaymentOrderResponse.class);
+        directReader = direct.readerFor(PaymentOrder.class);
+        directWriter = direct.writerFor(PaymentOrder.class);
+        request = direct.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public PaymentOrder readThroughDto() throws IOException {
+        return toDraft(dtoReader.readValue(request));
+    }
+
+    @Benchmark
+    public PaymentOrder readDirect() throws IOException {
+        return directReader.readValue(request);
+    }
+
+    @Benchmark
+    public byte[] writeThroughDto() throws IOException {
+        return dtoWriter.writeValueAsBytes(toResponse(order));
+    }
+
+    @Benchmark
+    public byte[] writeDirect() throws IOException {
+        return directWriter.writeValueAsBytes(order);
+    }
+
+    private static PaymentOrder toDraft(InitiatePaymentOrderRequest request) {
+        return PaymentOrder.builder()
+                .externalReference(request.getExternalReference())
+                .debtorAccount(new Account(request.getDebtorAccount().getIban()))
+                .creditorAccount(new Account(request.getCreditorAccount().getIban()))
+                .instructedAmount(new Amount(request.getInstructedAmount().getAmount(),
+                        request.getInstructedAmount().getCurrency()))
+                .remittanceInformation(request.getRemittanceInformation())
+                .requestedExecutionDate(request.getRequestedExecutionDate())
+                .build();
+    }
+
+    private static PaymentOrderResponse toResponse(PaymentOrder order) {
+        PaymentOrderResponse response = new PaymentOrderResponse();
+        response.setId(order.getId());
+        response.setExternalReference(order.getExternalReference());
+        PaymentOrderResponse.Account debtor = new PaymentOrderResponse.Account();
+        debtor.setIban(order.getDebtorAccount().getIban());
+        response.setDebtorAccount(debtor);
+        PaymentOrderResponse.Account creditor = new PaymentOrderResponse.Account();
+        creditor.setIban(order.getCreditorAccount().getIban());
+        response.setCreditorAccount(creditor);
+        PaymentOrderResponse.Amount amount = new PaymentOrderResponse.Amount();
+        amount.setAmount(order.getInstructedAmount().getAmount());
+        amount.setCurrency(order.getInstructedAmount().getCurrency());
+        response.setInstructedAmount(amount);
+        response.setRemittanceInformation(order.getRemittanceInformation());
+        response.setRequestedExecutionDate(order.getRequestedExecutionDate());
+        response.setStatus(order.getStatus().name());
+        response.setDuplicateSuspect(order.isDuplicateSuspect());
+        return response;
+    }
+}
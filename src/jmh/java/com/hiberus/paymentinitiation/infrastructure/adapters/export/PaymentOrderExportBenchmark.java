@@ -0,0 +1,177 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.export;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderChangeListener;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.InMemoryPaymentOrderRepositoryAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to export every order of one execution date, {@code size} of them, as pain.001 and as CSV to a
+ * stream that discards its bytes; orders per second are {@code size} divided by the score. Orders come
+ * either from the in-memory repository through its date index ({@code source=repository}) or from pages
+ * generated on request ({@code source=generated}), which holds no orders at all: run the latter with
+ * {@code -p size=1000000 -jvmArgs -Xmx64m} to check that the export itself needs no more than a page.
+ * {@code readOnly} walks the same pages without writing, the cost of reading alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentOrderExportBenchmark {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 10, 31);
+
+    @Param("100000")
+    private int size;
+
+    @Param({"repository", "generated"})
+    private String source;
+
+    private PaymentOrderUseCase useCase;
+    private PaymentOrderExporter exporter;
+    private Path spoolDirectory;
+
+    @Setup
+    public void setUp() throws IOException {
+        if ("repository".equals(source)) {
+            InMemoryPaymentOrderRepositoryAdapter repository =
+                    new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+            for (int i = 0; i < size; i++) {
+                repository.save(order(i));
+            }
+            useCase = new SearchOnly(repository::search);
+        } else {
+            useCase = new SearchOnly(this::generate);
+        }
+        spoolDirectory = Files.createTempDirectory("export-benchmark");
+        PaymentOrderExportProperties properties = new PaymentOrderExportProperties();
+        properties.setDirectory(spoolDirectory);
+        exporter = new PaymentOrderExporter(useCase, properties);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(spoolDirectory);
+    }
+
+    @Benchmark
+    public PaymentOrderExportSummary pain001() throws IOException {
+        return exporter.export(DATE, null, PaymentOrderExportFormat.PAIN_001, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public PaymentOrderExportSummary csv() throws IOException {
+        return exporter.export(DATE, null, PaymentOrderExportFormat.CSV, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public long readOnly() {
+        long orders = 0;
+        PaymentOrderQuery query = PaymentOrderQuery.builder()
+                .requestedExecutionDate(DATE)
+                .limit(PaymentOrderQuery.MAX_LIMIT)
+                .build();
+        PaymentOrderPage page;
+        do {
+            page = useCase.searchPaymentOrders(query);
+            orders += page.getItems().size();
+            query = query.toBuilder().cursor(page.getNextCursor()).build();
+        } while (page.getNextCursor() != null);
+        return orders;
+    }
+
+    private PaymentOrderPage generate(PaymentOrderQuery query) {
+        int from = query.getCursor() == null ? 0 : Integer.parseInt(query.getCursor());
+        int to = Math.min(size, from + query.getLimit());
+        List<PaymentOrder> items = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            items.add(order(i));
+        }
+        return new PaymentOrderPage(items, to < size ? Integer.toString(to) : null);
+    }
+
+    private static PaymentOrder order(int i) {
+        LocalDateTime now = LocalDateTime.of(2025, 10, 30, 10, 15);
+        return PaymentOrder.builder()
+                .id(String.format("PO-%08d", i))
+                .externalReference("EXT-" + i)
+                .debtorAccount(new Account("ES9121000418450200051332"))
+                .creditorAccount(new Account("DE89370400440532013000"))
+                .instructedAmount(new Amount(BigDecimal.valueOf(100 + i % 90_000, 2), "EUR"))
+                .remittanceInformation("Invoice " + i)
+                .requestedExecutionDate(DATE)
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .createdAt(now)
+                .lastUpdate(now)
+                .build();
+    }
+
+    private interface Search {
+        PaymentOrderPage search(PaymentOrderQuery query);
+    }
+
+    private record SearchOnly(Search search) implements PaymentOrderUseCase {
+
+        @Override
+        public PaymentOrderPage searchPaymentOrders(PaymentOrderQuery query) {
+            return search.search(query);
+        }
+
+        @Override
+        public PaymentOrder initiatePaymentOrder(PaymentOrder draft) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<PaymentOrder> initiatePaymentOrders(List<PaymentOrder> drafts) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<PaymentOrder> retrievePaymentOrder(String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<PaymentOrder> retrievePaymentOrderStatus(String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void subscribeToChanges(PaymentOrderChangeListener listener) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the previous {@code "PO-" + String.format("%04d", counter)} scheme with the striped
+ * time-based generator, single-threaded and under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentOrderIdGeneratorBenchmark {
+
+    private final AtomicLong counter = new AtomicLong(1);
+    private final TimeBasedPaymentOrderIdGenerator generator = new TimeBasedPaymentOrderIdGenerator(1, Clock.systemUTC());
+
+    @Benchmark
+    @Threads(1)
+    public String formattedCounter() {
+        return "PO-" + String.format("%04d", counter.getAndIncrement());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String formattedCounterContended() {
+        return "PO-" + String.format("%04d", counter.getAndIncrement());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String timeBased() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String timeBasedContended() {
+        return generator.nextId();
+    }
+}
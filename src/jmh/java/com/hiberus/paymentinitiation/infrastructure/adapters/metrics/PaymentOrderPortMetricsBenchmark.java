@@ -0,0 +1,100 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.metrics;
+
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.InMemoryPaymentOrderRepositoryAdapter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the port timing aspect, with the same percentile and histogram configuration as
+ * {@code application.yml}, over a plain repository lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentOrderPortMetricsBenchmark {
+
+    private PaymentOrderRepositoryPort plain;
+    private PaymentOrderRepositoryPort timed;
+    private PaymentOrder order;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentiles(0.5, 0.99, 0.999)
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        });
+        plain = new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+        var factory = new AspectJProxyFactory(plain);
+        factory.addAspect(new PaymentOrderPortMetricsAspect(registry));
+        timed = factory.getProxy();
+
+        LocalDateTime now = LocalDateTime.now();
+        order = PaymentOrder.builder()
+                .id("PO-1")
+                .externalReference("EXT-1")
+                .debtorAccount(new Account("ES9121000418450200051332"))
+                .creditorAccount(new Account("ES7921000813610123456789"))
+                .instructedAmount(new Amount(new BigDecimal("10.00"), "EUR"))
+                .requestedExecutionDate(LocalDate.now())
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .createdAt(now)
+                .lastUpdate(now)
+                .build();
+        plain.save(order);
+    }
+
+    @Benchmark
+    public Optional<PaymentOrder> findByIdPlain() {
+        return plain.findById("PO-1");
+    }
+
+    @Benchmark
+    public Optional<PaymentOrder> findByIdTimed() {
+        return timed.findById("PO-1");
+    }
+
+    @Benchmark
+    public PaymentOrder savePlain() {
+        return plain.save(order);
+    }
+
+    @Benchmark
+    public PaymentOrder saveTimed() {
+        return timed.save(order);
+    }
+}
@@ -0,0 +1,91 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Save and lookup against a pre-populated repository, single-threaded and with every available core.
+ * Saves overwrite existing ids so the map size stays fixed for the whole run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InMemoryPaymentOrderRepositoryBenchmark {
+
+    @Param("100000")
+    private int size;
+
+    private InMemoryPaymentOrderRepositoryAdapter repository;
+    private String[] ids;
+    private PaymentOrder[] orders;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+        ids = new String[size];
+        orders = new PaymentOrder[size];
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            ids[i] = "PO-" + i;
+            orders[i] = PaymentOrder.builder()
+                    .id(ids[i])
+                    .externalReference("EXT-" + i)
+                    .debtorAccount(new Account("ES9121000418450200051332"))
+                    .creditorAccount(new Account("ES7921000813610123456789"))
+                    .instructedAmount(new Amount(new BigDecimal("100.00"), "EUR"))
+                    .requestedExecutionDate(LocalDate.of(2025, 1, 1))
+                    .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                    .createdAt(now)
+                    .lastUpdate(now)
+                    .build();
+            repository.save(orders[i]);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<PaymentOrder> findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<PaymentOrder> findByIdAllThreads() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public PaymentOrder save() {
+        return repository.save(orders[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public PaymentOrder saveAllThreads() {
+        return repository.save(orders[ThreadLocalRandom.current().nextInt(size)]);
+    }
+}
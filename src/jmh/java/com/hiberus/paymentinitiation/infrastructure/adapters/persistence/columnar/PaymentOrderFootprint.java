@@ -0,0 +1,91 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.columnar;
+
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.id.PaymentOrderIds;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.InMemoryPaymentOrderRepositoryAdapter;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Retained heap per stored order for the object-graph and columnar repositories. Orders are built
+ * like the service builds them (fresh strings per request, a realistic spread of repeated IBANs) and
+ * written with {@code saveAll}, so the idempotency index is not part of the measurement.
+ * <p>
+ * Run with {@code ./gradlew footprint [-Porders=N]}.
+ */
+public final class PaymentOrderFootprint {
+
+    private static final int BATCH = 10_000;
+    private static final int DEBTORS = 50_000;
+    private static final int CREDITORS = 200_000;
+
+    private PaymentOrderFootprint() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        measure("InMemoryPaymentOrderRepositoryAdapter", orders,
+                () -> new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties())));
+        measure("ColumnarPaymentOrderRepositoryAdapter", orders,
+                () -> new ColumnarPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties())));
+    }
+
+    private static void measure(String name, int orders, Supplier<PaymentOrderRepositoryPort> factory)
+            throws InterruptedException {
+        long before = usedHeap();
+        PaymentOrderRepositoryPort repository = factory.get();
+        LocalDateTime now = LocalDateTime.now();
+        for (int start = 0; start < orders; start += BATCH) {
+            List<PaymentOrder> batch = new ArrayList<>(BATCH);
+            for (int i = start; i < Math.min(orders, start + BATCH); i++) {
+                batch.add(order(i, now.plusNanos(i * 1_000L)));
+            }
+            repository.saveAll(batch);
+        }
+        long after = usedHeap();
+        System.out.printf("%-40s %,d orders  %,d bytes  %,d bytes/order  %.1f MB per million%n",
+                name, repository.count(), after - before, (after - before) / orders,
+                (after - before) / (double) orders * 1_000_000 / (1024 * 1024));
+        if (repository.findById(PaymentOrderIds.format(orders - 1L)).isEmpty()) {
+            throw new IllegalStateException("Last order missing");
+        }
+    }
+
+    private static PaymentOrder order(int i, LocalDateTime timestamp) {
+        return PaymentOrder.builder()
+                .id(PaymentOrderIds.format(i))
+                .externalReference("EXT-" + i)
+                .debtorAccount(new Account(iban("ES91", i % DEBTORS)))
+                .creditorAccount(new Account(iban("ES79", (i * 7919) % CREDITORS)))
+                .instructedAmount(new Amount(BigDecimal.valueOf(10_000 + i % 1_000_000, 2), "EUR"))
+                .remittanceInformation("Invoice " + i)
+                .requestedExecutionDate(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .createdAt(timestamp)
+                .lastUpdate(timestamp)
+                .build();
+    }
+
+    private static String iban(String prefix, int account) {
+        return prefix + String.format("%020d", account);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,100 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.sharded;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-heavy load on the sharded repository with every available core, for increasing shard counts.
+ * Each save reads an existing order and flips its status, so every write also moves the order's status
+ * index key; the map size stays fixed for the whole run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShardedPaymentOrderRepositoryBenchmark {
+
+    @Param("100000")
+    private int size;
+
+    @Param({"1", "4", "16"})
+    private int shards;
+
+    private ShardedPaymentOrderRepositoryAdapter repository;
+    private String[] ids;
+    private PaymentOrder[] orders;
+
+    @Setup
+    public void setUp() {
+        var sharding = new ShardingProperties();
+        sharding.setShards(shards);
+        var idempotency = new IdempotencyProperties();
+        repository = new ShardedPaymentOrderRepositoryAdapter(sharding, idempotency, new IdempotencyIndex(idempotency));
+        ids = new String[size];
+        orders = new PaymentOrder[size];
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            ids[i] = "PO-" + i;
+            orders[i] = PaymentOrder.builder()
+                    .id(ids[i])
+                    .externalReference("EXT-" + i)
+                    .debtorAccount(new Account("ES9121000418450200051332"))
+                    .creditorAccount(new Account("ES7921000813610123456789"))
+                    .instructedAmount(new Amount(new BigDecimal("100.00"), "EUR"))
+                    .requestedExecutionDate(LocalDate.of(2025, 1, 1))
+                    .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                    .createdAt(now)
+                    .lastUpdate(now)
+                    .build();
+        }
+        repository.saveAll(Arrays.asList(orders));
+    }
+
+    @TearDown
+    public void tearDown() {
+        repository.close();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public PaymentOrder saveAllThreads() {
+        PaymentOrder order = repository.findById(ids[ThreadLocalRandom.current().nextInt(size)]).orElseThrow();
+        return repository.save(order.toBuilder()
+                .status(order.getStatus() == PaymentOrder.PaymentOrderStatus.PENDING
+                        ? PaymentOrder.PaymentOrderStatus.EXECUTED
+                        : PaymentOrder.PaymentOrderStatus.PENDING)
+                .build());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<PaymentOrder> findByIdAllThreads() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(size)]);
+    }
+}
@@ -0,0 +1,122 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.tiered;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Lookup latency by tier: orders still in memory, settled orders read back from disk with every block
+ * inflated again ({@code blockCacheSize=0}), and with the block cache large enough to hold them all.
+ * Smaller blocks cost a larger sparse index and compress worse; segment bytes per order are printed
+ * once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TieredPaymentOrderRepositoryBenchmark {
+
+    @Param("100000")
+    private int size;
+
+    @Param({"16", "64"})
+    private int blockSize;
+
+    @Param({"0", "16384"})
+    private int blockCacheSize;
+
+    private Path directory;
+    private TieredPaymentOrderRepositoryAdapter repository;
+    private String[] hotIds;
+    private String[] coldIds;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tiered-benchmark");
+        var properties = new TieredStorageProperties();
+        properties.setDirectory(directory);
+        properties.setEvictAfter(Duration.ofHours(1));
+        properties.setBlockSize(blockSize);
+        properties.setBlockCacheSize(blockCacheSize);
+        repository = new TieredPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()), properties);
+        hotIds = new String[size];
+        coldIds = new String[size];
+        LocalDateTime now = LocalDateTime.now();
+        List<PaymentOrder> orders = new ArrayList<>(2 * size);
+        for (int i = 0; i < size; i++) {
+            hotIds[i] = "PO-H" + i;
+            coldIds[i] = "PO-C" + i;
+            orders.add(order(hotIds[i], PaymentOrder.PaymentOrderStatus.PENDING, now, i));
+            orders.add(order(coldIds[i], PaymentOrder.PaymentOrderStatus.EXECUTED, now.minusDays(1), i));
+        }
+        repository.saveAll(orders);
+        repository.sweep();
+        System.out.printf("%n%d orders on disk, %.1f bytes each%n", size, (double) repository.coldBytes() / size);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        repository.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<PaymentOrder> findHot() {
+        return repository.findById(hotIds[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    @Benchmark
+    public Optional<PaymentOrder> findCold() {
+        return repository.findById(coldIds[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    private static PaymentOrder order(String id, PaymentOrder.PaymentOrderStatus status, LocalDateTime timestamp, int i) {
+        return PaymentOrder.builder()
+                .id(id)
+                .externalReference("EXT-" + id)
+                .debtorAccount(new Account("ES9121000418450200051332"))
+                .creditorAccount(new Account("ES7921000813610123456789"))
+                .instructedAmount(new Amount(BigDecimal.valueOf(100 + i % 5000, 2), "EUR"))
+                .remittanceInformation("Invoice " + i)
+                .requestedExecutionDate(LocalDate.of(2025, 1, 1).plusDays(i % 30))
+                .status(status)
+                .createdAt(timestamp)
+                .lastUpdate(timestamp)
+                .build();
+    }
+}
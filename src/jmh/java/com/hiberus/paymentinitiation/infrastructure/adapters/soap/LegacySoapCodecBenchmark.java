@@ -0,0 +1,110 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.soap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.PaymentOrderJsonModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message cost of the legacy bridge (envelope parse plus response write, using the payloads in
+ * {@code legacy/samples}) next to the Jackson read and write the JSON endpoint does for the same order.
+ * The use case is left out on both sides. Run from the project root.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LegacySoapCodecBenchmark {
+
+    private static final String ENVELOPE = "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+            + "<soapenv:Body>%s</soapenv:Body></soapenv:Envelope>";
+    private static final String JSON_REQUEST = "{\"externalReference\":\"EXT-123\",\"debtorAccount\":{\"iban\":\"EC12DEBTOR\"},"
+            + "\"creditorAccount\":{\"iban\":\"EC98CREDITOR\"},\"instructedAmount\":{\"amount\":150.75,\"currency\":\"USD\"},"
+            + "\"remittanceInformation\":\"Factura 001-123\",\"requestedExecutionDate\":\"2025-10-31\"}";
+
+    private final PaymentOrder order = PaymentOrder.builder()
+            .id("PO-0001")
+            .externalReference("EXT-123")
+            .debtorAccount(new Account("EC12DEBTOR"))
+            .creditorAccount(new Account("EC98CREDITOR"))
+            .instructedAmount(new Amount(new BigDecimal("150.75"), "USD"))
+            .remittanceInformation("Factura 001-123")
+            .requestedExecutionDate(LocalDate.of(2025, 10, 31))
+            .status(PaymentOrder.PaymentOrderStatus.PENDING)
+            .createdAt(LocalDateTime.of(2025, 10, 30, 16, 25, 30))
+            .lastUpdate(LocalDateTime.of(2025, 10, 30, 16, 25, 30))
+            .build();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+
+    private ObjectReader jsonReader;
+    private ObjectWriter jsonWriter;
+    private byte[] submitEnvelope;
+    private byte[] statusEnvelope;
+    private byte[] jsonRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new PaymentOrderJsonModule()).build();
+        jsonReader = objectMapper.readerFor(PaymentOrder.class);
+        jsonWriter = objectMapper.writerFor(PaymentOrder.class);
+        submitEnvelope = envelope("SubmitPaymentOrderRequest.xml");
+        statusEnvelope = envelope("GetPaymentOrderStatusRequest.xml");
+        jsonRequest = JSON_REQUEST.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int submitSoap() throws IOException {
+        LegacySoapRequest request = LegacySoapCodec.read(new ByteArrayInputStream(submitEnvelope));
+        out.reset();
+        LegacySoapCodec.writeSubmitResponse(out, request.enveloped(), order);
+        return out.size();
+    }
+
+    @Benchmark
+    public int submitJson() throws IOException {
+        PaymentOrder request = jsonReader.readValue(jsonRequest);
+        out.reset();
+        jsonWriter.writeValue(out, order);
+        return out.size() + request.hashCode();
+    }
+
+    @Benchmark
+    public int statusSoap() throws IOException {
+        LegacySoapRequest request = LegacySoapCodec.read(new ByteArrayInputStream(statusEnvelope));
+        out.reset();
+        LegacySoapCodec.writeStatusResponse(out, request.enveloped(), order);
+        return out.size();
+    }
+
+    private static byte[] envelope(String sample) throws IOException {
+        String payload = Files.readString(Path.of("legacy", "samples", sample));
+        return ENVELOPE.formatted(payload).getBytes(StandardCharsets.UTF_8);
+    }
+}
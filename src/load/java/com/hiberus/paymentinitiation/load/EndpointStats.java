@@ -0,0 +1,91 @@
+package com.hiberus.paymentinitiation.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Response times of one endpoint, in nanoseconds measured from the intended send time. Completions are
+ * recorded from any client thread; the reporter thread drains them per interval. Requests turned away
+ * by admission control ({@code 429}/{@code 503}) are only counted: their fast answers would otherwise
+ * pull the percentiles of the requests that were actually served down.
+ */
+final class EndpointStats {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(3);
+    private final Histogram total = new Histogram(3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private Histogram interval;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long responseTimeNanos, boolean error) {
+        recorder.recordValue(responseTimeNanos);
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    void drop() {
+        dropped.increment();
+    }
+
+    void reject() {
+        rejected.increment();
+    }
+
+    /**
+     * Prints the requests completed since the previous interval as one progress line.
+     */
+    void reportInterval(PrintStream out, double seconds) {
+        drain();
+        if (interval.getTotalCount() > 0) {
+            out.printf(Locale.ROOT, "  %-8s %8.0f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n", name,
+                    interval.getTotalCount() / seconds, millis(interval, 50), millis(interval, 99),
+                    interval.getMaxValue() / NANOS_PER_MILLI);
+        }
+    }
+
+    /**
+     * Moves whatever was recorded since the last interval into the run total.
+     */
+    void drain() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+    }
+
+    void reportTotal(PrintStream out, double seconds) {
+        out.printf(Locale.ROOT, "%-8s %10d %8d %8d %8d %12.1f %9.2f %9.2f %9.2f %9.2f%n", name,
+                total.getTotalCount(), errors.sum(), dropped.sum(), rejected.sum(), total.getTotalCount() / seconds,
+                millis(total, 50), millis(total, 99), millis(total, 99.9), total.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    void writeHistogram(Path directory) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")))) {
+            total.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf(Locale.ROOT, "%-8s %10s %8s %8s %8s %12s %9s %9s %9s %9s%n", "endpoint", "requests", "errors",
+                "dropped", "rejected", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,63 @@
+package com.hiberus.paymentinitiation.load;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Command line options, as {@code --name=value}. Durations take ISO-8601 ({@code PT2M}) or a short form
+ * ({@code 90s}, {@code 2m}).
+ */
+final class LoadOptions {
+
+    URI baseUrl = URI.create("http://localhost:8080");
+    double rate = 200;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+    Duration reportInterval = Duration.ofSeconds(5);
+    double statusRatio = 0.5;
+    double hotDebtorShare;
+    Path file;
+    Path output = Path.of("build", "reports", "load");
+    int maxInFlight = 10_000;
+    int clientThreads = 4;
+
+    static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "base-url" -> options.baseUrl = URI.create(value);
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "duration" -> options.duration = duration(value);
+                case "warmup" -> options.warmup = duration(value);
+                case "report-interval" -> options.reportInterval = duration(value);
+                case "status-ratio" -> options.statusRatio = Double.parseDouble(value);
+                case "hot-debtor-share" -> options.hotDebtorShare = Double.parseDouble(value);
+                case "file" -> options.file = Path.of(value);
+                case "output" -> options.output = Path.of(value);
+                case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "client-threads" -> options.clientThreads = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (options.rate <= 0 || options.statusRatio < 0 || options.statusRatio > 1
+                || options.hotDebtorShare < 0 || options.hotDebtorShare > 1
+                || options.warmup.compareTo(options.duration) >= 0) {
+            throw new IllegalArgumentException("rate must be positive, status-ratio and hot-debtor-share within "
+                    + "[0, 1] and warmup shorter than duration");
+        }
+        return options;
+    }
+
+    private static Duration duration(String value) {
+        String upper = value.toUpperCase(Locale.ROOT);
+        return Duration.parse(upper.startsWith("P") ? upper : "PT" + upper);
+    }
+}
@@ -0,0 +1,188 @@
+package com.hiberus.paymentinitiation.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load against a running instance: requests are sent on a fixed schedule at {@code --rate}
+ * per second whether or not earlier ones have completed, and each response time is measured from the
+ * moment the request was due rather than when it was actually sent. A stalled server therefore shows up
+ * as latency instead of silently lowering the offered load (coordinated omission).
+ *
+ * <p>Each scheduled request is an initiation ({@code POST /payment-orders}) or, with probability
+ * {@code --status-ratio}, a status read of a recently created order. With {@code --hot-debtor-share}
+ * that fraction of the initiations comes from a single debtor and is reported separately as
+ * {@code hot}, so the latency of everyone else can be watched while one client floods the service.
+ * Results are printed per endpoint and written as HdrHistogram percentile distributions
+ * ({@code <endpoint>.hgrm}) under {@code --output}.
+ */
+public final class PaymentOrderLoadGenerator {
+
+    private static final String ORDERS_PATH = "/payment-initiation/payment-orders";
+    private static final int KNOWN_IDS = 4_096;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadOptions options;
+    private final PaymentOrderRequestSource requests;
+    private final PaymentOrderRequestSource hotRequests;
+    private final ExecutorService clientExecutor;
+    private final HttpClient client;
+    private final Semaphore inFlight;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EndpointStats initiate = new EndpointStats("initiate");
+    private final EndpointStats status = new EndpointStats("status");
+    private final EndpointStats hot = new EndpointStats("hot");
+    private final List<EndpointStats> endpoints;
+    private final AtomicReferenceArray<String> knownIds = new AtomicReferenceArray<>(KNOWN_IDS);
+    private final AtomicLong created = new AtomicLong();
+
+    PaymentOrderLoadGenerator(LoadOptions options, PaymentOrderRequestSource requests,
+                              PaymentOrderRequestSource hotRequests) {
+        this.options = options;
+        this.requests = requests;
+        this.hotRequests = hotRequests;
+        this.endpoints = options.hotDebtorShare > 0 ? List.of(initiate, status, hot) : List.of(initiate, status);
+        this.clientExecutor = Executors.newFixedThreadPool(options.clientThreads);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.inFlight = new Semaphore(options.maxInFlight);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        PaymentOrderRequestSource requests = options.file != null
+                ? PaymentOrderRequestSource.replay(options.file)
+                : PaymentOrderRequestSource.synthetic(42);
+        new PaymentOrderLoadGenerator(options, requests, PaymentOrderRequestSource.singleDebtor(7)).run();
+    }
+
+    void run() throws IOException, InterruptedException {
+        System.out.printf(Locale.ROOT, "%s: %.0f req/s for %s (first %s not recorded), status ratio %.2f, "
+                        + "hot debtor share %.2f%n", options.baseUrl, options.rate, options.duration, options.warmup,
+                options.statusRatio, options.hotDebtorShare);
+        double intervalSeconds = options.reportInterval.toNanos() / 1e9;
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> endpoints.forEach(stats -> stats.reportInterval(System.out, intervalSeconds)),
+                options.reportInterval.toNanos(), options.reportInterval.toNanos(), TimeUnit.NANOSECONDS);
+
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = start + options.duration.toNanos();
+        double periodNanos = 1e9 / options.rate;
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * periodNanos);
+            if (due - end >= 0) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(due, due - measureFrom >= 0);
+        }
+
+        // let outstanding requests finish (or time out) before the final report
+        inFlight.tryAcquire(options.maxInFlight, REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+        reporter.shutdownNow();
+        reporter.awaitTermination(5, TimeUnit.SECONDS);
+        clientExecutor.shutdownNow();
+        report((end - measureFrom) / 1e9);
+    }
+
+    private void send(long due, boolean measured) {
+        long knownCount = created.get();
+        boolean readStatus = knownCount > 0 && ThreadLocalRandom.current().nextDouble() < options.statusRatio;
+        boolean fromHotDebtor = !readStatus && ThreadLocalRandom.current().nextDouble() < options.hotDebtorShare;
+        EndpointStats stats = readStatus ? status : fromHotDebtor ? hot : initiate;
+        if (!inFlight.tryAcquire()) {
+            if (measured) {
+                stats.drop();
+            }
+            return;
+        }
+        if (readStatus) {
+            String id = knownIds.get((int) (ThreadLocalRandom.current().nextLong(Math.min(knownCount, KNOWN_IDS))));
+            HttpRequest request = HttpRequest.newBuilder(uri(ORDERS_PATH + "/" + id + "/status"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> complete(stats, due, measured, response, error));
+        } else {
+            HttpRequest request = HttpRequest.newBuilder(uri(ORDERS_PATH))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray((fromHotDebtor ? hotRequests : requests).get()))
+                    .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, error) -> {
+                        complete(stats, due, measured, response, error);
+                        if (response != null && response.statusCode() == 200) {
+                            remember(response.body());
+                        }
+                    });
+        }
+    }
+
+    private void complete(EndpointStats stats, long due, boolean measured, HttpResponse<?> response, Throwable error) {
+        long responseTime = System.nanoTime() - due;
+        inFlight.release();
+        if (!measured) {
+            return;
+        }
+        if (response != null && (response.statusCode() == 429 || response.statusCode() == 503)) {
+            stats.reject();
+        } else {
+            stats.record(responseTime, error != null || response.statusCode() >= 400);
+        }
+    }
+
+    private void remember(byte[] body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).get("id");
+            if (id != null) {
+                knownIds.set((int) (created.getAndIncrement() % KNOWN_IDS), id.asText());
+            }
+        } catch (IOException ignored) {
+            // counted as a successful initiation; the order just isn't used for status reads
+        }
+    }
+
+    private URI uri(String path) {
+        return options.baseUrl.resolve(path);
+    }
+
+    private void report(double measuredSeconds) throws IOException {
+        System.out.println();
+        EndpointStats.printHeader(System.out);
+        Files.createDirectories(options.output);
+        for (EndpointStats stats : endpoints) {
+            stats.drain();
+            stats.reportTotal(System.out, measuredSeconds);
+            stats.writeHistogram(options.output);
+        }
+        System.out.println("Histograms written to " + options.output.toAbsolutePath());
+    }
+}
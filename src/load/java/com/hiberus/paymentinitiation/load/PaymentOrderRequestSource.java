@@ -0,0 +1,103 @@
+package com.hiberus.paymentinitiation.load;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Initiation bodies to send: the lines of an NDJSON file replayed in order (and cycled), synthetic
+ * orders drawn from a fixed account population with a skewed amount distribution, or synthetic orders
+ * that all come from one debtor. Called from the single scheduling thread only.
+ */
+abstract class PaymentOrderRequestSource implements Supplier<byte[]> {
+
+    static PaymentOrderRequestSource replay(Path file) throws IOException {
+        List<byte[]> bodies = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty())
+                .map(line -> line.getBytes(StandardCharsets.UTF_8))
+                .toList();
+        if (bodies.isEmpty()) {
+            throw new IllegalArgumentException(file + " holds no requests");
+        }
+        return new PaymentOrderRequestSource() {
+            private int next;
+
+            @Override
+            public byte[] get() {
+                byte[] body = bodies.get(next);
+                next = (next + 1) % bodies.size();
+                return body;
+            }
+        };
+    }
+
+    static PaymentOrderRequestSource synthetic(long seed) {
+        return new Synthetic(new Random(seed), "LOAD", false);
+    }
+
+    /**
+     * Synthetic orders whose debtor is always the same account, to model one client sending far more
+     * than its share.
+     */
+    static PaymentOrderRequestSource singleDebtor(long seed) {
+        return new Synthetic(new Random(seed), "HOT", true);
+    }
+
+    private static final class Synthetic extends PaymentOrderRequestSource {
+
+        private static final int ACCOUNTS = 1_000;
+        private static final String[] CURRENCIES = {"EUR", "EUR", "EUR", "EUR", "EUR", "EUR", "EUR", "EUR", "USD", "GBP"};
+
+        private final Random random;
+        private final String[] ibans = new String[ACCOUNTS];
+        private final String run;
+        private final boolean singleDebtor;
+        private long sequence;
+
+        Synthetic(Random random, String prefix, boolean singleDebtor) {
+            this.random = random;
+            this.run = prefix + "-" + Long.toString(System.currentTimeMillis(), 36);
+            this.singleDebtor = singleDebtor;
+            for (int i = 0; i < ACCOUNTS; i++) {
+                ibans[i] = spanishIban(random);
+            }
+        }
+
+        @Override
+        public byte[] get() {
+            int debtor = singleDebtor ? 0 : random.nextInt(ACCOUNTS);
+            int creditor = (debtor + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+            // log-normal around 100 with a long tail, like retail transfers
+            BigDecimal amount = BigDecimal.valueOf(Math.exp(4.6 + 1.2 * random.nextGaussian()))
+                    .max(BigDecimal.ONE).setScale(2, RoundingMode.HALF_UP);
+            long id = sequence++;
+            String json = "{\"externalReference\":\"" + run + "-" + id + "\","
+                    + "\"debtorAccount\":{\"iban\":\"" + ibans[debtor] + "\"},"
+                    + "\"creditorAccount\":{\"iban\":\"" + ibans[creditor] + "\"},"
+                    + "\"instructedAmount\":{\"amount\":" + amount.toPlainString()
+                    + ",\"currency\":\"" + CURRENCIES[random.nextInt(CURRENCIES.length)] + "\"},"
+                    + "\"remittanceInformation\":\"Invoice " + id + "\","
+                    + "\"requestedExecutionDate\":\"" + LocalDate.now().plusDays(random.nextInt(31)) + "\"}";
+            return json.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static String spanishIban(Random random) {
+            StringBuilder bban = new StringBuilder(20);
+            for (int i = 0; i < 20; i++) {
+                bban.append(random.nextInt(10));
+            }
+            // ISO 13616: move "ES00" to the end, letters as numbers (E=14, S=28), check = 98 - mod 97
+            int check = 98 - new BigInteger(bban + "142800").mod(BigInteger.valueOf(97)).intValue();
+            return "ES" + (check < 10 ? "0" : "") + check + bban;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.hiberus.paymentinitiation.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Starts the application as a child process in each startup mode, {@code --runs} times, and measures
+ * the time from spawning the JVM until an initiation ({@code POST /payment-orders}) first succeeds,
+ * the latency of that first successful request and the resident set size of the process right after
+ * it. Modes add one measure at a time on the same {@code application.jar} ({@code ./gradlew
+ * fastStartLayout -PfastStart}): none, the AOT-generated bean definitions, the class data sharing archive
+ * and finally the {@code fast-start} profile (lazy framework beans and warm-up). The archive is created
+ * next to the jar by a training run if it does not exist yet.
+ *
+ * <p>Options: {@code --jar=<application.jar>}, {@code --runs=5}, {@code --port=18080},
+ * {@code --timeout=60s}. RSS is read from {@code /proc} and shown as {@code -} elsewhere.
+ */
+public final class StartupBenchmark {
+
+    private static final String ORDERS_PATH = "/payment-initiation/payment-orders";
+    private static final long POLL_INTERVAL_MILLIS = 10;
+
+    private final Path jar;
+    private final Path archive;
+    private final int port;
+    private final Duration timeout;
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+    private final PaymentOrderRequestSource requests = PaymentOrderRequestSource.synthetic(42);
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    StartupBenchmark(Path jar, int port, Duration timeout) {
+        this.jar = jar.toAbsolutePath();
+        this.archive = this.jar.resolveSibling("app.jsa");
+        this.port = port;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of("build", "fast-start", "application.jar");
+        int runs = 5;
+        int port = 18080;
+        Duration timeout = Duration.ofSeconds(60);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "jar" -> jar = Path.of(value);
+                case "runs" -> runs = Integer.parseInt(value);
+                case "port" -> port = Integer.parseInt(value);
+                case "timeout" -> timeout = Duration.parse("PT" + value.toUpperCase(Locale.ROOT));
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException(jar + " not found; run ./gradlew fastStartLayout -PfastStart first");
+        }
+        new StartupBenchmark(jar, port, timeout).run(runs);
+    }
+
+    void run(int runs) throws IOException, InterruptedException {
+        if (!Files.exists(archive)) {
+            train();
+        }
+        List<Mode> modes = List.of(
+                new Mode("default"),
+                new Mode("aot", "-Dspring.aot.enabled=true"),
+                new Mode("aot+cds", "-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + archive),
+                new Mode("fast-start", "-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + archive,
+                        "-Dspring.profiles.active=fast-start"));
+        // interleaved, so that drift on the machine affects every mode alike
+        for (int run = 0; run < runs; run++) {
+            for (Mode mode : modes) {
+                mode.samples.add(measure(mode));
+            }
+        }
+        System.out.printf(Locale.ROOT, "%n%-12s %18s %18s %12s%n", "mode", "first success ms", "first request ms",
+                "RSS MB");
+        for (Mode mode : modes) {
+            System.out.printf(Locale.ROOT, "%-12s %18s %18s %12s%n", mode.name,
+                    mode.median(Sample::firstSuccessMillis), mode.median(Sample::firstRequestMillis),
+                    mode.median(Sample::rssMegabytes));
+        }
+        System.out.printf(Locale.ROOT, "medians of %d runs%n", runs);
+    }
+
+    private void train() throws IOException, InterruptedException {
+        System.out.println("Creating " + archive + " with a training run");
+        Process process = start(List.of("-XX:ArchiveClassesAtExit=" + archive, "-Dspring.aot.enabled=true",
+                "-Dspring.context.exit=onRefresh"));
+        if (process.waitFor() != 0 || !Files.exists(archive)) {
+            throw new IllegalStateException("Training run exited with " + process.exitValue());
+        }
+    }
+
+    private Sample measure(Mode mode) throws IOException, InterruptedException {
+        byte[] body = requests.get();
+        long spawned = System.nanoTime();
+        Process process = start(mode.jvmArgs);
+        try {
+            long deadline = spawned + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                long sent = System.nanoTime();
+                if (initiate(body)) {
+                    long now = System.nanoTime();
+                    Sample sample = new Sample((now - spawned) / 1e6, (now - sent) / 1e6, rssMegabytes(process.pid()));
+                    System.out.printf(Locale.ROOT, "%-12s first success %7.0f ms, first request %6.1f ms, RSS %s MB%n",
+                            mode.name, sample.firstSuccessMillis, sample.firstRequestMillis,
+                            sample.rssMegabytes < 0 ? "-" : String.format(Locale.ROOT, "%.0f", sample.rssMegabytes));
+                    return sample;
+                }
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name + " exited with " + process.exitValue());
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            throw new IllegalStateException(mode.name + " did not answer within " + timeout);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private Process start(List<String> jvmArgs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", jar.toString(), "--server.port=" + port));
+        return new ProcessBuilder(command)
+                .directory(jar.getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private boolean initiate(byte[] body) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + ORDERS_PATH))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // not listening yet
+            return false;
+        }
+    }
+
+    private static double rssMegabytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024.0;
+                }
+            }
+        } catch (IOException | NumberFormatException ignored) {
+            // not Linux
+        }
+        return -1;
+    }
+
+    private record Sample(double firstSuccessMillis, double firstRequestMillis, double rssMegabytes) {
+    }
+
+    private static final class Mode {
+
+        final String name;
+        final List<String> jvmArgs;
+        final List<Sample> samples = new ArrayList<>();
+
+        Mode(String name, String... jvmArgs) {
+            this.name = name;
+            this.jvmArgs = List.of(jvmArgs);
+        }
+
+        String median(ToDoubleFunction<Sample> metric) {
+            double[] values = samples.stream().mapToDouble(metric).sorted().toArray();
+            if (values.length == 0 || values[0] < 0) {
+                return "-";
+            }
+            double median = values.length % 2 == 1 ? values[values.length / 2]
+                    : (values[values.length / 2 - 1] + values[values.length / 2]) / 2;
+            return String.format(Locale.ROOT, "%.0f", median);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.hiberus.paymentinitiation.application.ports.input;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrderExposure;
+import java.time.LocalDate;
+
+public interface PaymentOrderExposureUseCase {
+
+    /**
+     * @param requestedExecutionDate the date to total, or {@code null} for all dates
+     * @return the totals, all zero if the debtor has no orders in that currency (and date)
+     * @throws IllegalArgumentException if the currency is not an active ISO 4217 code
+     */
+    PaymentOrderExposure exposure(String debtorIban, String currency, LocalDate requestedExecutionDate);
+}
@@ -1,11 +1,21 @@
 package com.hiberus.paymentinitiation.application.ports.input;
 
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderChangeListener;
 import com.hiberus.paymentinitiation.domain.PaymentOrder;
-import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.InitiatePaymentOrderRequest;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * Initiations take the order as submitted, a draft without id, status or timestamps; whatever a draft
+ * carries in those is replaced when the order is created.
+ */
 public interface PaymentOrderUseCase {
-    PaymentOrder initiatePaymentOrder(InitiatePaymentOrderRequest request);
+    PaymentOrder initiatePaymentOrder(PaymentOrder draft);
+    List<PaymentOrder> initiatePaymentOrders(List<PaymentOrder> drafts);
     Optional<PaymentOrder> retrievePaymentOrder(String id);
     Optional<PaymentOrder> retrievePaymentOrderStatus(String id);
+    PaymentOrderPage searchPaymentOrders(PaymentOrderQuery query);
+    void subscribeToChanges(PaymentOrderChangeListener listener);
 }
@@ -0,0 +1,16 @@
+package com.hiberus.paymentinitiation.application.ports.output;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+
+/**
+ * Notified after every stored write, on the writing thread; implementations must hand work off
+ * rather than block.
+ */
+@FunctionalInterface
+public interface PaymentOrderChangeListener {
+
+    /**
+     * @param previous the state replaced by this write, or {@code null} for a new order
+     */
+    void onChange(PaymentOrder previous, PaymentOrder current);
+}
@@ -0,0 +1,5 @@
+package com.hiberus.paymentinitiation.application.ports.output;
+
+public interface PaymentOrderIdGenerator {
+    String nextId();
+}
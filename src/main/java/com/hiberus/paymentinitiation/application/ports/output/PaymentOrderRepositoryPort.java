@@ -1,9 +1,32 @@
 package com.hiberus.paymentinitiation.application.ports.output;
 
 import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import java.util.List;
 import java.util.Optional;
 
 public interface PaymentOrderRepositoryPort {
     PaymentOrder save(PaymentOrder order);
+    List<PaymentOrder> saveAll(List<PaymentOrder> orders);
+
+    /**
+     * Stores the order unless an order with the same idempotency key is already retained, in which
+     * case the stored order is returned and nothing is written.
+     */
+    PaymentOrder saveIfAbsent(PaymentOrder order);
+    List<PaymentOrder> saveAllIfAbsent(List<PaymentOrder> orders);
+
     Optional<PaymentOrder> findById(String id);
+
+    /**
+     * Returns one page of orders matching every criterion of the query, served from a secondary index
+     * range. Pass the returned cursor back to continue; it is only valid for the same criteria.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    PaymentOrderPage search(PaymentOrderQuery query);
+    long count();
+
+    void addChangeListener(PaymentOrderChangeListener listener);
 }
@@ -0,0 +1,15 @@
+package com.hiberus.paymentinitiation.application.ports.output;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+
+public interface SettlementPort {
+
+    /**
+     * Submits the order to the settlement backend. The order id is the idempotency key: an order
+     * submitted again, as happens when its outcome could not be stored before a restart, must not be
+     * settled twice and should report its first outcome.
+     *
+     * @return {@code true} if the order was settled, {@code false} if the backend rejected it
+     */
+    boolean settle(PaymentOrder order);
+}
@@ -0,0 +1,31 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.duplicates")
+public class DuplicateDetectionProperties {
+
+    private boolean enabled = true;
+    /** How far back an order with the same debtor, creditor and amount makes a new one a suspect. */
+    private Duration window = Duration.ofMinutes(10);
+    private Policy policy = Policy.FLAG;
+    /** Filter generations per window; each covers {@code window / slices} and is dropped as a whole. */
+    private int slices = 4;
+    /**
+     * Orders per window the filters are sized for, arriving at a steady rate; a slice that receives more
+     * than its share of them raises the false-positive rate.
+     */
+    private int expectedOrders = 1_000_000;
+    /** Share of new orders sent to the exact check without a matching order, at {@code expectedOrders}. */
+    private double falsePositiveRate = 0.01;
+
+    public enum Policy {
+        /** Initiate the order with {@code duplicateSuspect} set. */
+        FLAG,
+        /** Refuse the order with {@code DuplicatePaymentOrderException}. */
+        REJECT
+    }
+}
@@ -0,0 +1,15 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.LocalTime;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.execution")
+public class ExecutionProperties {
+
+    private boolean enabled = true;
+    private LocalTime cutOff = LocalTime.MIDNIGHT;
+    private int workers = 8;
+    private int batchSize = 500;
+}
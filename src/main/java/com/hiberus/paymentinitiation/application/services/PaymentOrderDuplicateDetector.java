@@ -0,0 +1,228 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.DuplicatePaymentOrderException;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Catches accidental double submissions: an order whose debtor and creditor IBAN, amount (compared
+ * numerically) and currency match an order created within the window before it, under another
+ * external reference. A request whose external reference is already stored for those accounts is an
+ * idempotent retry, answered by the repository with the stored order, and is never a suspect. Depending
+ * on the policy a suspect is initiated with {@code duplicateSuspect} set or refused with
+ * {@link DuplicatePaymentOrderException}.
+ *
+ * <p>Stored orders are remembered, from the repository's change notifications, in a
+ * {@link SlidingBloomFilter} keyed by a hash of those fields, so an order that matches nothing, the
+ * common case, is cleared from memory without a lookup. A filter hit is confirmed against the stored
+ * orders through the repository's debtor and creditor index, limited to the window, so it reads only
+ * the orders between those two accounts rather than the debtor's whole history; a false positive
+ * therefore costs a short search but never flags an order. A batch is also screened within itself,
+ * since none of its orders is stored while the others are checked. Two identical single requests
+ * processed at the same instant can both pass, for the same reason.
+ */
+@Service
+public class PaymentOrderDuplicateDetector {
+
+    private final PaymentOrderRepositoryPort repository;
+    private final DuplicateDetectionProperties.Policy policy;
+    private final Duration window;
+    private final SlidingBloomFilter filter;
+    private final LongAdder screened = new LongAdder();
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder suspects = new LongAdder();
+
+    public PaymentOrderDuplicateDetector(PaymentOrderRepositoryPort repository, DuplicateDetectionProperties properties) {
+        this.repository = repository;
+        this.policy = properties.getPolicy();
+        this.window = properties.getWindow();
+        if (!properties.isEnabled()) {
+            this.filter = null;
+            return;
+        }
+        this.filter = new SlidingBloomFilter(window, properties.getSlices(), properties.getExpectedOrders(),
+                properties.getFalsePositiveRate());
+        repository.addChangeListener(this::onChange);
+        // orders restored by the repository before any listener was registered
+        PaymentOrderQuery query = PaymentOrderQuery.builder()
+                .createdFrom(LocalDateTime.now().minus(window))
+                .limit(PaymentOrderQuery.MAX_LIMIT)
+                .build();
+        PaymentOrderPage page;
+        do {
+            page = repository.search(query);
+            for (PaymentOrder order : page.getItems()) {
+                onChange(null, order);
+            }
+            query = query.toBuilder().cursor(page.getNextCursor()).build();
+        } while (page.getNextCursor() != null);
+    }
+
+    /**
+     * @param order a validated order about to be stored
+     * @return the order, flagged as a duplicate suspect if it is one and the policy is to flag
+     * @throws DuplicatePaymentOrderException if it is a suspect and the policy is to reject
+     */
+    public PaymentOrder screen(PaymentOrder order) {
+        if (filter == null) {
+            return order;
+        }
+        screened.increment();
+        if (!filter.mightContain(hash(order), millis(order.getCreatedAt()))) {
+            return order;
+        }
+        filterHits.increment();
+        Optional<PaymentOrder> earlier = findEarlier(order);
+        return earlier.isEmpty() ? order : suspect(order, earlier.get());
+    }
+
+    /**
+     * Screens each order as {@link #screen} does and also against the orders before it in the list,
+     * which are not stored yet; an order repeating one of those under the same external reference is a
+     * retry the repository answers with that order, not a suspect.
+     *
+     * @param orders validated orders about to be stored together
+     * @return the orders in the same sequence, suspects flagged if the policy is to flag
+     * @throws DuplicatePaymentOrderException if any is a suspect and the policy is to reject
+     */
+    public List<PaymentOrder> screenAll(List<PaymentOrder> orders) {
+        if (filter == null) {
+            return orders;
+        }
+        List<PaymentOrder> screenedOrders = new ArrayList<>(orders.size());
+        Map<Key, PaymentOrder> firstByKey = new HashMap<>();
+        for (PaymentOrder order : orders) {
+            PaymentOrder checked = screen(order);
+            if (!checked.isDuplicateSuspect() && hasKey(order)) {
+                PaymentOrder first = firstByKey.putIfAbsent(Key.of(order), order);
+                if (first != null && !Objects.equals(first.getExternalReference(), order.getExternalReference())) {
+                    checked = suspect(order, first);
+                }
+            }
+            screenedOrders.add(checked);
+        }
+        return screenedOrders;
+    }
+
+    /**
+     * @return orders checked against the filter
+     */
+    public long screened() {
+        return screened.sum();
+    }
+
+    /**
+     * @return checked orders the filter sent to the exact check, suspects included
+     */
+    public long filterHits() {
+        return filterHits.sum();
+    }
+
+    /**
+     * @return orders found to repeat an earlier one, flagged or rejected
+     */
+    public long suspects() {
+        return suspects.sum();
+    }
+
+    void onChange(PaymentOrder previous, PaymentOrder current) {
+        if (previous == null && current.getCreatedAt() != null && hasKey(current)) {
+            filter.add(hash(current), millis(current.getCreatedAt()));
+        }
+    }
+
+    private PaymentOrder suspect(PaymentOrder order, PaymentOrder earlier) {
+        suspects.increment();
+        if (policy == DuplicateDetectionProperties.Policy.REJECT) {
+            throw new DuplicatePaymentOrderException(earlier.getId());
+        }
+        return order.toBuilder().duplicateSuspect(true).build();
+    }
+
+    private Optional<PaymentOrder> findEarlier(PaymentOrder order) {
+        PaymentOrderQuery query = PaymentOrderQuery.builder()
+                .debtorIban(order.getDebtorAccount().getIban())
+                .creditorIban(order.getCreditorAccount().getIban())
+                .createdFrom(order.getCreatedAt().minus(window))
+                .createdTo(order.getCreatedAt().plusNanos(1))
+                .limit(PaymentOrderQuery.MAX_LIMIT)
+                .build();
+        PaymentOrder repeated = null;
+        PaymentOrderPage page;
+        do {
+            page = repository.search(query);
+            for (PaymentOrder candidate : page.getItems()) {
+                if (order.getExternalReference() != null
+                        && order.getExternalReference().equals(candidate.getExternalReference())) {
+                    // a retry of a stored order, which the repository answers with that order
+                    return Optional.empty();
+                }
+                if (repeated == null && repeats(order, candidate)) {
+                    repeated = candidate;
+                }
+            }
+            query = query.toBuilder().cursor(page.getNextCursor()).build();
+        } while (page.getNextCursor() != null);
+        return Optional.ofNullable(repeated);
+    }
+
+    private static boolean repeats(PaymentOrder order, PaymentOrder candidate) {
+        Amount amount = order.getInstructedAmount();
+        Amount other = candidate.getInstructedAmount();
+        return !candidate.getId().equals(order.getId())
+                && other != null && other.getAmount() != null
+                && other.getAmount().compareTo(amount.getAmount()) == 0
+                && Objects.equals(other.getCurrency(), amount.getCurrency());
+    }
+
+    private static boolean hasKey(PaymentOrder order) {
+        return order.getDebtorAccount() != null && order.getDebtorAccount().getIban() != null
+                && order.getCreditorAccount() != null && order.getCreditorAccount().getIban() != null
+                && order.getInstructedAmount() != null && order.getInstructedAmount().getAmount() != null;
+    }
+
+    static long hash(PaymentOrder order) {
+        Amount amount = order.getInstructedAmount();
+        long hash = order.getDebtorAccount().getIban().hashCode();
+        hash = hash * 0x9E3779B97F4A7C15L + order.getCreditorAccount().getIban().hashCode();
+        // numerically equal amounts must hash alike whatever their scale; the nearest double is such a
+        // value and, unlike stripTrailingZeros, is computed without allocating for ordinary amounts
+        hash = hash * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(amount.getAmount().doubleValue() + 0.0);
+        hash = hash * 0x9E3779B97F4A7C15L + Objects.hashCode(amount.getCurrency());
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1000 + time.getNano() / 1_000_000;
+    }
+
+    /**
+     * The fields two orders must share to repeat each other, with the amount reduced to its value.
+     */
+    private record Key(String debtorIban, String creditorIban, BigDecimal amount, String currency) {
+
+        static Key of(PaymentOrder order) {
+            return new Key(order.getDebtorAccount().getIban(), order.getCreditorAccount().getIban(),
+                    order.getInstructedAmount().getAmount().stripTrailingZeros(), order.getInstructedAmount().getCurrency());
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
+import com.hiberus.paymentinitiation.application.ports.output.SettlementPort;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves pending orders to {@code EXECUTED} or {@code FAILED} once their requested execution date
+ * reaches the cut-off. Pending order ids are kept in per-date buckets ordered by date, so a tick only
+ * touches the buckets that are due; each due bucket is settled in batches on a bounded worker pool and
+ * every batch is written back with a single {@code saveAll}. When a batch fails its ids go back into a
+ * due bucket, and settlement outcomes that could not be written are kept by order id so the retry
+ * records them instead of settling the orders a second time.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "payment-initiation.execution", name = "enabled", matchIfMissing = true)
+public class PaymentOrderExecutionEngine {
+
+    private final ConcurrentNavigableMap<LocalDate, Queue<String>> buckets = new ConcurrentSkipListMap<>();
+    private final Map<String, Boolean> unsavedOutcomes = new ConcurrentHashMap<>();
+    private final PaymentOrderRepositoryPort repository;
+    private final SettlementPort settlement;
+    private final ExecutionProperties properties;
+    private final Clock clock;
+    private final ThreadPoolExecutor workers;
+    @Getter
+    private final PaymentOrderExecutionMetrics metrics = new PaymentOrderExecutionMetrics();
+
+    @Autowired
+    public PaymentOrderExecutionEngine(PaymentOrderRepositoryPort repository, SettlementPort settlement,
+                                       ExecutionProperties properties) {
+        this(repository, settlement, properties, Clock.systemDefaultZone());
+    }
+
+    PaymentOrderExecutionEngine(PaymentOrderRepositoryPort repository, SettlementPort settlement,
+                                ExecutionProperties properties, Clock clock) {
+        this.repository = repository;
+        this.settlement = settlement;
+        this.properties = properties;
+        this.clock = clock;
+        int size = Math.max(1, properties.getWorkers());
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(size * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "payment-order-execution-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        repository.addChangeListener(this::onChange);
+        PaymentOrderQuery pending = PaymentOrderQuery.builder()
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .limit(PaymentOrderQuery.MAX_LIMIT)
+                .build();
+        PaymentOrderPage page;
+        do {
+            page = repository.search(pending);
+            for (PaymentOrder order : page.getItems()) {
+                schedule(order.getId(), executionDateOf(order));
+            }
+            pending = pending.toBuilder().cursor(page.getNextCursor()).build();
+        } while (page.getNextCursor() != null);
+    }
+
+    @Scheduled(fixedDelayString = "${payment-initiation.execution.tick-interval:PT1S}")
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate dueDate = now.toLocalTime().isBefore(properties.getCutOff())
+                ? now.toLocalDate().minusDays(1)
+                : now.toLocalDate();
+
+        Set<String> due = new LinkedHashSet<>();
+        LocalDate oldest = null;
+        int drained = 0;
+        Map.Entry<LocalDate, Queue<String>> bucket;
+        while ((bucket = buckets.firstEntry()) != null && !bucket.getKey().isAfter(dueDate)) {
+            if (!buckets.remove(bucket.getKey(), bucket.getValue())) {
+                continue;
+            }
+            if (oldest == null) {
+                oldest = bucket.getKey();
+            }
+            String id;
+            while ((id = bucket.getValue().poll()) != null) {
+                due.add(id);
+                drained++;
+            }
+        }
+        metrics.queued(-drained);
+        if (due.isEmpty()) {
+            metrics.tick(0);
+            return;
+        }
+
+        long start = System.nanoTime();
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<CompletableFuture<Void>> batches = new ArrayList<>(due.size() / batchSize + 1);
+        List<String> batch = new ArrayList<>(batchSize);
+        for (String id : due) {
+            batch.add(id);
+            if (batch.size() == batchSize) {
+                batches.add(submit(batch, dueDate));
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(submit(batch, dueDate));
+        }
+        CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        metrics.tick(elapsedMillis);
+        metrics.lag(Duration.between(oldest.atTime(properties.getCutOff()), LocalDateTime.now(clock)).toMillis());
+        log.debug("Released {} payment orders due by {} in {} ms", due.size(), dueDate, elapsedMillis);
+    }
+
+    @PreDestroy
+    public void close() {
+        workers.shutdown();
+    }
+
+    void onChange(PaymentOrder previous, PaymentOrder current) {
+        if (current.getStatus() != PaymentOrder.PaymentOrderStatus.PENDING) {
+            return;
+        }
+        LocalDate executionDate = executionDateOf(current);
+        if (previous == null
+                || previous.getStatus() != PaymentOrder.PaymentOrderStatus.PENDING
+                || !Objects.equals(executionDateOf(previous), executionDate)) {
+            schedule(current.getId(), executionDate);
+        }
+    }
+
+    private void schedule(String id, LocalDate executionDate) {
+        metrics.queued(1);
+        while (true) {
+            Queue<String> bucket = buckets.computeIfAbsent(executionDate, date -> new ConcurrentLinkedQueue<>());
+            bucket.add(id);
+            // A tick may have detached the bucket before the add; retrying can duplicate the id, which
+            // the tick de-duplicates and execute() skips once the order is no longer pending.
+            if (buckets.get(executionDate) == bucket) {
+                return;
+            }
+        }
+    }
+
+    private CompletableFuture<Void> submit(List<String> batch, LocalDate dueDate) {
+        return CompletableFuture.runAsync(() -> execute(batch, dueDate), workers)
+                .exceptionally(e -> {
+                    log.error("Payment order execution batch failed", e);
+                    return null;
+                });
+    }
+
+    private void execute(List<String> batch, LocalDate dueDate) {
+        List<PaymentOrder> updated = new ArrayList<>(batch.size());
+        int executed = 0;
+        int failed = 0;
+        int skipped = 0;
+        try {
+            for (String id : batch) {
+                PaymentOrder order = repository.findById(id).orElse(null);
+                if (order == null
+                        || order.getStatus() != PaymentOrder.PaymentOrderStatus.PENDING
+                        || executionDateOf(order).isAfter(dueDate)) {
+                    unsavedOutcomes.remove(id);
+                    skipped++;
+                    continue;
+                }
+                Boolean settled = unsavedOutcomes.get(id);
+                if (settled == null) {
+                    try {
+                        settled = settlement.settle(order);
+                    } catch (RuntimeException e) {
+                        log.warn("Settlement of payment order {} failed, retrying on the next tick", id, e);
+                        schedule(id, executionDateOf(order));
+                        continue;
+                    }
+                    unsavedOutcomes.put(id, settled);
+                }
+                if (settled) {
+                    executed++;
+                } else {
+                    failed++;
+                }
+                updated.add(order.toBuilder()
+                        .status(settled ? PaymentOrder.PaymentOrderStatus.EXECUTED : PaymentOrder.PaymentOrderStatus.FAILED)
+                        .lastUpdate(LocalDateTime.now(clock))
+                        .build());
+            }
+            if (!updated.isEmpty()) {
+                repository.saveAll(updated);
+            }
+        } catch (RuntimeException e) {
+            log.error("Payment order execution batch failed, retrying its orders on the next tick", e);
+            for (String id : batch) {
+                schedule(id, dueDate);
+            }
+            return;
+        }
+        for (PaymentOrder order : updated) {
+            unsavedOutcomes.remove(order.getId());
+        }
+        metrics.executed(executed);
+        metrics.failed(failed);
+        metrics.skipped(skipped);
+    }
+
+    private static LocalDate executionDateOf(PaymentOrder order) {
+        if (order.getRequestedExecutionDate() != null) {
+            return order.getRequestedExecutionDate();
+        }
+        return order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate() : LocalDate.MIN;
+    }
+}
@@ -0,0 +1,68 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PaymentOrderExecutionMetrics {
+
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private final AtomicLong lastTickMillis = new AtomicLong();
+
+    void queued(int delta) {
+        queued.add(delta);
+    }
+
+    void executed(int count) {
+        executed.add(count);
+    }
+
+    void failed(int count) {
+        failed.add(count);
+    }
+
+    void skipped(int count) {
+        skipped.add(count);
+    }
+
+    void lag(long millis) {
+        lastLagMillis.set(millis);
+        maxLagMillis.accumulateAndGet(millis, Math::max);
+    }
+
+    void tick(long millis) {
+        lastTickMillis.set(millis);
+    }
+
+    public long getQueued() {
+        return queued.sum();
+    }
+
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis.get();
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis.get();
+    }
+
+    public long getLastTickMillis() {
+        return lastTickMillis.get();
+    }
+}
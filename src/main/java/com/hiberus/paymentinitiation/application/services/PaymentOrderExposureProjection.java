@@ -0,0 +1,267 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderExposureUseCase;
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.CurrencyCode;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderExposure;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals of the orders per debtor IBAN and currency, overall and per requested execution date,
+ * kept from the repository's change notifications instead of scanning orders. Each write takes the
+ * replaced state out of its status total and adds the new one, so totals only depend on which writes
+ * happened, not on the order listeners hear about them.
+ *
+ * <p>Amounts are added as {@code long} minor units of the currency on {@link LongAdder}s, which spread
+ * concurrent updates of a busy account over cells rather than retrying one CAS; a read sums the cells
+ * and costs the same however many orders the account has. A read is not a snapshot across statuses:
+ * an order moving from PENDING to EXECUTED can briefly count in both or neither, and totals are exact
+ * once writes stop. Orders whose amount is not a whole number of minor units of an ISO 4217 currency,
+ * or does not fit a {@code long}, are left out and counted by {@link #untracked()}.
+ *
+ * <p>Orders already stored are counted by a scan at construction, after the listener is registered so
+ * no write is missed. A scan is not a snapshot, so a write landing meanwhile may or may not be in what
+ * it reads: while seeding, notifications are held back keeping the newest state of each order by
+ * {@code lastUpdate}, and the scan keeps the newest state it counted per order. Once it is done, each
+ * order counts once, in the newer of the two. For {@link #RECONCILE_WINDOW} after that, a notification
+ * for a seeded order replaces the state counted for it only if it is newer, so a write that was stored
+ * and scanned but had not notified yet when seeding ended is not counted twice.
+ */
+@Service
+public class PaymentOrderExposureProjection implements PaymentOrderExposureUseCase {
+
+    private static final PaymentOrder.PaymentOrderStatus[] STATUSES = PaymentOrder.PaymentOrderStatus.values();
+    private static final long UNTRACKED = Long.MIN_VALUE;
+    static final Duration RECONCILE_WINDOW = Duration.ofMinutes(1);
+
+    private final Map<Key, AccountTotals> accounts = new ConcurrentHashMap<>();
+    private final LongAdder untracked = new LongAdder();
+    private final Object seeding = new Object();
+    /** Newest state of each order written while seeding, by id; {@code null} once seeded. */
+    private volatile Map<String, PaymentOrder> writtenWhileSeeding = new HashMap<>();
+    /** State counted for each seeded order, by id; {@code null} once the reconcile window is over. */
+    private volatile Map<String, PaymentOrder> seeded;
+    private volatile long reconcileUntil;
+
+    public PaymentOrderExposureProjection(PaymentOrderRepositoryPort repository) {
+        repository.addChangeListener(this::onChange);
+        // orders restored by the repository before any listener was registered
+        Map<String, PaymentOrder> counted = new ConcurrentHashMap<>();
+        for (PaymentOrder.PaymentOrderStatus status : STATUSES) {
+            PaymentOrderQuery query = PaymentOrderQuery.builder()
+                    .status(status)
+                    .limit(PaymentOrderQuery.MAX_LIMIT)
+                    .build();
+            PaymentOrderPage page;
+            do {
+                page = repository.search(query);
+                for (PaymentOrder order : page.getItems()) {
+                    count(counted, order);
+                }
+                query = query.toBuilder().cursor(page.getNextCursor()).build();
+            } while (page.getNextCursor() != null);
+        }
+        synchronized (seeding) {
+            for (PaymentOrder latest : writtenWhileSeeding.values()) {
+                count(counted, latest);
+            }
+            seeded = counted;
+            reconcileUntil = System.nanoTime() + RECONCILE_WINDOW.toNanos();
+            writtenWhileSeeding = null;
+        }
+    }
+
+    @Override
+    public PaymentOrderExposure exposure(String debtorIban, String currency, LocalDate requestedExecutionDate) {
+        int minorUnits = CurrencyCode.minorUnits(currency);
+        if (minorUnits < 0) {
+            throw new IllegalArgumentException(currency + " is not an ISO 4217 currency");
+        }
+        AccountTotals account = accounts.get(new Key(debtorIban, currency));
+        Totals totals = account == null ? null
+                : requestedExecutionDate == null ? account : account.byDate.get(requestedExecutionDate);
+        return new PaymentOrderExposure(debtorIban, currency, requestedExecutionDate,
+                totals == null ? Totals.zero(minorUnits) : totals.read(minorUnits));
+    }
+
+    /**
+     * Every debtor and currency total, and each of their per-date totals, for comparison against a
+     * projection rebuilt from the stored orders.
+     */
+    public List<PaymentOrderExposure> exposures() {
+        List<PaymentOrderExposure> exposures = new ArrayList<>();
+        accounts.forEach((key, account) -> {
+            int minorUnits = CurrencyCode.minorUnits(key.currency());
+            exposures.add(new PaymentOrderExposure(key.debtorIban(), key.currency(), null, account.read(minorUnits)));
+            account.byDate.forEach((date, totals) -> exposures.add(
+                    new PaymentOrderExposure(key.debtorIban(), key.currency(), date, totals.read(minorUnits))));
+        });
+        return exposures;
+    }
+
+    /**
+     * @return stored orders left out of the totals because their amount has no exact minor-unit value
+     */
+    public long untracked() {
+        return untracked.sum();
+    }
+
+    void onChange(PaymentOrder previous, PaymentOrder current) {
+        if (writtenWhileSeeding != null) {
+            synchronized (seeding) {
+                if (writtenWhileSeeding != null) {
+                    writtenWhileSeeding.merge(current.getId(), current,
+                            (held, next) -> isNewer(next, held) ? next : held);
+                    return;
+                }
+            }
+        }
+        Map<String, PaymentOrder> reconciling = seeded;
+        if (reconciling != null) {
+            if (System.nanoTime() - reconcileUntil > 0) {
+                seeded = null;
+            } else if (reconciling.computeIfPresent(current.getId(),
+                    (id, counted) -> replace(counted, current)) != null) {
+                return;
+            }
+        }
+        if (previous != null && sameContribution(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            add(previous, -1);
+        }
+        add(current, 1);
+    }
+
+    private void add(PaymentOrder order, int sign) {
+        long amount = minorUnits(order);
+        if (amount == UNTRACKED || order.getDebtorAccount() == null || order.getStatus() == null) {
+            untracked.add(sign);
+            return;
+        }
+        Key key = new Key(order.getDebtorAccount().getIban(), order.getInstructedAmount().getCurrency());
+        AccountTotals account = accounts.get(key);
+        if (account == null) {
+            account = accounts.computeIfAbsent(key, k -> new AccountTotals());
+        }
+        int status = order.getStatus().ordinal();
+        account.add(status, sign, amount);
+        LocalDate date = order.getRequestedExecutionDate();
+        if (date != null) {
+            Totals totals = account.byDate.get(date);
+            if (totals == null) {
+                totals = account.byDate.computeIfAbsent(date, d -> new Totals());
+            }
+            totals.add(status, sign, amount);
+        }
+    }
+
+    private static long minorUnits(PaymentOrder order) {
+        Amount amount = order.getInstructedAmount();
+        if (amount == null || amount.getAmount() == null) {
+            return UNTRACKED;
+        }
+        int minorUnits = CurrencyCode.minorUnits(amount.getCurrency());
+        if (minorUnits < 0) {
+            return UNTRACKED;
+        }
+        try {
+            return amount.getAmount().movePointRight(minorUnits).longValueExact();
+        } catch (ArithmeticException e) {
+            return UNTRACKED;
+        }
+    }
+
+    /**
+     * Counts {@code order} unless a newer state of it is already counted, taking out the older one.
+     */
+    private void count(Map<String, PaymentOrder> counted, PaymentOrder order) {
+        PaymentOrder previous = counted.get(order.getId());
+        if (previous == null) {
+            add(order, 1);
+            counted.put(order.getId(), order);
+        } else {
+            counted.put(order.getId(), replace(previous, order));
+        }
+    }
+
+    private PaymentOrder replace(PaymentOrder counted, PaymentOrder candidate) {
+        if (!isNewer(candidate, counted)) {
+            return counted;
+        }
+        add(counted, -1);
+        add(candidate, 1);
+        return candidate;
+    }
+
+    /**
+     * Orders without a {@code lastUpdate} cannot be ranked, so the later arrival wins.
+     */
+    private static boolean isNewer(PaymentOrder candidate, PaymentOrder counted) {
+        return candidate.getLastUpdate() == null || counted.getLastUpdate() == null
+                || candidate.getLastUpdate().isAfter(counted.getLastUpdate());
+    }
+
+    private static boolean sameContribution(PaymentOrder previous, PaymentOrder current) {
+        return previous.getStatus() == current.getStatus()
+                && Objects.equals(previous.getDebtorAccount(), current.getDebtorAccount())
+                && Objects.equals(previous.getInstructedAmount(), current.getInstructedAmount())
+                && Objects.equals(previous.getRequestedExecutionDate(), current.getRequestedExecutionDate());
+    }
+
+    private record Key(String debtorIban, String currency) {
+    }
+
+    private static class Totals {
+
+        private final LongAdder[] counts = new LongAdder[STATUSES.length];
+        private final LongAdder[] amounts = new LongAdder[STATUSES.length];
+
+        Totals() {
+            for (int i = 0; i < STATUSES.length; i++) {
+                counts[i] = new LongAdder();
+                amounts[i] = new LongAdder();
+            }
+        }
+
+        void add(int status, int sign, long amount) {
+            counts[status].add(sign);
+            amounts[status].add(sign * amount);
+        }
+
+        Map<PaymentOrder.PaymentOrderStatus, PaymentOrderExposure.Total> read(int minorUnits) {
+            Map<PaymentOrder.PaymentOrderStatus, PaymentOrderExposure.Total> totals =
+                    new EnumMap<>(PaymentOrder.PaymentOrderStatus.class);
+            for (PaymentOrder.PaymentOrderStatus status : STATUSES) {
+                totals.put(status, new PaymentOrderExposure.Total(counts[status.ordinal()].sum(),
+                        BigDecimal.valueOf(amounts[status.ordinal()].sum(), minorUnits)));
+            }
+            return totals;
+        }
+
+        static Map<PaymentOrder.PaymentOrderStatus, PaymentOrderExposure.Total> zero(int minorUnits) {
+            return new Totals().read(minorUnits);
+        }
+    }
+
+    private static final class AccountTotals extends Totals {
+
+        private final Map<LocalDate, Totals> byDate = new ConcurrentHashMap<>();
+    }
+}
@@ -1,37 +1,41 @@
 package com.hiberus.paymentinitiation.application.services;
 
 import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderChangeListener;
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderIdGenerator;
 import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
 import com.hiberus.paymentinitiation.domain.PaymentOrder;
-import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.InitiatePaymentOrderRequest;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
 public class PaymentOrderServiceImpl implements PaymentOrderUseCase {
 
     private final PaymentOrderRepositoryPort repository;
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final PaymentOrderIdGenerator idGenerator;
+    private final PaymentOrderValidator validator;
+    private final PaymentOrderDuplicateDetector duplicates;
 
     @Override
-    public PaymentOrder initiatePaymentOrder(InitiatePaymentOrderRequest request) {
-        PaymentOrder order = PaymentOrder.builder()
-                .id("PO-" + String.format("%04d", idGenerator.getAndIncrement()))
-                .externalReference(request.getExternalReference())
-                .debtorAccount(new com.hiberus.paymentinitiation.domain.Account(request.getDebtorAccount().getIban()))
-                .creditorAccount(new com.hiberus.paymentinitiation.domain.Account(request.getCreditorAccount().getIban()))
-                .instructedAmount(new com.hiberus.paymentinitiation.domain.Amount(request.getInstructedAmount().getAmount(), request.getInstructedAmount().getCurrency()))
-                .remittanceInformation(request.getRemittanceInformation())
-                .requestedExecutionDate(request.getRequestedExecutionDate())
-                .status(PaymentOrder.PaymentOrderStatus.PENDING)
-                .createdAt(LocalDateTime.now())
-                .lastUpdate(LocalDateTime.now())
-                .build();
-        return repository.save(order);
+    public PaymentOrder initiatePaymentOrder(PaymentOrder draft) {
+        return repository.saveIfAbsent(duplicates.screen(toPaymentOrder(draft, LocalDateTime.now())));
+    }
+
+    @Override
+    public List<PaymentOrder> initiatePaymentOrders(List<PaymentOrder> drafts) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PaymentOrder> orders = new ArrayList<>(drafts.size());
+        for (PaymentOrder draft : drafts) {
+            orders.add(toPaymentOrder(draft, now));
+        }
+        return repository.saveAllIfAbsent(duplicates.screenAll(orders));
     }
 
     @Override
@@ -43,4 +47,26 @@ public class PaymentOrderServiceImpl implements PaymentOrderUseCase {
     public Optional<PaymentOrder> retrievePaymentOrderStatus(String id) {
         return repository.findById(id);
     }
+
+    @Override
+    public PaymentOrderPage searchPaymentOrders(PaymentOrderQuery query) {
+        return repository.search(query);
+    }
+
+    @Override
+    public void subscribeToChanges(PaymentOrderChangeListener listener) {
+        repository.addChangeListener(listener);
+    }
+
+    private PaymentOrder toPaymentOrder(PaymentOrder draft, LocalDateTime now) {
+        validator.validate(draft);
+        // the draft's accounts and amount are immutable and carried over as they are
+        return draft.toBuilder()
+                .id(idGenerator.nextId())
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .createdAt(now)
+                .lastUpdate(now)
+                .duplicateSuspect(false)
+                .build();
+    }
 }
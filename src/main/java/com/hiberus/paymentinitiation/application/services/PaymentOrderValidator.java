@@ -0,0 +1,97 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.CurrencyCode;
+import com.hiberus.paymentinitiation.domain.Iban;
+import com.hiberus.paymentinitiation.domain.InvalidPaymentOrderException;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Checks an initiation draft before an order is created from it: required fields, both IBANs, an
+ * active ISO 4217 currency and an amount that is positive and has no more decimals than the currency
+ * allows. Valid drafts are checked without allocating. IBANs that passed can be remembered in a
+ * fixed direct-mapped table ({@code payment-initiation.validation.iban-cache-size}); a hit costs an
+ * {@code equals} instead of the mod-97 pass, and a collision just overwrites the slot.
+ */
+@Component
+public class PaymentOrderValidator {
+
+    private final AtomicReferenceArray<String> validIbans;
+    private final int mask;
+
+    public PaymentOrderValidator(ValidationProperties properties) {
+        int size = properties.getIbanCacheSize();
+        if (size > 0) {
+            this.validIbans = new AtomicReferenceArray<>(size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1);
+            this.mask = validIbans.length() - 1;
+        } else {
+            this.validIbans = null;
+            this.mask = 0;
+        }
+    }
+
+    /**
+     * @throws InvalidPaymentOrderException naming the first field that is missing or invalid
+     */
+    public void validate(PaymentOrder draft) {
+        if (draft.getExternalReference() == null || draft.getExternalReference().isBlank()) {
+            throw new InvalidPaymentOrderException("externalReference is required");
+        }
+        checkAccount("debtorAccount", draft.getDebtorAccount());
+        checkAccount("creditorAccount", draft.getCreditorAccount());
+        checkAmount(draft.getInstructedAmount());
+        if (draft.getRequestedExecutionDate() == null) {
+            throw new InvalidPaymentOrderException("requestedExecutionDate is required");
+        }
+    }
+
+    private void checkAccount(String field, Account account) {
+        if (account == null || account.getIban() == null) {
+            throw new InvalidPaymentOrderException(field + ".iban is required");
+        }
+        if (!isValidIban(account.getIban())) {
+            throw new InvalidPaymentOrderException(field + ".iban is not a valid IBAN: " + account.getIban());
+        }
+    }
+
+    private boolean isValidIban(String iban) {
+        if (validIbans == null) {
+            return Iban.isValid(iban);
+        }
+        int hash = iban.hashCode() * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        if (iban.equals(validIbans.get(slot))) {
+            return true;
+        }
+        if (!Iban.isValid(iban)) {
+            return false;
+        }
+        validIbans.lazySet(slot, iban);
+        return true;
+    }
+
+    private static void checkAmount(Amount amount) {
+        if (amount == null || amount.getAmount() == null || amount.getCurrency() == null) {
+            throw new InvalidPaymentOrderException("instructedAmount.amount and instructedAmount.currency are required");
+        }
+        int minorUnits = CurrencyCode.minorUnits(amount.getCurrency());
+        if (minorUnits < 0) {
+            throw new InvalidPaymentOrderException(
+                    "instructedAmount.currency is not an ISO 4217 currency: " + amount.getCurrency());
+        }
+        BigDecimal value = amount.getAmount();
+        if (value.signum() <= 0) {
+            throw new InvalidPaymentOrderException("instructedAmount.amount must be positive");
+        }
+        // trailing zeros (10.500 EUR) are fine; stripping them allocates, so only when the scale is too high
+        if (value.scale() > minorUnits && value.stripTrailingZeros().scale() > minorUnits) {
+            throw new InvalidPaymentOrderException("instructedAmount.amount has more than " + minorUnits
+                    + " decimals for " + amount.getCurrency());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Approximate membership over a sliding time window: a ring of {@code slices + 1} Bloom filters, one
+ * generation per slice of the window. An element goes into the generation of the slice its time falls
+ * in, and a query looks at the generations overlapping the window that ends at its time. Elements expire
+ * with their whole generation when a newer slice takes over its slot, so no counters or deletions are
+ * needed and memory is fixed. Filters are blocked: the hash picks one 512-bit block and sets {@code k}
+ * bits inside it, so each generation costs one cache line per insert or query. Queries can answer true
+ * for an element never added (at about the configured rate when a window holds the expected number of
+ * elements), but never false for one added within the window.
+ */
+final class SlidingBloomFilter {
+
+    private static final int BLOCK_WORDS = 8;
+    private static final int BLOCK_MASK = BLOCK_WORDS * Long.SIZE - 1;
+    private static final int PROBES_PER_MIX = 7;
+    private static final int MAX_HASHES = 16;
+
+    private final AtomicReferenceArray<Generation> generations;
+    private final long sliceMillis;
+    private final int slices;
+    private final int blocks;
+    private final int hashes;
+
+    SlidingBloomFilter(Duration window, int slices, int expected, double falsePositiveRate) {
+        if (window.toMillis() < slices || slices < 1 || expected < 1
+                || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Sliding Bloom filter needs a window of at least one millisecond per "
+                    + "slice, at least one slice and expected element, and a false-positive rate in (0, 1)");
+        }
+        this.slices = slices;
+        this.sliceMillis = window.toMillis() / slices;
+        // a query reads up to slices + 1 generations, whose false positives add up
+        double perGeneration = falsePositiveRate / (slices + 1);
+        double bitsPerElement = -Math.log(perGeneration) / (Math.log(2) * Math.log(2));
+        long bits = (long) Math.ceil(Math.ceil((double) expected / slices) * bitsPerElement);
+        this.blocks = (int) Math.max(1, Math.min(Integer.MAX_VALUE / BLOCK_WORDS, (bits + BLOCK_MASK) / (BLOCK_MASK + 1)));
+        this.hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round(bitsPerElement * Math.log(2))));
+        this.generations = new AtomicReferenceArray<>(slices + 1);
+    }
+
+    void add(long hash, long timeMillis) {
+        long number = Math.floorDiv(timeMillis, sliceMillis);
+        int slot = (int) Math.floorMod(number, (long) generations.length());
+        Generation generation = generations.get(slot);
+        while (generation == null || generation.number < number) {
+            Generation next = new Generation(number, blocks * BLOCK_WORDS);
+            if (generations.compareAndSet(slot, generation, next)) {
+                generation = next;
+            } else {
+                generation = generations.get(slot);
+            }
+        }
+        // otherwise the slot already serves a later slice and the element is out of the window
+        if (generation.number == number) {
+            generation.add(hash, blocks, hashes);
+        }
+    }
+
+    boolean mightContain(long hash, long timeMillis) {
+        long newest = Math.floorDiv(timeMillis, sliceMillis);
+        long oldest = newest - slices;
+        for (int i = 0; i < generations.length(); i++) {
+            Generation generation = generations.get(i);
+            if (generation != null && generation.number >= oldest && generation.number <= newest
+                    && generation.mightContain(hash, blocks, hashes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return bytes held by the filters once every generation has been used
+     */
+    long sizeInBytes() {
+        return (long) generations.length() * blocks * BLOCK_WORDS * Long.BYTES;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static int blockOf(long hash, int blocks) {
+        return (int) (((hash >>> 32) * blocks) >>> 32) * BLOCK_WORDS;
+    }
+
+    private static final class Generation {
+
+        final long number;
+        final AtomicLongArray words;
+
+        Generation(long number, int words) {
+            this.number = number;
+            this.words = new AtomicLongArray(words);
+        }
+
+        void add(long hash, int blocks, int hashes) {
+            int block = blockOf(hash, blocks);
+            long probes = hash;
+            for (int i = 0; i < hashes; i++) {
+                if (i % PROBES_PER_MIX == 0) {
+                    probes = mix(probes + i);
+                }
+                int bit = (int) probes & BLOCK_MASK;
+                probes >>>= 9;
+                long mask = 1L << bit;
+                int word = block + (bit >>> 6);
+                if ((words.get(word) & mask) == 0) {
+                    words.getAndAccumulate(word, mask, (current, set) -> current | set);
+                }
+            }
+        }
+
+        boolean mightContain(long hash, int blocks, int hashes) {
+            int block = blockOf(hash, blocks);
+            long probes = hash;
+            for (int i = 0; i < hashes; i++) {
+                if (i % PROBES_PER_MIX == 0) {
+                    probes = mix(probes + i);
+                }
+                int bit = (int) probes & BLOCK_MASK;
+                probes >>>= 9;
+                if ((words.get(block + (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
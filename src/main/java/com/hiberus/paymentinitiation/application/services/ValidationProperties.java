@@ -0,0 +1,12 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.validation")
+public class ValidationProperties {
+
+    /** Slots for IBANs that already passed the check; 0 disables the cache. */
+    private int ibanCacheSize = 0;
+}
@@ -0,0 +1,51 @@
+package com.hiberus.paymentinitiation.domain;
+
+/**
+ * ISO 4217 active currency codes and their minor units, looked up by the three letters as an index
+ * into a flat table rather than through {@link java.util.Currency}, which also knows retired codes and
+ * funds. Precious metals and other codes without minor units are not accepted as payment currencies.
+ */
+public final class CurrencyCode {
+
+    // code and minor units (decimal places) of every active ISO 4217 currency
+    private static final String TABLE = "AED2 AFN2 ALL2 AMD2 ANG2 AOA2 ARS2 AUD2 AWG2 AZN2 BAM2 BBD2 BDT2 BGN2 BHD3 "
+            + "BIF0 BMD2 BND2 BOB2 BOV2 BRL2 BSD2 BTN2 BWP2 BYN2 BZD2 CAD2 CDF2 CHE2 CHF2 CHW2 CLF4 CLP0 CNY2 COP2 COU2 "
+            + "CRC2 CUP2 CVE2 CZK2 DJF0 DKK2 DOP2 DZD2 EGP2 ERN2 ETB2 EUR2 FJD2 FKP2 GBP2 GEL2 GHS2 GIP2 GMD2 GNF0 GTQ2 "
+            + "GYD2 HKD2 HNL2 HTG2 HUF2 IDR2 ILS2 INR2 IQD3 IRR2 ISK0 JMD2 JOD3 JPY0 KES2 KGS2 KHR2 KMF0 KPW2 KRW0 KWD3 "
+            + "KYD2 KZT2 LAK2 LBP2 LKR2 LRD2 LSL2 LYD3 MAD2 MDL2 MGA2 MKD2 MMK2 MNT2 MOP2 MRU2 MUR2 MVR2 MWK2 MXN2 MXV2 "
+            + "MYR2 MZN2 NAD2 NGN2 NIO2 NOK2 NPR2 NZD2 OMR3 PAB2 PEN2 PGK2 PHP2 PKR2 PLN2 PYG0 QAR2 RON2 RSD2 RUB2 RWF0 "
+            + "SAR2 SBD2 SCR2 SDG2 SEK2 SGD2 SHP2 SLE2 SOS2 SRD2 SSP2 STN2 SVC2 SYP2 SZL2 THB2 TJS2 TMT2 TND3 TOP2 TRY2 "
+            + "TTD2 TWD2 TZS2 UAH2 UGX0 USD2 USN2 UYI0 UYU2 UYW4 UZS2 VED2 VES2 VND0 VUV0 WST2 XAF0 XCD2 XOF0 XPF0 YER2 "
+            + "ZAR2 ZMW2 ZWG2";
+    // minor units + 1 per code, 0 for codes that are not in the table
+    private static final byte[] MINOR_UNITS = new byte[26 * 26 * 26];
+
+    static {
+        for (String entry : TABLE.split(" ")) {
+            MINOR_UNITS[index(entry)] = (byte) (entry.charAt(3) - '0' + 1);
+        }
+    }
+
+    private CurrencyCode() {
+    }
+
+    /**
+     * @return the decimal places of the currency, or -1 if the code is not an active ISO 4217 currency
+     */
+    public static int minorUnits(CharSequence code) {
+        if (code == null || code.length() != 3) {
+            return -1;
+        }
+        for (int i = 0; i < 3; i++) {
+            char c = code.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return -1;
+            }
+        }
+        return MINOR_UNITS[index(code)] - 1;
+    }
+
+    private static int index(CharSequence code) {
+        return ((code.charAt(0) - 'A') * 26 + code.charAt(1) - 'A') * 26 + code.charAt(2) - 'A';
+    }
+}
@@ -0,0 +1,19 @@
+package com.hiberus.paymentinitiation.domain;
+
+/**
+ * A payment order turned away because one with the same debtor, creditor and amount, but another
+ * external reference, was initiated within the duplicate detection window.
+ */
+public class DuplicatePaymentOrderException extends InvalidPaymentOrderException {
+
+    private final String duplicateOf;
+
+    public DuplicatePaymentOrderException(String duplicateOf) {
+        super("Likely duplicate of payment order " + duplicateOf);
+        this.duplicateOf = duplicateOf;
+    }
+
+    public String getDuplicateOf() {
+        return duplicateOf;
+    }
+}
@@ -0,0 +1,70 @@
+package com.hiberus.paymentinitiation.domain;
+
+/**
+ * ISO 13616 IBAN check in electronic format (upper case, no spaces): a country from the IBAN registry,
+ * that country's length, and the mod-97 check digits. The check runs over the characters of the input
+ * with a {@code long} remainder, allocating nothing.
+ */
+public final class Iban {
+
+    public static final int MAX_LENGTH = 34;
+
+    // country code and length of every country in the SWIFT IBAN registry
+    private static final String REGISTRY = "AD24 AE23 AL28 AT20 AZ28 BA20 BE16 BG22 BH22 BI27 BR29 BY28 CH21 CR22 CY28 "
+            + "CZ24 DE22 DJ27 DK18 DO28 EE20 EG29 ES24 FI18 FK18 FO18 FR27 GB22 GE22 GI23 GL18 GR27 GT28 HN28 HR21 HU28 "
+            + "IE22 IL23 IQ23 IS26 IT27 JO30 KW30 KZ20 LB28 LC32 LI21 LT20 LU20 LV21 LY25 MC27 MD24 ME22 MK19 MN20 MR27 "
+            + "MT31 MU30 NI28 NL18 NO15 OM23 PK24 PL28 PS29 PT25 QA29 RO24 RS22 RU33 SA24 SC31 SD18 SE24 SI19 SK24 SM27 "
+            + "SO23 ST25 SV28 TL23 TN24 TR26 UA29 VA22 VG24 XK20 YE30";
+    private static final byte[] LENGTHS = new byte[26 * 26];
+    // reducing only past this bound keeps remainder * 100 + 35 within a long
+    private static final long REDUCE_ABOVE = Long.MAX_VALUE / 100 - 35;
+
+    static {
+        for (String entry : REGISTRY.split(" ")) {
+            LENGTHS[(entry.charAt(0) - 'A') * 26 + entry.charAt(1) - 'A'] = Byte.parseByte(entry.substring(2));
+        }
+    }
+
+    private Iban() {
+    }
+
+    public static boolean isValid(CharSequence iban) {
+        if (iban == null) {
+            return false;
+        }
+        int length = iban.length();
+        if (length < 5 || length > MAX_LENGTH) {
+            return false;
+        }
+        char first = iban.charAt(0);
+        char second = iban.charAt(1);
+        if (!isLetter(first) || !isLetter(second) || LENGTHS[(first - 'A') * 26 + second - 'A'] != length
+                || !isDigit(iban.charAt(2)) || !isDigit(iban.charAt(3))) {
+            return false;
+        }
+        // the country code and check digits move to the end; letters count as 10..35
+        long remainder = 0;
+        for (int i = 4; i < length + 4; i++) {
+            char c = iban.charAt(i < length ? i : i - length);
+            if (isDigit(c)) {
+                remainder = remainder * 10 + (c - '0');
+            } else if (isLetter(c)) {
+                remainder = remainder * 100 + (c - 'A' + 10);
+            } else {
+                return false;
+            }
+            if (remainder > REDUCE_ABOVE) {
+                remainder %= 97;
+            }
+        }
+        return remainder % 97 == 1;
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
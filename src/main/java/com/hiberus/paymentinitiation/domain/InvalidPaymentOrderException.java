@@ -0,0 +1,11 @@
+package com.hiberus.paymentinitiation.domain;
+
+/**
+ * A payment order request that cannot be initiated as given; the message names the offending field.
+ */
+public class InvalidPaymentOrderException extends IllegalArgumentException {
+
+    public InvalidPaymentOrderException(String message) {
+        super(message);
+    }
+}
@@ -6,7 +6,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class PaymentOrder {
     String id;
     String externalReference;
@@ -18,6 +18,8 @@ public class PaymentOrder {
     PaymentOrderStatus status;
     LocalDateTime createdAt;
     LocalDateTime lastUpdate;
+    /** Set at initiation when an order with the same debtor, creditor and amount was initiated shortly before. */
+    boolean duplicateSuspect;
 
     public enum PaymentOrderStatus {
         PENDING, EXECUTED, FAILED
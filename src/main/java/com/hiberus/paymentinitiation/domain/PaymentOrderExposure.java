@@ -0,0 +1,24 @@
+package com.hiberus.paymentinitiation.domain;
+
+import lombok.Value;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Count and sum of the orders of one debtor in one currency, per status, either over all requested
+ * execution dates ({@code requestedExecutionDate} is {@code null}) or for a single date.
+ */
+@Value
+public class PaymentOrderExposure {
+    String debtorIban;
+    String currency;
+    LocalDate requestedExecutionDate;
+    Map<PaymentOrder.PaymentOrderStatus, Total> totals;
+
+    @Value
+    public static class Total {
+        long count;
+        BigDecimal amount;
+    }
+}
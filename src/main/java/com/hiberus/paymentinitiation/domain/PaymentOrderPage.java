@@ -0,0 +1,10 @@
+package com.hiberus.paymentinitiation.domain;
+
+import lombok.Value;
+import java.util.List;
+
+@Value
+public class PaymentOrderPage {
+    List<PaymentOrder> items;
+    String nextCursor;
+}
@@ -0,0 +1,23 @@
+package com.hiberus.paymentinitiation.domain;
+
+import lombok.Builder;
+import lombok.Value;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Value
+@Builder(toBuilder = true)
+public class PaymentOrderQuery {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    String debtorIban;
+    String creditorIban;
+    PaymentOrder.PaymentOrderStatus status;
+    LocalDate requestedExecutionDate;
+    LocalDateTime createdFrom;
+    LocalDateTime createdTo;
+    String cursor;
+    @Builder.Default
+    int limit = DEFAULT_LIMIT;
+}
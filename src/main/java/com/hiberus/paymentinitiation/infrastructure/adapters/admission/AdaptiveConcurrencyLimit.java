@@ -0,0 +1,64 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Bound on calls in flight, adjusted by additive increase and multiplicative decrease: a call that
+ * completes within the latency target while the limit is at least half used grows the limit by
+ * {@code 1/limit} (about one per limit's worth of calls), and a slower call multiplies it by the backoff
+ * factor, at most once per target interval so a burst of slow completions counts as one signal.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecrease;
+    private final double minLimit;
+    private final double maxLimit;
+    private final double backoff;
+    private final long targetNanos;
+
+    AdaptiveConcurrencyLimit(AdmissionProperties.Concurrency properties, long nowNanos) {
+        this.minLimit = Math.max(1, properties.getMinLimit());
+        this.maxLimit = Math.max(minLimit, properties.getMaxLimit());
+        this.backoff = properties.getBackoff();
+        this.targetNanos = properties.getLatencyTarget().toNanos();
+        double initial = Math.min(maxLimit, Math.max(minLimit, properties.getInitialLimit()));
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initial));
+        this.lastDecrease = new AtomicLong(nowNanos - targetNanos);
+    }
+
+    boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void release(long latencyNanos, long nowNanos) {
+        int released = inFlight.getAndDecrement();
+        if (latencyNanos > targetNanos) {
+            long last = lastDecrease.get();
+            if (nowNanos - last >= targetNanos && lastDecrease.compareAndSet(last, nowNanos)) {
+                update(limit -> Math.max(minLimit, limit * backoff));
+            }
+        } else if (released * 2 >= limit()) {
+            update(limit -> Math.min(maxLimit, limit + 1 / limit));
+        }
+    }
+
+    double limit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(DoubleUnaryOperator change) {
+        limitBits.updateAndGet(bits -> Double.doubleToRawLongBits(change.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+}
@@ -0,0 +1,182 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.admission;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderChangeListener;
+import com.hiberus.paymentinitiation.application.services.PaymentOrderServiceImpl;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Admission control in front of the payment order service. An initiation must take a token from its
+ * debtor's bucket, then from the global bucket, then a slot under the adaptive concurrency limit;
+ * otherwise it is rejected at once with {@link AdmissionRejectedException}. The debtor is checked first
+ * so a debtor over its rate never spends the global budget of everyone else. A bulk chunk takes, from
+ * each debtor's bulk bucket, one token per order of that debtor (a full bucket at most), then one
+ * global token per order, and is rejected as a whole if any bucket falls short. Bulk buckets are
+ * separate from those of single initiations and sized for files, which the bulk endpoint paces by
+ * waiting out the rejection. Tokens taken before a later check turns a request away are given back.
+ * Reads pass straight through.
+ */
+@Service
+@Primary
+public class AdmissionControlledPaymentOrderUseCase implements PaymentOrderUseCase {
+
+    private static final Duration CONCURRENCY_RETRY_AFTER = Duration.ofSeconds(1);
+    private static final int GLOBAL_SLOT = 0;
+
+    private final PaymentOrderUseCase delegate;
+    private final boolean enabled;
+    private final TokenBuckets debtors;
+    private final TokenBuckets bulkDebtors;
+    private final TokenBuckets global;
+    private final AdaptiveConcurrencyLimit concurrency;
+    private final LongSupplier nanoTime;
+    private final Map<AdmissionRejectedException.Reason, Counter> rejections =
+            new EnumMap<>(AdmissionRejectedException.Reason.class);
+
+    @Autowired
+    public AdmissionControlledPaymentOrderUseCase(PaymentOrderServiceImpl delegate, AdmissionProperties properties,
+                                                  MeterRegistry registry) {
+        this(delegate, properties, registry, System::nanoTime);
+    }
+
+    AdmissionControlledPaymentOrderUseCase(PaymentOrderUseCase delegate, AdmissionProperties properties,
+                                           MeterRegistry registry, LongSupplier nanoTime) {
+        long now = nanoTime.getAsLong();
+        this.delegate = delegate;
+        this.enabled = properties.isEnabled();
+        this.debtors = new TokenBuckets(properties.getDebtorSlots(), properties.getDebtorRate(), properties.getDebtorBurst(), now);
+        this.bulkDebtors = new TokenBuckets(properties.getDebtorSlots(), properties.getBulkDebtorRate(),
+                properties.getBulkDebtorBurst(), now);
+        this.global = new TokenBuckets(1, properties.getGlobalRate(), properties.getGlobalBurst(), now);
+        this.concurrency = new AdaptiveConcurrencyLimit(properties.getConcurrency(), now);
+        this.nanoTime = nanoTime;
+        for (AdmissionRejectedException.Reason reason : AdmissionRejectedException.Reason.values()) {
+            rejections.put(reason, Counter.builder("payment.orders.admission.rejected")
+                    .description("Initiations turned away by admission control")
+                    .tag("reason", reason.name())
+                    .register(registry));
+        }
+        Gauge.builder("payment.orders.admission.limit", concurrency, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive concurrency limit for initiations")
+                .register(registry);
+        Gauge.builder("payment.orders.admission.in.flight", concurrency, AdaptiveConcurrencyLimit::inFlight)
+                .register(registry);
+    }
+
+    @Override
+    public PaymentOrder initiatePaymentOrder(PaymentOrder draft) {
+        if (!enabled) {
+            return delegate.initiatePaymentOrder(draft);
+        }
+        long now = nanoTime.getAsLong();
+        int slot = debtors.slotOf(debtorIbanOf(draft));
+        long wait = debtors.tryAcquire(slot, 1, now);
+        if (wait > 0) {
+            throw reject(AdmissionRejectedException.Reason.DEBTOR_RATE, Duration.ofMillis(wait));
+        }
+        wait = global.tryAcquire(GLOBAL_SLOT, 1, now);
+        if (wait > 0) {
+            debtors.release(slot, 1);
+            throw reject(AdmissionRejectedException.Reason.GLOBAL_RATE, Duration.ofMillis(wait));
+        }
+        try {
+            return limited(() -> delegate.initiatePaymentOrder(draft));
+        } catch (AdmissionRejectedException e) {
+            debtors.release(slot, 1);
+            global.release(GLOBAL_SLOT, 1);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<PaymentOrder> initiatePaymentOrders(List<PaymentOrder> drafts) {
+        if (!enabled || drafts.isEmpty()) {
+            return delegate.initiatePaymentOrders(drafts);
+        }
+        long now = nanoTime.getAsLong();
+        Map<Integer, Integer> permitsBySlot = new HashMap<>();
+        for (PaymentOrder draft : drafts) {
+            permitsBySlot.merge(bulkDebtors.slotOf(debtorIbanOf(draft)), 1, Integer::sum);
+        }
+        Map<Integer, Integer> taken = new HashMap<>();
+        for (Map.Entry<Integer, Integer> permits : permitsBySlot.entrySet()) {
+            long wait = bulkDebtors.tryAcquire(permits.getKey(), permits.getValue(), now);
+            if (wait > 0) {
+                taken.forEach(bulkDebtors::release);
+                throw reject(AdmissionRejectedException.Reason.DEBTOR_RATE, Duration.ofMillis(wait));
+            }
+            taken.put(permits.getKey(), permits.getValue());
+        }
+        long wait = global.tryAcquire(GLOBAL_SLOT, drafts.size(), now);
+        if (wait > 0) {
+            taken.forEach(bulkDebtors::release);
+            throw reject(AdmissionRejectedException.Reason.GLOBAL_RATE, Duration.ofMillis(wait));
+        }
+        try {
+            return limited(() -> delegate.initiatePaymentOrders(drafts));
+        } catch (AdmissionRejectedException e) {
+            taken.forEach(bulkDebtors::release);
+            global.release(GLOBAL_SLOT, drafts.size());
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<PaymentOrder> retrievePaymentOrder(String id) {
+        return delegate.retrievePaymentOrder(id);
+    }
+
+    @Override
+    public Optional<PaymentOrder> retrievePaymentOrderStatus(String id) {
+        return delegate.retrievePaymentOrderStatus(id);
+    }
+
+    @Override
+    public PaymentOrderPage searchPaymentOrders(PaymentOrderQuery query) {
+        return delegate.searchPaymentOrders(query);
+    }
+
+    @Override
+    public void subscribeToChanges(PaymentOrderChangeListener listener) {
+        delegate.subscribeToChanges(listener);
+    }
+
+    private <T> T limited(Supplier<T> call) {
+        if (!concurrency.tryAcquire()) {
+            throw reject(AdmissionRejectedException.Reason.CONCURRENCY, CONCURRENCY_RETRY_AFTER);
+        }
+        long start = nanoTime.getAsLong();
+        try {
+            return call.get();
+        } finally {
+            long end = nanoTime.getAsLong();
+            concurrency.release(end - start, end);
+        }
+    }
+
+    private static String debtorIbanOf(PaymentOrder draft) {
+        return draft.getDebtorAccount() == null ? null : draft.getDebtorAccount().getIban();
+    }
+
+    private AdmissionRejectedException reject(AdmissionRejectedException.Reason reason, Duration retryAfter) {
+        rejections.get(reason).increment();
+        return new AdmissionRejectedException(reason, retryAfter);
+    }
+}
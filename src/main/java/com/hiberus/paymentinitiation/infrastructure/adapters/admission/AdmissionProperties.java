@@ -0,0 +1,37 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    /** Initiations per second across all debtors, and the burst allowed above that rate. */
+    private double globalRate = 2_000;
+    private int globalBurst = 4_000;
+    /** Initiations per second for a single debtor IBAN, and its burst. */
+    private double debtorRate = 20;
+    private int debtorBurst = 40;
+    /**
+     * The same per debtor for bulk files, on buckets of their own: a payroll run is paced against this
+     * budget without using up, or being held back by, the debtor's single initiations.
+     */
+    private double bulkDebtorRate = 1_000;
+    private int bulkDebtorBurst = 2_048;
+    /** Debtor buckets; IBANs hash onto them, so memory is fixed however many debtors appear. */
+    private int debtorSlots = 65_536;
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class Concurrency {
+        private int initialLimit = 64;
+        private int minLimit = 8;
+        private int maxLimit = 512;
+        /** Calls slower than this shrink the limit; faster ones let it grow. */
+        private Duration latencyTarget = Duration.ofMillis(50);
+        private double backoff = 0.9;
+    }
+}
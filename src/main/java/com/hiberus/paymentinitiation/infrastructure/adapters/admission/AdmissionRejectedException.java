@@ -0,0 +1,42 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.admission;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of running a use case that admission control turned away; nothing was stored. It
+ * carries no stack trace, so rejecting stays cheap when most requests are being rejected.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final Reason reason;
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(Reason reason, Duration retryAfter) {
+        super(reason.message, null, false, false);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public enum Reason {
+        /** The debtor exceeded its own rate; other debtors are unaffected. */
+        DEBTOR_RATE("Too many payment orders for this debtor account"),
+        /** The service as a whole is at its configured rate. */
+        GLOBAL_RATE("Payment initiation rate limit reached"),
+        /** Too many initiations are in progress for the latency currently observed. */
+        CONCURRENCY("Payment initiation is overloaded");
+
+        private final String message;
+
+        Reason(String message) {
+            this.message = message;
+        }
+    }
+}
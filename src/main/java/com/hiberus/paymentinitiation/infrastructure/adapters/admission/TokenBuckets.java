@@ -0,0 +1,92 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.admission;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets packed one per {@code long} in an {@link AtomicLongArray}: the high 40 bits hold the
+ * time of the last refill in milliseconds since creation, the low 24 bits the tokens in 1/1024ths.
+ * Taking a token is a single compare-and-set. Keys hash onto a fixed number of slots, so memory stays
+ * constant however many keys appear; keys that share a slot share its budget.
+ */
+final class TokenBuckets {
+
+    static final int MAX_BURST = (1 << 24) / 1024 - 1;
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final int SCALE = 1024;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final AtomicLongArray buckets;
+    private final int mask;
+    private final long capacity;
+    private final double refillPerMilli;
+    private final long originNanos;
+
+    TokenBuckets(int slots, double ratePerSecond, int burst, long originNanos) {
+        if (ratePerSecond <= 0 || burst < 1 || burst > MAX_BURST) {
+            throw new IllegalArgumentException("Token bucket rate must be positive and burst within 1.." + MAX_BURST);
+        }
+        int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.buckets = new AtomicLongArray(slots <= 1 ? 1 : size);
+        this.mask = buckets.length() - 1;
+        this.capacity = (long) burst * SCALE;
+        this.refillPerMilli = ratePerSecond * SCALE / 1000;
+        this.originNanos = originNanos;
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, capacity);
+        }
+    }
+
+    int slotOf(String key) {
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Takes {@code permits} tokens from the slot if it holds them. A request for more than the burst
+     * takes a full bucket.
+     *
+     * @return 0 if the tokens were taken, otherwise the milliseconds until they will be available
+     */
+    long tryAcquire(int slot, int permits, long nowNanos) {
+        long now = Math.max(0, (nowNanos - originNanos) / NANOS_PER_MILLI);
+        long needed = Math.min(capacity, (long) permits * SCALE);
+        while (true) {
+            long state = buckets.get(slot);
+            long last = state >>> TOKEN_BITS;
+            long tokens = state & TOKEN_MASK;
+            if (now > last) {
+                long refilled = (long) ((now - last) * refillPerMilli);
+                if (refilled > 0) {
+                    tokens = Math.min(capacity, tokens + refilled);
+                    last = now;
+                }
+            }
+            if (tokens < needed) {
+                return Math.max(1, (long) Math.ceil((needed - tokens) / refillPerMilli));
+            }
+            if (buckets.compareAndSet(slot, state, (last << TOKEN_BITS) | (tokens - needed))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back what {@link #tryAcquire} took for {@code permits}, when the request was turned away
+     * by a later check; the bucket never goes above its burst.
+     */
+    void release(int slot, int permits) {
+        long returned = Math.min(capacity, (long) permits * SCALE);
+        while (true) {
+            long state = buckets.get(slot);
+            long tokens = Math.min(capacity, (state & TOKEN_MASK) + returned);
+            if (buckets.compareAndSet(slot, state, (state & ~TOKEN_MASK) | tokens)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.infrastructure.adapters.admission.AdmissionRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps admission rejections to {@code 429} when a single debtor is over its rate and {@code 503} when
+ * the service as a whole is, both with {@code Retry-After} in whole seconds.
+ */
+@RestControllerAdvice
+public class AdmissionRejectionHandler {
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ProblemDetail> rejected(AdmissionRejectedException e) {
+        HttpStatus status = e.getReason() == AdmissionRejectedException.Reason.DEBTOR_RATE
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(ProblemDetail.forStatusAndDetail(status, e.getMessage()));
+    }
+}
@@ -0,0 +1,10 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+public interface BulkPaymentOrderApi {
+
+    void initiatePaymentOrders(HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
@@ -0,0 +1,184 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.domain.InvalidPaymentOrderException;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.admission.AdmissionRejectedException;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.BulkPaymentOrderResult;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams bulk initiation requests (NDJSON or a JSON array) in fixed-size chunks and writes one
+ * NDJSON result line per input item, so memory stays bounded by the chunk size.
+ * <p>
+ * A chunk that admission control turns away is retried after the {@code Retry-After} it was given,
+ * without reading further input meanwhile, so a large file is paced by the debtor's bulk budget rather
+ * than rejected. Only a chunk still not admitted after {@link #MAX_ADMISSION_WAIT} gets error lines.
+ * A chunk holding invalid or duplicate orders is split in halves, still through the bulk initiation, until
+ * they are isolated; any other failure may come after part of the chunk was stored, so the whole chunk
+ * is reported as failed rather than replayed.
+ */
+@RestController
+public class BulkPaymentOrderControllerAdapter implements BulkPaymentOrderApi {
+
+    static final int CHUNK_SIZE = 512;
+    static final Duration MAX_ADMISSION_WAIT = Duration.ofMinutes(1);
+
+    private final PaymentOrderUseCase useCase;
+    private final ObjectReader draftReader;
+    private final ObjectWriter resultWriter;
+
+    public BulkPaymentOrderControllerAdapter(PaymentOrderUseCase useCase, ObjectMapper objectMapper) {
+        this.useCase = useCase;
+        this.draftReader = objectMapper.readerFor(PaymentOrder.class);
+        this.resultWriter = objectMapper.writerFor(BulkPaymentOrderResult.class).withRootValueSeparator("\n");
+    }
+
+    @PostMapping(value = "/payment-initiation/payment-orders/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Initiate Payment Orders in bulk")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "One NDJSON result line per submitted payment order")
+    })
+    @Override
+    public void initiatePaymentOrders(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        InputStream in = request.getInputStream();
+        OutputStream out = response.getOutputStream();
+        List<PaymentOrder> chunk = new ArrayList<>(CHUNK_SIZE);
+        long line = 0;
+
+        try (MappingIterator<PaymentOrder> drafts = draftReader.readValues(in);
+             SequenceWriter results = resultWriter.writeValues(out)) {
+            String malformed = null;
+            while (malformed == null) {
+                PaymentOrder next;
+                try {
+                    if (!drafts.hasNextValue()) {
+                        break;
+                    }
+                    next = drafts.nextValue();
+                } catch (IOException | RuntimeException e) {
+                    malformed = "Malformed payment order: " + e.getMessage();
+                    continue;
+                }
+                chunk.add(next);
+                if (chunk.size() == CHUNK_SIZE) {
+                    process(chunk, line, results);
+                    line += chunk.size();
+                    chunk.clear();
+                }
+            }
+            process(chunk, line, results);
+            line += chunk.size();
+            if (malformed != null) {
+                results.write(error(++line, null, malformed));
+            }
+            results.flush();
+            if (line > 0) {
+                out.write('\n');
+            }
+        }
+    }
+
+    private void process(List<PaymentOrder> chunk, long firstLine, SequenceWriter results)
+            throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<PaymentOrder> orders;
+        try {
+            orders = initiateAdmitted(chunk);
+        } catch (InvalidPaymentOrderException e) {
+            // Raised before anything is stored: halve the chunk until the bad items stand alone.
+            if (chunk.size() == 1) {
+                results.write(error(firstLine + 1, chunk.get(0).getExternalReference(), e.getMessage()));
+                results.flush();
+                return;
+            }
+            int half = chunk.size() / 2;
+            process(chunk.subList(0, half), firstLine, results);
+            process(chunk.subList(half, chunk.size()), firstLine + half, results);
+            return;
+        } catch (AdmissionRejectedException e) {
+            fail(chunk, firstLine, e.getMessage(), results);
+            return;
+        } catch (RuntimeException e) {
+            // Part of the chunk may already be stored, so replaying it could store orders twice.
+            fail(chunk, firstLine, "Payment order chunk failed; some of its orders may have been stored", results);
+            return;
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            results.write(success(firstLine + i + 1, orders.get(i)));
+        }
+        results.flush();
+    }
+
+    private List<PaymentOrder> initiateAdmitted(List<PaymentOrder> chunk) {
+        long waited = 0;
+        while (true) {
+            try {
+                return useCase.initiatePaymentOrders(chunk);
+            } catch (AdmissionRejectedException e) {
+                long pause = Math.max(1, e.getRetryAfter().toMillis());
+                if (waited + pause > MAX_ADMISSION_WAIT.toMillis()) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(pause);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                waited += pause;
+            }
+        }
+    }
+
+    private static void fail(List<PaymentOrder> chunk, long firstLine, String message, SequenceWriter results)
+            throws IOException {
+        for (int i = 0; i < chunk.size(); i++) {
+            results.write(error(firstLine + i + 1, chunk.get(i).getExternalReference(), message));
+        }
+        results.flush();
+    }
+
+    private static BulkPaymentOrderResult success(long line, PaymentOrder order) {
+        BulkPaymentOrderResult result = new BulkPaymentOrderResult();
+        result.setLine(line);
+        result.setId(order.getId());
+        result.setExternalReference(order.getExternalReference());
+        result.setStatus(order.getStatus().name());
+        return result;
+    }
+
+    private static BulkPaymentOrderResult error(long line, String externalReference, String message) {
+        BulkPaymentOrderResult result = new BulkPaymentOrderResult();
+        result.setLine(line);
+        result.setExternalReference(externalReference);
+        result.setError(message);
+        return result;
+    }
+}
@@ -0,0 +1,29 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.domain.DuplicatePaymentOrderException;
+import com.hiberus.paymentinitiation.domain.InvalidPaymentOrderException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps a rejected initiation request to {@code 400} with the offending field in the detail, or to
+ * {@code 409} with the earlier order's id when it was refused as a likely duplicate.
+ */
+@RestControllerAdvice
+public class InvalidPaymentOrderHandler {
+
+    @ExceptionHandler(InvalidPaymentOrderException.class)
+    public ResponseEntity<ProblemDetail> invalid(InvalidPaymentOrderException e) {
+        return ResponseEntity.badRequest().body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    @ExceptionHandler(DuplicatePaymentOrderException.class)
+    public ResponseEntity<ProblemDetail> duplicate(DuplicatePaymentOrderException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+        problem.setProperty("duplicateOf", e.getDuplicateOf());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+    }
+}
@@ -1,17 +1,38 @@
 package com.hiberus.paymentinitiation.infrastructure.adapters.api;
 
-import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.InitiatePaymentOrderRequest;
-import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderResponse;
-import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderStatusResponse;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderSearchResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 public interface PaymentOrderApi {
 
-    ResponseEntity<PaymentOrderResponse> initiatePaymentOrder(@RequestBody InitiatePaymentOrderRequest request);
+    ResponseEntity<PaymentOrder> initiatePaymentOrder(@RequestBody PaymentOrder draft);
+
+    ResponseEntity<byte[]> retrievePaymentOrder(@PathVariable String paymentOrderId,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                WebRequest webRequest);
 
-    ResponseEntity<PaymentOrderResponse> retrievePaymentOrder(@PathVariable String paymentOrderId);
+    ResponseEntity<byte[]> retrievePaymentOrderStatus(@PathVariable String paymentOrderId,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                      WebRequest webRequest);
 
-    ResponseEntity<PaymentOrderStatusResponse> retrievePaymentOrderStatus(@PathVariable String paymentOrderId);
+    ResponseEntity<PaymentOrderSearchResponse> searchPaymentOrders(
+            @RequestParam(required = false) String debtorIban,
+            @RequestParam(required = false) String creditorIban,
+            @RequestParam(required = false) PaymentOrder.PaymentOrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate requestedExecutionDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit);
 }
@@ -2,87 +2,141 @@ package com.hiberus.paymentinitiation.infrastructure.adapters.api;
 
 import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
 import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
 import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
+import static com.hiberus.paymentinitiation.infrastructure.adapters.api.PaymentOrderResponseMapper.toSearchResponse;
+
 @RestController
 @RequiredArgsConstructor
 public class PaymentOrderControllerAdapter implements PaymentOrderApi {
 
     private final PaymentOrderUseCase useCase;
+    private final PaymentOrderResponseCache responseCache;
 
-    @PostMapping("/payment-initiation/payment-orders")
-    @Operation(summary = "Initiate a Payment Order")
+    @PostMapping(value = "/payment-initiation/payment-orders",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, PaymentOrderMediaType.CBOR_VALUE, PaymentOrderMediaType.SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, PaymentOrderMediaType.CBOR_VALUE, PaymentOrderMediaType.SMILE_VALUE})
+    @Operation(summary = "Initiate a Payment Order", requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            content = @Content(schema = @Schema(implementation = InitiatePaymentOrderRequest.class))))
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Payment order initiated successfully"),
-        @ApiResponse(responseCode = "400", description = "Bad request")
+        @ApiResponse(responseCode = "200", description = "Payment order initiated successfully",
+                content = @Content(schema = @Schema(implementation = PaymentOrderResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Bad request"),
+        @ApiResponse(responseCode = "409", description = "Likely duplicate of a recent payment order")
     })
     @Override
-    public ResponseEntity<PaymentOrderResponse> initiatePaymentOrder(InitiatePaymentOrderRequest request) {
-        PaymentOrder order = useCase.initiatePaymentOrder(request);
-        PaymentOrderResponse response = toResponse(order);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PaymentOrder> initiatePaymentOrder(PaymentOrder draft) {
+        return ResponseEntity.ok(useCase.initiatePaymentOrder(draft));
     }
 
-    @GetMapping("/payment-initiation/payment-orders/{paymentOrderId}")
+    @GetMapping(value = "/payment-initiation/payment-orders/{paymentOrderId}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, PaymentOrderMediaType.CBOR_VALUE, PaymentOrderMediaType.SMILE_VALUE})
     @Operation(summary = "Retrieve Payment Order")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Payment order retrieved successfully"),
+        @ApiResponse(responseCode = "200", description = "Payment order retrieved successfully",
+                content = @Content(schema = @Schema(implementation = PaymentOrderResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Payment order unchanged since If-None-Match / If-Modified-Since"),
         @ApiResponse(responseCode = "404", description = "Payment order not found")
     })
     @Override
-    public ResponseEntity<PaymentOrderResponse> retrievePaymentOrder(String paymentOrderId) {
+    public ResponseEntity<byte[]> retrievePaymentOrder(String paymentOrderId, String accept, WebRequest webRequest) {
+        PaymentOrderMediaType mediaType = PaymentOrderMediaType.negotiate(accept);
         Optional<PaymentOrder> orderOpt = useCase.retrievePaymentOrder(paymentOrderId);
-        return orderOpt.map(order -> ResponseEntity.ok(toResponse(order)))
-                .orElse(ResponseEntity.notFound().build());
+        if (orderOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        PaymentOrder order = orderOpt.get();
+        if (notModified(webRequest, order, mediaType)) {
+            return null;
+        }
+        return encoded(mediaType, responseCache.order(order, mediaType));
     }
 
-    @GetMapping("/payment-initiation/payment-orders/{paymentOrderId}/status")
+    @GetMapping(value = "/payment-initiation/payment-orders/{paymentOrderId}/status",
+            produces = {MediaType.APPLICATION_JSON_VALUE, PaymentOrderMediaType.CBOR_VALUE, PaymentOrderMediaType.SMILE_VALUE})
     @Operation(summary = "Retrieve Payment Order Status")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Payment order status retrieved successfully"),
+        @ApiResponse(responseCode = "200", description = "Payment order status retrieved successfully",
+                content = @Content(schema = @Schema(implementation = PaymentOrderStatusResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Payment order unchanged since If-None-Match / If-Modified-Since"),
         @ApiResponse(responseCode = "404", description = "Payment order not found")
     })
     @Override
-    public ResponseEntity<PaymentOrderStatusResponse> retrievePaymentOrderStatus(String paymentOrderId) {
+    public ResponseEntity<byte[]> retrievePaymentOrderStatus(String paymentOrderId, String accept, WebRequest webRequest) {
+        PaymentOrderMediaType mediaType = PaymentOrderMediaType.negotiate(accept);
         Optional<PaymentOrder> orderOpt = useCase.retrievePaymentOrderStatus(paymentOrderId);
-        return orderOpt.map(order -> {
-            PaymentOrderStatusResponse response = new PaymentOrderStatusResponse();
-            response.setPaymentOrderId(order.getId());
-            response.setStatus(order.getStatus().name());
-            response.setLastUpdate(order.getLastUpdate());
-            return ResponseEntity.ok(response);
-        }).orElse(ResponseEntity.notFound().build());
+        if (orderOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        PaymentOrder order = orderOpt.get();
+        if (notModified(webRequest, order, mediaType)) {
+            return null;
+        }
+        return encoded(mediaType, responseCache.status(order, mediaType));
     }
 
-    private PaymentOrderResponse toResponse(PaymentOrder order) {
-        PaymentOrderResponse response = new PaymentOrderResponse();
-        response.setId(order.getId());
-        response.setExternalReference(order.getExternalReference());
-
-        PaymentOrderResponse.Account debtor = new PaymentOrderResponse.Account();
-        debtor.setIban(order.getDebtorAccount().getIban());
-        response.setDebtorAccount(debtor);
-
-        PaymentOrderResponse.Account creditor = new PaymentOrderResponse.Account();
-        creditor.setIban(order.getCreditorAccount().getIban());
-        response.setCreditorAccount(creditor);
+    @GetMapping(value = "/payment-initiation/payment-orders",
+            produces = {MediaType.APPLICATION_JSON_VALUE, PaymentOrderMediaType.CBOR_VALUE, PaymentOrderMediaType.SMILE_VALUE})
+    @Operation(summary = "Search Payment Orders")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of matching payment orders"),
+        @ApiResponse(responseCode = "400", description = "Invalid criteria or cursor")
+    })
+    @Override
+    public ResponseEntity<PaymentOrderSearchResponse> searchPaymentOrders(String debtorIban, String creditorIban,
+                                                                          PaymentOrder.PaymentOrderStatus status,
+                                                                          LocalDate requestedExecutionDate,
+                                                                          LocalDateTime createdFrom, LocalDateTime createdTo,
+                                                                          String cursor, int limit) {
+        if (limit < 1 || limit > PaymentOrderQuery.MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + PaymentOrderQuery.MAX_LIMIT);
+        }
+        PaymentOrderQuery query = PaymentOrderQuery.builder()
+                .debtorIban(debtorIban)
+                .creditorIban(creditorIban)
+                .status(status)
+                .requestedExecutionDate(requestedExecutionDate)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .cursor(cursor)
+                .limit(limit)
+                .build();
+        try {
+            return ResponseEntity.ok(toSearchResponse(useCase.searchPaymentOrders(query)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
 
-        PaymentOrderResponse.Amount amount = new PaymentOrderResponse.Amount();
-        amount.setAmount(order.getInstructedAmount().getAmount());
-        amount.setCurrency(order.getInstructedAmount().getCurrency());
-        response.setInstructedAmount(amount);
+    /**
+     * Checks the conditional headers against the order's validators and, when the client's copy is
+     * current, has the response already set to {@code 304}; a handler then returns {@code null}. Either
+     * way the validators are added to the response.
+     */
+    private static boolean notModified(WebRequest webRequest, PaymentOrder order, PaymentOrderMediaType mediaType) {
+        String eTag = PaymentOrderValidators.eTag(order, mediaType);
+        return eTag != null && webRequest.checkNotModified(eTag, PaymentOrderValidators.lastModified(order));
+    }
 
-        response.setRemittanceInformation(order.getRemittanceInformation());
-        response.setRequestedExecutionDate(order.getRequestedExecutionDate());
-        response.setStatus(order.getStatus().name());
-        return response;
+    private static ResponseEntity<byte[]> encoded(PaymentOrderMediaType mediaType, byte[] body) {
+        return ResponseEntity.ok().contentType(mediaType.mediaType()).body(body);
     }
 }
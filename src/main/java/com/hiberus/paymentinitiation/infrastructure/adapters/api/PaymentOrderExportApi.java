@@ -0,0 +1,25 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderExportResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+public interface PaymentOrderExportApi {
+
+    void exportPaymentOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate requestedExecutionDate,
+            @RequestParam(required = false) PaymentOrder.PaymentOrderStatus status,
+            @RequestParam(defaultValue = "pain.001") String format,
+            HttpServletResponse response) throws IOException;
+
+    ResponseEntity<PaymentOrderExportResponse> exportPaymentOrdersToFile(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate requestedExecutionDate,
+            @RequestParam(required = false) PaymentOrder.PaymentOrderStatus status,
+            @RequestParam(defaultValue = "pain.001") String format) throws IOException;
+}
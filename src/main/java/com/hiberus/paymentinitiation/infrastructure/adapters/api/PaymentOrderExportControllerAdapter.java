@@ -0,0 +1,80 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderExportResponse;
+import com.hiberus.paymentinitiation.infrastructure.adapters.export.PaymentOrderExportFormat;
+import com.hiberus.paymentinitiation.infrastructure.adapters.export.PaymentOrderExportSummary;
+import com.hiberus.paymentinitiation.infrastructure.adapters.export.PaymentOrderExporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Exports the orders of an execution date for clearing, either written to the response as they are read
+ * (chunked, so the size is never known up front) or to a file in the export directory.
+ */
+@RestController
+@RequiredArgsConstructor
+public class PaymentOrderExportControllerAdapter implements PaymentOrderExportApi {
+
+    private final PaymentOrderExporter exporter;
+
+    @GetMapping("/payment-initiation/payment-orders/export")
+    @Operation(summary = "Download the Payment Orders of an execution date as pain.001 or CSV")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Every matching payment order, streamed"),
+        @ApiResponse(responseCode = "400", description = "Unknown format")
+    })
+    @Override
+    public void exportPaymentOrders(LocalDate requestedExecutionDate, PaymentOrder.PaymentOrderStatus status,
+                                    String format, HttpServletResponse response) throws IOException {
+        PaymentOrderExportFormat exportFormat = format(format);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(exportFormat.mediaType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(PaymentOrderExporter.fileName(requestedExecutionDate, status, exportFormat))
+                .build()
+                .toString());
+        exporter.export(requestedExecutionDate, status, exportFormat, response.getOutputStream());
+    }
+
+    @PostMapping(value = "/payment-initiation/payment-orders/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Write the Payment Orders of an execution date to a pain.001 or CSV file")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Name of the written file, order count and control sum"),
+        @ApiResponse(responseCode = "400", description = "Unknown format")
+    })
+    @Override
+    public ResponseEntity<PaymentOrderExportResponse> exportPaymentOrdersToFile(
+            LocalDate requestedExecutionDate, PaymentOrder.PaymentOrderStatus status, String format) throws IOException {
+        PaymentOrderExportSummary summary = exporter.exportToFile(requestedExecutionDate, status, format(format));
+        PaymentOrderExportResponse response = new PaymentOrderExportResponse();
+        response.setFile(summary.getFile().getFileName().toString());
+        response.setOrders(summary.getOrders());
+        response.setControlSum(summary.getControlSum());
+        return ResponseEntity.ok(response);
+    }
+
+    private static PaymentOrderExportFormat format(String format) {
+        try {
+            return PaymentOrderExportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderExposureResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDate;
+
+public interface PaymentOrderExposureApi {
+
+    ResponseEntity<PaymentOrderExposureResponse> retrieveExposure(
+            @PathVariable String debtorIban, @RequestParam String currency, @RequestParam LocalDate requestedExecutionDate);
+}
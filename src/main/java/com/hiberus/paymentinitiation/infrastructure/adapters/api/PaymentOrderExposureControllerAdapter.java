@@ -0,0 +1,49 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderExposureUseCase;
+import com.hiberus.paymentinitiation.domain.PaymentOrderExposure;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderExposureResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+import static com.hiberus.paymentinitiation.infrastructure.adapters.api.PaymentOrderResponseMapper.toExposureResponse;
+
+@RestController
+@RequiredArgsConstructor
+public class PaymentOrderExposureControllerAdapter implements PaymentOrderExposureApi {
+
+    private final PaymentOrderExposureUseCase useCase;
+
+    @GetMapping(value = "/payment-initiation/exposures/{debtorIban}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieve the count and amount of a debtor's Payment Orders per status")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Totals over all dates, or for requestedExecutionDate if given"),
+        @ApiResponse(responseCode = "400", description = "Unknown currency")
+    })
+    @Override
+    public ResponseEntity<PaymentOrderExposureResponse> retrieveExposure(
+            @PathVariable String debtorIban,
+            @RequestParam String currency,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate requestedExecutionDate) {
+        PaymentOrderExposure exposure;
+        try {
+            exposure = useCase.exposure(debtorIban, currency, requestedExecutionDate);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return ResponseEntity.ok(toExposureResponse(exposure));
+    }
+}
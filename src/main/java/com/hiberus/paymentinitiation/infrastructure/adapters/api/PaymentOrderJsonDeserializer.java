@@ -0,0 +1,136 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Reads the {@code InitiatePaymentOrderRequest} fields into a {@link PaymentOrder} draft and skips any
+ * other, so a request cannot set the id, status or timestamps. Values in the common form (strings,
+ * numbers, nulls) are taken from the parser directly; anything else goes through the mapper's own
+ * deserializers, which accept or reject it exactly as they would for the DTO. The date deserializer is
+ * looked up once per mapper rather than per request.
+ */
+final class PaymentOrderJsonDeserializer extends StdDeserializer<PaymentOrder> implements ContextualDeserializer {
+
+    private final JsonDeserializer<Object> dates;
+
+    PaymentOrderJsonDeserializer() {
+        this(null);
+    }
+
+    private PaymentOrderJsonDeserializer(JsonDeserializer<Object> dates) {
+        super(PaymentOrder.class);
+        this.dates = dates;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        return dates != null ? this
+                : new PaymentOrderJsonDeserializer(ctxt.findRootValueDeserializer(ctxt.constructType(LocalDate.class)));
+    }
+
+    @Override
+    public PaymentOrder deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (PaymentOrder) ctxt.handleUnexpectedToken(PaymentOrder.class, p);
+        }
+        PaymentOrder.PaymentOrderBuilder draft = PaymentOrder.builder();
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.currentName();
+            p.nextToken();
+            switch (name) {
+                case "externalReference" -> draft.externalReference(string(p, ctxt));
+                case "debtorAccount" -> draft.debtorAccount(account(p, ctxt));
+                case "creditorAccount" -> draft.creditorAccount(account(p, ctxt));
+                case "instructedAmount" -> draft.instructedAmount(amount(p, ctxt));
+                case "remittanceInformation" -> draft.remittanceInformation(string(p, ctxt));
+                case "requestedExecutionDate" -> draft.requestedExecutionDate(date(p, ctxt));
+                default -> p.skipChildren();
+            }
+        }
+        return draft.build();
+    }
+
+    private LocalDate date(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return dates == null ? ctxt.readValue(p, LocalDate.class) : (LocalDate) dates.deserialize(p, ctxt);
+    }
+
+    private static Account account(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expectObject(p, ctxt, Account.class);
+        String iban = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            if ("iban".equals(name)) {
+                iban = string(p, ctxt);
+            } else {
+                p.skipChildren();
+            }
+        }
+        return new Account(iban);
+    }
+
+    private static Amount amount(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expectObject(p, ctxt, Amount.class);
+        BigDecimal amount = null;
+        String currency = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            switch (name) {
+                case "amount" -> amount = decimal(p, ctxt);
+                case "currency" -> currency = string(p, ctxt);
+                default -> p.skipChildren();
+            }
+        }
+        return new Amount(amount, currency);
+    }
+
+    private static String string(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_STRING -> p.getText();
+            case VALUE_NULL -> null;
+            default -> ctxt.readValue(p, String.class);
+        };
+    }
+
+    private static BigDecimal decimal(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getDecimalValue();
+            case VALUE_NULL -> null;
+            default -> ctxt.readValue(p, BigDecimal.class);
+        };
+    }
+
+    private static void expectObject(JsonParser p, DeserializationContext ctxt, Class<?> type) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            ctxt.handleUnexpectedToken(type, p);
+        }
+    }
+}
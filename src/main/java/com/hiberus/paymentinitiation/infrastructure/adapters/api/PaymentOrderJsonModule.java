@@ -0,0 +1,23 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads initiation requests straight into a {@link PaymentOrder} draft and writes orders straight from
+ * the domain in the {@code PaymentOrderResponse} shape of {@code openapi.yaml}, instead of copying them
+ * through {@code InitiatePaymentOrderRequest} and {@code PaymentOrderResponse}. Those DTOs remain the
+ * documented contract, and the output is byte for byte what Jackson writes for them in every encoding.
+ * Spring Boot adds the module to its JSON mapper; {@link PaymentOrderMessageConverters} adds it to the
+ * CBOR and Smile converters, which Boot does not configure.
+ */
+@Component
+public class PaymentOrderJsonModule extends SimpleModule {
+
+    public PaymentOrderJsonModule() {
+        super("PaymentOrderJsonModule");
+        addSerializer(PaymentOrder.class, new PaymentOrderJsonSerializer());
+        addDeserializer(PaymentOrder.class, new PaymentOrderJsonDeserializer());
+    }
+}
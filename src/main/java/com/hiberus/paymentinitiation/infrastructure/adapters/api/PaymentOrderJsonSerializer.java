@@ -0,0 +1,67 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+
+import java.io.IOException;
+
+/**
+ * Writes the fields of {@code PaymentOrderResponse} in its declaration order, nulls included as the
+ * default property inclusion does. The date goes through the mapper's own {@code LocalDate} serializer
+ * so that date settings apply as they would to the DTO.
+ */
+final class PaymentOrderJsonSerializer extends StdSerializer<PaymentOrder> {
+
+    PaymentOrderJsonSerializer() {
+        super(PaymentOrder.class);
+    }
+
+    @Override
+    public void serialize(PaymentOrder order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(order);
+        gen.writeStringField("id", order.getId());
+        gen.writeStringField("externalReference", order.getExternalReference());
+        writeAccount(gen, "debtorAccount", order.getDebtorAccount());
+        writeAccount(gen, "creditorAccount", order.getCreditorAccount());
+        Amount amount = order.getInstructedAmount();
+        gen.writeFieldName("instructedAmount");
+        if (amount == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartObject(amount);
+            gen.writeFieldName("amount");
+            if (amount.getAmount() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(amount.getAmount());
+            }
+            gen.writeStringField("currency", amount.getCurrency());
+            gen.writeEndObject();
+        }
+        gen.writeStringField("remittanceInformation", order.getRemittanceInformation());
+        gen.writeFieldName("requestedExecutionDate");
+        if (order.getRequestedExecutionDate() == null) {
+            gen.writeNull();
+        } else {
+            provider.defaultSerializeValue(order.getRequestedExecutionDate(), gen);
+        }
+        gen.writeStringField("status", order.getStatus() == null ? null : order.getStatus().name());
+        gen.writeBooleanField("duplicateSuspect", order.isDuplicateSuspect());
+        gen.writeEndObject();
+    }
+
+    private static void writeAccount(JsonGenerator gen, String name, Account account) throws IOException {
+        gen.writeFieldName(name);
+        if (account == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject(account);
+        gen.writeStringField("iban", account.getIban());
+        gen.writeEndObject();
+    }
+}
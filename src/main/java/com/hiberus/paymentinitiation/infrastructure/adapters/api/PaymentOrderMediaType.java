@@ -0,0 +1,57 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Encodings offered on the payment-order endpoints. CBOR and Smile carry the same documents as JSON
+ * (the {@code openapi.yaml} schemas), with numbers and strings in binary form.
+ */
+public enum PaymentOrderMediaType {
+
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+    static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private final MediaType mediaType;
+
+    PaymentOrderMediaType(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Picks the encoding for an {@code Accept} header, by quality and then in declaration order, so JSON
+     * wins for a missing header or {@code *}{@code /*}.
+     */
+    public static PaymentOrderMediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType candidate : accepted) {
+            for (PaymentOrderMediaType type : values()) {
+                if (candidate.includes(type.mediaType)) {
+                    return type;
+                }
+            }
+        }
+        return JSON;
+    }
+}
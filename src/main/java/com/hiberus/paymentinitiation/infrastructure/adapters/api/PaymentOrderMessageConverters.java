@@ -0,0 +1,31 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Adds {@link PaymentOrderJsonModule} to every Jackson converter Spring MVC uses. The JSON one already has
+ * it from Spring Boot, and registering it again is a no-op.
+ */
+@Component
+public class PaymentOrderMessageConverters implements WebMvcConfigurer {
+
+    private final PaymentOrderJsonModule module;
+
+    public PaymentOrderMessageConverters(PaymentOrderJsonModule module) {
+        this.module = module;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter jackson) {
+                jackson.getObjectMapper().registerModule(module);
+            }
+        }
+    }
+}
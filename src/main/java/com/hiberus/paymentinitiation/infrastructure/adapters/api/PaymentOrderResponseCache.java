@@ -0,0 +1,104 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.hiberus.paymentinitiation.infrastructure.adapters.api.PaymentOrderResponseMapper.toStatusResponse;
+
+/**
+ * Encoded bytes of the order and status views, kept per order id and bounded by total encoded size. An
+ * entry is only served for the exact order it was encoded from, so a write racing a read can never
+ * leave a stale body behind; change notifications just release the memory early. Each entry holds one
+ * slot per view and {@link PaymentOrderMediaType}, filled as they are requested.
+ */
+@Component
+public class PaymentOrderResponseCache {
+
+    // Retained source order plus entry and array headers, roughly.
+    private static final int ENTRY_OVERHEAD = 512;
+    private static final int ORDER_VIEW = 0;
+    private static final int STATUS_VIEW = 1;
+    private static final int VIEWS = 2;
+    private static final int SLOTS = PaymentOrderMediaType.values().length * VIEWS;
+
+    private final Cache<String, Entry> entries;
+    private final Map<PaymentOrderMediaType, ObjectMapper> mappers = new EnumMap<>(PaymentOrderMediaType.class);
+    private final boolean enabled;
+
+    public PaymentOrderResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper,
+                                     PaymentOrderJsonModule module, PaymentOrderUseCase useCase,
+                                     ObjectProvider<MeterRegistry> registry) {
+        // the binary mappers match the ones Spring MVC registers for its CBOR and Smile converters
+        this.mappers.put(PaymentOrderMediaType.JSON, objectMapper);
+        this.mappers.put(PaymentOrderMediaType.CBOR, Jackson2ObjectMapperBuilder.cbor().modulesToInstall(module).build());
+        this.mappers.put(PaymentOrderMediaType.SMILE, Jackson2ObjectMapperBuilder.smile().modulesToInstall(module).build());
+        this.enabled = properties.isEnabled();
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((String id, Entry entry) -> entry.weight())
+                .recordStats()
+                .build();
+        registry.ifAvailable(meters -> CaffeineCacheMetrics.monitor(meters, entries, "payment-order-responses"));
+        useCase.subscribeToChanges((previous, current) -> entries.invalidate(current.getId()));
+    }
+
+    public byte[] order(PaymentOrder order, PaymentOrderMediaType mediaType) {
+        return encoded(order, mediaType, ORDER_VIEW);
+    }
+
+    public byte[] status(PaymentOrder order, PaymentOrderMediaType mediaType) {
+        return encoded(order, mediaType, STATUS_VIEW);
+    }
+
+    private byte[] encoded(PaymentOrder order, PaymentOrderMediaType mediaType, int view) {
+        if (!enabled) {
+            return encode(order, mediaType, view);
+        }
+        int slot = mediaType.ordinal() * VIEWS + view;
+        Entry cached = entries.getIfPresent(order.getId());
+        if (cached != null && !cached.source().equals(order)) {
+            cached = null;
+        }
+        if (cached != null && cached.encoded()[slot] != null) {
+            return cached.encoded()[slot];
+        }
+        byte[] bytes = encode(order, mediaType, view);
+        // copy-on-write, so a published entry's slots never change under a concurrent reader
+        byte[][] encoded = cached != null ? cached.encoded().clone() : new byte[SLOTS][];
+        encoded[slot] = bytes;
+        entries.put(order.getId(), new Entry(order, encoded));
+        return bytes;
+    }
+
+    private byte[] encode(PaymentOrder order, PaymentOrderMediaType mediaType, int view) {
+        Object response = view == ORDER_VIEW ? order : toStatusResponse(order);
+        try {
+            return mappers.get(mediaType).writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Entry(PaymentOrder source, byte[][] encoded) {
+
+        int weight() {
+            int weight = ENTRY_OVERHEAD;
+            for (byte[] bytes : encoded) {
+                weight += bytes == null ? 0 : bytes.length;
+            }
+            return weight;
+        }
+    }
+}
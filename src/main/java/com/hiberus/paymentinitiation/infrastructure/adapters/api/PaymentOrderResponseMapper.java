@@ -0,0 +1,48 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderExposure;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderExposureResponse;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderSearchResponse;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderStatusResponse;
+import java.util.LinkedHashMap;
+
+final class PaymentOrderResponseMapper {
+
+    private PaymentOrderResponseMapper() {
+    }
+
+    /**
+     * Orders are written by {@link PaymentOrderJsonModule} as they are, so the page's items are not copied.
+     */
+    static PaymentOrderSearchResponse toSearchResponse(PaymentOrderPage page) {
+        PaymentOrderSearchResponse response = new PaymentOrderSearchResponse();
+        response.setItems(page.getItems());
+        response.setNextCursor(page.getNextCursor());
+        return response;
+    }
+
+    static PaymentOrderStatusResponse toStatusResponse(PaymentOrder order) {
+        PaymentOrderStatusResponse response = new PaymentOrderStatusResponse();
+        response.setPaymentOrderId(order.getId());
+        response.setStatus(order.getStatus().name());
+        response.setLastUpdate(order.getLastUpdate());
+        return response;
+    }
+
+    static PaymentOrderExposureResponse toExposureResponse(PaymentOrderExposure exposure) {
+        PaymentOrderExposureResponse response = new PaymentOrderExposureResponse();
+        response.setDebtorIban(exposure.getDebtorIban());
+        response.setCurrency(exposure.getCurrency());
+        response.setRequestedExecutionDate(exposure.getRequestedExecutionDate());
+        response.setTotals(new LinkedHashMap<>());
+        exposure.getTotals().forEach((status, total) -> {
+            PaymentOrderExposureResponse.Total item = new PaymentOrderExposureResponse.Total();
+            item.setCount(total.getCount());
+            item.setAmount(total.getAmount());
+            response.getTotals().put(status.name(), item);
+        });
+        return response;
+    }
+}
@@ -0,0 +1,24 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderStatusResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface PaymentOrderStatusStreamApi {
+
+    DeferredResult<ResponseEntity<PaymentOrderStatusResponse>> awaitPaymentOrderStatusChange(
+            @PathVariable String paymentOrderId, @RequestParam LocalDateTime since, @RequestParam long timeoutSeconds);
+
+    ResponseEntity<List<PaymentOrderStatusResponse>> findPaymentOrderStatusChanges(
+            @RequestBody Map<String, LocalDateTime> lastUpdates);
+
+    SseEmitter streamPaymentOrderStatus(@RequestParam List<String> ids);
+}
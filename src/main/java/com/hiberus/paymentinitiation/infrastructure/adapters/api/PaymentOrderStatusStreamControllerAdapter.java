@@ -0,0 +1,182 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderStatusResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static com.hiberus.paymentinitiation.infrastructure.adapters.api.PaymentOrderResponseMapper.toStatusResponse;
+
+@RestController
+@RequiredArgsConstructor
+public class PaymentOrderStatusStreamControllerAdapter implements PaymentOrderStatusStreamApi {
+
+    static final long MAX_WAIT_SECONDS = 120;
+    static final int MAX_STREAMED_ORDERS = 1000;
+    static final int MAX_CHECKED_ORDERS = 1000;
+    private static final long STREAM_TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+
+    private final PaymentOrderUseCase useCase;
+    private final PaymentOrderStatusSubscriptions subscriptions;
+
+    @GetMapping("/payment-initiation/payment-orders/{paymentOrderId}/status/changes")
+    @Operation(summary = "Wait for a Payment Order Status change (long-poll)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status changed after the given lastUpdate"),
+        @ApiResponse(responseCode = "304", description = "No change before the timeout expired"),
+        @ApiResponse(responseCode = "404", description = "Payment order not found")
+    })
+    @Override
+    public DeferredResult<ResponseEntity<PaymentOrderStatusResponse>> awaitPaymentOrderStatusChange(
+            @PathVariable String paymentOrderId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "30") long timeoutSeconds) {
+        long timeoutMillis = Math.min(Math.max(timeoutSeconds, 1), MAX_WAIT_SECONDS) * 1000;
+        DeferredResult<ResponseEntity<PaymentOrderStatusResponse>> result =
+                new DeferredResult<>(timeoutMillis, ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        // Subscribe before reading the current state so a change in between is not lost.
+        Runnable unsubscribe = subscriptions.subscribe(paymentOrderId, order -> {
+            if (isNewer(order, since)) {
+                result.setResult(ResponseEntity.ok(toStatusResponse(order)));
+            }
+        });
+        result.onCompletion(unsubscribe);
+
+        Optional<PaymentOrder> current = useCase.retrievePaymentOrderStatus(paymentOrderId);
+        if (current.isEmpty()) {
+            result.setResult(ResponseEntity.notFound().build());
+        } else if (isNewer(current.get(), since)) {
+            result.setResult(ResponseEntity.ok(toStatusResponse(current.get())));
+        }
+        return result;
+    }
+
+    @PostMapping(value = "/payment-initiation/payment-orders/status/changes",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE, PaymentOrderMediaType.CBOR_VALUE, PaymentOrderMediaType.SMILE_VALUE})
+    @Operation(summary = "Find Payment Order Status changes since the client's lastUpdate of each order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status of the orders that changed; unchanged and unknown ids are left out"),
+        @ApiResponse(responseCode = "400", description = "No ids or too many ids")
+    })
+    @Override
+    public ResponseEntity<List<PaymentOrderStatusResponse>> findPaymentOrderStatusChanges(
+            @RequestBody Map<String, LocalDateTime> lastUpdates) {
+        if (lastUpdates.isEmpty() || lastUpdates.size() > MAX_CHECKED_ORDERS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Between 1 and " + MAX_CHECKED_ORDERS + " payment order ids are required");
+        }
+        List<PaymentOrderStatusResponse> changed = new ArrayList<>();
+        lastUpdates.forEach((id, since) -> useCase.retrievePaymentOrderStatus(id)
+                .filter(order -> isNewer(order, since))
+                .ifPresent(order -> changed.add(toStatusResponse(order))));
+        return ResponseEntity.ok(changed);
+    }
+
+    @GetMapping(value = "/payment-initiation/payment-orders/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream Payment Order Status changes (Server-Sent Events)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Current status of each order, then one event per change"),
+        @ApiResponse(responseCode = "400", description = "No ids or too many ids")
+    })
+    @Override
+    public SseEmitter streamPaymentOrderStatus(@RequestParam List<String> ids) {
+        List<String> paymentOrderIds = ids.stream().distinct().toList();
+        if (paymentOrderIds.isEmpty() || paymentOrderIds.size() > MAX_STREAMED_ORDERS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Between 1 and " + MAX_STREAMED_ORDERS + " payment order ids are required");
+        }
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        Consumer<PaymentOrder> push = new OrderedPush(emitter);
+
+        List<Runnable> unsubscribes = new ArrayList<>(paymentOrderIds.size());
+        for (String id : paymentOrderIds) {
+            unsubscribes.add(subscriptions.subscribe(id, push));
+        }
+        Runnable unsubscribeAll = () -> unsubscribes.forEach(Runnable::run);
+        emitter.onCompletion(unsubscribeAll);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribeAll.run());
+
+        for (String id : paymentOrderIds) {
+            useCase.retrievePaymentOrderStatus(id).ifPresent(push);
+        }
+        return emitter;
+    }
+
+    private static boolean isNewer(PaymentOrder order, LocalDateTime since) {
+        return since == null || (order.getLastUpdate() != null && order.getLastUpdate().isAfter(since));
+    }
+
+    /**
+     * Sends one emitter its events one at a time and drops any whose {@code lastUpdate} is not newer than
+     * the last one sent for that order. Notifications run as independent tasks and the current status is
+     * pushed from the request thread, so without this a client could see {@code PENDING} after
+     * {@code EXECUTED}.
+     */
+    private static final class OrderedPush implements Consumer<PaymentOrder> {
+
+        private final SseEmitter emitter;
+        private final Map<String, LocalDateTime> lastSent = new HashMap<>();
+        private final Lock lock = new ReentrantLock();
+
+        OrderedPush(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void accept(PaymentOrder order) {
+            lock.lock();
+            try {
+                LocalDateTime previous = lastSent.get(order.getId());
+                if (previous != null && !isNewer(order, previous)) {
+                    return;
+                }
+                lastSent.put(order.getId(), order.getLastUpdate());
+                send(emitter, order);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static void send(SseEmitter emitter, PaymentOrder order) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(order.getId())
+                    .name("status")
+                    .data(toStatusResponse(order), MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+}
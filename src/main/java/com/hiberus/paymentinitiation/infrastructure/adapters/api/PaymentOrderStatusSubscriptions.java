@@ -0,0 +1,74 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Registry of clients waiting for status changes of specific payment orders. It is fed by the
+ * repository change hook and hands each notification to its own executor, so writers never block
+ * on slow connections and parked clients hold no request thread. That executor always uses platform
+ * threads: {@code SseEmitter#send} writes to the socket inside a {@code synchronized} block, which
+ * would pin the carrier if it ran on the virtual-thread application executor. Notifications for one
+ * subscriber may run concurrently and out of order, so subscribers compare {@code lastUpdate}.
+ */
+@Component
+public class PaymentOrderStatusSubscriptions {
+
+    private final Map<String, List<Consumer<PaymentOrder>>> subscribers = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskExecutor executor;
+
+    public PaymentOrderStatusSubscriptions(PaymentOrderUseCase useCase, ThreadPoolTaskExecutorBuilder executorBuilder) {
+        this.executor = executorBuilder.threadNamePrefix("status-push-").build();
+        this.executor.initialize();
+        useCase.subscribeToChanges(this::onChange);
+    }
+
+    /**
+     * @return a handle that removes the subscription
+     */
+    public Runnable subscribe(String paymentOrderId, Consumer<PaymentOrder> subscriber) {
+        subscribers.compute(paymentOrderId, (id, current) -> {
+            List<Consumer<PaymentOrder>> list = current != null ? current : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+        return () -> subscribers.computeIfPresent(paymentOrderId, (id, current) -> {
+            current.remove(subscriber);
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    public int subscribedOrders() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void close() {
+        executor.shutdown();
+    }
+
+    void onChange(PaymentOrder previous, PaymentOrder current) {
+        if (previous != null && previous.getStatus() == current.getStatus()
+                && Objects.equals(previous.getLastUpdate(), current.getLastUpdate())) {
+            return;
+        }
+        List<Consumer<PaymentOrder>> waiting = subscribers.get(current.getId());
+        if (waiting == null) {
+            return;
+        }
+        for (Consumer<PaymentOrder> subscriber : waiting) {
+            executor.execute(() -> subscriber.accept(current));
+        }
+    }
+}
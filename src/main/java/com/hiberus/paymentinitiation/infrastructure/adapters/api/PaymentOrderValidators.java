@@ -0,0 +1,41 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Locale;
+
+/**
+ * Conditional-request validators of an order, derived from its {@code lastUpdate}, which every write
+ * moves forward. They are computed from the stored order alone, so a {@code 304} is answered without
+ * mapping or encoding a response. The ETag also names the encoding, as each one is a different
+ * representation; {@code Last-Modified} only has second resolution, so clients that need every change
+ * should send {@code If-None-Match}.
+ */
+final class PaymentOrderValidators {
+
+    private PaymentOrderValidators() {
+    }
+
+    /**
+     * @return the strong ETag for the order in that encoding, or {@code null} if it has no last update
+     */
+    static String eTag(PaymentOrder order, PaymentOrderMediaType mediaType) {
+        LocalDateTime lastUpdate = order.getLastUpdate();
+        if (lastUpdate == null) {
+            return null;
+        }
+        long version = lastUpdate.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + lastUpdate.getNano();
+        return "\"" + Long.toHexString(version) + "-" + mediaType.name().toLowerCase(Locale.ROOT) + "\"";
+    }
+
+    /**
+     * @return the last update in epoch milliseconds (timestamps are taken in the system zone), or -1
+     */
+    static long lastModified(PaymentOrder order) {
+        LocalDateTime lastUpdate = order.getLastUpdate();
+        return lastUpdate == null ? -1 : lastUpdate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,13 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+}
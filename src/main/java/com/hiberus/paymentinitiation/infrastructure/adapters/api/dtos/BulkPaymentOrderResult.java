@@ -0,0 +1,14 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkPaymentOrderResult {
+    private long line;
+    private String id;
+    private String externalReference;
+    private String status;
+    private String error;
+}
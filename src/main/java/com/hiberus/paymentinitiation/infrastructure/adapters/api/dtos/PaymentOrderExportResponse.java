@@ -0,0 +1,11 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos;
+
+import lombok.Data;
+import java.math.BigDecimal;
+
+@Data
+public class PaymentOrderExportResponse {
+    private String file;
+    private long orders;
+    private BigDecimal controlSum;
+}
@@ -0,0 +1,20 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+public class PaymentOrderExposureResponse {
+    private String debtorIban;
+    private String currency;
+    private LocalDate requestedExecutionDate;
+    private Map<String, Total> totals;
+
+    @Data
+    public static class Total {
+        private long count;
+        private BigDecimal amount;
+    }
+}
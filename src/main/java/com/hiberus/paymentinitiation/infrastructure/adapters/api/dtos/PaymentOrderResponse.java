@@ -14,6 +14,7 @@ public class PaymentOrderResponse {
     private String remittanceInformation;
     private LocalDate requestedExecutionDate;
     private String status;
+    private boolean duplicateSuspect;
 
     @Data
     public static class Account {
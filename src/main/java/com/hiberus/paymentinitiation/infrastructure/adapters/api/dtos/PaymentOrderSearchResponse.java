@@ -0,0 +1,15 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class PaymentOrderSearchResponse {
+    // written in the PaymentOrderResponse shape by PaymentOrderJsonModule
+    @ArraySchema(schema = @Schema(implementation = PaymentOrderResponse.class))
+    private List<PaymentOrder> items;
+    private String nextCursor;
+}
@@ -0,0 +1,164 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.export;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * RFC 4180 CSV, one line per order under a header line, written straight to the target stream. Dates
+ * are ISO 8601 and timestamps are written to the second ({@code 2025-10-31T10:15:00}) digit by digit,
+ * since formatting them through {@code toString()} made up most of the garbage per line.
+ */
+final class CsvExportWriter implements PaymentOrderExportWriter {
+
+    static final String HEADER = "id,externalReference,debtorIban,creditorIban,amount,currency,"
+            + "requestedExecutionDate,status,remittanceInformation,createdAt,lastUpdate";
+
+    private final Writer out;
+    // filled here rather than by a BufferedWriter, whose writes each take a lock
+    private final char[] buffer = new char[16 * 1024];
+    private int position;
+
+    CsvExportWriter(OutputStream out) throws IOException {
+        this.out = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        write(HEADER);
+        write("\r\n");
+    }
+
+    @Override
+    public void write(PaymentOrder order) throws IOException {
+        writeField(order.getId());
+        write(',');
+        writeField(order.getExternalReference());
+        write(',');
+        writeField(order.getDebtorAccount() == null ? null : order.getDebtorAccount().getIban());
+        write(',');
+        writeField(order.getCreditorAccount() == null ? null : order.getCreditorAccount().getIban());
+        write(',');
+        if (order.getInstructedAmount() != null) {
+            writeField(order.getInstructedAmount().getAmount() == null ? null
+                    : order.getInstructedAmount().getAmount().toPlainString());
+            write(',');
+            writeField(order.getInstructedAmount().getCurrency());
+        } else {
+            write(',');
+        }
+        write(',');
+        if (order.getRequestedExecutionDate() != null) {
+            writeDate(order.getRequestedExecutionDate());
+        }
+        write(',');
+        writeField(order.getStatus() == null ? null : order.getStatus().name());
+        write(',');
+        writeField(order.getRemittanceInformation());
+        write(',');
+        writeDateTime(order.getCreatedAt());
+        write(',');
+        writeDateTime(order.getLastUpdate());
+        write("\r\n");
+    }
+
+    @Override
+    public void finish(long orders, BigDecimal controlSum) throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        // the target stream belongs to the caller
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            write(value);
+            return;
+        }
+        write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                write('"');
+            }
+            write(c);
+        }
+        write('"');
+    }
+
+    private void writeDateTime(LocalDateTime dateTime) throws IOException {
+        if (dateTime == null) {
+            return;
+        }
+        writeDate(dateTime.toLocalDate());
+        write('T');
+        writeDigits(dateTime.getHour(), 2);
+        write(':');
+        writeDigits(dateTime.getMinute(), 2);
+        write(':');
+        writeDigits(dateTime.getSecond(), 2);
+    }
+
+    private void writeDate(LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            write(date.toString());
+            return;
+        }
+        writeDigits(year, 4);
+        write('-');
+        writeDigits(date.getMonthValue(), 2);
+        write('-');
+        writeDigits(date.getDayOfMonth(), 2);
+    }
+
+    private void writeDigits(int value, int digits) throws IOException {
+        for (int divisor = digits == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            write('0' + value / divisor % 10);
+        }
+    }
+
+    private void write(String value) throws IOException {
+        int length = value.length();
+        if (length > buffer.length - position) {
+            drain();
+            if (length > buffer.length) {
+                out.write(value);
+                return;
+            }
+        }
+        value.getChars(0, length, buffer, position);
+        position += length;
+    }
+
+    private void write(int c) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (char) c;
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
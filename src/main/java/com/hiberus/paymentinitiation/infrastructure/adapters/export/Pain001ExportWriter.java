@@ -0,0 +1,181 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.export;
+
+import com.ctc.wstx.api.WstxOutputProperties;
+import com.ctc.wstx.stax.WstxOutputFactory;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * ISO 20022 {@code pain.001.001.03} customer credit transfer initiation written with StAX, one payment
+ * information block per order since orders of a date belong to many debtors. The group header must
+ * state the number of transactions and their control sum before the first of them, so transactions are
+ * spooled to a temporary file while they are counted and the file is copied behind the header at the
+ * end: memory stays at the writers' buffers however many orders a date has, at the cost of writing the
+ * transactions to disk once.
+ */
+final class Pain001ExportWriter implements PaymentOrderExportWriter {
+
+    static final String PAIN_001_NS = "urn:iso:std:iso:20022:tech:xsd:pain.001.001.03";
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = outputFactory();
+    private static final DateTimeFormatter CREATION_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final String NOT_PROVIDED = "NOTPROVIDED";
+
+    private final OutputStream out;
+    private final String messageId;
+    private final LocalDateTime creationTime;
+    private final String initiatingPartyName;
+    private final Path spool;
+    private final OutputStream spoolOut;
+    private final XMLStreamWriter transactions;
+
+    Pain001ExportWriter(OutputStream out, Path spoolDirectory, String messageId, LocalDateTime creationTime,
+                        String initiatingPartyName) throws IOException {
+        this.out = out;
+        this.messageId = messageId;
+        this.creationTime = creationTime.truncatedTo(ChronoUnit.SECONDS);
+        this.initiatingPartyName = initiatingPartyName;
+        Files.createDirectories(spoolDirectory);
+        this.spool = Files.createTempFile(spoolDirectory, "pain001-", ".part");
+        this.spoolOut = new BufferedOutputStream(Files.newOutputStream(spool), 64 * 1024);
+        try {
+            this.transactions = OUTPUT_FACTORY.createXMLStreamWriter(spoolOut, "UTF-8");
+        } catch (XMLStreamException e) {
+            close();
+            throw new IOException("Cannot open pain.001 spool " + spool, e);
+        }
+    }
+
+    @Override
+    public void write(PaymentOrder order) throws IOException {
+        try {
+            XMLStreamWriter writer = transactions;
+            String amount = order.getInstructedAmount().getAmount().toPlainString();
+            writer.writeStartElement("PmtInf");
+            writeElement(writer, "PmtInfId", order.getId());
+            writeElement(writer, "PmtMtd", "TRF");
+            writeElement(writer, "NbOfTxs", "1");
+            writeElement(writer, "CtrlSum", amount);
+            writeElement(writer, "ReqdExctnDt", order.getRequestedExecutionDate().toString());
+            writer.writeEmptyElement("Dbtr");
+            writeAccount(writer, "DbtrAcct", order.getDebtorAccount().getIban());
+            writer.writeStartElement("DbtrAgt");
+            writer.writeStartElement("FinInstnId");
+            writer.writeStartElement("Othr");
+            writeElement(writer, "Id", NOT_PROVIDED);
+            writer.writeEndElement();
+            writer.writeEndElement();
+            writer.writeEndElement();
+
+            writer.writeStartElement("CdtTrfTxInf");
+            writer.writeStartElement("PmtId");
+            writeElement(writer, "InstrId", order.getId());
+            writeElement(writer, "EndToEndId",
+                    order.getExternalReference() == null ? NOT_PROVIDED : order.getExternalReference());
+            writer.writeEndElement();
+            writer.writeStartElement("Amt");
+            writer.writeStartElement("InstdAmt");
+            writer.writeAttribute("Ccy", order.getInstructedAmount().getCurrency());
+            writer.writeCharacters(amount);
+            writer.writeEndElement();
+            writer.writeEndElement();
+            writeAccount(writer, "CdtrAcct", order.getCreditorAccount().getIban());
+            if (order.getRemittanceInformation() != null) {
+                writer.writeStartElement("RmtInf");
+                writeElement(writer, "Ustrd", order.getRemittanceInformation());
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+            writer.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot write order " + order.getId() + " to pain.001", e);
+        }
+    }
+
+    @Override
+    public void finish(long orders, BigDecimal controlSum) throws IOException {
+        XMLStreamWriter writer = null;
+        try {
+            transactions.flush();
+            spoolOut.flush();
+            writer = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("Document");
+            writer.writeDefaultNamespace(PAIN_001_NS);
+            writer.writeStartElement("CstmrCdtTrfInitn");
+            writer.writeStartElement("GrpHdr");
+            writeElement(writer, "MsgId", messageId);
+            writeElement(writer, "CreDtTm", CREATION_TIME.format(creationTime));
+            writeElement(writer, "NbOfTxs", Long.toString(orders));
+            writeElement(writer, "CtrlSum", controlSum.toPlainString());
+            writer.writeStartElement("InitgPty");
+            writeElement(writer, "Nm", initiatingPartyName);
+            writer.writeEndElement();
+            writer.writeEndElement();
+            // everything up to the open CstmrCdtTrfInitn is out; the spooled blocks go inside it
+            writer.flush();
+            Files.copy(spool, out);
+            writer.writeEndElement();
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot write pain.001 group header", e);
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (XMLStreamException ignored) {
+                    // the target stream is left open either way
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (transactions != null) {
+                transactions.close();
+            }
+        } catch (XMLStreamException ignored) {
+            // only the spool is affected, and it is deleted next
+        } finally {
+            spoolOut.close();
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    private static void writeAccount(XMLStreamWriter writer, String name, String iban) throws XMLStreamException {
+        writer.writeStartElement(name);
+        writer.writeStartElement("Id");
+        writeElement(writer, "IBAN", iban);
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String name, String value) throws XMLStreamException {
+        writer.writeStartElement(name);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
+
+    private static XMLOutputFactory outputFactory() {
+        WstxOutputFactory factory = new WstxOutputFactory();
+        // the spool holds a sequence of PmtInf blocks without a root element of its own
+        factory.setProperty(WstxOutputProperties.P_OUTPUT_VALIDATE_STRUCTURE, false);
+        return factory;
+    }
+}
@@ -0,0 +1,43 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.export;
+
+/**
+ * File formats of an execution date export, with the value accepted in the {@code format} parameter.
+ */
+public enum PaymentOrderExportFormat {
+    PAIN_001("pain.001", "application/xml", "xml"),
+    CSV("csv", "text/csv", "csv");
+
+    private final String value;
+    private final String mediaType;
+    private final String extension;
+
+    PaymentOrderExportFormat(String value, String mediaType, String extension) {
+        this.value = value;
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code value} names no format
+     */
+    public static PaymentOrderExportFormat of(String value) {
+        for (PaymentOrderExportFormat format : values()) {
+            if (format.value.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format " + value + "; expected pain.001 or csv");
+    }
+}
@@ -0,0 +1,14 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.export;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.export")
+public class PaymentOrderExportProperties {
+
+    private Path directory = Path.of("data", "export");
+    private String initiatingPartyName = "Payment Initiation Service";
+}
@@ -0,0 +1,14 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.export;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+@Value
+public class PaymentOrderExportSummary {
+    /** the written file, or {@code null} when the export went to a stream */
+    Path file;
+    long orders;
+    BigDecimal controlSum;
+}
@@ -0,0 +1,24 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.export;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes the orders of one export as they are read, one at a time. {@link #close()} releases what the
+ * writer holds but does not close the target stream.
+ */
+interface PaymentOrderExportWriter extends Closeable {
+
+    void write(PaymentOrder order) throws IOException;
+
+    /**
+     * Completes the document after the last order.
+     *
+     * @param orders number of orders written
+     * @param controlSum sum of their amounts, regardless of currency
+     */
+    void finish(long orders, BigDecimal controlSum) throws IOException;
+}
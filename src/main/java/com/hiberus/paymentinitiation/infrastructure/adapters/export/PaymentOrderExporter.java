@@ -0,0 +1,124 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.export;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Exports every order of a requested execution date, optionally of one status, for downstream clearing.
+ * Orders are read through the search port one page of {@link PaymentOrderQuery#MAX_LIMIT} at a time and
+ * handed to a streaming writer before the next page is fetched, so only one page is ever held however
+ * many orders the date has. Orders changed or added while an export runs may or may not be in it, as
+ * with any search cursor; export a date once it is settled for a stable file.
+ */
+@Component
+public class PaymentOrderExporter {
+
+    private static final DateTimeFormatter MESSAGE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    private final PaymentOrderUseCase useCase;
+    private final PaymentOrderExportProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public PaymentOrderExporter(PaymentOrderUseCase useCase, PaymentOrderExportProperties properties) {
+        this(useCase, properties, Clock.systemDefaultZone());
+    }
+
+    PaymentOrderExporter(PaymentOrderUseCase useCase, PaymentOrderExportProperties properties, Clock clock) {
+        this.useCase = useCase;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Writes the export to {@code out}, which is flushed but left open.
+     *
+     * @param status the only status to export, or {@code null} for all of them
+     */
+    public PaymentOrderExportSummary export(LocalDate requestedExecutionDate, PaymentOrder.PaymentOrderStatus status,
+                                            PaymentOrderExportFormat format, OutputStream out) throws IOException {
+        long orders = 0;
+        BigDecimal controlSum = BigDecimal.ZERO;
+        try (PaymentOrderExportWriter writer = open(format, requestedExecutionDate, out)) {
+            PaymentOrderQuery query = PaymentOrderQuery.builder()
+                    .requestedExecutionDate(requestedExecutionDate)
+                    .status(status)
+                    .limit(PaymentOrderQuery.MAX_LIMIT)
+                    .build();
+            PaymentOrderPage page;
+            do {
+                page = useCase.searchPaymentOrders(query);
+                for (PaymentOrder order : page.getItems()) {
+                    writer.write(order);
+                    orders++;
+                    controlSum = controlSum.add(order.getInstructedAmount().getAmount());
+                }
+                query = query.toBuilder().cursor(page.getNextCursor()).build();
+            } while (page.getNextCursor() != null);
+            writer.finish(orders, controlSum);
+        }
+        out.flush();
+        return new PaymentOrderExportSummary(null, orders, controlSum);
+    }
+
+    /**
+     * Writes the export to a file in the configured directory, named after the date and status. The file
+     * appears complete or not at all: it is written under a temporary name and renamed when done,
+     * replacing an earlier export of the same date and status.
+     */
+    public PaymentOrderExportSummary exportToFile(LocalDate requestedExecutionDate,
+                                                  PaymentOrder.PaymentOrderStatus status,
+                                                  PaymentOrderExportFormat format) throws IOException {
+        Path directory = properties.getDirectory();
+        Files.createDirectories(directory);
+        Path file = directory.resolve(fileName(requestedExecutionDate, status, format));
+        Path part = Files.createTempFile(directory, file.getFileName().toString() + ".", ".part");
+        try {
+            PaymentOrderExportSummary summary;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), 64 * 1024)) {
+                summary = export(requestedExecutionDate, status, format, out);
+            }
+            Files.move(part, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return new PaymentOrderExportSummary(file, summary.getOrders(), summary.getControlSum());
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    /**
+     * @return the name of the export of a date and status, also used for downloads
+     */
+    public static String fileName(LocalDate requestedExecutionDate, PaymentOrder.PaymentOrderStatus status,
+                                  PaymentOrderExportFormat format) {
+        return "payment-orders-" + requestedExecutionDate + (status == null ? "" : "-" + status) + "." + format.extension();
+    }
+
+    private PaymentOrderExportWriter open(PaymentOrderExportFormat format, LocalDate requestedExecutionDate,
+                                          OutputStream out) throws IOException {
+        return switch (format) {
+            case PAIN_001 -> {
+                LocalDateTime now = LocalDateTime.now(clock);
+                yield new Pain001ExportWriter(out, properties.getDirectory(),
+                        "EXP-" + requestedExecutionDate.toString().replace("-", "") + "-" + MESSAGE_TIME.format(now),
+                        now, properties.getInitiatingPartyName());
+            }
+            case CSV -> new CsvExportWriter(out);
+        };
+    }
+}
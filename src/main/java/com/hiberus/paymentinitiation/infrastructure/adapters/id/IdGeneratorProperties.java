@@ -0,0 +1,21 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.id;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.id")
+public class IdGeneratorProperties {
+
+    /**
+     * 0..1023, unique per running instance. When unset, {@link #nodeIdFromPodName} must be enabled;
+     * otherwise startup fails.
+     */
+    private Integer nodeId;
+
+    /**
+     * Takes the node id from the ordinal a StatefulSet pod name ends with ({@code payment-initiation-3}).
+     * Only enable it for StatefulSet pods: any other host name ending in digits would collide.
+     */
+    private boolean nodeIdFromPodName;
+}
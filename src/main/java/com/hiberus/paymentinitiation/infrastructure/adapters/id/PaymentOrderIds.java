@@ -0,0 +1,58 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.id;
+
+import java.util.Arrays;
+
+/**
+ * Text form of numeric payment order ids: {@code "PO-"} followed by 13 Crockford base32 digits.
+ * The width is fixed, so ids sort lexicographically in numeric order.
+ */
+public final class PaymentOrderIds {
+
+    static final String PREFIX = "PO-";
+    private static final int DIGITS = 13;
+    private static final int LENGTH = PREFIX.length() + DIGITS;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private PaymentOrderIds() {
+    }
+
+    public static String format(long id) {
+        char[] chars = new char[LENGTH];
+        chars[0] = 'P';
+        chars[1] = 'O';
+        chars[2] = '-';
+        long remaining = id;
+        for (int i = LENGTH - 1; i >= PREFIX.length(); i--) {
+            chars[i] = ALPHABET[(int) (remaining & 31)];
+            remaining >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return the numeric id, or {@code -1} if {@code id} was not produced by {@link #format(long)}
+     */
+    public static long parse(String id) {
+        if (id == null || id.length() != LENGTH || !id.startsWith(PREFIX)) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = PREFIX.length(); i < LENGTH; i++) {
+            char c = id.charAt(i);
+            int digit = c < VALUES.length ? VALUES[c] : -1;
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 5) | digit;
+        }
+        return value;
+    }
+}
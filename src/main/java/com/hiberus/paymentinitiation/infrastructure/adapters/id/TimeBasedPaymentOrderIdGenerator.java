@@ -0,0 +1,125 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.id;
+
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 63-bit ids laid out as {@code millis(41) | node(10) | stripe(4) | sequence(8)}, with millis counted
+ * from 2024-01-01T00:00Z. Each calling thread hashes onto one of 16 independent sequence stripes, so
+ * concurrent callers rarely contend on the same counter. Ids are unique across nodes, increase
+ * monotonically per stripe and sort by creation time to the millisecond. When a stripe exhausts its
+ * 256 ids in a millisecond, or the clock steps back, it borrows the next millisecond instead of waiting.
+ * <p>
+ * Uniqueness across nodes rests on the node id alone, so it is never guessed: it is either configured
+ * or, when explicitly enabled for a StatefulSet, read from the ordinal at the end of the pod's host name,
+ * which Kubernetes keeps unique and stable per replica. Anything else fails startup rather than risk two
+ * replicas sharing one, as would happen with host names such as {@code ip-10-0-1-23} and {@code ip-10-0-2-23}.
+ */
+@Slf4j
+@Component
+public class TimeBasedPaymentOrderIdGenerator implements PaymentOrderIdGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int SEQUENCE_BITS = 8;
+    static final int STRIPE_BITS = 4;
+    static final int NODE_BITS = 10;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final Pattern REPLICA_ORDINAL = Pattern.compile("-(\\d{1,4})$");
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    // One stripe per 128-byte block to keep the counters on separate cache lines.
+    private static final int PADDING = 16;
+
+    private final AtomicLongArray stripes = new AtomicLongArray(STRIPES * PADDING);
+    private final long nodeBits;
+    private final Clock clock;
+
+    @Autowired
+    public TimeBasedPaymentOrderIdGenerator(IdGeneratorProperties properties) {
+        this(resolveNodeId(properties.getNodeId(), properties.isNodeIdFromPodName(), hostName()), Clock.systemUTC());
+    }
+
+    TimeBasedPaymentOrderIdGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << (STRIPE_BITS + SEQUENCE_BITS);
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        return PaymentOrderIds.format(nextValue());
+    }
+
+    long nextValue() {
+        int stripe = stripeOfCurrentThread();
+        int slot = stripe * PADDING;
+        long now = clock.millis() - EPOCH_MILLIS;
+        while (true) {
+            long previous = stripes.get(slot);
+            long previousMillis = previous >>> SEQUENCE_BITS;
+            long next;
+            if (now > previousMillis) {
+                next = now << SEQUENCE_BITS;
+            } else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = previous + 1;
+            } else {
+                next = (previousMillis + 1) << SEQUENCE_BITS;
+            }
+            if (stripes.compareAndSet(slot, previous, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return (millis << (NODE_BITS + STRIPE_BITS + SEQUENCE_BITS))
+                        | nodeBits
+                        | ((long) stripe << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    private static int stripeOfCurrentThread() {
+        long threadId = Thread.currentThread().getId();
+        return (int) ((threadId * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - STRIPE_BITS));
+    }
+
+    static int resolveNodeId(Integer configured, boolean fromPodName, String host) {
+        if (configured != null) {
+            return configured;
+        }
+        if (!fromPodName) {
+            throw new IllegalStateException("payment-initiation.id.node-id is not set; set a node id unique per"
+                    + " replica, or enable payment-initiation.id.node-id-from-pod-name on a StatefulSet");
+        }
+        Matcher ordinal = REPLICA_ORDINAL.matcher(host);
+        if (!ordinal.find() || Integer.parseInt(ordinal.group(1)) > MAX_NODE_ID) {
+            throw new IllegalStateException("payment-initiation.id.node-id-from-pod-name is enabled but host name "
+                    + host + " carries no StatefulSet ordinal within 0.." + MAX_NODE_ID);
+        }
+        int derived = Integer.parseInt(ordinal.group(1));
+        log.info("Using StatefulSet ordinal {} of pod {} as node id", derived, host);
+        return derived;
+    }
+
+    private static String hostName() {
+        String host = System.getenv("HOSTNAME");
+        if (host != null && !host.isBlank()) {
+            return host;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.metrics;
+
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
+import com.hiberus.paymentinitiation.application.services.PaymentOrderDuplicateDetector;
+import com.hiberus.paymentinitiation.application.services.PaymentOrderExecutionEngine;
+import com.hiberus.paymentinitiation.application.services.PaymentOrderExecutionMetrics;
+import com.hiberus.paymentinitiation.application.services.PaymentOrderExposureProjection;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class PaymentOrderMetrics {
+
+    private final Map<PaymentOrder.PaymentOrderStatus, Counter> statusCounters =
+            new EnumMap<>(PaymentOrder.PaymentOrderStatus.class);
+
+    public PaymentOrderMetrics(MeterRegistry registry, PaymentOrderRepositoryPort repository,
+                               ObjectProvider<PaymentOrderExecutionEngine> executionEngine,
+                               ObjectProvider<PaymentOrderExposureProjection> exposureProjection,
+                               ObjectProvider<PaymentOrderDuplicateDetector> duplicateDetector) {
+        for (PaymentOrder.PaymentOrderStatus status : PaymentOrder.PaymentOrderStatus.values()) {
+            statusCounters.put(status, Counter.builder("payment.orders.status")
+                    .description("Payment orders that entered each status")
+                    .tag("status", status.name())
+                    .register(registry));
+        }
+        Gauge.builder("payment.orders.stored", repository, PaymentOrderRepositoryPort::count)
+                .description("Payment orders held by the repository")
+                .register(registry);
+        repository.addChangeListener(this::onChange);
+        executionEngine.ifAvailable(engine -> bindExecution(registry, engine.getMetrics()));
+        exposureProjection.ifAvailable(projection -> Gauge.builder("payment.orders.exposure.untracked",
+                        projection, PaymentOrderExposureProjection::untracked)
+                .description("Stored payment orders left out of the exposure totals")
+                .register(registry));
+        duplicateDetector.ifAvailable(detector -> bindDuplicates(registry, detector));
+    }
+
+    void onChange(PaymentOrder previous, PaymentOrder current) {
+        if (current.getStatus() != null && (previous == null || previous.getStatus() != current.getStatus())) {
+            statusCounters.get(current.getStatus()).increment();
+        }
+    }
+
+    private static void bindDuplicates(MeterRegistry registry, PaymentOrderDuplicateDetector detector) {
+        FunctionCounter.builder("payment.orders.duplicates.screened", detector, PaymentOrderDuplicateDetector::screened)
+                .description("Initiations checked for a recent identical order")
+                .register(registry);
+        FunctionCounter.builder("payment.orders.duplicates.checked", detector,
+                        d -> d.filterHits() - d.suspects())
+                .description("Initiations the filter sent to the exact check, by whether it confirmed a repeat")
+                .tag("outcome", "unconfirmed")
+                .register(registry);
+        FunctionCounter.builder("payment.orders.duplicates.checked", detector, PaymentOrderDuplicateDetector::suspects)
+                .description("Initiations the filter sent to the exact check, by whether it confirmed a repeat")
+                .tag("outcome", "suspect")
+                .register(registry);
+    }
+
+    private static void bindExecution(MeterRegistry registry, PaymentOrderExecutionMetrics metrics) {
+        Gauge.builder("payment.orders.execution.queued", metrics, PaymentOrderExecutionMetrics::getQueued)
+                .register(registry);
+        FunctionCounter.builder("payment.orders.execution.settled", metrics, PaymentOrderExecutionMetrics::getExecuted)
+                .tag("outcome", "executed")
+                .register(registry);
+        FunctionCounter.builder("payment.orders.execution.settled", metrics, PaymentOrderExecutionMetrics::getFailed)
+                .tag("outcome", "failed")
+                .register(registry);
+        FunctionCounter.builder("payment.orders.execution.settled", metrics, PaymentOrderExecutionMetrics::getSkipped)
+                .tag("outcome", "skipped")
+                .register(registry);
+        TimeGauge.builder("payment.orders.execution.lag", metrics, TimeUnit.MILLISECONDS,
+                        PaymentOrderExecutionMetrics::getLastLagMillis)
+                .register(registry);
+        TimeGauge.builder("payment.orders.execution.tick", metrics, TimeUnit.MILLISECONDS,
+                        PaymentOrderExecutionMetrics::getLastTickMillis)
+                .register(registry);
+    }
+}
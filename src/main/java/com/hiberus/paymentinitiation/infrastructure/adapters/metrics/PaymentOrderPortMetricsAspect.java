@@ -0,0 +1,71 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every use case and repository port call. Percentiles and histogram buckets for
+ * {@value #TIMER} are configured under {@code management.metrics.distribution}.
+ */
+@Aspect
+@Component
+public class PaymentOrderPortMetricsAspect {
+
+    static final String TIMER = "payment.orders.port";
+
+    private final MeterRegistry registry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public PaymentOrderPortMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+        this.hits = Counter.builder("payment.orders.lookups").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("payment.orders.lookups").tag("result", "miss").register(registry);
+    }
+
+    @Around("execution(* com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase.*(..))"
+            + " && !execution(* *.subscribeToChanges(..))"
+            + " && !within(com.hiberus.paymentinitiation.infrastructure.adapters.admission..*)")
+    public Object timeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("use-case", joinPoint);
+    }
+
+    @Around("execution(* com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort.*(..))"
+            + " && !execution(* *.addChangeListener(..)) && !execution(* *.count())")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = time("repository", joinPoint);
+        if (result instanceof Optional<?> found && "findById".equals(joinPoint.getSignature().getName())) {
+            (found.isPresent() ? hits : misses).increment();
+        }
+        return result;
+    }
+
+    private Object time(String port, ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, key -> Timer.builder(TIMER)
+                    .tag("port", port)
+                    .tag("method", key.getName())
+                    .register(registry));
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Committed only while a JFR recording is running and the request took longer than the threshold,
+ * which can be overridden per recording, e.g.
+ * {@code -XX:StartFlightRecording:com.hiberus.paymentinitiation.SlowRequest#threshold=50ms}.
+ */
+@Name("com.hiberus.paymentinitiation.SlowRequest")
+@Label("Slow Payment Initiation Request")
+@Category("Payment Initiation")
+@Threshold("200 ms")
+@StackTrace(false)
+class SlowRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Status")
+    int status;
+}
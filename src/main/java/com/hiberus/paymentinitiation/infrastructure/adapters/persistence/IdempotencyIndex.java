@@ -0,0 +1,180 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Secondary index from idempotency key (external reference, optionally scoped by debtor IBAN) to the
+ * id of the first order stored under it; the order itself is read back from the repository, so the index
+ * never keeps an order on heap that the repository has dropped. Entries expire after the configured
+ * retention; expired entries are purged a few at a time on the write path, in insertion order, so no
+ * sweep over the index is needed.
+ * A key is registered before the order is written; a caller whose write fails withdraws it with
+ * {@link #remove} so that a retry stores the order instead of answering with one that was never stored.
+ */
+@Component
+public class IdempotencyIndex {
+
+    private static final int MAX_PURGED_PER_WRITE = 32;
+    private static final long WRITE_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long WRITE_POLL_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> expirations = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock purging = new ReentrantLock();
+    private final boolean scopedByDebtor;
+    private final long retentionMillis;
+    private final Clock clock;
+
+    @Autowired
+    public IdempotencyIndex(IdempotencyProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    IdempotencyIndex(IdempotencyProperties properties, Clock clock) {
+        this.scopedByDebtor = properties.getScope() == IdempotencyProperties.Scope.DEBTOR_AND_EXTERNAL_REFERENCE;
+        this.retentionMillis = properties.getRetention().toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Registers the order under its idempotency key.
+     *
+     * @return {@code null} if the caller won the key and must store the order, otherwise the id of the
+     *         order holding it, to be read back with {@link #awaitHolder}
+     */
+    public String putIfAbsent(PaymentOrder order) {
+        Key key = keyOf(order);
+        if (key == null) {
+            return null;
+        }
+        long now = clock.millis();
+        purgeExpired(now);
+
+        Entry candidate = new Entry(key, order.getId(), now + retentionMillis);
+        Entry existing = entries.putIfAbsent(key, candidate);
+        while (existing != null) {
+            if (existing.expiresAt() > now) {
+                return existing.orderId();
+            }
+            if (entries.replace(key, existing, candidate)) {
+                break;
+            }
+            existing = entries.putIfAbsent(key, candidate);
+        }
+        expirations.add(candidate);
+        return null;
+    }
+
+    /**
+     * Reads back the order holding the key, waiting while its write is in flight. Callers registering
+     * several orders store the ones they won before waiting for others, so that no two writers wait on
+     * each other.
+     *
+     * @param stored looks an order up by id in the repository the index belongs to
+     * @return the stored holder, or {@code null} if its write failed and the key now holds {@code order},
+     *         which the caller must then store
+     * @throws IllegalStateException if the holder is neither stored nor withdrawn in time
+     */
+    public PaymentOrder awaitHolder(PaymentOrder order, String holderId,
+                                    Function<String, Optional<PaymentOrder>> stored) {
+        long deadline = System.nanoTime() + WRITE_WAIT_NANOS;
+        String holder = holderId;
+        while (holder != null) {
+            Optional<PaymentOrder> original = stored.apply(holder);
+            if (original.isPresent()) {
+                return original.get();
+            }
+            // still being written, or its write failed and the key is being withdrawn
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException("Payment order " + holder + " holding external reference "
+                        + order.getExternalReference() + " has not been stored");
+            }
+            LockSupport.parkNanos(WRITE_POLL_NANOS);
+            holder = putIfAbsent(order);
+        }
+        return null;
+    }
+
+    /**
+     * Re-registers an order recovered from durable storage, keeping the retention window anchored
+     * at the order's creation time.
+     */
+    public void restore(PaymentOrder order) {
+        Key key = keyOf(order);
+        if (key == null || order.getCreatedAt() == null) {
+            return;
+        }
+        long expiresAt = order.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                + retentionMillis;
+        if (expiresAt <= clock.millis()) {
+            return;
+        }
+        Entry entry = new Entry(key, order.getId(), expiresAt);
+        if (entries.putIfAbsent(key, entry) == null) {
+            expirations.add(entry);
+        }
+    }
+
+    /**
+     * Withdraws the registration of an order whose write failed, unless its key has since passed to
+     * another order.
+     */
+    public void remove(PaymentOrder order) {
+        Key key = keyOf(order);
+        if (key != null) {
+            entries.computeIfPresent(key, (k, entry) -> entry.orderId().equals(order.getId()) ? null : entry);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Key keyOf(PaymentOrder order) {
+        if (order.getExternalReference() == null) {
+            return null;
+        }
+        String debtorIban = scopedByDebtor && order.getDebtorAccount() != null
+                ? order.getDebtorAccount().getIban()
+                : null;
+        return new Key(debtorIban, order.getExternalReference());
+    }
+
+    private void purgeExpired(long now) {
+        // one purger at a time, so the head it peeked is the entry it polls; the others skip the purge
+        if (!purging.tryLock()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < MAX_PURGED_PER_WRITE; i++) {
+                Entry head = expirations.peek();
+                if (head == null || head.expiresAt() > now) {
+                    return;
+                }
+                expirations.poll();
+                entries.remove(head.key(), head);
+            }
+        } finally {
+            purging.unlock();
+        }
+    }
+
+    private record Key(String debtorIban, String externalReference) {
+    }
+
+    private record Entry(Key key, String orderId, long expiresAt) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.idempotency")
+public class IdempotencyProperties {
+
+    private Scope scope = Scope.EXTERNAL_REFERENCE;
+    private Duration retention = Duration.ofHours(24);
+
+    public enum Scope {
+        EXTERNAL_REFERENCE, DEBTOR_AND_EXTERNAL_REFERENCE
+    }
+}
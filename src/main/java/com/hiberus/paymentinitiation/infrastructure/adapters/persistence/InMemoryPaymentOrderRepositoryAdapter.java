@@ -1,27 +1,159 @@
 package com.hiberus.paymentinitiation.infrastructure.adapters.persistence;
 
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderChangeListener;
 import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
 import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Component
+@Profile("!journal & !columnar & !sharded & !tiered")
 @RequiredArgsConstructor
 public class InMemoryPaymentOrderRepositoryAdapter implements PaymentOrderRepositoryPort {
 
     private final Map<String, PaymentOrder> orders = new ConcurrentHashMap<>();
+    private final List<PaymentOrderChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final PaymentOrderIndexes indexes = new PaymentOrderIndexes();
+    private final IdempotencyIndex idempotencyIndex;
 
     @Override
     public PaymentOrder save(PaymentOrder order) {
-        orders.put(order.getId(), order);
+        PaymentOrder previous = put(order);
+        notifyListeners(previous, order);
         return order;
     }
 
+    @Override
+    public List<PaymentOrder> saveAll(List<PaymentOrder> orders) {
+        for (PaymentOrder order : orders) {
+            PaymentOrder previous = put(order);
+            notifyListeners(previous, order);
+        }
+        return orders;
+    }
+
+    @Override
+    public PaymentOrder saveIfAbsent(PaymentOrder order) {
+        String holder = idempotencyIndex.putIfAbsent(order);
+        PaymentOrder original = holder == null ? null : idempotencyIndex.awaitHolder(order, holder, this::findById);
+        if (original != null) {
+            return original;
+        }
+        try {
+            return save(order);
+        } catch (RuntimeException e) {
+            idempotencyIndex.remove(order);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<PaymentOrder> saveAllIfAbsent(List<PaymentOrder> orders) {
+        String[] holders = new String[orders.size()];
+        List<PaymentOrder> accepted = new ArrayList<>(orders.size());
+        for (int i = 0; i < holders.length; i++) {
+            holders[i] = idempotencyIndex.putIfAbsent(orders.get(i));
+            if (holders[i] == null) {
+                accepted.add(orders.get(i));
+            }
+        }
+        try {
+            saveAll(accepted);
+        } catch (RuntimeException e) {
+            accepted.forEach(idempotencyIndex::remove);
+            throw e;
+        }
+        // replays are read back only once the orders this call holds keys for are stored
+        List<PaymentOrder> stored = new ArrayList<>(orders.size());
+        for (int i = 0; i < holders.length; i++) {
+            PaymentOrder order = orders.get(i);
+            stored.add(holders[i] == null ? order : saveIfAbsent(order));
+        }
+        return stored;
+    }
+
     @Override
     public Optional<PaymentOrder> findById(String id) {
         return Optional.ofNullable(orders.get(id));
     }
+
+    @Override
+    public PaymentOrderPage search(PaymentOrderQuery query) {
+        return indexes.search(query, orders::get);
+    }
+
+    @Override
+    public long count() {
+        return orders.size();
+    }
+
+    @Override
+    public void addChangeListener(PaymentOrderChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    protected void restore(PaymentOrder order) {
+        put(order);
+        idempotencyIndex.restore(order);
+    }
+
+    protected Collection<PaymentOrder> storedOrders() {
+        return orders.values();
+    }
+
+    protected PaymentOrderIndexes indexes() {
+        return indexes;
+    }
+
+    /**
+     * Drops the order from memory unless it has been replaced since it was read.
+     *
+     * @return whether the order was removed
+     */
+    protected boolean evict(PaymentOrder order) {
+        boolean[] removed = new boolean[1];
+        orders.computeIfPresent(order.getId(), (id, existing) -> {
+            if (existing != order) {
+                return existing;
+            }
+            indexes.remove(existing);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    /**
+     * Called within the per-order write, so atomically with {@link #evict} of the same order, before
+     * {@code order} replaces {@code existing}, which is {@code null} when the order is not in memory.
+     */
+    protected void beforePut(PaymentOrder existing, PaymentOrder order) {
+    }
+
+    private PaymentOrder put(PaymentOrder order) {
+        PaymentOrder[] previous = new PaymentOrder[1];
+        orders.compute(order.getId(), (id, existing) -> {
+            beforePut(existing, order);
+            indexes.update(existing, order);
+            previous[0] = existing;
+            return order;
+        });
+        return previous[0];
+    }
+
+    private void notifyListeners(PaymentOrder previous, PaymentOrder current) {
+        for (PaymentOrderChangeListener listener : listeners) {
+            listener.onChange(previous, current);
+        }
+    }
 }
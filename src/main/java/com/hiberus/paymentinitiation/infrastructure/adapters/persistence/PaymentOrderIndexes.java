@@ -0,0 +1,378 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Secondary indexes over payment orders, each a concurrent skip list of {@code (value, createdAt, id)}
+ * keys: debtor IBAN, debtor IBAN with status, debtor with creditor IBAN, creditor IBAN, status, status
+ * with execution date, execution date, and creation time. A search walks the keys of a single value of
+ * the index that fits the query, bounded by the creation window, and stops after one page, resuming
+ * from an opaque cursor that encodes the last key it looked at, so deep pages cost the same as the first.
+ * <p>
+ * Filters the chosen index does not cover are checked order by order, so a search examines at most
+ * {@link #MAX_EXAMINED} keys per call: when it gets there it returns the matches found so far, possibly
+ * none, with a cursor to carry on from, rather than walking the rest of the range in one request.
+ * <p>
+ * Keys are maintained by {@link #update} inside the owning repository's per-order write, so a stale
+ * key can be briefly visible to a concurrent search; every hit is therefore re-checked against the
+ * current order before it is returned.
+ */
+public class PaymentOrderIndexes {
+
+    public static final int MAX_EXAMINED = 4_096;
+
+    private static final long STATUS_SHIFT = 1L << 40;
+    private static final long EPOCH_DAY_OFFSET = 1L << 39;
+
+    private final Index<String> debtors = new Index<>("d", order -> order.getDebtorAccount() == null ? null : order.getDebtorAccount().getIban(),
+            Function.identity(), Function.identity());
+    private final Index<String> debtorStatuses = new Index<>("ds", PaymentOrderIndexes::debtorStatus,
+            Function.identity(), Function.identity());
+    private final Index<String> pairs = new Index<>("dc", PaymentOrderIndexes::pair,
+            Function.identity(), Function.identity());
+    private final Index<String> creditors = new Index<>("c", order -> order.getCreditorAccount() == null ? null : order.getCreditorAccount().getIban(),
+            Function.identity(), Function.identity());
+    private final Index<Long> statuses = new Index<>("st", order -> order.getStatus() == null ? null : (long) order.getStatus().ordinal(),
+            String::valueOf, Long::valueOf);
+    private final Index<Long> statusDates = new Index<>("s", PaymentOrderIndexes::statusDate, String::valueOf, Long::valueOf);
+    private final Index<Long> dates = new Index<>("e", order -> order.getRequestedExecutionDate() == null ? null : order.getRequestedExecutionDate().toEpochDay(),
+            String::valueOf, Long::valueOf);
+    private final Index<Long> created = new Index<>("t", order -> 0L, String::valueOf, Long::valueOf);
+    private final List<Index<?>> all = List.of(debtors, debtorStatuses, pairs, creditors, statuses, statusDates, dates, created);
+
+    public void update(PaymentOrder previous, PaymentOrder current) {
+        for (Index<?> index : all) {
+            index.update(previous, current);
+        }
+    }
+
+    public void remove(PaymentOrder order) {
+        for (Index<?> index : all) {
+            index.remove(order);
+        }
+    }
+
+    public PaymentOrderPage search(PaymentOrderQuery query, Function<String, PaymentOrder> lookup) {
+        int limit = Math.max(1, Math.min(query.getLimit(), PaymentOrderQuery.MAX_LIMIT));
+        long from = query.getCreatedFrom() == null ? Long.MIN_VALUE : epochNanos(query.getCreatedFrom());
+        long to = query.getCreatedTo() == null ? Long.MAX_VALUE : epochNanos(query.getCreatedTo());
+        if (query.getDebtorIban() != null) {
+            if (query.getStatus() != null) {
+                return debtorStatuses.scan(query, debtorStatus(query.getDebtorIban(), query.getStatus()), from, to, limit, lookup);
+            }
+            if (query.getCreditorIban() != null) {
+                return pairs.scan(query, pair(query.getDebtorIban(), query.getCreditorIban()), from, to, limit, lookup);
+            }
+            return debtors.scan(query, query.getDebtorIban(), from, to, limit, lookup);
+        }
+        if (query.getCreditorIban() != null) {
+            return creditors.scan(query, query.getCreditorIban(), from, to, limit, lookup);
+        }
+        if (query.getStatus() != null) {
+            long status = query.getStatus().ordinal();
+            if (query.getRequestedExecutionDate() != null) {
+                long value = status * STATUS_SHIFT + query.getRequestedExecutionDate().toEpochDay() + EPOCH_DAY_OFFSET;
+                return statusDates.scan(query, value, from, to, limit, lookup);
+            }
+            return statuses.scan(query, status, from, to, limit, lookup);
+        }
+        if (query.getRequestedExecutionDate() != null) {
+            return dates.scan(query, query.getRequestedExecutionDate().toEpochDay(), from, to, limit, lookup);
+        }
+        return created.scan(query, 0L, from, to, limit, lookup);
+    }
+
+    /**
+     * Merges the pages that disjoint partitions returned for the same query and cursor into one page,
+     * in index order, with a cursor every partition can resume from. The query alone picks the index,
+     * so all partitions walk the same key order. A partition that stopped early, on a full page or on
+     * the scan cap, has not looked past its cursor, so the merged page ends at the lowest such cursor.
+     */
+    public PaymentOrderPage merge(PaymentOrderQuery query, List<PaymentOrderPage> pages) {
+        return merge(indexFor(query), Math.max(1, Math.min(query.getLimit(), PaymentOrderQuery.MAX_LIMIT)), pages);
+    }
+
+    /**
+     * Pages through orders kept outside the indexes, such as orders on disk, in the key order and with
+     * the cursors of {@link #search}, so the page can be {@linkplain #merge merged} with an indexed one.
+     * Every candidate is examined on every call; only the page is held.
+     */
+    public PaymentOrderPage page(PaymentOrderQuery query, Stream<PaymentOrder> candidates) {
+        return page(indexFor(query), query, Math.max(1, Math.min(query.getLimit(), PaymentOrderQuery.MAX_LIMIT)),
+                candidates);
+    }
+
+    private Index<?> indexFor(PaymentOrderQuery query) {
+        if (query.getDebtorIban() != null) {
+            if (query.getStatus() != null) {
+                return debtorStatuses;
+            }
+            return query.getCreditorIban() != null ? pairs : debtors;
+        }
+        if (query.getCreditorIban() != null) {
+            return creditors;
+        }
+        if (query.getStatus() != null) {
+            return query.getRequestedExecutionDate() != null ? statusDates : statuses;
+        }
+        return query.getRequestedExecutionDate() != null ? dates : created;
+    }
+
+    private static <V extends Comparable<V>> PaymentOrderPage merge(Index<V> index, int limit, List<PaymentOrderPage> pages) {
+        Comparator<? super Key<V>> order = index.keys.comparator();
+        List<Key<V>> keys = new ArrayList<>();
+        Map<Key<V>, PaymentOrder> ordersByKey = new HashMap<>();
+        Key<V> frontier = null;
+        for (PaymentOrderPage page : pages) {
+            if (page.getNextCursor() != null) {
+                Key<V> stop = index.decodeCursor(page.getNextCursor());
+                if (frontier == null || order.compare(stop, frontier) < 0) {
+                    frontier = stop;
+                }
+            }
+            for (PaymentOrder item : page.getItems()) {
+                Key<V> key = index.keyOf(item);
+                keys.add(key);
+                ordersByKey.put(key, item);
+            }
+        }
+        keys.sort(order);
+        List<PaymentOrder> items = new ArrayList<>(Math.min(limit, keys.size()));
+        int distinct = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            // partitions may overlap while an order moves between them
+            if (i > 0 && keys.get(i).equals(keys.get(i - 1))) {
+                continue;
+            }
+            distinct++;
+            if (items.size() == limit || (frontier != null && order.compare(keys.get(i), frontier) > 0)) {
+                break;
+            }
+            items.add(ordersByKey.get(keys.get(i)));
+        }
+        if (items.size() == limit && (frontier != null || distinct > limit)) {
+            return new PaymentOrderPage(items, index.encodeCursor(index.keyOf(items.get(limit - 1))));
+        }
+        return new PaymentOrderPage(items, frontier == null ? null : index.encodeCursor(frontier));
+    }
+
+    private static <V extends Comparable<V>> PaymentOrderPage page(Index<V> index, PaymentOrderQuery query, int limit,
+                                                                    Stream<PaymentOrder> candidates) {
+        Comparator<? super Key<V>> order = index.keys.comparator();
+        Key<V> after = query.getCursor() == null ? null : index.decodeCursor(query.getCursor());
+        // the limit + 1 lowest keys past the cursor, highest on top
+        PriorityQueue<Key<V>> lowest = new PriorityQueue<>((a, b) -> order.compare(b, a));
+        Map<Key<V>, PaymentOrder> ordersByKey = new HashMap<>();
+        candidates.forEach(candidate -> {
+            if (!matches(query, candidate)) {
+                return;
+            }
+            Key<V> key = index.keyOf(candidate);
+            if (key == null || (after != null && order.compare(key, after) <= 0)) {
+                return;
+            }
+            if (lowest.size() <= limit) {
+                lowest.add(key);
+                ordersByKey.put(key, candidate);
+            } else if (order.compare(key, lowest.peek()) < 0) {
+                ordersByKey.remove(lowest.poll());
+                lowest.add(key);
+                ordersByKey.put(key, candidate);
+            }
+        });
+        boolean more = lowest.size() > limit;
+        if (more) {
+            ordersByKey.remove(lowest.poll());
+        }
+        List<Key<V>> keys = new ArrayList<>(lowest);
+        keys.sort(order);
+        List<PaymentOrder> items = new ArrayList<>(keys.size());
+        for (Key<V> key : keys) {
+            items.add(ordersByKey.get(key));
+        }
+        return new PaymentOrderPage(items, more ? index.encodeCursor(keys.get(keys.size() - 1)) : null);
+    }
+
+    static boolean matches(PaymentOrderQuery query, PaymentOrder order) {
+        if (query.getDebtorIban() != null
+                && (order.getDebtorAccount() == null || !query.getDebtorIban().equals(order.getDebtorAccount().getIban()))) {
+            return false;
+        }
+        if (query.getCreditorIban() != null
+                && (order.getCreditorAccount() == null || !query.getCreditorIban().equals(order.getCreditorAccount().getIban()))) {
+            return false;
+        }
+        if (query.getStatus() != null && query.getStatus() != order.getStatus()) {
+            return false;
+        }
+        if (query.getRequestedExecutionDate() != null && !query.getRequestedExecutionDate().equals(order.getRequestedExecutionDate())) {
+            return false;
+        }
+        long createdAt = epochNanos(order.getCreatedAt());
+        return (query.getCreatedFrom() == null || createdAt >= epochNanos(query.getCreatedFrom()))
+                && (query.getCreatedTo() == null || createdAt < epochNanos(query.getCreatedTo()));
+    }
+
+    private static String debtorStatus(PaymentOrder order) {
+        if (order.getDebtorAccount() == null || order.getDebtorAccount().getIban() == null || order.getStatus() == null) {
+            return null;
+        }
+        return debtorStatus(order.getDebtorAccount().getIban(), order.getStatus());
+    }
+
+    private static String debtorStatus(String debtorIban, PaymentOrder.PaymentOrderStatus status) {
+        return debtorIban + ':' + status.name();
+    }
+
+    private static String pair(PaymentOrder order) {
+        if (order.getDebtorAccount() == null || order.getDebtorAccount().getIban() == null
+                || order.getCreditorAccount() == null || order.getCreditorAccount().getIban() == null) {
+            return null;
+        }
+        return pair(order.getDebtorAccount().getIban(), order.getCreditorAccount().getIban());
+    }
+
+    private static String pair(String debtorIban, String creditorIban) {
+        return debtorIban + ':' + creditorIban;
+    }
+
+    private static Long statusDate(PaymentOrder order) {
+        if (order.getStatus() == null || order.getRequestedExecutionDate() == null) {
+            return null;
+        }
+        return order.getStatus().ordinal() * STATUS_SHIFT + order.getRequestedExecutionDate().toEpochDay() + EPOCH_DAY_OFFSET;
+    }
+
+    private static long epochNanos(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return Long.MIN_VALUE;
+        }
+        long seconds = timestamp.toEpochSecond(ZoneOffset.UTC);
+        if (seconds >= Long.MAX_VALUE / 1_000_000_000L) {
+            return Long.MAX_VALUE;
+        }
+        if (seconds <= Long.MIN_VALUE / 1_000_000_000L) {
+            return Long.MIN_VALUE + 1;
+        }
+        return seconds * 1_000_000_000L + timestamp.getNano();
+    }
+
+    private record Key<V extends Comparable<V>>(V value, long createdAt, String id) {
+    }
+
+    private static final class Index<V extends Comparable<V>> {
+
+        private final String name;
+        private final Function<PaymentOrder, V> valueOf;
+        private final Function<V, String> format;
+        private final Function<String, V> parse;
+        private final NavigableSet<Key<V>> keys;
+
+        private Index(String name, Function<PaymentOrder, V> valueOf, Function<V, String> format, Function<String, V> parse) {
+            this.name = name;
+            this.valueOf = valueOf;
+            this.format = format;
+            this.parse = parse;
+            this.keys = new ConcurrentSkipListSet<>(Comparator.<Key<V>, V>comparing(Key::value)
+                    .thenComparingLong(Key::createdAt)
+                    .thenComparing(Key::id));
+        }
+
+        void update(PaymentOrder previous, PaymentOrder current) {
+            Key<V> before = previous == null ? null : keyOf(previous);
+            Key<V> after = keyOf(current);
+            if (Objects.equals(before, after)) {
+                return;
+            }
+            if (after != null) {
+                keys.add(after);
+            }
+            if (before != null) {
+                keys.remove(before);
+            }
+        }
+
+        void remove(PaymentOrder order) {
+            Key<V> key = keyOf(order);
+            if (key != null) {
+                keys.remove(key);
+            }
+        }
+
+        PaymentOrderPage scan(PaymentOrderQuery query, V value, long from, long to, int limit,
+                              Function<String, PaymentOrder> lookup) {
+            Key<V> first = new Key<>(value, from, "");
+            Key<V> start = query.getCursor() != null ? decodeCursor(query.getCursor()) : first;
+            boolean inclusive = query.getCursor() == null;
+            if (keys.comparator().compare(start, first) < 0) {
+                start = first;
+                inclusive = true;
+            }
+
+            List<PaymentOrder> items = new ArrayList<>(Math.min(limit, 64));
+            Key<V> last = null;
+            int examined = 0;
+            Iterator<Key<V>> iterator = keys.tailSet(start, inclusive).iterator();
+            while (iterator.hasNext()) {
+                Key<V> key = iterator.next();
+                if (key.value().compareTo(value) != 0 || key.createdAt() >= to) {
+                    return new PaymentOrderPage(items, null);
+                }
+                if (examined++ == MAX_EXAMINED) {
+                    return new PaymentOrderPage(items, encodeCursor(last));
+                }
+                PaymentOrder order = lookup.apply(key.id());
+                if (order == null || !key.equals(keyOf(order)) || !matches(query, order)) {
+                    last = key;
+                    continue;
+                }
+                if (items.size() == limit) {
+                    return new PaymentOrderPage(items, encodeCursor(last));
+                }
+                items.add(order);
+                last = key;
+            }
+            return new PaymentOrderPage(items, null);
+        }
+
+        private Key<V> keyOf(PaymentOrder order) {
+            V value = valueOf.apply(order);
+            return value == null ? null : new Key<>(value, epochNanos(order.getCreatedAt()), order.getId());
+        }
+
+        private String encodeCursor(Key<V> key) {
+            String raw = name + '\n' + key.createdAt() + '\n' + key.id() + '\n' + format.apply(key.value());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private Key<V> decodeCursor(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 4);
+                if (parts.length != 4 || !parts[0].equals(name)) {
+                    throw new IllegalArgumentException("Cursor does not belong to this query");
+                }
+                return new Key<>(parse.apply(parts[3]), Long.parseLong(parts[1]), parts[2]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
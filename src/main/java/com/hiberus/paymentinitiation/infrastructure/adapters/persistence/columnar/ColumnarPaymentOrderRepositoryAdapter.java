@@ -0,0 +1,534 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.columnar;
+
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderChangeListener;
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import com.hiberus.paymentinitiation.infrastructure.adapters.id.PaymentOrderIds;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Repository that keeps orders as rows of primitive columns instead of object graphs: ids as their
+ * numeric value, IBANs and odd currencies as dictionary codes, ISO currencies packed into a short,
+ * amounts as unscaled long plus scale, dates and timestamps as epoch numbers, status and the
+ * duplicate-suspect flag in one byte, and free text in an append-only UTF-8 heap. A row costs about 64
+ * bytes plus its text, spread over a handful of large arrays, and {@link PaymentOrder} objects only
+ * exist while a caller holds them.
+ * <p>
+ * Searches walk row numbers: a {@link RowIndex} per debtor, creditor, debtor with creditor, and
+ * execution date, or every row when the query names none of those. Each candidate row is checked
+ * against its columns and only matches are materialized, so pages come in row order, which is the
+ * order orders were first stored rather than their creation time. A search visits at most
+ * {@link #MAX_VISITED} rows per call and then returns what it found with a cursor to resume from.
+ * <p>
+ * Writers serialize on a {@link StampedLock}; {@link #findById} reads optimistically and retries under
+ * the read lock only when it raced a writer, and {@link #search} holds the read lock for one page.
+ */
+@Component
+@Profile("columnar")
+public class ColumnarPaymentOrderRepositoryAdapter implements PaymentOrderRepositoryPort {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MISSING = LongIntHashMap.MISSING;
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    private static final byte STATUS_MASK = 0x3F;
+    private static final byte NULL_STATUS = STATUS_MASK;
+    private static final byte DUPLICATE_SUSPECT = 0x40;
+    private static final byte BIG_AMOUNT = Byte.MIN_VALUE;
+    private static final short NULL_CURRENCY = 0;
+    private static final int ISO_CURRENCIES = 26 * 26 * 26;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    /** Column checks are cheap, so one call may visit a chunk's worth of rows. */
+    static final int MAX_VISITED = CHUNK_SIZE;
+    private static final int ANY = -2;
+    private static final long ANY_DATE = Long.MIN_VALUE;
+    private static final String BY_PAIR = "dc";
+    private static final String BY_DEBTOR = "d";
+    private static final String BY_CREDITOR = "c";
+    private static final String BY_DATE = "e";
+    private static final String BY_ROW = "t";
+    private static final PaymentOrder.PaymentOrderStatus[] STATUSES = PaymentOrder.PaymentOrderStatus.values();
+    private static final String[] ISO_CURRENCY_CODES = new String[ISO_CURRENCIES + 1];
+
+    private final StampedLock lock = new StampedLock();
+    private final LongIntHashMap rowsById = new LongIntHashMap(CHUNK_SIZE);
+    private final Map<String, Integer> rowsByForeignId = new HashMap<>();
+    private final StringDictionary ibans = new StringDictionary();
+    private final StringDictionary currencies = new StringDictionary();
+    private final StringHeap strings = new StringHeap();
+    private final RowIndex debtors = new RowIndex();
+    private final RowIndex creditors = new RowIndex();
+    private final RowIndex pairs = new RowIndex();
+    private final RowIndex dates = new RowIndex();
+    private final List<PaymentOrderChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final IdempotencyIndex idempotencyIndex;
+    private Chunk[] chunks = new Chunk[16];
+    private volatile int rowCount;
+
+    public ColumnarPaymentOrderRepositoryAdapter(IdempotencyIndex idempotencyIndex) {
+        this.idempotencyIndex = idempotencyIndex;
+    }
+
+    @Override
+    public PaymentOrder save(PaymentOrder order) {
+        PaymentOrder previous;
+        long stamp = lock.writeLock();
+        try {
+            previous = write(order);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        notifyListeners(previous, order);
+        return order;
+    }
+
+    @Override
+    public List<PaymentOrder> saveAll(List<PaymentOrder> orders) {
+        PaymentOrder[] previous = new PaymentOrder[orders.size()];
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < previous.length; i++) {
+                previous[i] = write(orders.get(i));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        for (int i = 0; i < previous.length; i++) {
+            notifyListeners(previous[i], orders.get(i));
+        }
+        return orders;
+    }
+
+    @Override
+    public PaymentOrder saveIfAbsent(PaymentOrder order) {
+        String holder = idempotencyIndex.putIfAbsent(order);
+        PaymentOrder original = holder == null ? null : idempotencyIndex.awaitHolder(order, holder, this::findById);
+        if (original != null) {
+            return original;
+        }
+        try {
+            return save(order);
+        } catch (RuntimeException e) {
+            idempotencyIndex.remove(order);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<PaymentOrder> saveAllIfAbsent(List<PaymentOrder> orders) {
+        String[] holders = new String[orders.size()];
+        List<PaymentOrder> accepted = new ArrayList<>(orders.size());
+        for (int i = 0; i < holders.length; i++) {
+            holders[i] = idempotencyIndex.putIfAbsent(orders.get(i));
+            if (holders[i] == null) {
+                accepted.add(orders.get(i));
+            }
+        }
+        try {
+            saveAll(accepted);
+        } catch (RuntimeException e) {
+            accepted.forEach(idempotencyIndex::remove);
+            throw e;
+        }
+        // replays are read back only once the orders this call holds keys for are stored
+        List<PaymentOrder> stored = new ArrayList<>(orders.size());
+        for (int i = 0; i < holders.length; i++) {
+            PaymentOrder order = orders.get(i);
+            stored.add(holders[i] == null ? order : saveIfAbsent(order));
+        }
+        return stored;
+    }
+
+    @Override
+    public Optional<PaymentOrder> findById(String id) {
+        long key = PaymentOrderIds.parse(id);
+        if (key >= 0) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    PaymentOrder order = materialize(rowsById.get(key), id);
+                    if (lock.validate(stamp)) {
+                        return Optional.ofNullable(order);
+                    }
+                } catch (RuntimeException e) {
+                    // Torn read racing a writer; retried below under the read lock.
+                }
+            }
+        }
+        long stamp = lock.readLock();
+        try {
+            return Optional.ofNullable(materialize(rowOf(id, key), id));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public PaymentOrderPage search(PaymentOrderQuery query) {
+        long stamp = lock.readLock();
+        try {
+            return scan(query);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public long count() {
+        return rowCount;
+    }
+
+    @Override
+    public void addChangeListener(PaymentOrderChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    private int rowOf(String id, long key) {
+        if (key >= 0) {
+            return rowsById.get(key);
+        }
+        Integer row = rowsByForeignId.get(id);
+        return row == null ? MISSING : row;
+    }
+
+    private PaymentOrderPage scan(PaymentOrderQuery query) {
+        int limit = Math.max(1, Math.min(query.getLimit(), PaymentOrderQuery.MAX_LIMIT));
+        String index = indexFor(query);
+        int after = query.getCursor() == null ? -1 : decodeCursor(index, query.getCursor());
+        int debtor = query.getDebtorIban() == null ? ANY : ibans.codeOf(query.getDebtorIban());
+        int creditor = query.getCreditorIban() == null ? ANY : ibans.codeOf(query.getCreditorIban());
+        if (debtor == StringDictionary.NULL || creditor == StringDictionary.NULL) {
+            return new PaymentOrderPage(List.of(), null);
+        }
+        Criteria criteria = new Criteria(debtor, creditor,
+                query.getStatus() == null ? ANY : query.getStatus().ordinal(),
+                query.getRequestedExecutionDate() == null ? ANY_DATE : query.getRequestedExecutionDate().toEpochDay(),
+                windowBound(query.getCreatedFrom(), Long.MIN_VALUE),
+                windowBound(query.getCreatedTo(), Long.MAX_VALUE));
+        RowIndex.Postings postings = switch (index) {
+            case BY_PAIR -> pairs.get(pairKey(debtor, creditor));
+            case BY_DEBTOR -> debtors.get(debtor);
+            case BY_CREDITOR -> creditors.get(creditor);
+            case BY_DATE -> dates.get(dateKey(criteria.date()));
+            default -> null;
+        };
+
+        List<PaymentOrder> items = new ArrayList<>(Math.min(limit, 64));
+        int end = postings == null ? rowCount : postings.size();
+        int last = after;
+        int visited = 0;
+        for (int position = postings == null ? after + 1 : postings.after(after); position < end; position++) {
+            int row = postings == null ? position : postings.rows()[position];
+            Chunk chunk = chunks[row >>> CHUNK_BITS];
+            int i = row & CHUNK_MASK;
+            if (postings == null && i == 0 && !criteria.overlaps(chunk)) {
+                position = row | CHUNK_MASK;
+                last = Math.min(position, end - 1);
+                continue;
+            }
+            if (visited++ == MAX_VISITED) {
+                return new PaymentOrderPage(items, encodeCursor(index, last));
+            }
+            if (!criteria.matches(chunk, i)) {
+                last = row;
+                continue;
+            }
+            if (items.size() == limit) {
+                return new PaymentOrderPage(items, encodeCursor(index, last));
+            }
+            items.add(materialize(row, null));
+            last = row;
+        }
+        return new PaymentOrderPage(items, null);
+    }
+
+    private PaymentOrder write(PaymentOrder order) {
+        long key = PaymentOrderIds.parse(order.getId());
+        int row = rowOf(order.getId(), key);
+        PaymentOrder previous = null;
+        if (row == MISSING) {
+            row = appendRow(key >= 0 ? key : Long.MIN_VALUE | strings.add(order.getId()));
+            if (key >= 0) {
+                rowsById.put(key, row);
+            } else {
+                rowsByForeignId.put(order.getId(), row);
+            }
+        } else {
+            previous = materialize(row, order.getId());
+        }
+
+        Chunk chunk = chunks[row >>> CHUNK_BITS];
+        int i = row & CHUNK_MASK;
+        int debtor = chunk.debtors[i];
+        int creditor = chunk.creditors[i];
+        int executionDate = chunk.executionDates[i];
+        chunk.externalReferences[i] = previous != null && Objects.equals(previous.getExternalReference(), order.getExternalReference())
+                ? chunk.externalReferences[i]
+                : strings.add(order.getExternalReference());
+        chunk.debtors[i] = ibans.intern(order.getDebtorAccount() == null ? null : order.getDebtorAccount().getIban());
+        chunk.creditors[i] = ibans.intern(order.getCreditorAccount() == null ? null : order.getCreditorAccount().getIban());
+        writeAmount(chunk, i, order.getInstructedAmount(), previous == null ? null : previous.getInstructedAmount());
+        chunk.remittances[i] = previous != null && Objects.equals(previous.getRemittanceInformation(), order.getRemittanceInformation())
+                ? chunk.remittances[i]
+                : strings.add(order.getRemittanceInformation());
+        chunk.executionDates[i] = order.getRequestedExecutionDate() == null
+                ? NULL_DATE
+                : Math.toIntExact(order.getRequestedExecutionDate().toEpochDay());
+        chunk.statuses[i] = (byte) ((order.getStatus() == null ? NULL_STATUS : order.getStatus().ordinal())
+                | (order.isDuplicateSuspect() ? DUPLICATE_SUSPECT : 0));
+        chunk.createdAt[i] = toEpochNanos(order.getCreatedAt());
+        chunk.lastUpdate[i] = toEpochNanos(order.getLastUpdate());
+        chunk.minCreatedAt = Math.min(chunk.minCreatedAt, chunk.createdAt[i]);
+        chunk.maxCreatedAt = Math.max(chunk.maxCreatedAt, chunk.createdAt[i]);
+        if (previous == null || debtor != chunk.debtors[i] || creditor != chunk.creditors[i]
+                || executionDate != chunk.executionDates[i]) {
+            index(row, chunk.debtors[i], chunk.creditors[i], chunk.executionDates[i]);
+        }
+        return previous;
+    }
+
+    private void index(int row, int debtor, int creditor, int executionDate) {
+        if (debtor != StringDictionary.NULL) {
+            debtors.add(debtor, row);
+        }
+        if (creditor != StringDictionary.NULL) {
+            creditors.add(creditor, row);
+        }
+        if (debtor != StringDictionary.NULL && creditor != StringDictionary.NULL) {
+            pairs.add(pairKey(debtor, creditor), row);
+        }
+        if (executionDate != NULL_DATE) {
+            dates.add(dateKey(executionDate), row);
+        }
+    }
+
+    private int appendRow(long id) {
+        int row = rowCount;
+        int chunkIndex = row >>> CHUNK_BITS;
+        if (chunkIndex == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        if (chunks[chunkIndex] == null) {
+            chunks[chunkIndex] = new Chunk();
+        }
+        chunks[chunkIndex].ids[row & CHUNK_MASK] = id;
+        rowCount = row + 1;
+        return row;
+    }
+
+    private void writeAmount(Chunk chunk, int i, Amount amount, Amount previous) {
+        BigDecimal value = amount == null ? null : amount.getAmount();
+        chunk.currencies[i] = encodeCurrency(amount == null ? null : amount.getCurrency());
+        if (value != null && value.scale() > BIG_AMOUNT && value.scale() <= Byte.MAX_VALUE
+                && value.unscaledValue().bitLength() < Long.SIZE) {
+            chunk.amounts[i] = value.unscaledValue().longValue();
+            chunk.scales[i] = (byte) value.scale();
+        } else {
+            boolean unchanged = previous != null && chunk.scales[i] == BIG_AMOUNT && Objects.equals(previous.getAmount(), value);
+            chunk.amounts[i] = unchanged ? chunk.amounts[i] : strings.add(value == null ? null : value.toString());
+            chunk.scales[i] = BIG_AMOUNT;
+        }
+    }
+
+    private PaymentOrder materialize(int row, String id) {
+        if (row == MISSING || row >= rowCount) {
+            return null;
+        }
+        Chunk chunk = chunks[row >>> CHUNK_BITS];
+        int i = row & CHUNK_MASK;
+        long storedId = chunk.ids[i];
+        byte scale = chunk.scales[i];
+        BigDecimal amount = scale == BIG_AMOUNT
+                ? toBigDecimal(strings.get(chunk.amounts[i]))
+                : BigDecimal.valueOf(chunk.amounts[i], scale);
+        byte flags = chunk.statuses[i];
+        int status = flags & STATUS_MASK;
+        int executionDate = chunk.executionDates[i];
+        return PaymentOrder.builder()
+                .id(id != null ? id : storedId >= 0 ? PaymentOrderIds.format(storedId) : strings.get(storedId & Long.MAX_VALUE))
+                .externalReference(strings.get(chunk.externalReferences[i]))
+                .debtorAccount(new Account(ibans.get(chunk.debtors[i])))
+                .creditorAccount(new Account(ibans.get(chunk.creditors[i])))
+                .instructedAmount(new Amount(amount, decodeCurrency(chunk.currencies[i])))
+                .remittanceInformation(strings.get(chunk.remittances[i]))
+                .requestedExecutionDate(executionDate == NULL_DATE ? null : LocalDate.ofEpochDay(executionDate))
+                .status(status == NULL_STATUS ? null : STATUSES[status])
+                .createdAt(fromEpochNanos(chunk.createdAt[i]))
+                .lastUpdate(fromEpochNanos(chunk.lastUpdate[i]))
+                .duplicateSuspect((flags & DUPLICATE_SUSPECT) != 0)
+                .build();
+    }
+
+    private short encodeCurrency(String currency) {
+        if (currency == null) {
+            return NULL_CURRENCY;
+        }
+        if (currency.length() == 3 && isUpper(currency.charAt(0)) && isUpper(currency.charAt(1)) && isUpper(currency.charAt(2))) {
+            return (short) (1 + ((currency.charAt(0) - 'A') * 26 + (currency.charAt(1) - 'A')) * 26 + (currency.charAt(2) - 'A'));
+        }
+        int code = currencies.intern(currency);
+        if (code >= Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many distinct non-ISO currency codes");
+        }
+        return (short) -(code + 1);
+    }
+
+    private String decodeCurrency(short code) {
+        if (code == NULL_CURRENCY) {
+            return null;
+        }
+        if (code < 0) {
+            return currencies.get(-code - 1);
+        }
+        String currency = ISO_CURRENCY_CODES[code];
+        if (currency == null) {
+            int packed = code - 1;
+            currency = new String(new char[] {
+                    (char) ('A' + packed / (26 * 26)), (char) ('A' + packed / 26 % 26), (char) ('A' + packed % 26)}).intern();
+            ISO_CURRENCY_CODES[code] = currency;
+        }
+        return currency;
+    }
+
+    private static String indexFor(PaymentOrderQuery query) {
+        if (query.getDebtorIban() != null) {
+            return query.getCreditorIban() != null ? BY_PAIR : BY_DEBTOR;
+        }
+        if (query.getCreditorIban() != null) {
+            return BY_CREDITOR;
+        }
+        return query.getRequestedExecutionDate() != null ? BY_DATE : BY_ROW;
+    }
+
+    private static long pairKey(int debtor, int creditor) {
+        return (long) debtor << Integer.SIZE | creditor;
+    }
+
+    private static long dateKey(long epochDay) {
+        return epochDay & 0xFFFFFFFFL;
+    }
+
+    private static String encodeCursor(String index, int row) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((index + '\n' + row).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeCursor(String index, String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 2);
+            if (parts.length != 2 || !parts[0].equals(index)) {
+                throw new IllegalArgumentException("Cursor does not belong to this query");
+            }
+            int row = Integer.parseInt(parts[1]);
+            if (row < 0) {
+                throw new IllegalArgumentException("Negative row in cursor");
+            }
+            return row;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static BigDecimal toBigDecimal(String value) {
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    private static long toEpochNanos(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return NULL_TIMESTAMP;
+        }
+        try {
+            return Math.addExact(Math.multiplyExact(timestamp.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND), timestamp.getNano());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Timestamp out of range: " + timestamp, e);
+        }
+    }
+
+    /** Like {@link #toEpochNanos} but saturating, since a query window may reach past the stored range. */
+    private static long windowBound(LocalDateTime timestamp, long unbounded) {
+        if (timestamp == null) {
+            return unbounded;
+        }
+        long seconds = timestamp.toEpochSecond(ZoneOffset.UTC);
+        if (seconds >= Long.MAX_VALUE / NANOS_PER_SECOND) {
+            return Long.MAX_VALUE;
+        }
+        if (seconds <= Long.MIN_VALUE / NANOS_PER_SECOND) {
+            return Long.MIN_VALUE + 1;
+        }
+        return seconds * NANOS_PER_SECOND + timestamp.getNano();
+    }
+
+    private static LocalDateTime fromEpochNanos(long nanos) {
+        if (nanos == NULL_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    private void notifyListeners(PaymentOrder previous, PaymentOrder current) {
+        for (PaymentOrderChangeListener listener : listeners) {
+            listener.onChange(previous, current);
+        }
+    }
+
+    private static final class Chunk {
+        final long[] ids = new long[CHUNK_SIZE];
+        final long[] externalReferences = new long[CHUNK_SIZE];
+        final int[] debtors = new int[CHUNK_SIZE];
+        final int[] creditors = new int[CHUNK_SIZE];
+        final long[] amounts = new long[CHUNK_SIZE];
+        final byte[] scales = new byte[CHUNK_SIZE];
+        final short[] currencies = new short[CHUNK_SIZE];
+        final long[] remittances = new long[CHUNK_SIZE];
+        final int[] executionDates = new int[CHUNK_SIZE];
+        final byte[] statuses = new byte[CHUNK_SIZE];
+        final long[] createdAt = new long[CHUNK_SIZE];
+        final long[] lastUpdate = new long[CHUNK_SIZE];
+        // widened on every write and never narrowed, so searches can skip chunks outside a creation window
+        long minCreatedAt = Long.MAX_VALUE;
+        long maxCreatedAt = Long.MIN_VALUE;
+    }
+
+    private record Criteria(int debtor, int creditor, int status, long date, long from, long to) {
+
+        boolean matches(Chunk chunk, int i) {
+            return (debtor == ANY || chunk.debtors[i] == debtor)
+                    && (creditor == ANY || chunk.creditors[i] == creditor)
+                    && (status == ANY || (chunk.statuses[i] & STATUS_MASK) == status)
+                    && (date == ANY_DATE || chunk.executionDates[i] == date)
+                    && chunk.createdAt[i] >= from && chunk.createdAt[i] < to;
+        }
+
+        boolean overlaps(Chunk chunk) {
+            return chunk.maxCreatedAt >= from && chunk.minCreatedAt < to;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Secondary index from a non-negative long key (a dictionary code, a pair of codes, an epoch day) to
+ * the ascending row numbers stored under it. A key held by a single row keeps that row in the hash
+ * map itself; only keys with more rows get an int array, so an index costs a few bytes per row
+ * rather than an object per entry.
+ * <p>
+ * Rows are never removed: when a row's value changes it is added under the new key and left under
+ * the old one, so callers must re-check every row against its columns. Not thread-safe for writers.
+ */
+final class RowIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final LongIntHashMap heads = new LongIntHashMap(1024);
+    private int[][] lists = new int[256][];
+    private int[] sizes = new int[256];
+    private int listCount;
+
+    void add(long key, int row) {
+        int head = heads.get(key);
+        if (head == LongIntHashMap.MISSING) {
+            heads.put(key, row);
+        } else if (head >= 0) {
+            if (head != row) {
+                heads.put(key, -(newList(Math.min(head, row), Math.max(head, row)) + 2));
+            }
+        } else {
+            insert(-head - 2, row);
+        }
+    }
+
+    /**
+     * Rows under the key, ascending, in the first {@code size} slots of the returned array. The array
+     * is the index's own and is only stable while the caller holds off writers.
+     */
+    Postings get(long key) {
+        int head = heads.get(key);
+        if (head == LongIntHashMap.MISSING) {
+            return new Postings(NONE, 0);
+        }
+        if (head >= 0) {
+            return new Postings(new int[] {head}, 1);
+        }
+        return new Postings(lists[-head - 2], sizes[-head - 2]);
+    }
+
+    private int newList(int first, int second) {
+        if (listCount == lists.length) {
+            lists = Arrays.copyOf(lists, listCount * 2);
+            sizes = Arrays.copyOf(sizes, listCount * 2);
+        }
+        lists[listCount] = new int[] {first, second, 0, 0};
+        sizes[listCount] = 2;
+        return listCount++;
+    }
+
+    private void insert(int list, int row) {
+        int[] rows = lists[list];
+        int size = sizes[list];
+        // rows are appended in order, so only a row whose value changed lands before the tail
+        int position = size > 0 && rows[size - 1] < row ? size : Arrays.binarySearch(rows, 0, size, row);
+        if (position < 0) {
+            position = -position - 1;
+        } else if (position < size) {
+            return;
+        }
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, size + (size >> 1));
+            lists[list] = rows;
+        }
+        System.arraycopy(rows, position, rows, position + 1, size - position);
+        rows[position] = row;
+        sizes[list] = size + 1;
+    }
+
+    record Postings(int[] rows, int size) {
+
+        /** Position of the first row after {@code row}. */
+        int after(int row) {
+            int position = Arrays.binarySearch(rows, 0, size, row);
+            return position < 0 ? -position - 1 : position + 1;
+        }
+    }
+}
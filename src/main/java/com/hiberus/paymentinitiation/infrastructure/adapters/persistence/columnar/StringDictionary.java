@@ -0,0 +1,45 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.columnar;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns repeated values (IBANs, unusual currency codes) as dense int codes. Codes are assigned once
+ * and never reused, so {@link #get(int)} needs no lock for a code read under a validated stamp. Not
+ * thread-safe for writers.
+ */
+final class StringDictionary {
+
+    static final int NULL = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[1024];
+    private int size;
+
+    int intern(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        codes.put(value, size);
+        return size++;
+    }
+
+    /** Code of a value already interned, or {@link #NULL} if it never was. */
+    int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NULL : code;
+    }
+
+    String get(int code) {
+        return code == NULL ? null : values[code];
+    }
+}
@@ -0,0 +1,62 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.columnar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append-only UTF-8 storage for free-text columns. Each string is written once as a length-prefixed
+ * run inside a page; its address is {@code page << 32 | offset}. Pages are never moved or rewritten,
+ * so a published address stays readable without locking. Not thread-safe for writers.
+ */
+final class StringHeap {
+
+    static final long NULL = -1L;
+    private static final int PAGE_SIZE = 1 << 20;
+
+    private byte[][] pages = new byte[4][];
+    private int pageCount;
+    private int position = PAGE_SIZE;
+
+    long add(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int required = Integer.BYTES + bytes.length;
+        if (position + required > PAGE_SIZE || pageCount == 0) {
+            newPage(Math.max(PAGE_SIZE, required));
+        }
+        byte[] page = pages[pageCount - 1];
+        int offset = position;
+        page[offset] = (byte) (bytes.length >>> 24);
+        page[offset + 1] = (byte) (bytes.length >>> 16);
+        page[offset + 2] = (byte) (bytes.length >>> 8);
+        page[offset + 3] = (byte) bytes.length;
+        System.arraycopy(bytes, 0, page, offset + Integer.BYTES, bytes.length);
+        position = offset + required;
+        return ((long) (pageCount - 1) << 32) | offset;
+    }
+
+    String get(long address) {
+        if (address == NULL) {
+            return null;
+        }
+        byte[] page = pages[(int) (address >>> 32)];
+        int offset = (int) address;
+        int length = ((page[offset] & 0xFF) << 24) | ((page[offset + 1] & 0xFF) << 16)
+                | ((page[offset + 2] & 0xFF) << 8) | (page[offset + 3] & 0xFF);
+        if (length < 0 || length > page.length - offset - Integer.BYTES) {
+            throw new IllegalStateException("Invalid string heap address " + address);
+        }
+        return new String(page, offset + Integer.BYTES, length, StandardCharsets.UTF_8);
+    }
+
+    private void newPage(int size) {
+        if (pageCount == pages.length) {
+            pages = Arrays.copyOf(pages, pages.length * 2);
+        }
+        // An oversized page holds exactly one string, so the next add() opens a fresh page.
+        pages[pageCount++] = new byte[size];
+        position = 0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.journal;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.InMemoryPaymentOrderRepositoryAdapter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Durable variant of the in-memory adapter: every write is appended to a {@link PaymentOrderJournal}
+ * before it becomes visible, and the map is rebuilt from the latest snapshot plus the journal tail on
+ * startup. Reads are served from memory.
+ */
+@Component
+@Profile("journal")
+public class JournalPaymentOrderRepositoryAdapter extends InMemoryPaymentOrderRepositoryAdapter {
+
+    private final PaymentOrderJournal journal;
+
+    public JournalPaymentOrderRepositoryAdapter(IdempotencyIndex idempotencyIndex, JournalProperties properties) {
+        super(idempotencyIndex);
+        this.journal = new PaymentOrderJournal(properties);
+    }
+
+    @PostConstruct
+    public void recover() throws IOException {
+        journal.recover(this::restore);
+        journal.start(this::storedOrders);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    @Override
+    public PaymentOrder save(PaymentOrder order) {
+        journal.append(List.of(order), () -> super.save(order));
+        return order;
+    }
+
+    @Override
+    public List<PaymentOrder> saveAll(List<PaymentOrder> orders) {
+        if (!orders.isEmpty()) {
+            journal.append(orders, () -> super.saveAll(orders));
+        }
+        return orders;
+    }
+
+    void snapshot() throws IOException {
+        journal.snapshot(storedOrders());
+    }
+}
@@ -0,0 +1,25 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.journal;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.journal")
+public class JournalProperties {
+
+    private Path directory = Path.of("data", "journal");
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private SyncMode syncMode = SyncMode.GROUP_COMMIT;
+    private Duration flushInterval = Duration.ofMillis(1);
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+
+    public enum SyncMode {
+        /** Writers wait until a shared fsync covers their record. */
+        GROUP_COMMIT,
+        /** Writers return once the record is in the mapped segment; fsync runs in the background. */
+        ASYNC
+    }
+}
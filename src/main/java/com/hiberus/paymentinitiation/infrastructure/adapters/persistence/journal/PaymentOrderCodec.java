@@ -0,0 +1,191 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.journal;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary encoding of {@link PaymentOrder} used by the journal and its snapshots. Every record
+ * starts with a format version byte; amounts are stored as unscaled value plus scale, dates as epoch
+ * day and timestamps as UTC-normalised epoch second plus nanos, so decoding is exact. Version 2 added
+ * a trailing flags byte; version 1 records, written before it, still decode with no flags set.
+ */
+public final class PaymentOrderCodec {
+
+    static final byte FORMAT_VERSION = 2;
+
+    private static final byte FLAGLESS_VERSION = 1;
+    private static final byte DUPLICATE_SUSPECT = 1;
+
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_EPOCH = Long.MIN_VALUE;
+    private static final byte NULL_AMOUNT = 0;
+    private static final byte LONG_AMOUNT = 1;
+    private static final byte BIG_AMOUNT = 2;
+
+    private PaymentOrderCodec() {
+    }
+
+    /**
+     * @throws BufferOverflowException if {@code out} is too small; callers grow and retry
+     */
+    public static void encode(PaymentOrder order, ByteBuffer out) {
+        out.put(FORMAT_VERSION);
+        putString(out, order.getId());
+        putString(out, order.getExternalReference());
+        putString(out, order.getDebtorAccount() == null ? null : order.getDebtorAccount().getIban());
+        putString(out, order.getCreditorAccount() == null ? null : order.getCreditorAccount().getIban());
+        putAmount(out, order.getInstructedAmount());
+        putString(out, order.getRemittanceInformation());
+        out.putLong(order.getRequestedExecutionDate() == null ? NULL_EPOCH : order.getRequestedExecutionDate().toEpochDay());
+        out.put(order.getStatus() == null ? -1 : (byte) order.getStatus().ordinal());
+        putDateTime(out, order.getCreatedAt());
+        putDateTime(out, order.getLastUpdate());
+        out.put(order.isDuplicateSuspect() ? DUPLICATE_SUSPECT : 0);
+    }
+
+    public static PaymentOrder decode(ByteBuffer in) {
+        byte version = in.get();
+        if (version != FORMAT_VERSION && version != FLAGLESS_VERSION) {
+            throw new IllegalStateException("Unsupported payment order record version " + version);
+        }
+        PaymentOrder.PaymentOrderBuilder builder = PaymentOrder.builder()
+                .id(getString(in))
+                .externalReference(getString(in))
+                .debtorAccount(toAccount(getString(in)))
+                .creditorAccount(toAccount(getString(in)))
+                .instructedAmount(getAmount(in))
+                .remittanceInformation(getString(in));
+        long epochDay = in.getLong();
+        builder.requestedExecutionDate(epochDay == NULL_EPOCH ? null : LocalDate.ofEpochDay(epochDay));
+        byte status = in.get();
+        builder.status(status < 0 ? null : PaymentOrder.PaymentOrderStatus.values()[status]);
+        builder.createdAt(getDateTime(in))
+                .lastUpdate(getDateTime(in));
+        if (version != FLAGLESS_VERSION) {
+            builder.duplicateSuspect((in.get() & DUPLICATE_SUSPECT) != 0);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Encodes into {@code buffer}, replacing it with a larger one as needed.
+     *
+     * @return the buffer holding the encoded order, flipped for reading
+     */
+    public static ByteBuffer encode(PaymentOrder order, ByteBuffer buffer, int maxSize) {
+        ByteBuffer target = buffer;
+        while (true) {
+            target.clear();
+            try {
+                encode(order, target);
+                return target.flip();
+            } catch (BufferOverflowException e) {
+                if (target.capacity() >= maxSize) {
+                    throw new IllegalArgumentException("Payment order " + order.getId() + " exceeds " + maxSize + " bytes");
+                }
+                target = ByteBuffer.allocate(Math.min(maxSize, target.capacity() * 2));
+            }
+        }
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (!in.hasArray()) {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static void putAmount(ByteBuffer out, Amount amount) {
+        if (amount == null) {
+            out.put(NULL_AMOUNT);
+            return;
+        }
+        BigDecimal value = amount.getAmount();
+        if (value == null) {
+            out.put(BIG_AMOUNT);
+            out.putInt(NULL_LENGTH);
+        } else if (value.unscaledValue().bitLength() < Long.SIZE) {
+            out.put(LONG_AMOUNT);
+            out.putInt(value.scale());
+            out.putLong(value.unscaledValue().longValue());
+        } else {
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            out.put(BIG_AMOUNT);
+            out.putInt(unscaled.length);
+            out.put(unscaled);
+            out.putInt(value.scale());
+        }
+        putString(out, amount.getCurrency());
+    }
+
+    private static Amount getAmount(ByteBuffer in) {
+        byte kind = in.get();
+        if (kind == NULL_AMOUNT) {
+            return null;
+        }
+        BigDecimal value;
+        if (kind == LONG_AMOUNT) {
+            int scale = in.getInt();
+            value = BigDecimal.valueOf(in.getLong(), scale);
+        } else {
+            int length = in.getInt();
+            if (length == NULL_LENGTH) {
+                value = null;
+            } else {
+                byte[] unscaled = new byte[length];
+                in.get(unscaled);
+                value = new BigDecimal(new BigInteger(unscaled), in.getInt());
+            }
+        }
+        return new Amount(value, getString(in));
+    }
+
+    private static void putDateTime(ByteBuffer out, LocalDateTime value) {
+        if (value == null) {
+            out.putLong(NULL_EPOCH);
+            return;
+        }
+        out.putLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.putInt(value.getNano());
+    }
+
+    private static LocalDateTime getDateTime(ByteBuffer in) {
+        long epochSecond = in.getLong();
+        if (epochSecond == NULL_EPOCH) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(epochSecond, in.getInt(), ZoneOffset.UTC);
+    }
+
+    private static Account toAccount(String iban) {
+        return iban == null ? null : new Account(iban);
+    }
+}
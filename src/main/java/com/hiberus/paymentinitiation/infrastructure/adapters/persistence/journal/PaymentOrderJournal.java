@@ -0,0 +1,415 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.journal;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of payment order states stored in fixed-size memory-mapped segments.
+ *
+ * <p>Each record is framed as {@code length | crc32c | payload}; a zero length marks the end of a
+ * segment. Appends are serialised by a single lock and made durable by a background flusher that
+ * forces the active segment once for every writer waiting on it (group commit). Snapshots roll the
+ * journal to a new segment, write the full state next to it and drop the segments they cover, so
+ * recovery only replays the segments written after the latest snapshot.
+ */
+@Slf4j
+public class PaymentOrderJournal implements Closeable {
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final JournalProperties.SyncMode syncMode;
+    private final long flushIntervalNanos;
+    private final long snapshotIntervalMillis;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushRequested = flushLock.newCondition();
+    private final Condition flushed = flushLock.newCondition();
+    private final CRC32C crc = new CRC32C();
+
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+    private volatile Segment current;
+    private volatile long writtenPosition;
+    private long requestedPosition;
+    private long durablePosition;
+    private volatile boolean closed;
+    private Thread flusher;
+    private ScheduledExecutorService snapshots;
+
+    public PaymentOrderJournal(JournalProperties properties) {
+        this.directory = properties.getDirectory();
+        this.segmentSize = Math.toIntExact(properties.getSegmentSize().toBytes());
+        this.syncMode = properties.getSyncMode();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.snapshotIntervalMillis = properties.getSnapshotInterval().toMillis();
+    }
+
+    /**
+     * Replays the latest snapshot and every record appended after it into {@code sink}, in append
+     * order, then opens the journal for writing.
+     */
+    public void recover(Consumer<PaymentOrder> sink) throws IOException {
+        Files.createDirectories(directory);
+        long snapshotIndex = latestIndex(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        if (snapshotIndex >= 0) {
+            readSnapshot(snapshotPath(snapshotIndex), sink);
+        }
+        long firstSegment = Math.max(snapshotIndex, 0);
+        List<Long> segments = indexes(SEGMENT_PREFIX, SEGMENT_SUFFIX).stream()
+                .filter(index -> index >= firstSegment)
+                .toList();
+        Segment last = null;
+        for (long index : segments) {
+            if (last != null) {
+                last.close();
+            }
+            last = Segment.open(segmentPath(index), index, segmentSize);
+            replay(last, sink);
+        }
+        current = last != null ? last : Segment.open(segmentPath(firstSegment), firstSegment, segmentSize);
+        writtenPosition = current.position();
+        durablePosition = writtenPosition;
+        requestedPosition = writtenPosition;
+    }
+
+    /**
+     * Starts the group-commit flusher and the periodic snapshot task.
+     *
+     * @param state supplies the full current state when a snapshot is taken
+     */
+    public void start(Supplier<Collection<PaymentOrder>> state) {
+        flusher = new Thread(this::flushLoop, "payment-order-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payment-order-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshots.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot(state.get());
+            } catch (IOException | RuntimeException e) {
+                log.error("Payment order journal snapshot failed", e);
+            }
+        }, snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends the orders and runs {@code apply} while still holding the append lock, so the in-memory
+     * state is updated in journal order. Returns once the records are durable according to the sync mode.
+     */
+    public void append(List<PaymentOrder> orders, Runnable apply) {
+        long position;
+        appendLock.lock();
+        try {
+            ensureOpen();
+            for (PaymentOrder order : orders) {
+                scratch = PaymentOrderCodec.encode(order, scratch, segmentSize - 2 * HEADER_BYTES);
+                write(scratch);
+            }
+            apply.run();
+            position = current.position();
+            writtenPosition = position;
+        } finally {
+            appendLock.unlock();
+        }
+        if (syncMode == JournalProperties.SyncMode.GROUP_COMMIT) {
+            awaitDurable(position);
+        }
+    }
+
+    /**
+     * Rolls the journal to a fresh segment, writes {@code state} as a snapshot anchored at that segment
+     * and deletes the segments and snapshots it supersedes.
+     */
+    public void snapshot(Collection<PaymentOrder> state) throws IOException {
+        long snapshotIndex;
+        appendLock.lock();
+        try {
+            ensureOpen();
+            roll();
+            snapshotIndex = current.index();
+        } finally {
+            appendLock.unlock();
+        }
+
+        Path target = snapshotPath(snapshotIndex);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        CRC32C checksum = new CRC32C();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16))) {
+            for (PaymentOrder order : state) {
+                buffer = PaymentOrderCodec.encode(order, buffer, segmentSize);
+                checksum.reset();
+                checksum.update(buffer.duplicate());
+                out.writeInt(buffer.remaining());
+                out.writeInt((int) checksum.getValue());
+                out.write(buffer.array(), buffer.arrayOffset(), buffer.remaining());
+            }
+            out.writeInt(0);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (long index : indexes(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (index < snapshotIndex) {
+                Files.deleteIfExists(segmentPath(index));
+            }
+        }
+        for (long index : indexes(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (index < snapshotIndex) {
+                Files.deleteIfExists(snapshotPath(index));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (snapshots != null) {
+            snapshots.shutdownNow();
+        }
+        appendLock.lock();
+        try {
+            closed = true;
+            if (current != null) {
+                current.force();
+                current.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        flushLock.lock();
+        try {
+            durablePosition = writtenPosition;
+            flushRequested.signalAll();
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(ByteBuffer payload) {
+        int length = payload.remaining();
+        if (current.buffer().remaining() < HEADER_BYTES + length + HEADER_BYTES) {
+            roll();
+        }
+        crc.reset();
+        crc.update(payload.duplicate());
+        MappedByteBuffer buffer = current.buffer();
+        buffer.putInt(length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+    }
+
+    private void roll() {
+        Segment previous = current;
+        try {
+            previous.force();
+            current = Segment.open(segmentPath(previous.index() + 1), previous.index() + 1, segmentSize);
+            previous.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll payment order journal segment", e);
+        }
+    }
+
+    private void awaitDurable(long position) {
+        flushLock.lock();
+        try {
+            if (position > requestedPosition) {
+                requestedPosition = position;
+                flushRequested.signal();
+            }
+            while (durablePosition < position && !closed) {
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            flushLock.lock();
+            try {
+                if (requestedPosition <= durablePosition) {
+                    flushRequested.awaitNanos(flushIntervalNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                flushLock.unlock();
+            }
+            // Read the position before the segment: a roll in between forces the older segment itself.
+            long target = writtenPosition;
+            Segment segment = current;
+            if (target == durablePosition) {
+                continue;
+            }
+            try {
+                segment.force();
+            } catch (RuntimeException e) {
+                if (closed) {
+                    return;
+                }
+                log.error("Payment order journal flush failed", e);
+                continue;
+            }
+            flushLock.lock();
+            try {
+                if (target > durablePosition) {
+                    durablePosition = target;
+                }
+                flushed.signalAll();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    private void replay(Segment segment, Consumer<PaymentOrder> sink) {
+        MappedByteBuffer buffer = segment.buffer();
+        CRC32C checksum = new CRC32C();
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length <= 0 || length > buffer.remaining() - HEADER_BYTES) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            payload.put(buffer.slice(start + HEADER_BYTES, length)).flip();
+            checksum.reset();
+            checksum.update(payload.duplicate());
+            if ((int) checksum.getValue() != buffer.getInt(start + Integer.BYTES)) {
+                log.warn("Discarding torn payment order journal record in {} at offset {}", segment.index(), start);
+                zeroFrom(buffer, start);
+                break;
+            }
+            sink.accept(PaymentOrderCodec.decode(payload));
+            buffer.position(start + HEADER_BYTES + length);
+        }
+    }
+
+    private void readSnapshot(Path snapshot, Consumer<PaymentOrder> sink) throws IOException {
+        CRC32C checksum = new CRC32C();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+            while (true) {
+                int length = in.readInt();
+                if (length == 0) {
+                    return;
+                }
+                int expected = in.readInt();
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                checksum.reset();
+                checksum.update(payload);
+                if ((int) checksum.getValue() != expected) {
+                    throw new IOException("Corrupted payment order snapshot " + snapshot);
+                }
+                sink.accept(PaymentOrderCodec.decode(ByteBuffer.wrap(payload)));
+            }
+        } catch (EOFException e) {
+            throw new IOException("Truncated payment order snapshot " + snapshot, e);
+        }
+    }
+
+    private static void zeroFrom(MappedByteBuffer buffer, int offset) {
+        for (int i = offset; i < buffer.limit(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed || current == null) {
+            throw new IllegalStateException("Payment order journal is not open");
+        }
+    }
+
+    private long latestIndex(String prefix, String suffix) throws IOException {
+        List<Long> indexes = indexes(prefix, suffix);
+        return indexes.isEmpty() ? -1 : indexes.get(indexes.size() - 1);
+    }
+
+    private List<Long> indexes(String prefix, String suffix) throws IOException {
+        List<Long> indexes = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .forEach(name -> indexes.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()))));
+        }
+        indexes.sort(null);
+        return indexes;
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private Path snapshotPath(long index) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, index, SNAPSHOT_SUFFIX));
+    }
+
+    private record Segment(long index, FileChannel channel, MappedByteBuffer buffer) {
+
+        static Segment open(Path path, long index, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            return new Segment(index, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        /** Journal position of the next append: segment index in the high bits, offset in the low bits. */
+        long position() {
+            return (index << Integer.SIZE) | buffer.position();
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
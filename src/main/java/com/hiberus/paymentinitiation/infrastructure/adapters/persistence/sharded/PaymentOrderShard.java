@@ -0,0 +1,196 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.sharded;
+
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderChangeListener;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.PaymentOrderIndexes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * One partition of the sharded repository. All writes are queued on a lock-free multi-producer queue
+ * and applied by the shard's own writer thread, which takes up to {@code batchSize} of them at a time,
+ * applies them, then notifies listeners and releases the waiting callers. With a single writer no two
+ * writes to the shard ever contend, and listeners see its changes in the order they were applied.
+ * Readers go straight to the concurrent map and skip-list indexes without waiting for the writer.
+ */
+final class PaymentOrderShard implements AutoCloseable {
+
+    private final Map<String, PaymentOrder> orders = new ConcurrentHashMap<>();
+    private final PaymentOrderIndexes indexes = new PaymentOrderIndexes();
+    private final Queue<Write> inbox = new ConcurrentLinkedQueue<>();
+    private final IdempotencyIndex idempotencyIndex;
+    private final Function<String, Optional<PaymentOrder>> stored;
+    private final List<PaymentOrderChangeListener> listeners;
+    private final int batchSize;
+    private final Thread writer;
+    private volatile boolean idle;
+    private volatile boolean closed;
+
+    /**
+     * @param stored looks up an order in any shard, to answer replays of orders stored elsewhere
+     */
+    PaymentOrderShard(int index, IdempotencyIndex idempotencyIndex, Function<String, Optional<PaymentOrder>> stored,
+                      List<PaymentOrderChangeListener> listeners, int batchSize) {
+        this.idempotencyIndex = idempotencyIndex;
+        this.stored = stored;
+        this.listeners = listeners;
+        this.batchSize = Math.max(1, batchSize);
+        this.writer = new Thread(this::writeLoop, "payment-order-shard-" + index);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues the orders for the writer.
+     *
+     * @param ifAbsent register each order under its idempotency key first and skip it if the key is taken
+     * @return completes, once the orders are stored, with each order or the original it was a replay of
+     */
+    CompletableFuture<List<PaymentOrder>> submit(List<PaymentOrder> orders, boolean ifAbsent) {
+        if (closed) {
+            throw new IllegalStateException("Payment order shard is closed");
+        }
+        Write write = new Write(orders, ifAbsent, new CompletableFuture<>());
+        inbox.offer(write);
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+        return write.result();
+    }
+
+    PaymentOrder get(String id) {
+        return orders.get(id);
+    }
+
+    PaymentOrderPage search(PaymentOrderQuery query) {
+        return indexes.search(query, orders::get);
+    }
+
+    PaymentOrderIndexes indexes() {
+        return indexes;
+    }
+
+    int size() {
+        return orders.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Write write = inbox.poll(); write != null; write = inbox.poll()) {
+            write.result().completeExceptionally(new IllegalStateException("Payment order shard is closed"));
+        }
+    }
+
+    static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void writeLoop() {
+        List<Write> batch = new ArrayList<>(batchSize);
+        while (true) {
+            for (Write write = inbox.poll(); write != null; write = batch.size() < batchSize ? inbox.poll() : null) {
+                batch.add(write);
+            }
+            if (batch.isEmpty()) {
+                if (closed) {
+                    return;
+                }
+                idle = true;
+                // Re-check after announcing: a producer that missed the flag has already queued its write.
+                if (inbox.isEmpty() && !closed) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                continue;
+            }
+            List<List<PaymentOrder>> previous = new ArrayList<>(batch.size());
+            for (Write write : batch) {
+                previous.add(apply(write));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), previous.get(i));
+            }
+            batch.clear();
+        }
+    }
+
+    private List<PaymentOrder> apply(Write write) {
+        List<PaymentOrder> previous = new ArrayList<>(write.orders().size());
+        PaymentOrder registered = null;
+        try {
+            for (PaymentOrder order : write.orders()) {
+                String holder = write.ifAbsent() ? idempotencyIndex.putIfAbsent(order) : null;
+                // a holder in another shard is put right after it registers, so this never waits for long
+                PaymentOrder original = holder == null ? null : idempotencyIndex.awaitHolder(order, holder, stored);
+                if (original != null) {
+                    write.results().add(original);
+                    previous.add(null);
+                    continue;
+                }
+                registered = write.ifAbsent() ? order : null;
+                PaymentOrder existing = orders.put(order.getId(), order);
+                registered = null;
+                indexes.update(existing, order);
+                write.results().add(order);
+                previous.add(existing);
+            }
+        } catch (RuntimeException e) {
+            if (registered != null) {
+                idempotencyIndex.remove(registered);
+            }
+            write.result().completeExceptionally(e);
+        }
+        return previous;
+    }
+
+    private void complete(Write write, List<PaymentOrder> previous) {
+        try {
+            for (int i = 0; i < previous.size(); i++) {
+                PaymentOrder stored = write.results().get(i);
+                if (stored == write.orders().get(i)) {
+                    for (PaymentOrderChangeListener listener : listeners) {
+                        listener.onChange(previous.get(i), stored);
+                    }
+                }
+            }
+            write.result().complete(write.results());
+        } catch (RuntimeException e) {
+            write.result().completeExceptionally(e);
+        }
+    }
+
+    private record Write(List<PaymentOrder> orders, boolean ifAbsent, CompletableFuture<List<PaymentOrder>> result,
+                         List<PaymentOrder> results) {
+
+        Write(List<PaymentOrder> orders, boolean ifAbsent, CompletableFuture<List<PaymentOrder>> result) {
+            this(orders, ifAbsent, result, new ArrayList<>(orders.size()));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.sharded;
+
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderChangeListener;
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Repository partitioned into {@link PaymentOrderShard}s by order id or debtor IBAN, each with a single
+ * writer thread, so writers on different shards never touch the same map, index or lock. Callers block
+ * until their shard has applied the write; lookups and searches read the shards directly.
+ * <p>
+ * Searches constrained to one debtor under debtor partitioning go to that debtor's shard; every other
+ * search asks all shards for a page from the same cursor and merges them. With
+ * {@code isolated-nodes} each shard also owns its idempotency index and nothing is shared between
+ * shards, which requires idempotency keys scoped by debtor and partitioning by debtor IBAN.
+ */
+@Component
+@Profile("sharded")
+public class ShardedPaymentOrderRepositoryAdapter implements PaymentOrderRepositoryPort {
+
+    private final PaymentOrderShard[] shards;
+    private final boolean byDebtor;
+    private final List<PaymentOrderChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public ShardedPaymentOrderRepositoryAdapter(ShardingProperties sharding, IdempotencyProperties idempotency,
+                                                IdempotencyIndex idempotencyIndex) {
+        this.byDebtor = sharding.getPartitionKey() == ShardingProperties.PartitionKey.DEBTOR_IBAN;
+        if (sharding.isIsolatedNodes()
+                && (!byDebtor || idempotency.getScope() != IdempotencyProperties.Scope.DEBTOR_AND_EXTERNAL_REFERENCE)) {
+            throw new IllegalStateException("Isolated shard nodes need partition-key DEBTOR_IBAN and idempotency scope "
+                    + "DEBTOR_AND_EXTERNAL_REFERENCE, otherwise a replay can reach a node that never saw the original");
+        }
+        this.shards = new PaymentOrderShard[sharding.effectiveShards()];
+        for (int i = 0; i < shards.length; i++) {
+            IdempotencyIndex shardIdempotency = sharding.isIsolatedNodes() ? new IdempotencyIndex(idempotency) : idempotencyIndex;
+            shards[i] = new PaymentOrderShard(i, shardIdempotency, this::findById, listeners, sharding.getBatchSize());
+        }
+    }
+
+    @Override
+    public PaymentOrder save(PaymentOrder order) {
+        PaymentOrderShard.await(shardOf(order).submit(List.of(order), false));
+        return order;
+    }
+
+    @Override
+    public List<PaymentOrder> saveAll(List<PaymentOrder> orders) {
+        write(orders, false);
+        return orders;
+    }
+
+    @Override
+    public PaymentOrder saveIfAbsent(PaymentOrder order) {
+        return PaymentOrderShard.await(shardOf(order).submit(List.of(order), true)).get(0);
+    }
+
+    @Override
+    public List<PaymentOrder> saveAllIfAbsent(List<PaymentOrder> orders) {
+        return write(orders, true);
+    }
+
+    @Override
+    public Optional<PaymentOrder> findById(String id) {
+        if (!byDebtor) {
+            return Optional.ofNullable(shards[shardIndex(id)].get(id));
+        }
+        for (PaymentOrderShard shard : shards) {
+            PaymentOrder order = shard.get(id);
+            if (order != null) {
+                return Optional.of(order);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public PaymentOrderPage search(PaymentOrderQuery query) {
+        if (byDebtor && query.getDebtorIban() != null) {
+            return shards[shardIndex(query.getDebtorIban())].search(query);
+        }
+        List<PaymentOrderPage> pages = new ArrayList<>(shards.length);
+        for (PaymentOrderShard shard : shards) {
+            pages.add(shard.search(query));
+        }
+        // The query alone selects the index, so any shard's indexes can order the merged page.
+        return shards[0].indexes().merge(query, pages);
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (PaymentOrderShard shard : shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    @Override
+    public void addChangeListener(PaymentOrderChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @PreDestroy
+    public void close() {
+        for (PaymentOrderShard shard : shards) {
+            shard.close();
+        }
+    }
+
+    /**
+     * Submits one write per shard touched, waits for all of them and returns what each shard stored,
+     * in the order of the input.
+     */
+    private List<PaymentOrder> write(List<PaymentOrder> orders, boolean ifAbsent) {
+        int[] shardOf = new int[orders.size()];
+        List<List<PaymentOrder>> perShard = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            perShard.add(null);
+        }
+        for (int i = 0; i < shardOf.length; i++) {
+            PaymentOrder order = orders.get(i);
+            shardOf[i] = shardIndex(partitionKey(order));
+            if (perShard.get(shardOf[i]) == null) {
+                perShard.set(shardOf[i], new ArrayList<>());
+            }
+            perShard.get(shardOf[i]).add(order);
+        }
+        List<CompletableFuture<List<PaymentOrder>>> results = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            results.add(perShard.get(i) == null ? null : shards[i].submit(perShard.get(i), ifAbsent));
+        }
+        List<List<PaymentOrder>> stored = new ArrayList<>(shards.length);
+        for (CompletableFuture<List<PaymentOrder>> result : results) {
+            stored.add(result == null ? null : PaymentOrderShard.await(result));
+        }
+        int[] next = new int[shards.length];
+        List<PaymentOrder> merged = new ArrayList<>(orders.size());
+        for (int shard : shardOf) {
+            merged.add(stored.get(shard).get(next[shard]++));
+        }
+        return merged;
+    }
+
+    private PaymentOrderShard shardOf(PaymentOrder order) {
+        return shards[shardIndex(partitionKey(order))];
+    }
+
+    private String partitionKey(PaymentOrder order) {
+        if (!byDebtor) {
+            return order.getId();
+        }
+        return order.getDebtorAccount() == null ? null : order.getDebtorAccount().getIban();
+    }
+
+    private int shardIndex(String key) {
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    int[] shardSizes() {
+        return Arrays.stream(shards).mapToInt(PaymentOrderShard::size).toArray();
+    }
+}
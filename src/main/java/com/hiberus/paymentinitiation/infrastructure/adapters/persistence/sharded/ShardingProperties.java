@@ -0,0 +1,28 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.sharded;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.sharding")
+public class ShardingProperties {
+
+    /** Number of shards; 0 means one per available processor. */
+    private int shards = 0;
+    private PartitionKey partitionKey = PartitionKey.ID;
+    /** Maximum writes a shard applies before completing them and polling its queue again. */
+    private int batchSize = 256;
+    /** Gives every shard its own idempotency index, as separate nodes partitioned by debtor would have. */
+    private boolean isolatedNodes = false;
+
+    public enum PartitionKey {
+        /** Spreads orders evenly; lookups by id go to a single shard. */
+        ID,
+        /** Keeps every order of a debtor on one writer; lookups by id probe every shard. */
+        DEBTOR_IBAN
+    }
+
+    int effectiveShards() {
+        return shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+    }
+}
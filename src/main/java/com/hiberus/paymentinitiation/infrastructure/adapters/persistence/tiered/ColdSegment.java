@@ -0,0 +1,322 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.tiered;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.journal.PaymentOrderCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable file of orders sorted by id, cut into blocks of a fixed number of orders that are
+ * {@link PaymentOrderCodec}-encoded and deflated independently. Only the sparse index (first id,
+ * offset and sizes of each block) stays on heap, so a lookup costs one binary search, one positional
+ * read and one block inflate. The index also keeps each block's range of requested execution dates, so
+ * a search by date only inflates the blocks that may hold it. Orders whose copy here has been replaced,
+ * in memory or in a newer segment, are marked superseded in a bit set (one bit per order): lookups skip
+ * them and they no longer count, until compaction rewrites the segment without them.
+ */
+final class ColdSegment implements AutoCloseable {
+
+    private static final int MAGIC = 0x50434F53;
+    private static final int HEADER_BYTES = Integer.BYTES;
+    private static final int MAX_ORDER_BYTES = 64 * 1024;
+
+    private final long sequence;
+    private final Path path;
+    private final FileChannel channel;
+    private final String[] firstIds;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final int[] rawLengths;
+    private final long[] firstDays;
+    private final long[] lastDays;
+    private final String lastId;
+    private final int count;
+    private final int blockSize;
+    private final AtomicLongArray superseded;
+    private final AtomicInteger live;
+
+    private ColdSegment(long sequence, Path path, FileChannel channel, String[] firstIds, long[] offsets, int[] lengths,
+                        int[] rawLengths, long[] firstDays, long[] lastDays, String lastId, int count, int blockSize) {
+        this.sequence = sequence;
+        this.path = path;
+        this.channel = channel;
+        this.firstIds = firstIds;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.rawLengths = rawLengths;
+        this.firstDays = firstDays;
+        this.lastDays = lastDays;
+        this.lastId = lastId;
+        this.count = count;
+        this.blockSize = blockSize;
+        this.superseded = new AtomicLongArray((count + Long.SIZE - 1) / Long.SIZE);
+        this.live = new AtomicInteger(count);
+    }
+
+    /**
+     * Writes the orders to {@code path} (through a temporary file, so a crash never leaves a partial
+     * segment under the final name) and opens the result for reading.
+     */
+    static ColdSegment write(Path path, long sequence, List<PaymentOrder> orders, int blockSize) throws IOException {
+        List<PaymentOrder> sorted = new ArrayList<>(orders);
+        sorted.sort(Comparator.comparing(PaymentOrder::getId));
+        int blocks = (sorted.size() + blockSize - 1) / blockSize;
+        String[] firstIds = new String[blocks];
+        long[] offsets = new long[blocks];
+        int[] lengths = new int[blocks];
+        int[] rawLengths = new int[blocks];
+        long[] firstDays = new long[blocks];
+        long[] lastDays = new long[blocks];
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            writeFully(out, ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).flip());
+            long position = HEADER_BYTES;
+            ByteBuffer scratch = ByteBuffer.allocate(512);
+            for (int block = 0; block < blocks; block++) {
+                List<PaymentOrder> slice = sorted.subList(block * blockSize, Math.min(sorted.size(), (block + 1) * blockSize));
+                ByteArrayOutputStream raw = new ByteArrayOutputStream(slice.size() * 160);
+                firstDays[block] = Long.MAX_VALUE;
+                lastDays[block] = Long.MIN_VALUE;
+                for (PaymentOrder order : slice) {
+                    scratch = PaymentOrderCodec.encode(order, scratch, MAX_ORDER_BYTES);
+                    raw.write(scratch.array(), 0, scratch.limit());
+                    if (order.getRequestedExecutionDate() != null) {
+                        long day = order.getRequestedExecutionDate().toEpochDay();
+                        firstDays[block] = Math.min(firstDays[block], day);
+                        lastDays[block] = Math.max(lastDays[block], day);
+                    }
+                }
+                byte[] compressed = deflate(deflater, raw.toByteArray());
+                writeFully(out, ByteBuffer.wrap(compressed));
+                firstIds[block] = slice.get(0).getId();
+                offsets[block] = position;
+                lengths[block] = compressed.length;
+                rawLengths[block] = raw.size();
+                position += compressed.length;
+            }
+            out.force(true);
+        } finally {
+            deflater.end();
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        String lastId = sorted.isEmpty() ? null : sorted.get(sorted.size() - 1).getId();
+        return new ColdSegment(sequence, path, FileChannel.open(path, StandardOpenOption.READ), firstIds, offsets,
+                lengths, rawLengths, firstDays, lastDays, lastId, sorted.size(), blockSize);
+    }
+
+    /**
+     * @param blocks returns the decoded block for {@code (sequence, block index)}, loading it with the
+     *               given function on a miss
+     */
+    PaymentOrder find(String id, BiFunction<ColdSegment, Integer, PaymentOrder[]> blocks) {
+        int position = positionOf(id, blocks);
+        return position < 0 || isSuperseded(position) ? null : blocks.apply(this, position / blockSize)[position % blockSize];
+    }
+
+    /**
+     * @return the live orders of the blocks whose execution dates span {@code date}, which include every
+     *         live order due on it; blocks are inflated as the stream reaches them
+     */
+    Stream<PaymentOrder> dueOn(LocalDate date, BiFunction<ColdSegment, Integer, PaymentOrder[]> blocks) {
+        long day = date.toEpochDay();
+        return IntStream.range(0, firstIds.length)
+                .filter(block -> firstDays[block] <= day && day <= lastDays[block])
+                .boxed()
+                .flatMap(block -> {
+                    PaymentOrder[] orders = blocks.apply(this, block);
+                    return IntStream.range(0, orders.length)
+                            .filter(i -> !isSuperseded(block * blockSize + i))
+                            .mapToObj(i -> orders[i]);
+                });
+    }
+
+    /**
+     * Marks the copy of the order held here, if any, as replaced.
+     *
+     * @return whether a live copy was marked
+     */
+    boolean supersede(String id, BiFunction<ColdSegment, Integer, PaymentOrder[]> blocks) {
+        int position = positionOf(id, blocks);
+        if (position < 0) {
+            return false;
+        }
+        long mask = 1L << position;
+        long previous = superseded.getAndAccumulate(position / Long.SIZE, mask, (current, bit) -> current | bit);
+        if ((previous & mask) != 0) {
+            return false;
+        }
+        live.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * @return the positions of the orders not superseded, in id order
+     */
+    int[] livePositions() {
+        int[] positions = new int[count];
+        int live = 0;
+        for (int position = 0; position < count; position++) {
+            if (!isSuperseded(position)) {
+                positions[live++] = position;
+            }
+        }
+        return Arrays.copyOf(positions, live);
+    }
+
+    /**
+     * @return the orders at the given positions, read block by block
+     */
+    List<PaymentOrder> liveOrders(int[] positions) {
+        List<PaymentOrder> orders = new ArrayList<>(positions.length);
+        PaymentOrder[] decoded = null;
+        int decodedBlock = -1;
+        for (int position : positions) {
+            if (position / blockSize != decodedBlock) {
+                decodedBlock = position / blockSize;
+                decoded = readBlock(decodedBlock);
+            }
+            orders.add(decoded[position % blockSize]);
+        }
+        return orders;
+    }
+
+    boolean isSuperseded(int position) {
+        return (superseded.get(position / Long.SIZE) & (1L << position)) != 0;
+    }
+
+    PaymentOrder[] readBlock(int block) {
+        ByteBuffer compressed = ByteBuffer.allocate(lengths[block]);
+        try {
+            long position = offsets[block];
+            while (compressed.hasRemaining()) {
+                int read = channel.read(compressed, position);
+                if (read < 0) {
+                    throw new IOException("Cold segment " + path + " is truncated");
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read cold segment " + path, e);
+        }
+        byte[] raw = new byte[rawLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.array());
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("block ends early");
+                }
+                inflated += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Cold segment " + path + " is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+        ByteBuffer in = ByteBuffer.wrap(raw);
+        List<PaymentOrder> orders = new ArrayList<>();
+        while (in.hasRemaining()) {
+            orders.add(PaymentOrderCodec.decode(in));
+        }
+        return orders.toArray(PaymentOrder[]::new);
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * @return orders not superseded
+     */
+    int live() {
+        return live.get();
+    }
+
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    long sizeOnDisk() {
+        return lengths.length == 0 ? HEADER_BYTES : offsets[offsets.length - 1] + lengths[lengths.length - 1];
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int positionOf(String id, BiFunction<ColdSegment, Integer, PaymentOrder[]> blocks) {
+        if (count == 0 || id.compareTo(firstIds[0]) < 0 || id.compareTo(lastId) > 0) {
+            return -1;
+        }
+        int block = Arrays.binarySearch(firstIds, id);
+        if (block < 0) {
+            block = -block - 2;
+        }
+        PaymentOrder[] orders = blocks.apply(this, block);
+        int low = 0;
+        int high = orders.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = orders[middle].getId().compareTo(id);
+            if (comparison == 0) {
+                return block * blockSize + middle;
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+}
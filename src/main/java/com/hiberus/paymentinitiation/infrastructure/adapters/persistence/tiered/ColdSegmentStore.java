@@ -0,0 +1,196 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.tiered;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * The on-disk tier: segments newest first, plus a bounded cache of decompressed blocks so a burst of
+ * reads on recently faulted orders doesn't inflate the same block again. Segments are appended by the
+ * single sweeper thread and published by replacing an immutable list, so readers never lock.
+ * <p>
+ * Each order has at most one live copy across the tiers: the repository {@linkplain #supersede
+ * supersedes} the copy on disk when the order is saved to memory again, and the copy it has just written
+ * when the order changed in memory before it could be dropped. {@link #compact} rewrites segments that
+ * are mostly superseded, so disk use and the segments a lookup has to range-check follow the live orders
+ * rather than the number of sweeps.
+ * <p>
+ * The tier extends the in-memory store and lives as long as the process: segments left by a previous
+ * run are deleted on open, since the hot orders and idempotency keys they belonged to are gone.
+ */
+final class ColdSegmentStore implements AutoCloseable {
+
+    private static final String PREFIX = "cold-";
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int blockSize;
+    private final Cache<BlockKey, PaymentOrder[]> blocks;
+    // held shared to supersede and exclusively to swap a compacted segment in, so no mark is lost
+    private final ReadWriteLock swapping = new ReentrantReadWriteLock();
+    private volatile List<ColdSegment> segments = List.of();
+    private List<ColdSegment> retired = new ArrayList<>();
+    private long nextSequence;
+
+    ColdSegmentStore(TieredStorageProperties properties) throws IOException {
+        this.directory = properties.getDirectory();
+        this.segmentSize = Math.max(1, properties.getSegmentSize());
+        this.blockSize = Math.max(1, properties.getBlockSize());
+        this.blocks = Caffeine.newBuilder().maximumSize(properties.getBlockCacheSize()).build();
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX + "*")) {
+            for (Path file : stale) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Writes the orders as one or more new segments and makes them visible to {@link #find}.
+     */
+    void append(List<PaymentOrder> orders) throws IOException {
+        for (int from = 0; from < orders.size(); from += segmentSize) {
+            List<PaymentOrder> slice = orders.subList(from, Math.min(orders.size(), from + segmentSize));
+            ColdSegment segment = write(slice);
+            List<ColdSegment> published = new ArrayList<>(segments.size() + 1);
+            published.add(segment);
+            published.addAll(segments);
+            segments = List.copyOf(published);
+        }
+    }
+
+    /**
+     * Marks the order's copy on disk, if any, as replaced by a newer one elsewhere.
+     */
+    void supersede(String id) {
+        swapping.readLock().lock();
+        try {
+            for (ColdSegment segment : segments) {
+                if (segment.supersede(id, this::block)) {
+                    return;
+                }
+            }
+        } finally {
+            swapping.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites every segment in which more than half of the orders are superseded with its live orders
+     * only, or drops it if none are left. Files replaced by the previous call are closed and deleted
+     * now, once readers that were still using them are long done. Called by the sweeper thread only.
+     *
+     * @return the number of segments rewritten or dropped
+     */
+    int compact() throws IOException {
+        for (ColdSegment segment : retired) {
+            segment.delete();
+        }
+        retired = new ArrayList<>();
+        for (ColdSegment segment : segments) {
+            if (segment.live() * 2L >= segment.count()) {
+                continue;
+            }
+            int[] positions = segment.livePositions();
+            // read past the block cache: a rewrite touches every block once
+            List<PaymentOrder> live = segment.liveOrders(positions);
+            ColdSegment compacted = live.isEmpty() ? null : write(live);
+            swapping.writeLock().lock();
+            try {
+                List<ColdSegment> published = new ArrayList<>(segments);
+                published.remove(segment);
+                if (compacted != null) {
+                    published.add(compacted);
+                    // orders superseded while the live ones were being rewritten
+                    for (int i = 0; i < positions.length; i++) {
+                        if (segment.isSuperseded(positions[i])) {
+                            compacted.supersede(live.get(i).getId(), this::block);
+                        }
+                    }
+                }
+                segments = List.copyOf(published);
+            } finally {
+                swapping.writeLock().unlock();
+            }
+            retired.add(segment);
+        }
+        return retired.size();
+    }
+
+    Optional<PaymentOrder> find(String id) {
+        for (ColdSegment segment : segments) {
+            PaymentOrder order = segment.find(id, this::block);
+            if (order != null) {
+                return Optional.of(order);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return the live orders on disk that may be due on {@code date}; callers filter them exactly
+     */
+    Stream<PaymentOrder> dueOn(LocalDate date) {
+        return segments.stream().flatMap(segment -> segment.dueOn(date, this::block));
+    }
+
+    /**
+     * @return orders with a live copy on disk
+     */
+    long count() {
+        long count = 0;
+        for (ColdSegment segment : segments) {
+            count += segment.live();
+        }
+        return count;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    long sizeOnDisk() {
+        long bytes = 0;
+        for (ColdSegment segment : segments) {
+            bytes += segment.sizeOnDisk();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ColdSegment segment : segments) {
+            segment.close();
+        }
+        for (ColdSegment segment : retired) {
+            segment.delete();
+        }
+        blocks.invalidateAll();
+    }
+
+    private ColdSegment write(List<PaymentOrder> orders) throws IOException {
+        long sequence = nextSequence++;
+        Path path = directory.resolve(String.format("%s%016d%s", PREFIX, sequence, SUFFIX));
+        return ColdSegment.write(path, sequence, orders, blockSize);
+    }
+
+    private PaymentOrder[] block(ColdSegment segment, int block) {
+        return blocks.get(new BlockKey(segment.sequence(), block), key -> segment.readBlock(block));
+    }
+
+    private record BlockKey(long segment, int block) {
+    }
+}
@@ -0,0 +1,169 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.tiered;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.InMemoryPaymentOrderRepositoryAdapter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory adapter whose settled orders ({@code EXECUTED} or {@code FAILED}) move to compressed
+ * on-disk segments once untouched for {@code evict-after}, so the heap holds pending and recent orders
+ * only. {@link #findById} falls back to the segments on a miss. A search by requested execution date,
+ * as the exports run, also pages through the segment blocks that span the date and merges both tiers in
+ * index order; other searches cover the in-memory tier only, since they would have to inflate every block.
+ * <p>
+ * A sweep writes the segment before dropping the orders from memory, so a lookup finds every order
+ * in at least one tier. An order saved again meanwhile stays in memory, and an order read back from disk
+ * and saved again moves to memory; either way its copy on disk is superseded, so it is counted once and
+ * the segment is compacted once mostly superseded. Every save supersedes inside the same per-order write
+ * that eviction checks, so a sweep dropping the order concurrently cannot leave a stale copy live. The idempotency index only keeps order ids, so a
+ * dropped order holds no heap even within the idempotency retention.
+ */
+@Slf4j
+@Component
+@Profile("tiered")
+public class TieredPaymentOrderRepositoryAdapter extends InMemoryPaymentOrderRepositoryAdapter {
+
+    private final TieredStorageProperties properties;
+    private final ColdSegmentStore coldStore;
+    private final Clock clock;
+    private ScheduledExecutorService sweeper;
+
+    @Autowired
+    public TieredPaymentOrderRepositoryAdapter(IdempotencyIndex idempotencyIndex, TieredStorageProperties properties)
+            throws IOException {
+        this(idempotencyIndex, properties, Clock.systemDefaultZone());
+    }
+
+    TieredPaymentOrderRepositoryAdapter(IdempotencyIndex idempotencyIndex, TieredStorageProperties properties, Clock clock)
+            throws IOException {
+        super(idempotencyIndex);
+        this.properties = properties;
+        this.coldStore = new ColdSegmentStore(properties);
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payment-order-tier-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getSweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(() -> {
+            try {
+                sweep();
+            } catch (IOException | RuntimeException e) {
+                log.error("Moving settled payment orders to disk failed", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            try {
+                sweeper.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        coldStore.close();
+    }
+
+    @Override
+    protected void beforePut(PaymentOrder existing, PaymentOrder order) {
+        // unconditionally: whether the order is still in memory can change until this write takes effect
+        coldStore.supersede(order.getId());
+    }
+
+    @Override
+    public Optional<PaymentOrder> findById(String id) {
+        Optional<PaymentOrder> hot = super.findById(id);
+        return hot.isPresent() ? hot : coldStore.find(id);
+    }
+
+    @Override
+    public PaymentOrderPage search(PaymentOrderQuery query) {
+        PaymentOrderPage hot = super.search(query);
+        if (query.getRequestedExecutionDate() == null) {
+            return hot;
+        }
+        // an order also in memory is current there, so its copy on disk is left out
+        PaymentOrderPage cold = indexes().page(query, coldStore.dueOn(query.getRequestedExecutionDate())
+                .filter(order -> super.findById(order.getId()).isEmpty()));
+        return indexes().merge(query, List.of(hot, cold));
+    }
+
+    @Override
+    public long count() {
+        return super.count() + coldStore.count();
+    }
+
+    /**
+     * Moves every settled order last updated before the cut-off to disk.
+     *
+     * @return the number of orders dropped from memory
+     */
+    int sweep() throws IOException {
+        LocalDateTime cutOff = LocalDateTime.now(clock).minus(properties.getEvictAfter());
+        List<PaymentOrder> settled = new ArrayList<>();
+        for (PaymentOrder order : storedOrders()) {
+            if (isCold(order, cutOff)) {
+                settled.add(order);
+            }
+        }
+        if (settled.isEmpty()) {
+            return 0;
+        }
+        coldStore.append(settled);
+        int evicted = 0;
+        for (PaymentOrder order : settled) {
+            if (evict(order)) {
+                evicted++;
+            } else {
+                // changed since it was read: the copy in memory is the current one
+                coldStore.supersede(order.getId());
+            }
+        }
+        int compacted = coldStore.compact();
+        log.debug("Moved {} settled payment orders to disk, compacted {} segments", evicted, compacted);
+        return evicted;
+    }
+
+    int coldSegments() {
+        return coldStore.segmentCount();
+    }
+
+    long coldBytes() {
+        return coldStore.sizeOnDisk();
+    }
+
+    private static boolean isCold(PaymentOrder order, LocalDateTime cutOff) {
+        if (order.getStatus() != PaymentOrder.PaymentOrderStatus.EXECUTED
+                && order.getStatus() != PaymentOrder.PaymentOrderStatus.FAILED) {
+            return false;
+        }
+        LocalDateTime touched = order.getLastUpdate() != null ? order.getLastUpdate() : order.getCreatedAt();
+        return touched != null && touched.isBefore(cutOff);
+    }
+}
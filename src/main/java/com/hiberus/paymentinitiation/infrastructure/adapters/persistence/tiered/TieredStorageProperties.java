@@ -0,0 +1,22 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.tiered;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.tiered")
+public class TieredStorageProperties {
+
+    private Path directory = Path.of("data", "cold");
+    /** Settled orders untouched for longer than this move to disk. */
+    private Duration evictAfter = Duration.ofHours(1);
+    private Duration sweepInterval = Duration.ofMinutes(1);
+    /** Maximum orders per segment file. */
+    private int segmentSize = 100_000;
+    /** Orders per compressed block, i.e. per sparse index entry. */
+    private int blockSize = 16;
+    /** Decompressed blocks kept in memory for repeated cold reads. */
+    private int blockCacheSize = 256;
+}
@@ -0,0 +1,13 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.settlement;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.settlement.stub")
+public class SettlementStubProperties {
+
+    private Duration latency = Duration.ZERO;
+    private double failureRate = 0.0;
+}
@@ -0,0 +1,44 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.settlement;
+
+import com.hiberus.paymentinitiation.application.ports.output.SettlementPort;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Local stand-in for the settlement backend: rejects orders that could never settle (non-positive
+ * amount, debtor equal to creditor) and otherwise fails a configurable fraction after a fixed latency.
+ * Which orders fail is decided by a hash of the order id, so settling an order again gives the same outcome.
+ */
+@Component
+@RequiredArgsConstructor
+public class StubSettlementAdapter implements SettlementPort {
+
+    private final SettlementStubProperties properties;
+
+    @Override
+    public boolean settle(PaymentOrder order) {
+        long latencyNanos = properties.getLatency().toNanos();
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+        if (order.getInstructedAmount() == null || order.getInstructedAmount().getAmount() == null
+                || order.getInstructedAmount().getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return false;
+        }
+        if (order.getDebtorAccount() != null && order.getCreditorAccount() != null
+                && order.getDebtorAccount().getIban() != null
+                && order.getDebtorAccount().getIban().equals(order.getCreditorAccount().getIban())) {
+            return false;
+        }
+        return properties.getFailureRate() <= 0.0
+                || uniform(order.getId()) >= properties.getFailureRate();
+    }
+
+    private static double uniform(String id) {
+        return ((Objects.hashCode(id) * 0x9E3779B9) >>> 8) / (double) (1 << 24);
+    }
+}
@@ -0,0 +1,10 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.soap;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+public interface LegacyPaymentOrderSoapApi {
+
+    void handle(HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
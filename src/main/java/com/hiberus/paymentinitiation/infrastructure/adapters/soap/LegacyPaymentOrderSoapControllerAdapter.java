@@ -0,0 +1,73 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.soap;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.admission.AdmissionRejectedException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Inbound bridge for upstream systems still on {@code legacy/PaymentOrderService.wsdl}. The operation is
+ * dispatched on the payload element, so the SOAPAction header is not required; faults follow SOAP 1.1
+ * and are sent with HTTP 500. A submission turned away by admission control gets a {@code Server} fault
+ * with {@code Retry-After}, since the request itself was valid.
+ */
+@RestController
+@RequiredArgsConstructor
+public class LegacyPaymentOrderSoapControllerAdapter implements LegacyPaymentOrderSoapApi {
+
+    static final String CONTENT_TYPE = MediaType.TEXT_XML_VALUE + ";charset=UTF-8";
+
+    private final PaymentOrderUseCase useCase;
+
+    @PostMapping(value = "/legacy/payments", consumes = {MediaType.TEXT_XML_VALUE, MediaType.APPLICATION_XML_VALUE})
+    @Operation(summary = "Legacy SOAP 1.1 endpoint (SubmitPaymentOrder, GetPaymentOrderStatus)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "SubmitPaymentOrderResponse or GetPaymentOrderStatusResponse"),
+        @ApiResponse(responseCode = "500", description = "SOAP fault")
+    })
+    @Override
+    public void handle(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(CONTENT_TYPE);
+        try {
+            LegacySoapRequest soapRequest = LegacySoapCodec.read(request.getInputStream());
+            switch (soapRequest.operation()) {
+                case SUBMIT_PAYMENT_ORDER -> {
+                    PaymentOrder order = useCase.initiatePaymentOrder(soapRequest.order());
+                    response.setStatus(HttpServletResponse.SC_OK);
+                    LegacySoapCodec.writeSubmitResponse(response.getOutputStream(), soapRequest.enveloped(), order);
+                }
+                case GET_PAYMENT_ORDER_STATUS -> {
+                    String paymentOrderId = soapRequest.paymentOrderId();
+                    PaymentOrder order = useCase.retrievePaymentOrderStatus(paymentOrderId)
+                            .orElseThrow(() -> LegacySoapFault.client("Payment order not found: " + paymentOrderId));
+                    response.setStatus(HttpServletResponse.SC_OK);
+                    LegacySoapCodec.writeStatusResponse(response.getOutputStream(), soapRequest.enveloped(), order);
+                }
+            }
+        } catch (LegacySoapFault fault) {
+            writeFault(response, fault);
+        } catch (AdmissionRejectedException e) {
+            long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            writeFault(response, LegacySoapFault.server(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            writeFault(response, LegacySoapFault.client(e.getMessage() != null ? e.getMessage() : "Invalid request"));
+        }
+    }
+
+    private static void writeFault(HttpServletResponse response, LegacySoapFault fault) throws IOException {
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        LegacySoapCodec.writeFault(response.getOutputStream(), fault);
+    }
+}
@@ -0,0 +1,275 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.soap;
+
+import com.ctc.wstx.stax.WstxInputFactory;
+import com.ctc.wstx.stax.WstxOutputFactory;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Streaming StAX reader and writer for the {@code legacy/PaymentOrderService.wsdl} contract (SOAP 1.1,
+ * document/literal). Messages are read field by field straight into an order draft and responses
+ * are written element by element, so no DOM or JAXB tree is built. The factories are Woodstox rather than
+ * the JDK default, whose per-reader setup cost several times the JSON path; they are thread-safe once
+ * configured and shared by every request, and Woodstox recycles its parse buffers per thread.
+ */
+final class LegacySoapCodec {
+
+    static final String PAYMENTS_NS = "http://legacy.bank/payments";
+    static final String SOAP_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+
+    private static final XMLInputFactory INPUT_FACTORY = inputFactory();
+    private static final XMLOutputFactory OUTPUT_FACTORY = new WstxOutputFactory();
+
+    private LegacySoapCodec() {
+    }
+
+    /**
+     * Reads a SOAP envelope, or a bare payload as in {@code legacy/samples}, and stops at the end of the
+     * operation element.
+     *
+     * @throws LegacySoapFault with a {@code Client} code for malformed XML, unknown operations or
+     *         missing and invalid fields
+     */
+    static LegacySoapRequest read(InputStream in) {
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(in);
+            reader.nextTag();
+            boolean enveloped = isSoap(reader, "Envelope");
+            if (enveloped) {
+                reader.nextTag();
+                if (isSoap(reader, "Header")) {
+                    skipElement(reader);
+                    reader.nextTag();
+                }
+                if (!isSoap(reader, "Body")) {
+                    throw LegacySoapFault.client("Missing soap:Body");
+                }
+                if (reader.nextTag() != XMLStreamConstants.START_ELEMENT) {
+                    throw LegacySoapFault.client("Empty soap:Body");
+                }
+            }
+            if (!PAYMENTS_NS.equals(reader.getNamespaceURI())) {
+                throw LegacySoapFault.client("Unsupported payload " + reader.getName());
+            }
+            return switch (reader.getLocalName()) {
+                case "SubmitPaymentOrderRequest" -> LegacySoapRequest.submit(enveloped, readSubmit(reader));
+                case "GetPaymentOrderStatusRequest" -> LegacySoapRequest.status(enveloped, readStatus(reader));
+                default -> throw LegacySoapFault.client("Unsupported operation " + reader.getLocalName());
+            };
+        } catch (XMLStreamException e) {
+            throw LegacySoapFault.client("Malformed XML: " + e.getMessage());
+        } finally {
+            close(reader);
+        }
+    }
+
+    static void writeSubmitResponse(OutputStream out, boolean enveloped, PaymentOrder order) throws IOException {
+        try {
+            XMLStreamWriter writer = startMessage(out, enveloped, "SubmitPaymentOrderResponse");
+            writeElement(writer, "paymentOrderId", order.getId());
+            writeElement(writer, "status", legacyStatus(order.getStatus()));
+            endMessage(writer);
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    static void writeStatusResponse(OutputStream out, boolean enveloped, PaymentOrder order) throws IOException {
+        try {
+            XMLStreamWriter writer = startMessage(out, enveloped, "GetPaymentOrderStatusResponse");
+            writeElement(writer, "paymentOrderId", order.getId());
+            writeElement(writer, "status", legacyStatus(order.getStatus()));
+            LocalDateTime lastUpdate = order.getLastUpdate() != null ? order.getLastUpdate() : order.getCreatedAt();
+            if (lastUpdate != null) {
+                writeElement(writer, "lastUpdate",
+                        DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(lastUpdate.atZone(ZoneId.systemDefault())));
+            }
+            endMessage(writer);
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    static void writeFault(OutputStream out, LegacySoapFault fault) throws IOException {
+        try {
+            XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            startEnvelope(writer);
+            writer.writeStartElement("soap", "Fault", SOAP_NS);
+            writer.writeStartElement("faultcode");
+            writer.writeCharacters("soap:" + fault.getFaultCode());
+            writer.writeEndElement();
+            writer.writeStartElement("faultstring");
+            writer.writeCharacters(fault.getMessage());
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * The legacy contract reports settlement outcomes rather than the internal lifecycle.
+     */
+    static String legacyStatus(PaymentOrder.PaymentOrderStatus status) {
+        return switch (status) {
+            case PENDING -> "ACCEPTED";
+            case EXECUTED -> "SETTLED";
+            case FAILED -> "REJECTED";
+        };
+    }
+
+    private static PaymentOrder readSubmit(XMLStreamReader reader) throws XMLStreamException {
+        String externalId = null;
+        String debtorIban = null;
+        String creditorIban = null;
+        BigDecimal amount = null;
+        String currency = null;
+        String remittanceInfo = null;
+        LocalDate requestedExecutionDate = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "externalId" -> externalId = reader.getElementText().trim();
+                case "debtorIban" -> debtorIban = reader.getElementText().trim();
+                case "creditorIban" -> creditorIban = reader.getElementText().trim();
+                case "amount" -> amount = decimal(reader.getElementText());
+                case "currency" -> currency = reader.getElementText().trim();
+                case "remittanceInfo" -> remittanceInfo = reader.getElementText();
+                case "requestedExecutionDate" -> requestedExecutionDate = date(reader.getElementText());
+                default -> skipElement(reader);
+            }
+        }
+        require(externalId, "externalId");
+        require(debtorIban, "debtorIban");
+        require(creditorIban, "creditorIban");
+        require(amount, "amount");
+        require(currency, "currency");
+        require(requestedExecutionDate, "requestedExecutionDate");
+        return PaymentOrder.builder()
+                .externalReference(externalId)
+                .debtorAccount(new Account(debtorIban))
+                .creditorAccount(new Account(creditorIban))
+                .instructedAmount(new Amount(amount, currency))
+                .remittanceInformation(remittanceInfo)
+                .requestedExecutionDate(requestedExecutionDate)
+                .build();
+    }
+
+    private static String readStatus(XMLStreamReader reader) throws XMLStreamException {
+        String paymentOrderId = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("paymentOrderId".equals(reader.getLocalName())) {
+                paymentOrderId = reader.getElementText().trim();
+            } else {
+                skipElement(reader);
+            }
+        }
+        require(paymentOrderId, "paymentOrderId");
+        return paymentOrderId;
+    }
+
+    private static XMLStreamWriter startMessage(OutputStream out, boolean enveloped, String operation)
+            throws XMLStreamException {
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+        writer.writeStartDocument("UTF-8", "1.0");
+        if (enveloped) {
+            startEnvelope(writer);
+        }
+        writer.writeStartElement("", operation, PAYMENTS_NS);
+        writer.writeDefaultNamespace(PAYMENTS_NS);
+        return writer;
+    }
+
+    private static void startEnvelope(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement("soap", "Envelope", SOAP_NS);
+        writer.writeNamespace("soap", SOAP_NS);
+        writer.writeStartElement("soap", "Body", SOAP_NS);
+    }
+
+    private static void endMessage(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeEndDocument();
+        writer.close();
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String name, String value) throws XMLStreamException {
+        writer.writeStartElement("", name, PAYMENTS_NS);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
+
+    private static boolean isSoap(XMLStreamReader reader, String localName) {
+        return reader.isStartElement() && SOAP_NS.equals(reader.getNamespaceURI())
+                && localName.equals(reader.getLocalName());
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static BigDecimal decimal(String text) {
+        try {
+            return new BigDecimal(text.trim());
+        } catch (NumberFormatException e) {
+            throw LegacySoapFault.client("Invalid amount: " + text);
+        }
+    }
+
+    private static LocalDate date(String text) {
+        try {
+            return LocalDate.parse(text.trim());
+        } catch (DateTimeParseException e) {
+            throw LegacySoapFault.client("Invalid requestedExecutionDate: " + text);
+        }
+    }
+
+    private static void require(Object value, String element) {
+        if (value == null || (value instanceof String text && text.isEmpty())) {
+            throw LegacySoapFault.client("Missing " + element);
+        }
+    }
+
+    private static void close(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException ignored) {
+                // nothing left to release
+            }
+        }
+    }
+
+    private static XMLInputFactory inputFactory() {
+        WstxInputFactory factory = new WstxInputFactory();
+        factory.configureForSpeed();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
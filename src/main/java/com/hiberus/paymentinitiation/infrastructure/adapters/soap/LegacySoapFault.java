@@ -0,0 +1,29 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.soap;
+
+/**
+ * A request the legacy bridge answers with a SOAP 1.1 fault instead of a response payload.
+ */
+class LegacySoapFault extends RuntimeException {
+
+    static final String CLIENT = "Client";
+    static final String SERVER = "Server";
+
+    private final String faultCode;
+
+    LegacySoapFault(String faultCode, String message) {
+        super(message);
+        this.faultCode = faultCode;
+    }
+
+    static LegacySoapFault client(String message) {
+        return new LegacySoapFault(CLIENT, message);
+    }
+
+    static LegacySoapFault server(String message) {
+        return new LegacySoapFault(SERVER, message);
+    }
+
+    String getFaultCode() {
+        return faultCode;
+    }
+}
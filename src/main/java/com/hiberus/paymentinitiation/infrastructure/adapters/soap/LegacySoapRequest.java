@@ -0,0 +1,24 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.soap;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+
+/**
+ * A parsed legacy operation. {@code enveloped} is false when the payload was posted without a SOAP
+ * envelope, as in {@code legacy/samples}, so the response is written the same way.
+ */
+record LegacySoapRequest(Operation operation, boolean enveloped, PaymentOrder order,
+                         String paymentOrderId) {
+
+    enum Operation {
+        SUBMIT_PAYMENT_ORDER,
+        GET_PAYMENT_ORDER_STATUS
+    }
+
+    static LegacySoapRequest submit(boolean enveloped, PaymentOrder order) {
+        return new LegacySoapRequest(Operation.SUBMIT_PAYMENT_ORDER, enveloped, order, null);
+    }
+
+    static LegacySoapRequest status(boolean enveloped, String paymentOrderId) {
+        return new LegacySoapRequest(Operation.GET_PAYMENT_ORDER_STATUS, enveloped, null, paymentOrderId);
+    }
+}
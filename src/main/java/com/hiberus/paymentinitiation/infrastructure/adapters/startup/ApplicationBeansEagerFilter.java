@@ -0,0 +1,24 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.startup;
+
+import com.hiberus.paymentinitiation.PaymentInitiationApplication;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.stereotype.Component;
+
+/**
+ * With {@code spring.main.lazy-initialization} only framework beans that nothing in the service
+ * depends on (the OpenAPI UI, most actuator endpoints, unused auto-configuration) are deferred to their
+ * first use. The service's own beans stay eager: scheduled execution, the metrics aspect and the
+ * repository indexes must exist from the start, and deferring them would only move their cost onto the
+ * first request.
+ */
+@Component
+public class ApplicationBeansEagerFilter implements LazyInitializationExcludeFilter {
+
+    private static final String APPLICATION_PACKAGE = PaymentInitiationApplication.class.getPackageName() + ".";
+
+    @Override
+    public boolean isExcluded(String beanName, BeanDefinition beanDefinition, Class<?> beanType) {
+        return beanType != null && beanType.getName().startsWith(APPLICATION_PACKAGE);
+    }
+}
@@ -0,0 +1,84 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.startup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Drives the initiation and read paths through the embedded server once it listens and before the
+ * application is ready, so that the first real clients do not pay for class loading, lazy framework
+ * beans, Jackson serializers and interpreted code. Runners complete before the readiness state turns
+ * to accepting traffic, so a probe on {@code /actuator/health/readiness} holds traffic back meanwhile.
+ *
+ * <p>No request changes state: the initiation lacks its execution date and is rejected by validation
+ * after both IBANs have been checked, and the reads target an id that cannot exist. The requests do
+ * show up in {@code http.server.requests} with their 4xx status. The bean is always registered and
+ * checks {@code enabled} when it runs, because an AOT-processed build fixes conditions at build time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupWarmUp implements ApplicationRunner {
+
+    private static final String ORDERS = "/payment-initiation/payment-orders";
+    private static final String UNKNOWN_ID = "PO-WARMUP";
+    private static final String DEBTOR_IBAN = "GB82WEST12345698765432";
+    private static final String[] ACCEPT = {"application/json", "application/cbor", "application/x-jackson-smile"};
+    private static final String INITIATION = """
+            {"externalReference":"WARMUP","debtorAccount":{"iban":"%s"},\
+            "creditorAccount":{"iban":"DE89370400440532013000"},\
+            "instructedAmount":{"amount":1.00,"currency":"EUR"},"remittanceInformation":"warm-up"}""".formatted(DEBTOR_IBAN);
+
+    private final WarmUpProperties properties;
+    private final Environment environment;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String port = environment.getProperty("local.server.port");
+        if (!properties.isEnabled() || port == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+        URI base = URI.create("http://localhost:" + port);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        int sent = 0;
+        try {
+            for (int round = 0; round < properties.getRounds() && System.nanoTime() < deadline; round++) {
+                String accept = ACCEPT[round % ACCEPT.length];
+                send(client, HttpRequest.newBuilder(base.resolve(ORDERS))
+                        .header("Content-Type", "application/json")
+                        .header("Accept", accept)
+                        .POST(HttpRequest.BodyPublishers.ofString(INITIATION)));
+                send(client, HttpRequest.newBuilder(base.resolve(ORDERS + "/" + UNKNOWN_ID)).header("Accept", accept));
+                send(client, HttpRequest.newBuilder(base.resolve(ORDERS + "/" + UNKNOWN_ID + "/status"))
+                        .header("Accept", accept));
+                send(client, HttpRequest.newBuilder(base.resolve(ORDERS + "?debtorIban=" + DEBTOR_IBAN))
+                        .header("Accept", "application/json"));
+                sent += 4;
+            }
+        } catch (IOException e) {
+            log.warn("Warm-up stopped after {} requests", sent, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Warm-up sent {} requests in {} ms", sent, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void send(HttpClient client, HttpRequest.Builder request) throws IOException, InterruptedException {
+        client.send(request.timeout(Duration.ofSeconds(5)).build(), HttpResponse.BodyHandlers.discarding());
+    }
+}
@@ -0,0 +1,20 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.startup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "payment-initiation.warm-up")
+public class WarmUpProperties {
+
+    /** Sends requests to the own HTTP port before the application reports itself ready. */
+    private boolean enabled = false;
+
+    /** Rounds over the initiation, retrieval, status and search endpoints. */
+    private int rounds = 20;
+
+    /** Upper bound on the whole warm-up; whatever is left is skipped. */
+    private Duration timeout = Duration.ofSeconds(10);
+}
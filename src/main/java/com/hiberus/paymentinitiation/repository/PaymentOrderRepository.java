@@ -1,20 +1,22 @@
 package com.hiberus.paymentinitiation.repository;
 
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderIdGenerator;
 import com.hiberus.paymentinitiation.model.PaymentOrder;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
+@RequiredArgsConstructor
 public class PaymentOrderRepository {
     private final Map<String, PaymentOrder> orders = new ConcurrentHashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final PaymentOrderIdGenerator idGenerator;
 
     public PaymentOrder save(PaymentOrder order) {
         if (order.getId() == null) {
-            order.setId("PO-" + String.format("%04d", idGenerator.getAndIncrement()));
+            order.setId(idGenerator.nextId());
         }
         orders.put(order.getId(), order);
         return order;
@@ -0,0 +1,113 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.DuplicatePaymentOrderException;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.InMemoryPaymentOrderRepositoryAdapter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentOrderDuplicateDetectorTest {
+
+    private static final String DEBTOR = "ES9121000418450200051332";
+    private static final String CREDITOR = "DE89370400440532013000";
+
+    private final InMemoryPaymentOrderRepositoryAdapter repository =
+            new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+    private final DuplicateDetectionProperties properties = new DuplicateDetectionProperties();
+
+    @Test
+    void shouldFlagRepeatUnderAnotherReferenceWithinWindow() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        repository.save(order("PO-1", "EXT-1", CREDITOR, "150.75", now.minusMinutes(9)));
+        PaymentOrderDuplicateDetector detector = new PaymentOrderDuplicateDetector(repository, properties);
+        repository.save(order("PO-2", "EXT-2", "FR1420041010050500013M02606", "150.75", now.minusMinutes(1)));
+
+        // When & Then
+        PaymentOrder suspect = detector.screen(order("PO-3", "EXT-3", CREDITOR, "150.750", now));
+        assertThat(suspect.isDuplicateSuspect()).isTrue();
+        assertThat(detector.screen(order("PO-4", "EXT-1", CREDITOR, "150.75", now)).isDuplicateSuspect()).isFalse();
+        assertThat(detector.screen(order("PO-5", "EXT-5", CREDITOR, "150.76", now)).isDuplicateSuspect()).isFalse();
+        assertThat(detector.screen(order("PO-6", "EXT-6", CREDITOR, "150.75", now.plusMinutes(2))).isDuplicateSuspect())
+                .isFalse();
+        assertThat(detector.screen(order("PO-7", "EXT-7", "FR1420041010050500013M02606", "150.75", now))
+                .isDuplicateSuspect()).isTrue();
+        repository.save(suspect);
+        // a retry of EXT-1 now repeats the stored suspect too, but the repository answers it with PO-1
+        assertThat(detector.screen(order("PO-8", "EXT-1", CREDITOR, "150.75", now)).isDuplicateSuspect()).isFalse();
+        assertThat(detector.suspects()).isEqualTo(2);
+        assertThat(detector.screened()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldScreenBatchWithinItself() {
+        // Given
+        PaymentOrderDuplicateDetector detector = new PaymentOrderDuplicateDetector(repository, properties);
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        List<PaymentOrder> screened = detector.screenAll(List.of(
+                order("PO-1", "EXT-1", CREDITOR, "20", now),
+                order("PO-2", "EXT-2", "FR1420041010050500013M02606", "20", now),
+                order("PO-3", "EXT-3", CREDITOR, "20.00", now),
+                order("PO-4", "EXT-1", CREDITOR, "20", now)));
+
+        // Then
+        assertThat(screened).extracting(PaymentOrder::isDuplicateSuspect).containsExactly(false, false, true, false);
+        assertThat(detector.suspects()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectSuspectWhenPolicyIsReject() {
+        // Given
+        properties.setPolicy(DuplicateDetectionProperties.Policy.REJECT);
+        PaymentOrderDuplicateDetector detector = new PaymentOrderDuplicateDetector(repository, properties);
+        LocalDateTime now = LocalDateTime.now();
+        repository.save(order("PO-1", "EXT-1", CREDITOR, "20", now));
+
+        // When & Then
+        assertThatThrownBy(() -> detector.screen(order("PO-2", "EXT-2", CREDITOR, "20.00", now.plusSeconds(30))))
+                .isInstanceOfSatisfying(DuplicatePaymentOrderException.class,
+                        e -> assertThat(e.getDuplicateOf()).isEqualTo("PO-1"));
+    }
+
+    @Test
+    void shouldLetEverythingThroughWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+        PaymentOrderDuplicateDetector detector = new PaymentOrderDuplicateDetector(repository, properties);
+        LocalDateTime now = LocalDateTime.now();
+        repository.save(order("PO-1", "EXT-1", CREDITOR, "20", now));
+
+        // When
+        PaymentOrder order = order("PO-2", "EXT-2", CREDITOR, "20", now);
+
+        // Then
+        assertThat(detector.screen(order)).isSameAs(order);
+        assertThat(detector.screened()).isZero();
+    }
+
+    private static PaymentOrder order(String id, String externalReference, String creditor, String amount,
+                                      LocalDateTime createdAt) {
+        return PaymentOrder.builder()
+                .id(id)
+                .externalReference(externalReference)
+                .debtorAccount(new Account(DEBTOR))
+                .creditorAccount(new Account(creditor))
+                .instructedAmount(new Amount(new BigDecimal(amount), "EUR"))
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .createdAt(createdAt)
+                .lastUpdate(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import com.hiberus.paymentinitiation.application.ports.output.SettlementPort;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.InMemoryPaymentOrderRepositoryAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentOrderExecutionEngineTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-03-10T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private InMemoryPaymentOrderRepositoryAdapter repository;
+    private SettlementPort settlement;
+    private PaymentOrderExecutionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+        settlement = mock(SettlementPort.class);
+        when(settlement.settle(any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.close();
+        }
+    }
+
+    @Test
+    void shouldExecuteOnlyOrdersDueByCutOff() {
+        // Given
+        engine = new PaymentOrderExecutionEngine(repository, settlement, new ExecutionProperties(), CLOCK);
+        repository.save(order("PO-1", TODAY.minusDays(1)));
+        repository.save(order("PO-2", TODAY));
+        repository.save(order("PO-3", TODAY.plusDays(1)));
+
+        // When
+        engine.tick();
+
+        // Then
+        assertThat(repository.findById("PO-1").orElseThrow().getStatus()).isEqualTo(PaymentOrder.PaymentOrderStatus.EXECUTED);
+        assertThat(repository.findById("PO-2").orElseThrow().getStatus()).isEqualTo(PaymentOrder.PaymentOrderStatus.EXECUTED);
+        assertThat(repository.findById("PO-3").orElseThrow().getStatus()).isEqualTo(PaymentOrder.PaymentOrderStatus.PENDING);
+        assertThat(engine.getMetrics().getExecuted()).isEqualTo(2);
+        assertThat(engine.getMetrics().getQueued()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailOrdersRejectedBySettlementAcrossBatches() {
+        // Given
+        var properties = new ExecutionProperties();
+        properties.setBatchSize(2);
+        properties.setWorkers(2);
+        engine = new PaymentOrderExecutionEngine(repository, settlement, properties, CLOCK);
+        when(settlement.settle(argThat(order -> order != null && order.getId().equals("PO-4")))).thenReturn(false);
+        for (int i = 1; i <= 5; i++) {
+            repository.save(order("PO-" + i, TODAY));
+        }
+
+        // When
+        engine.tick();
+
+        // Then
+        assertThat(repository.findById("PO-4").orElseThrow().getStatus()).isEqualTo(PaymentOrder.PaymentOrderStatus.FAILED);
+        assertThat(repository.findById("PO-5").orElseThrow().getStatus()).isEqualTo(PaymentOrder.PaymentOrderStatus.EXECUTED);
+        assertThat(engine.getMetrics().getExecuted()).isEqualTo(4);
+        assertThat(engine.getMetrics().getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPickUpPendingOrdersStoredBeforeStartupAndHonourCutOff() {
+        // Given
+        repository.save(order("PO-1", TODAY));
+        var properties = new ExecutionProperties();
+        properties.setCutOff(LocalTime.of(18, 0));
+        engine = new PaymentOrderExecutionEngine(repository, settlement, properties, CLOCK);
+        repository.save(order("PO-2", TODAY.minusDays(1)));
+
+        // When
+        engine.tick();
+
+        // Then
+        assertThat(repository.findById("PO-1").orElseThrow().getStatus()).isEqualTo(PaymentOrder.PaymentOrderStatus.PENDING);
+        assertThat(repository.findById("PO-2").orElseThrow().getStatus()).isEqualTo(PaymentOrder.PaymentOrderStatus.EXECUTED);
+        assertThat(engine.getMetrics().getLastLagMillis()).isEqualTo(18 * 3_600_000L);
+    }
+
+    @Test
+    void shouldRecordSettledOutcomeOnNextTickWhenWriteBackFails() {
+        // Given
+        var store = spy(repository);
+        doThrow(new IllegalStateException("store unavailable")).doCallRealMethod().when(store).saveAll(any());
+        engine = new PaymentOrderExecutionEngine(store, settlement, new ExecutionProperties(), CLOCK);
+        store.save(order("PO-1", TODAY));
+        engine.tick();
+
+        // When
+        engine.tick();
+
+        // Then
+        assertThat(store.findById("PO-1").orElseThrow().getStatus()).isEqualTo(PaymentOrder.PaymentOrderStatus.EXECUTED);
+        verify(settlement, times(1)).settle(any());
+        assertThat(engine.getMetrics().getExecuted()).isEqualTo(1);
+    }
+
+    private static PaymentOrder order(String id, LocalDate executionDate) {
+        LocalDateTime created = LocalDateTime.of(2025, 3, 1, 9, 0);
+        return PaymentOrder.builder()
+                .id(id)
+                .externalReference("EXT-" + id)
+                .debtorAccount(new Account("ES9121000418450200051332"))
+                .creditorAccount(new Account("ES7921000813610123456789"))
+                .instructedAmount(new Amount(new BigDecimal("10.00"), "EUR"))
+                .requestedExecutionDate(executionDate)
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .createdAt(created)
+                .lastUpdate(created)
+                .build();
+    }
+}
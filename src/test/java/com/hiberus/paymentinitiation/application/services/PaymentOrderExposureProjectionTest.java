@@ -0,0 +1,195 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderExposure;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.InMemoryPaymentOrderRepositoryAdapter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentOrderExposureProjectionTest {
+
+    private static final String DEBTOR = "ES9121000418450200051332";
+    private static final LocalDate DATE = LocalDate.of(2025, 10, 31);
+
+    private final InMemoryPaymentOrderRepositoryAdapter repository =
+            new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+
+    @Test
+    void shouldMoveAmountBetweenStatusesWhenAnOrderChanges() {
+        // Given
+        repository.save(order("PO-1", DEBTOR, "150.75", "EUR", DATE, PaymentOrder.PaymentOrderStatus.PENDING));
+        PaymentOrderExposureProjection projection = new PaymentOrderExposureProjection(repository);
+        repository.save(order("PO-2", DEBTOR, "49.25", "EUR", DATE.plusDays(1), PaymentOrder.PaymentOrderStatus.PENDING));
+
+        // When
+        repository.save(order("PO-1", DEBTOR, "150.75", "EUR", DATE, PaymentOrder.PaymentOrderStatus.EXECUTED));
+
+        // Then
+        PaymentOrderExposure overall = projection.exposure(DEBTOR, "EUR", null);
+        assertThat(overall.getTotals().get(PaymentOrder.PaymentOrderStatus.PENDING))
+                .isEqualTo(new PaymentOrderExposure.Total(1, new BigDecimal("49.25")));
+        assertThat(overall.getTotals().get(PaymentOrder.PaymentOrderStatus.EXECUTED))
+                .isEqualTo(new PaymentOrderExposure.Total(1, new BigDecimal("150.75")));
+        PaymentOrderExposure onDate = projection.exposure(DEBTOR, "EUR", DATE);
+        assertThat(onDate.getTotals().get(PaymentOrder.PaymentOrderStatus.PENDING))
+                .isEqualTo(new PaymentOrderExposure.Total(0, new BigDecimal("0.00")));
+        assertThat(projection.exposure(DEBTOR, "JPY", null).getTotals().get(PaymentOrder.PaymentOrderStatus.PENDING))
+                .isEqualTo(new PaymentOrderExposure.Total(0, BigDecimal.ZERO));
+    }
+
+    @Test
+    void shouldLeaveOutAmountsWithoutExactMinorUnits() {
+        // Given
+        PaymentOrderExposureProjection projection = new PaymentOrderExposureProjection(repository);
+
+        // When
+        repository.save(order("PO-1", DEBTOR, "10.5", "JPY", DATE, PaymentOrder.PaymentOrderStatus.PENDING));
+        repository.save(order("PO-2", DEBTOR, "10", "XXX", DATE, PaymentOrder.PaymentOrderStatus.PENDING));
+        repository.save(order("PO-3", DEBTOR, "10", "JPY", DATE, PaymentOrder.PaymentOrderStatus.PENDING));
+
+        // Then
+        assertThat(projection.untracked()).isEqualTo(2);
+        assertThat(projection.exposure(DEBTOR, "JPY", DATE).getTotals().get(PaymentOrder.PaymentOrderStatus.PENDING))
+                .isEqualTo(new PaymentOrderExposure.Total(1, new BigDecimal("10")));
+        assertThatThrownBy(() -> projection.exposure(DEBTOR, "XXX", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldCountWritesLandingDuringTheSeedScanOnce() {
+        // Given
+        PaymentOrder first = order("PO-1", DEBTOR, "100.00", "EUR", DATE, PaymentOrder.PaymentOrderStatus.PENDING);
+        AtomicBoolean written = new AtomicBoolean();
+        InMemoryPaymentOrderRepositoryAdapter repository =
+                new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties())) {
+                    @Override
+                    public PaymentOrderPage search(PaymentOrderQuery query) {
+                        if (written.compareAndSet(false, true)) {
+                            // e.g. the execution engine settling an order while the projection seeds
+                            save(first.toBuilder().status(PaymentOrder.PaymentOrderStatus.EXECUTED).build());
+                            save(order("PO-3", DEBTOR, "5.00", "EUR", DATE, PaymentOrder.PaymentOrderStatus.PENDING));
+                        }
+                        return super.search(query);
+                    }
+                };
+        repository.save(first);
+        repository.save(order("PO-2", DEBTOR, "20.00", "EUR", DATE, PaymentOrder.PaymentOrderStatus.PENDING));
+
+        // When
+        PaymentOrderExposureProjection projection = new PaymentOrderExposureProjection(repository);
+        repository.save(order("PO-3", DEBTOR, "5.00", "EUR", DATE, PaymentOrder.PaymentOrderStatus.FAILED));
+
+        // Then
+        PaymentOrderExposure overall = projection.exposure(DEBTOR, "EUR", null);
+        assertThat(overall.getTotals().get(PaymentOrder.PaymentOrderStatus.PENDING))
+                .isEqualTo(new PaymentOrderExposure.Total(1, new BigDecimal("20.00")));
+        assertThat(overall.getTotals().get(PaymentOrder.PaymentOrderStatus.EXECUTED))
+                .isEqualTo(new PaymentOrderExposure.Total(1, new BigDecimal("100.00")));
+        assertThat(overall.getTotals().get(PaymentOrder.PaymentOrderStatus.FAILED))
+                .isEqualTo(new PaymentOrderExposure.Total(1, new BigDecimal("5.00")));
+    }
+
+    @Test
+    void shouldNotCountWriteScannedBeforeItNotifiedTwice() {
+        // Given
+        PaymentOrder pending = order("PO-1", DEBTOR, "100.00", "EUR", DATE, PaymentOrder.PaymentOrderStatus.PENDING);
+        PaymentOrder executed = pending.toBuilder()
+                .status(PaymentOrder.PaymentOrderStatus.EXECUTED)
+                .lastUpdate(pending.getLastUpdate().plusSeconds(1))
+                .build();
+        AtomicBoolean stored = new AtomicBoolean();
+        InMemoryPaymentOrderRepositoryAdapter repository =
+                new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties())) {
+                    @Override
+                    public PaymentOrderPage search(PaymentOrderQuery query) {
+                        if (stored.compareAndSet(false, true)) {
+                            // stored, with its notification still to come when seeding ends
+                            restore(executed);
+                        }
+                        return super.search(query);
+                    }
+                };
+        repository.save(pending);
+        PaymentOrderExposureProjection projection = new PaymentOrderExposureProjection(repository);
+
+        // When
+        projection.onChange(pending, executed);
+        projection.onChange(null, pending);
+
+        // Then
+        PaymentOrderExposure overall = projection.exposure(DEBTOR, "EUR", null);
+        assertThat(overall.getTotals().get(PaymentOrder.PaymentOrderStatus.PENDING))
+                .isEqualTo(new PaymentOrderExposure.Total(0, new BigDecimal("0.00")));
+        assertThat(overall.getTotals().get(PaymentOrder.PaymentOrderStatus.EXECUTED))
+                .isEqualTo(new PaymentOrderExposure.Total(1, new BigDecimal("100.00")));
+    }
+
+    @Test
+    void shouldMatchFullRecomputeAfterConcurrentWrites() throws Exception {
+        // Given
+        PaymentOrderExposureProjection projection = new PaymentOrderExposureProjection(repository);
+        String[] debtors = {DEBTOR, "DE89370400440532013000", "GB82WEST12345698765432"};
+        String[] currencies = {"EUR", "USD", "KWD"};
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            writers.add(executor.submit(() -> {
+                Random random = new Random(thread);
+                for (int i = 0; i < 5_000; i++) {
+                    // ids are shared across threads, so the same order is also rewritten concurrently;
+                    // like a real order, only its status changes between writes
+                    int n = random.nextInt(2_000);
+                    PaymentOrder.PaymentOrderStatus status = PaymentOrder.PaymentOrderStatus.values()[random.nextInt(3)];
+                    repository.save(order("PO-" + n, debtors[n % 3], BigDecimal.valueOf(n + 1, 2).toPlainString(),
+                            currencies[n / 3 % 3], DATE.plusDays(n % 5), status));
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(projection.untracked()).isZero();
+        assertThat(projection.exposures())
+                .hasSizeGreaterThan(debtors.length)
+                .containsExactlyInAnyOrderElementsOf(new PaymentOrderExposureProjection(repository).exposures());
+    }
+
+    private static PaymentOrder order(String id, String debtor, String amount, String currency, LocalDate date,
+                                      PaymentOrder.PaymentOrderStatus status) {
+        return PaymentOrder.builder()
+                .id(id)
+                .externalReference("EXT-" + id)
+                .debtorAccount(new Account(debtor))
+                .creditorAccount(new Account("DE89370400440532013000"))
+                .instructedAmount(new Amount(new BigDecimal(amount), currency))
+                .requestedExecutionDate(date)
+                .status(status)
+                .createdAt(LocalDateTime.of(2025, 10, 1, 9, 0))
+                .lastUpdate(LocalDateTime.now())
+                .build();
+    }
+}
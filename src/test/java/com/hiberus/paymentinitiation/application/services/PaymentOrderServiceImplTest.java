@@ -1,23 +1,32 @@
 package com.hiberus.paymentinitiation.application.services;
 
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderIdGenerator;
 import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.InvalidPaymentOrderException;
 import com.hiberus.paymentinitiation.domain.PaymentOrder;
-import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.InitiatePaymentOrderRequest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +35,15 @@ class PaymentOrderServiceImplTest {
     @Mock
     private PaymentOrderRepositoryPort repository;
 
+    @Mock
+    private PaymentOrderIdGenerator idGenerator;
+
+    @Spy
+    private PaymentOrderValidator validator = new PaymentOrderValidator(new ValidationProperties());
+
+    @Spy
+    private PaymentOrderDuplicateDetector duplicates = new PaymentOrderDuplicateDetector(null, disabledDuplicateDetection());
+
     @InjectMocks
     private PaymentOrderServiceImpl service;
 
@@ -35,40 +53,51 @@ class PaymentOrderServiceImplTest {
     @Test
     void shouldInitiatePaymentOrder() {
         // Given
-        InitiatePaymentOrderRequest request = new InitiatePaymentOrderRequest();
-        request.setExternalReference("EXT-1");
-        var debtor = new InitiatePaymentOrderRequest.Account();
-        debtor.setIban("DEBTOR-IBAN");
-        request.setDebtorAccount(debtor);
-        var creditor = new InitiatePaymentOrderRequest.Account();
-        creditor.setIban("CREDITOR-IBAN");
-        request.setCreditorAccount(creditor);
-        var amount = new InitiatePaymentOrderRequest.Amount();
-        amount.setAmount(BigDecimal.valueOf(100.0));
-        amount.setCurrency("USD");
-        request.setInstructedAmount(amount);
-        request.setRemittanceInformation("Test");
-        request.setRequestedExecutionDate(LocalDate.now());
+        var draft = PaymentOrder.builder()
+                .externalReference("EXT-1")
+                .debtorAccount(new Account("ES9121000418450200051332"))
+                .creditorAccount(new Account("DE89370400440532013000"))
+                .instructedAmount(new Amount(BigDecimal.valueOf(100.0), "USD"))
+                .remittanceInformation("Test")
+                .requestedExecutionDate(LocalDate.now())
+                .build();
 
         var savedOrder = PaymentOrder.builder()
                 .id("PO-0001")
                 .externalReference("EXT-1")
                 .status(PaymentOrder.PaymentOrderStatus.PENDING)
                 .build();
-        when(repository.save(any())).thenReturn(savedOrder);
+        when(repository.saveIfAbsent(any())).thenReturn(savedOrder);
 
         // When
-        var result = service.initiatePaymentOrder(request);
+        var result = service.initiatePaymentOrder(draft);
 
         // Then
-        verify(repository).save(orderCaptor.capture());
+        verify(repository).saveIfAbsent(orderCaptor.capture());
         var capturedOrder = orderCaptor.getValue();
         assertThat(capturedOrder.getExternalReference()).isEqualTo("EXT-1");
-        assertThat(capturedOrder.getDebtorAccount().getIban()).isEqualTo("DEBTOR-IBAN");
+        assertThat(capturedOrder.getDebtorAccount().getIban()).isEqualTo("ES9121000418450200051332");
+        assertThat(capturedOrder.getStatus()).isEqualTo(PaymentOrder.PaymentOrderStatus.PENDING);
+        assertThat(capturedOrder.getCreatedAt()).isNotNull().isEqualTo(capturedOrder.getLastUpdate());
         assertThat(result.getId()).isEqualTo("PO-0001");
         assertThat(result.getStatus()).isEqualTo(PaymentOrder.PaymentOrderStatus.PENDING);
     }
 
+    @Test
+    void shouldRejectInvalidRequestBeforeStoringIt() {
+        // Given
+        var draft = PaymentOrder.builder()
+                .externalReference("EXT-1")
+                .debtorAccount(new Account("ES9121000418450200051333"))
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> service.initiatePaymentOrder(draft))
+                .isInstanceOf(InvalidPaymentOrderException.class)
+                .hasMessageStartingWith("debtorAccount.iban is not a valid IBAN");
+        verifyNoInteractions(repository, idGenerator);
+    }
+
     @Test
     void shouldRetrievePaymentOrder() {
         // Given
@@ -82,4 +111,34 @@ class PaymentOrderServiceImplTest {
         assertThat(result).isPresent();
         assertThat(result.get().getId()).isEqualTo("PO-0001");
     }
+
+    @Test
+    void shouldInitiatePaymentOrdersInBatch() {
+        // Given
+        var first = PaymentOrder.builder()
+                .externalReference("EXT-1")
+                .debtorAccount(new Account("ES9121000418450200051332"))
+                .creditorAccount(new Account("DE89370400440532013000"))
+                .instructedAmount(new Amount(BigDecimal.TEN, "EUR"))
+                .requestedExecutionDate(LocalDate.now())
+                .build();
+        var second = first.toBuilder().externalReference("EXT-2").build();
+        when(idGenerator.nextId()).thenReturn("PO-0001", "PO-0002");
+        when(repository.saveAllIfAbsent(anyList())).then(returnsFirstArg());
+
+        // When
+        var result = service.initiatePaymentOrders(List.of(first, second));
+
+        // Then
+        verify(repository).saveAllIfAbsent(anyList());
+        assertThat(result).extracting(PaymentOrder::getExternalReference).containsExactly("EXT-1", "EXT-2");
+        assertThat(result).extracting(PaymentOrder::getId).doesNotHaveDuplicates();
+        assertThat(result).allMatch(order -> order.getStatus() == PaymentOrder.PaymentOrderStatus.PENDING);
+    }
+
+    private static DuplicateDetectionProperties disabledDuplicateDetection() {
+        DuplicateDetectionProperties properties = new DuplicateDetectionProperties();
+        properties.setEnabled(false);
+        return properties;
+    }
 }
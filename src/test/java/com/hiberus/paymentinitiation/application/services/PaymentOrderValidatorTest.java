@@ -0,0 +1,94 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.Iban;
+import com.hiberus.paymentinitiation.domain.InvalidPaymentOrderException;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentOrderValidatorTest {
+
+    private final PaymentOrderValidator validator = new PaymentOrderValidator(new ValidationProperties());
+
+    @Test
+    void shouldCheckIbanCountryLengthAndCheckDigits() {
+        assertThat(Iban.isValid("ES9121000418450200051332")).isTrue();
+        assertThat(Iban.isValid("GB82WEST12345698765432")).isTrue();
+        assertThat(Iban.isValid("NO9386011117947")).isTrue();
+        assertThat(Iban.isValid("MT84MALT011000012345MTLCAST001S")).isTrue();
+        assertThat(Iban.isValid("ES9121000418450200051333")).isFalse();
+        assertThat(Iban.isValid("ES912100041845020005133")).isFalse();
+        assertThat(Iban.isValid("EC12DEBTOR")).isFalse();
+        assertThat(Iban.isValid("es9121000418450200051332")).isFalse();
+        assertThat(Iban.isValid("ES91 2100 0418 4502 0005 1332")).isFalse();
+    }
+
+    @Test
+    void shouldAcceptValidRequest() {
+        // Given
+        PaymentOrder request = request("ES9121000418450200051332", new BigDecimal("150.750"), "EUR");
+
+        // When & Then
+        assertThatCode(() -> validator.validate(request)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldRejectUnknownCurrencyAndTooManyDecimals() {
+        assertThatThrownBy(() -> validator.validate(request("ES9121000418450200051332", BigDecimal.TEN, "EUX")))
+                .isInstanceOf(InvalidPaymentOrderException.class)
+                .hasMessage("instructedAmount.currency is not an ISO 4217 currency: EUX");
+        assertThatThrownBy(() -> validator.validate(request("ES9121000418450200051332", new BigDecimal("100.5"), "JPY")))
+                .hasMessage("instructedAmount.amount has more than 0 decimals for JPY");
+        assertThatThrownBy(() -> validator.validate(request("ES9121000418450200051332", BigDecimal.ZERO, "EUR")))
+                .hasMessage("instructedAmount.amount must be positive");
+        assertThatCode(() -> validator.validate(request("ES9121000418450200051332", new BigDecimal("1.125"), "KWD")))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldRejectMissingNestedObjectsInsteadOfFailingWithNullPointer() {
+        // Given
+        PaymentOrder request = request("ES9121000418450200051332", BigDecimal.TEN, "EUR").toBuilder()
+                .creditorAccount(null)
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> validator.validate(request))
+                .isInstanceOf(InvalidPaymentOrderException.class)
+                .hasMessage("creditorAccount.iban is required");
+    }
+
+    @Test
+    void shouldOnlyRememberValidIbans() {
+        // Given
+        ValidationProperties properties = new ValidationProperties();
+        properties.setIbanCacheSize(16);
+        PaymentOrderValidator cached = new PaymentOrderValidator(properties);
+
+        // When & Then
+        for (int i = 0; i < 2; i++) {
+            assertThatCode(() -> cached.validate(request("ES9121000418450200051332", BigDecimal.TEN, "EUR")))
+                    .doesNotThrowAnyException();
+            assertThatThrownBy(() -> cached.validate(request("ES9121000418450200051333", BigDecimal.TEN, "EUR")))
+                    .isInstanceOf(InvalidPaymentOrderException.class);
+        }
+    }
+
+    private static PaymentOrder request(String debtorIban, BigDecimal value, String currency) {
+        return PaymentOrder.builder()
+                .externalReference("EXT-1")
+                .debtorAccount(new Account(debtorIban))
+                .creditorAccount(new Account("DE89370400440532013000"))
+                .instructedAmount(new Amount(value, currency))
+                .requestedExecutionDate(LocalDate.of(2025, 10, 31))
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.hiberus.paymentinitiation.application.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingBloomFilterTest {
+
+    @Test
+    void shouldStayNearConfiguredFalsePositiveRateWithoutFalseNegatives() {
+        // Given
+        SlidingBloomFilter filter = new SlidingBloomFilter(Duration.ofMinutes(10), 4, 100_000, 0.01);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] added = new long[100_000];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = random.nextLong();
+            // spread over the whole window, so every generation is in use
+            filter.add(added[i], i * 6L);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(random.nextLong(), 600_000)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        for (long hash : added) {
+            assertThat(filter.mightContain(hash, 600_000)).isTrue();
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.015);
+    }
+
+    @Test
+    void shouldForgetElementsOnceTheirGenerationLeavesTheWindow() {
+        // Given
+        SlidingBloomFilter filter = new SlidingBloomFilter(Duration.ofMinutes(10), 4, 1_000, 0.01);
+        filter.add(7, 0);
+        assertThat(filter.mightContain(7, Duration.ofMinutes(10).toMillis())).isTrue();
+        assertThat(filter.mightContain(7, Duration.ofMinutes(13).toMillis())).isFalse();
+
+        // When
+        filter.add(8, Duration.ofMinutes(13).toMillis());
+
+        // Then
+        assertThat(filter.mightContain(7, Duration.ofMinutes(10).toMillis())).isFalse();
+        assertThat(filter.mightContain(8, Duration.ofMinutes(13).toMillis())).isTrue();
+    }
+}
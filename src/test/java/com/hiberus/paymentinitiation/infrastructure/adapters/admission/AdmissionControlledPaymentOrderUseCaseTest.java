@@ -0,0 +1,128 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.admission;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdmissionControlledPaymentOrderUseCaseTest {
+
+    private final AtomicLong nanoTime = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PaymentOrderUseCase delegate;
+    private AdmissionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(PaymentOrderUseCase.class);
+        when(delegate.initiatePaymentOrder(any())).thenReturn(PaymentOrder.builder().build());
+        properties = new AdmissionProperties();
+        properties.setDebtorRate(1);
+        properties.setDebtorBurst(2);
+        properties.setDebtorSlots(1024);
+    }
+
+    @Test
+    void shouldRejectDebtorOverItsRateWithoutAffectingOthers() {
+        // Given
+        PaymentOrderUseCase useCase = useCase();
+        useCase.initiatePaymentOrder(request("ES9121000418450200051332"));
+        useCase.initiatePaymentOrder(request("ES9121000418450200051332"));
+
+        // When & Then
+        assertThatThrownBy(() -> useCase.initiatePaymentOrder(request("ES9121000418450200051332")))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, e -> {
+                    assertThat(e.getReason()).isEqualTo(AdmissionRejectedException.Reason.DEBTOR_RATE);
+                    assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(1));
+                });
+        useCase.initiatePaymentOrder(request("DE89370400440532013000"));
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        useCase.initiatePaymentOrder(request("ES9121000418450200051332"));
+
+        verify(delegate, times(4)).initiatePaymentOrder(any());
+        assertThat(registry.get("payment.orders.admission.rejected").tag("reason", "DEBTOR_RATE").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectOnceGlobalBudgetIsSpent() {
+        // Given
+        properties.setGlobalRate(10);
+        properties.setGlobalBurst(3);
+        PaymentOrderUseCase useCase = useCase();
+        useCase.initiatePaymentOrders(Collections.nCopies(3, request("ES9121000418450200051332")));
+
+        // When & Then
+        assertThatThrownBy(() -> useCase.initiatePaymentOrder(request("DE89370400440532013000")))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(AdmissionRejectedException.Reason.GLOBAL_RATE));
+        verify(delegate, never()).initiatePaymentOrder(any());
+    }
+
+    @Test
+    void shouldChargeBulkInitiationsToTheirOwnDebtorBuckets() {
+        // Given
+        properties.setBulkDebtorRate(1);
+        properties.setBulkDebtorBurst(2);
+        PaymentOrderUseCase useCase = useCase();
+        useCase.initiatePaymentOrders(List.of(
+                request("ES9121000418450200051332"),
+                request("ES9121000418450200051332"),
+                request("DE89370400440532013000")));
+
+        // When & Then
+        assertThatThrownBy(() -> useCase.initiatePaymentOrders(List.of(
+                request("DE89370400440532013000"),
+                request("ES9121000418450200051332"))))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, e -> {
+                    assertThat(e.getReason()).isEqualTo(AdmissionRejectedException.Reason.DEBTOR_RATE);
+                    assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(1));
+                });
+        // the other debtor's tokens were given back, and single initiations have a budget of their own
+        useCase.initiatePaymentOrders(List.of(request("DE89370400440532013000")));
+        useCase.initiatePaymentOrder(request("ES9121000418450200051332"));
+        verify(delegate, times(2)).initiatePaymentOrders(any());
+        verify(delegate, times(1)).initiatePaymentOrder(any());
+    }
+
+    @Test
+    void shouldRejectWhenConcurrencyLimitIsReached() {
+        // Given
+        properties.getConcurrency().setInitialLimit(1);
+        properties.getConcurrency().setMinLimit(1);
+        properties.getConcurrency().setMaxLimit(1);
+        PaymentOrderUseCase useCase = useCase();
+        when(delegate.initiatePaymentOrder(any())).thenAnswer(invocation ->
+                useCase.initiatePaymentOrder(request("DE89370400440532013000")));
+
+        // When & Then
+        assertThatThrownBy(() -> useCase.initiatePaymentOrder(request("ES9121000418450200051332")))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(AdmissionRejectedException.Reason.CONCURRENCY));
+        assertThat(registry.get("payment.orders.admission.in.flight").gauge().value()).isZero();
+    }
+
+    private AdmissionControlledPaymentOrderUseCase useCase() {
+        return new AdmissionControlledPaymentOrderUseCase(delegate, properties, registry, nanoTime::get);
+    }
+
+    private static PaymentOrder request(String debtorIban) {
+        return PaymentOrder.builder().debtorAccount(new Account(debtorIban)).build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.application.services.PaymentOrderServiceImpl;
+import com.hiberus.paymentinitiation.domain.InvalidPaymentOrderException;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.admission.AdmissionControlledPaymentOrderUseCase;
+import com.hiberus.paymentinitiation.infrastructure.adapters.admission.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BulkPaymentOrderControllerAdapter.class)
+class BulkPaymentOrderControllerAdapterTest {
+
+    private static final String ORDER = "{\"externalReference\":\"%s\",\"debtorAccount\":{\"iban\":\"DEBTOR-IBAN\"},"
+            + "\"creditorAccount\":{\"iban\":\"CREDITOR-IBAN\"},\"instructedAmount\":{\"amount\":10.00,\"currency\":\"EUR\"},"
+            + "\"requestedExecutionDate\":\"2025-10-31\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private PaymentOrderUseCase useCase;
+
+    @Test
+    void shouldStreamOneResultLinePerNdjsonOrder() throws Exception {
+        // Given
+        when(useCase.initiatePaymentOrders(anyList())).thenAnswer(invocation -> {
+            List<PaymentOrder> requests = invocation.getArgument(0);
+            return requests.stream().map(request -> pending(request.getExternalReference())).toList();
+        });
+        String body = ORDER.formatted("EXT-1") + "\n" + ORDER.formatted("EXT-2") + "\n";
+
+        // When
+        String response = mockMvc.perform(post("/payment-initiation/payment-orders/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(response.lines()).containsExactly(
+                "{\"line\":1,\"id\":\"PO-EXT-1\",\"externalReference\":\"EXT-1\",\"status\":\"PENDING\"}",
+                "{\"line\":2,\"id\":\"PO-EXT-2\",\"externalReference\":\"EXT-2\",\"status\":\"PENDING\"}");
+    }
+
+    @Test
+    void shouldIsolateRejectedOrdersInJsonArray() throws Exception {
+        // Given
+        when(useCase.initiatePaymentOrders(anyList())).thenAnswer(invocation -> {
+            List<PaymentOrder> requests = invocation.getArgument(0);
+            if (requests.stream().anyMatch(request -> "BAD".equals(request.getExternalReference()))) {
+                throw new InvalidPaymentOrderException("invalid");
+            }
+            return requests.stream().map(request -> pending(request.getExternalReference())).toList();
+        });
+        String body = "[" + ORDER.formatted("EXT-1") + "," + ORDER.formatted("BAD") + ","
+                + ORDER.formatted("EXT-3") + "]";
+
+        // When
+        String response = mockMvc.perform(post("/payment-initiation/payment-orders/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(response.lines()).hasSize(3);
+        assertThat(response.lines().toList().get(0)).contains("\"id\":\"PO-EXT-1\"");
+        assertThat(response.lines().toList().get(1)).contains("\"line\":2", "\"error\":\"invalid\"");
+        assertThat(response.lines().toList().get(2)).contains("\"line\":3", "\"id\":\"PO-EXT-3\"");
+        verify(useCase, never()).initiatePaymentOrder(any());
+    }
+
+    @Test
+    void shouldReportChunkAsFailedWithoutReplayingItWhenStoringFails() throws Exception {
+        // Given
+        when(useCase.initiatePaymentOrders(anyList())).thenThrow(new IllegalStateException("store unavailable"));
+        String body = ORDER.formatted("EXT-1") + "\n" + ORDER.formatted("EXT-2") + "\n";
+
+        // When
+        String response = mockMvc.perform(post("/payment-initiation/payment-orders/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(response.lines()).hasSize(2).allSatisfy(line -> assertThat(line).contains("\"error\""));
+        verify(useCase, times(1)).initiatePaymentOrders(anyList());
+        verify(useCase, never()).initiatePaymentOrder(any());
+    }
+
+    @Test
+    void shouldPaceSingleDebtorFileThroughAdmissionControl() throws Exception {
+        // Given
+        PaymentOrderServiceImpl service = mock(PaymentOrderServiceImpl.class);
+        when(service.initiatePaymentOrders(anyList())).thenAnswer(invocation -> {
+            List<PaymentOrder> requests = invocation.getArgument(0);
+            return requests.stream().map(request -> pending(request.getExternalReference())).toList();
+        });
+        AdmissionProperties properties = new AdmissionProperties();
+        // one chunk of burst, refilled in about 100 ms
+        properties.setBulkDebtorBurst(BulkPaymentOrderControllerAdapter.CHUNK_SIZE);
+        properties.setBulkDebtorRate(5_000);
+        var controller = new BulkPaymentOrderControllerAdapter(
+                new AdmissionControlledPaymentOrderUseCase(service, properties, new SimpleMeterRegistry()), objectMapper);
+        int orders = 3 * BulkPaymentOrderControllerAdapter.CHUNK_SIZE + 10;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < orders; i++) {
+            body.append(ORDER.formatted("EXT-" + i)).append('\n');
+        }
+        var request = new MockHttpServletRequest("POST", "/payment-initiation/payment-orders/bulk");
+        request.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        request.setContent(body.toString().getBytes(StandardCharsets.UTF_8));
+        var response = new MockHttpServletResponse();
+
+        // When
+        controller.initiatePaymentOrders(request, response);
+
+        // Then
+        List<String> lines = response.getContentAsString().lines().toList();
+        assertThat(lines).hasSize(orders).noneMatch(line -> line.contains("\"error\""));
+        assertThat(lines.get(orders - 1)).contains("\"id\":\"PO-EXT-" + (orders - 1) + "\"");
+        verify(service, times(4)).initiatePaymentOrders(anyList());
+    }
+
+    private static PaymentOrder pending(String externalReference) {
+        return PaymentOrder.builder()
+                .id("PO-" + externalReference)
+                .externalReference(externalReference)
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .build();
+    }
+}
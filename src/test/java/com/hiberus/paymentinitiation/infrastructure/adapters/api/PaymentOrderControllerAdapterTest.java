@@ -3,25 +3,42 @@ package com.hiberus.paymentinitiation.infrastructure.adapters.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
 import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import com.hiberus.paymentinitiation.infrastructure.adapters.admission.AdmissionRejectedException;
 import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.InitiatePaymentOrderRequest;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderResponse;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 @WebMvcTest(PaymentOrderControllerAdapter.class)
+@Import({PaymentOrderResponseCache.class, ResponseCacheProperties.class})
 class PaymentOrderControllerAdapterTest {
 
     @Autowired
@@ -30,6 +47,9 @@ class PaymentOrderControllerAdapterTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PaymentOrderResponseCache responseCache;
+
     @MockBean
     private PaymentOrderUseCase useCase;
 
@@ -71,4 +91,167 @@ class PaymentOrderControllerAdapterTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value("PO-0001"));
     }
+
+    @Test
+    void shouldSearchPaymentOrders() throws Exception {
+        // Given
+        var order = PaymentOrder.builder()
+                .id("PO-0001")
+                .externalReference("EXT-1")
+                .debtorAccount(new com.hiberus.paymentinitiation.domain.Account("DEBTOR-IBAN"))
+                .creditorAccount(new com.hiberus.paymentinitiation.domain.Account("CREDITOR-IBAN"))
+                .instructedAmount(new com.hiberus.paymentinitiation.domain.Amount(BigDecimal.valueOf(100.0), "USD"))
+                .requestedExecutionDate(LocalDate.of(2025, 3, 10))
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .build();
+        when(useCase.searchPaymentOrders(any())).thenReturn(new PaymentOrderPage(List.of(order), "NEXT"));
+
+        // When & Then
+        mockMvc.perform(get("/payment-initiation/payment-orders")
+                .param("status", "PENDING")
+                .param("requestedExecutionDate", "2025-03-10")
+                .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value("PO-0001"))
+                .andExpect(jsonPath("$.nextCursor").value("NEXT"));
+        verify(useCase).searchPaymentOrders(PaymentOrderQuery.builder()
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .requestedExecutionDate(LocalDate.of(2025, 3, 10))
+                .limit(10)
+                .build());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() throws Exception {
+        // Given
+        when(useCase.searchPaymentOrders(any())).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        // When & Then
+        mockMvc.perform(get("/payment-initiation/payment-orders").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectWithRetryAfterWhenAdmissionControlTurnsRequestAway() throws Exception {
+        // Given
+        when(useCase.initiatePaymentOrder(any())).thenThrow(new AdmissionRejectedException(
+                AdmissionRejectedException.Reason.DEBTOR_RATE, Duration.ofMillis(1500)));
+
+        // When & Then
+        mockMvc.perform(post("/payment-initiation/payment-orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"externalReference\":\"EXT-1\",\"debtorAccount\":{\"iban\":\"DEBTOR-IBAN\"}}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.detail").value("Too many payment orders for this debtor account"));
+    }
+
+    @Test
+    void shouldServeCachedBodyUntilOrderChanges() throws Exception {
+        // Given
+        var pending = PaymentOrder.builder()
+                .id("PO-0002")
+                .externalReference("EXT-2")
+                .debtorAccount(new com.hiberus.paymentinitiation.domain.Account("DEBTOR-IBAN"))
+                .creditorAccount(new com.hiberus.paymentinitiation.domain.Account("CREDITOR-IBAN"))
+                .instructedAmount(new com.hiberus.paymentinitiation.domain.Amount(BigDecimal.valueOf(100.0), "USD"))
+                .requestedExecutionDate(LocalDate.of(2025, 3, 10))
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .build();
+        var executed = pending.toBuilder().status(PaymentOrder.PaymentOrderStatus.EXECUTED).build();
+        when(useCase.retrievePaymentOrderStatus("PO-0002")).thenReturn(Optional.of(pending));
+        mockMvc.perform(get("/payment-initiation/payment-orders/PO-0002/status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        // When
+        byte[] cached = responseCache.status(pending, PaymentOrderMediaType.JSON);
+        when(useCase.retrievePaymentOrderStatus("PO-0002")).thenReturn(Optional.of(executed));
+
+        // Then
+        assertThat(responseCache.status(pending, PaymentOrderMediaType.JSON)).isSameAs(cached);
+        mockMvc.perform(get("/payment-initiation/payment-orders/PO-0002/status"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value("EXECUTED"));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhileETagMatches() throws Exception {
+        // Given
+        var pending = PaymentOrder.builder()
+                .id("PO-0004")
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .lastUpdate(LocalDateTime.of(2025, 3, 10, 9, 30, 0, 123_456_000))
+                .build();
+        when(useCase.retrievePaymentOrderStatus("PO-0004")).thenReturn(Optional.of(pending));
+        String eTag = mockMvc.perform(get("/payment-initiation/payment-orders/PO-0004/status"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/payment-initiation/payment-orders/PO-0004/status").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/payment-initiation/payment-orders/PO-0004/status")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk());
+        when(useCase.retrievePaymentOrderStatus("PO-0004")).thenReturn(Optional.of(pending.toBuilder()
+                .status(PaymentOrder.PaymentOrderStatus.EXECUTED)
+                .lastUpdate(pending.getLastUpdate().plusNanos(1_000))
+                .build()));
+        mockMvc.perform(get("/payment-initiation/payment-orders/PO-0004/status").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("EXECUTED"));
+    }
+
+    @Test
+    void shouldNegotiateBinaryEncodings() throws Exception {
+        // Given
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+        InitiatePaymentOrderRequest request = new InitiatePaymentOrderRequest();
+        request.setExternalReference("EXT-3");
+        var amount = new InitiatePaymentOrderRequest.Amount();
+        amount.setAmount(new BigDecimal("150.75"));
+        amount.setCurrency("EUR");
+        request.setInstructedAmount(amount);
+        var order = PaymentOrder.builder()
+                .id("PO-0003")
+                .externalReference("EXT-3")
+                .debtorAccount(new com.hiberus.paymentinitiation.domain.Account("DEBTOR-IBAN"))
+                .creditorAccount(new com.hiberus.paymentinitiation.domain.Account("CREDITOR-IBAN"))
+                .instructedAmount(new com.hiberus.paymentinitiation.domain.Amount(new BigDecimal("150.75"), "EUR"))
+                .requestedExecutionDate(LocalDate.of(2025, 3, 10))
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .build();
+        when(useCase.initiatePaymentOrder(any())).thenReturn(order);
+        when(useCase.retrievePaymentOrder("PO-0003")).thenReturn(Optional.of(order));
+
+        // When
+        byte[] created = mockMvc.perform(post("/payment-initiation/payment-orders")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cbor.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] retrieved = mockMvc.perform(get("/payment-initiation/payment-orders/PO-0003")
+                .accept(PaymentOrderMediaType.SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PaymentOrderMediaType.SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        ArgumentCaptor<PaymentOrder> captor = ArgumentCaptor.forClass(PaymentOrder.class);
+        verify(useCase).initiatePaymentOrder(captor.capture());
+        assertThat(captor.getValue().getInstructedAmount().getAmount()).isEqualByComparingTo("150.75");
+        assertThat(cbor.readValue(created, PaymentOrderResponse.class).getId()).isEqualTo("PO-0003");
+        PaymentOrderResponse response = smile.readValue(retrieved, PaymentOrderResponse.class);
+        assertThat(response.getInstructedAmount().getAmount()).isEqualByComparingTo("150.75");
+        assertThat(response.getRequestedExecutionDate()).isEqualTo(LocalDate.of(2025, 3, 10));
+    }
 }
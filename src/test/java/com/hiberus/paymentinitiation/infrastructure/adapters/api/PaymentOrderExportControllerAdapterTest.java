@@ -0,0 +1,83 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.export.PaymentOrderExportFormat;
+import com.hiberus.paymentinitiation.infrastructure.adapters.export.PaymentOrderExportSummary;
+import com.hiberus.paymentinitiation.infrastructure.adapters.export.PaymentOrderExporter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PaymentOrderExportControllerAdapter.class)
+class PaymentOrderExportControllerAdapterTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 10, 31);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PaymentOrderExporter exporter;
+
+    @Test
+    void shouldStreamTheExportAsAnAttachment() throws Exception {
+        // Given
+        when(exporter.export(eq(DATE), eq(PaymentOrder.PaymentOrderStatus.PENDING), eq(PaymentOrderExportFormat.CSV),
+                any(OutputStream.class))).thenAnswer(invocation -> {
+                    invocation.<OutputStream>getArgument(3).write("id\r\n".getBytes(StandardCharsets.UTF_8));
+                    return new PaymentOrderExportSummary(null, 0, BigDecimal.ZERO);
+                });
+
+        // When & Then
+        mockMvc.perform(get("/payment-initiation/payment-orders/export")
+                        .param("requestedExecutionDate", "2025-10-31")
+                        .param("status", "PENDING")
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"payment-orders-2025-10-31-PENDING.csv\""))
+                .andExpect(content().string("id\r\n"));
+    }
+
+    @Test
+    void shouldWriteTheExportToAFile() throws Exception {
+        // Given
+        when(exporter.exportToFile(DATE, null, PaymentOrderExportFormat.PAIN_001)).thenReturn(new PaymentOrderExportSummary(
+                Path.of("data", "export", "payment-orders-2025-10-31.xml"), 2, new BigDecimal("250.50")));
+
+        // When & Then
+        mockMvc.perform(post("/payment-initiation/payment-orders/export").param("requestedExecutionDate", "2025-10-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.file").value("payment-orders-2025-10-31.xml"))
+                .andExpect(jsonPath("$.orders").value(2))
+                .andExpect(jsonPath("$.controlSum").value(250.50));
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/payment-initiation/payment-orders/export")
+                        .param("requestedExecutionDate", "2025-10-31")
+                        .param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+    }
+}
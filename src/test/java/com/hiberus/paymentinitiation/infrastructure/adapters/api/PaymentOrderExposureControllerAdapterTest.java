@@ -0,0 +1,64 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderExposureUseCase;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderExposure;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PaymentOrderExposureControllerAdapter.class)
+class PaymentOrderExposureControllerAdapterTest {
+
+    private static final String DEBTOR = "ES9121000418450200051332";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PaymentOrderExposureUseCase useCase;
+
+    @Test
+    void shouldReturnTotalsPerStatusForTheDate() throws Exception {
+        // Given
+        LocalDate date = LocalDate.of(2025, 10, 31);
+        Map<PaymentOrder.PaymentOrderStatus, PaymentOrderExposure.Total> totals = new EnumMap<>(PaymentOrder.PaymentOrderStatus.class);
+        totals.put(PaymentOrder.PaymentOrderStatus.PENDING, new PaymentOrderExposure.Total(2, new BigDecimal("250.50")));
+        totals.put(PaymentOrder.PaymentOrderStatus.EXECUTED, new PaymentOrderExposure.Total(1, new BigDecimal("100.00")));
+        totals.put(PaymentOrder.PaymentOrderStatus.FAILED, new PaymentOrderExposure.Total(0, new BigDecimal("0.00")));
+        when(useCase.exposure(DEBTOR, "EUR", date)).thenReturn(new PaymentOrderExposure(DEBTOR, "EUR", date, totals));
+
+        // When & Then
+        mockMvc.perform(get("/payment-initiation/exposures/" + DEBTOR)
+                        .param("currency", "EUR")
+                        .param("requestedExecutionDate", "2025-10-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requestedExecutionDate").value("2025-10-31"))
+                .andExpect(jsonPath("$.totals.PENDING.count").value(2))
+                .andExpect(jsonPath("$.totals.PENDING.amount").value(250.50))
+                .andExpect(jsonPath("$.totals.EXECUTED.amount").value(100.00))
+                .andExpect(jsonPath("$.totals.FAILED.count").value(0));
+    }
+
+    @Test
+    void shouldRejectUnknownCurrency() throws Exception {
+        // Given
+        when(useCase.exposure(DEBTOR, "XYZ", null)).thenThrow(new IllegalArgumentException("XYZ is not an ISO 4217 currency"));
+
+        // When & Then
+        mockMvc.perform(get("/payment-initiation/exposures/" + DEBTOR).param("currency", "XYZ"))
+                .andExpect(status().isBadRequest());
+    }
+}
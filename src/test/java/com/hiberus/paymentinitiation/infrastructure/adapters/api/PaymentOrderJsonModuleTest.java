@@ -0,0 +1,103 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.dtos.PaymentOrderResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentOrderJsonModuleTest {
+
+    private static final PaymentOrder ORDER = PaymentOrder.builder()
+            .id("PO-0001")
+            .externalReference("EXT-1")
+            .debtorAccount(new Account("ES9121000418450200051332"))
+            .creditorAccount(new Account("DE89370400440532013000"))
+            .instructedAmount(new Amount(new BigDecimal("150.750"), "EUR"))
+            .remittanceInformation("Factura \"001\" ñ")
+            .requestedExecutionDate(LocalDate.of(2025, 10, 31))
+            .status(PaymentOrder.PaymentOrderStatus.PENDING)
+            .createdAt(LocalDateTime.of(2025, 10, 30, 16, 25, 30))
+            .lastUpdate(LocalDateTime.of(2025, 10, 30, 16, 25, 30))
+            .build();
+
+    @Test
+    void shouldWriteSameBytesAsResponseDtoInEveryEncoding() throws Exception {
+        // Given
+        PaymentOrder sparse = ORDER.toBuilder().creditorAccount(null).remittanceInformation(null).build();
+        List<Jackson2ObjectMapperBuilder> builders = List.of(Jackson2ObjectMapperBuilder.json(),
+                Jackson2ObjectMapperBuilder.cbor(), Jackson2ObjectMapperBuilder.smile());
+
+        for (Jackson2ObjectMapperBuilder builder : builders) {
+            ObjectMapper plain = builder.build();
+            ObjectMapper direct = builder.modulesToInstall(new PaymentOrderJsonModule()).build();
+            for (PaymentOrder order : List.of(ORDER, sparse)) {
+                // When
+                byte[] bytes = direct.writeValueAsBytes(order);
+
+                // Then
+                assertThat(bytes).isEqualTo(plain.writeValueAsBytes(toResponse(order)));
+            }
+        }
+    }
+
+    @Test
+    void shouldReadRequestIntoDraftIgnoringServerAssignedFields() throws Exception {
+        // Given
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new PaymentOrderJsonModule()).build();
+        String body = "{\"id\":\"PO-FORGED\",\"status\":\"EXECUTED\",\"externalReference\":\"EXT-1\","
+                + "\"debtorAccount\":{\"iban\":\"ES9121000418450200051332\",\"bic\":\"X\"},"
+                + "\"creditorAccount\":{\"iban\":\"DE89370400440532013000\"},"
+                + "\"instructedAmount\":{\"amount\":\"150.750\",\"currency\":\"EUR\"},"
+                + "\"remittanceInformation\":null,\"requestedExecutionDate\":\"2025-10-31\",\"extra\":[1,{\"a\":2}]}";
+
+        // When
+        PaymentOrder draft = mapper.readValue(body, PaymentOrder.class);
+
+        // Then
+        assertThat(draft.getId()).isNull();
+        assertThat(draft.getStatus()).isNull();
+        assertThat(draft.getExternalReference()).isEqualTo("EXT-1");
+        assertThat(draft.getDebtorAccount()).isEqualTo(new Account("ES9121000418450200051332"));
+        assertThat(draft.getCreditorAccount()).isEqualTo(new Account("DE89370400440532013000"));
+        assertThat(draft.getInstructedAmount()).isEqualTo(new Amount(new BigDecimal("150.750"), "EUR"));
+        assertThat(draft.getRemittanceInformation()).isNull();
+        assertThat(draft.getRequestedExecutionDate()).isEqualTo(LocalDate.of(2025, 10, 31));
+    }
+
+    private static PaymentOrderResponse toResponse(PaymentOrder order) {
+        PaymentOrderResponse response = new PaymentOrderResponse();
+        response.setId(order.getId());
+        response.setExternalReference(order.getExternalReference());
+        if (order.getDebtorAccount() != null) {
+            response.setDebtorAccount(account(order.getDebtorAccount()));
+        }
+        if (order.getCreditorAccount() != null) {
+            response.setCreditorAccount(account(order.getCreditorAccount()));
+        }
+        PaymentOrderResponse.Amount amount = new PaymentOrderResponse.Amount();
+        amount.setAmount(order.getInstructedAmount().getAmount());
+        amount.setCurrency(order.getInstructedAmount().getCurrency());
+        response.setInstructedAmount(amount);
+        response.setRemittanceInformation(order.getRemittanceInformation());
+        response.setRequestedExecutionDate(order.getRequestedExecutionDate());
+        response.setStatus(order.getStatus().name());
+        response.setDuplicateSuspect(order.isDuplicateSuspect());
+        return response;
+    }
+
+    private static PaymentOrderResponse.Account account(Account account) {
+        PaymentOrderResponse.Account response = new PaymentOrderResponse.Account();
+        response.setIban(account.getIban());
+        return response;
+    }
+}
@@ -0,0 +1,175 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.api;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PaymentOrderStatusStreamControllerAdapter.class)
+@Import(PaymentOrderStatusSubscriptions.class)
+class PaymentOrderStatusStreamControllerAdapterTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 10, 31, 10, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PaymentOrderStatusSubscriptions subscriptions;
+
+    @MockBean
+    private PaymentOrderUseCase useCase;
+
+    @Test
+    void shouldReturnImmediatelyWhenStatusIsNewerThanClientVersion() throws Exception {
+        // Given
+        when(useCase.retrievePaymentOrderStatus("PO-1")).thenReturn(Optional.of(order(PaymentOrder.PaymentOrderStatus.EXECUTED, CREATED.plusMinutes(1))));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/payment-initiation/payment-orders/PO-1/status/changes")
+                .param("since", CREATED.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("EXECUTED"));
+    }
+
+    @Test
+    void shouldParkUntilStatusChanges() throws Exception {
+        // Given
+        PaymentOrder pending = order(PaymentOrder.PaymentOrderStatus.PENDING, CREATED);
+        when(useCase.retrievePaymentOrderStatus("PO-1")).thenReturn(Optional.of(pending));
+        int subscribedBefore = subscriptions.subscribedOrders();
+        MvcResult result = mockMvc.perform(get("/payment-initiation/payment-orders/PO-1/status/changes")
+                .param("since", CREATED.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(subscriptions.subscribedOrders()).isEqualTo(subscribedBefore + 1);
+
+        // When
+        subscriptions.onChange(pending, order(PaymentOrder.PaymentOrderStatus.FAILED, CREATED.plusSeconds(5)));
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("FAILED"));
+        assertThat(subscriptions.subscribedOrders()).isEqualTo(subscribedBefore);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenWaitTimesOut() throws Exception {
+        // Given
+        when(useCase.retrievePaymentOrderStatus("PO-1")).thenReturn(Optional.of(order(PaymentOrder.PaymentOrderStatus.PENDING, CREATED)));
+        int subscribedBefore = subscriptions.subscribedOrders();
+
+        // When
+        MvcResult result = mockMvc.perform(get("/payment-initiation/payment-orders/PO-1/status/changes")
+                .param("since", CREATED.toString())
+                .param("timeoutSeconds", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        var asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotModified());
+        assertThat(subscriptions.subscribedOrders()).isEqualTo(subscribedBefore);
+    }
+
+    @Test
+    void shouldReturnOnlyOrdersChangedSinceClientVersions() throws Exception {
+        // Given
+        when(useCase.retrievePaymentOrderStatus("PO-1")).thenReturn(Optional.of(order(PaymentOrder.PaymentOrderStatus.PENDING, CREATED)));
+        when(useCase.retrievePaymentOrderStatus("PO-2")).thenReturn(Optional.of(
+                order(PaymentOrder.PaymentOrderStatus.EXECUTED, CREATED.plusMinutes(1)).toBuilder().id("PO-2").build()));
+        when(useCase.retrievePaymentOrderStatus("PO-3")).thenReturn(Optional.of(
+                order(PaymentOrder.PaymentOrderStatus.PENDING, CREATED).toBuilder().id("PO-3").build()));
+        when(useCase.retrievePaymentOrderStatus("PO-4")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(post("/payment-initiation/payment-orders/status/changes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"PO-1\":\"" + CREATED + "\",\"PO-2\":\"" + CREATED + "\",\"PO-3\":null,\"PO-4\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].paymentOrderId").value("PO-2"))
+                .andExpect(jsonPath("$[0].status").value("EXECUTED"))
+                .andExpect(jsonPath("$[1].paymentOrderId").value("PO-3"));
+    }
+
+    @Test
+    void shouldStreamCurrentStatusAsServerSentEvent() throws Exception {
+        // Given
+        when(useCase.retrievePaymentOrderStatus("PO-2")).thenReturn(Optional.of(order(PaymentOrder.PaymentOrderStatus.PENDING, CREATED)));
+        int subscribedBefore = subscriptions.subscribedOrders();
+
+        // When
+        MvcResult result = mockMvc.perform(get("/payment-initiation/payment-orders/status/stream").param("ids", "PO-2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentAsString())
+                .contains("event:status", "\"status\":\"PENDING\"");
+        assertThat(subscriptions.subscribedOrders()).isEqualTo(subscribedBefore + 1);
+    }
+
+    @Test
+    void shouldNeverStreamStatusOlderThanOneAlreadySent() throws Exception {
+        // Given
+        PaymentOrder executed = order(PaymentOrder.PaymentOrderStatus.EXECUTED, CREATED.plusSeconds(5));
+        when(useCase.retrievePaymentOrderStatus("PO-1")).thenReturn(Optional.of(executed));
+        MvcResult result = mockMvc.perform(get("/payment-initiation/payment-orders/status/stream").param("ids", "PO-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // When
+        subscriptions.onChange(null, order(PaymentOrder.PaymentOrderStatus.PENDING, CREATED));
+        subscriptions.onChange(executed, order(PaymentOrder.PaymentOrderStatus.FAILED, CREATED.plusSeconds(10)));
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!result.getResponse().getContentAsString().contains("FAILED") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(result.getResponse().getContentAsString())
+                .contains("\"status\":\"EXECUTED\"", "\"status\":\"FAILED\"")
+                .doesNotContain("\"status\":\"PENDING\"");
+    }
+
+    private static PaymentOrder order(PaymentOrder.PaymentOrderStatus status, LocalDateTime lastUpdate) {
+        return PaymentOrder.builder()
+                .id("PO-1")
+                .status(status)
+                .createdAt(CREATED)
+                .lastUpdate(lastUpdate)
+                .build();
+    }
+}
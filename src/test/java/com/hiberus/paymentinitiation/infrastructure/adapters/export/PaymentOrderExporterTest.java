@@ -0,0 +1,144 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.export;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PaymentOrderExporterTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 10, 31);
+
+    @TempDir
+    Path directory;
+
+    private PaymentOrderUseCase useCase;
+    private PaymentOrderExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        useCase = mock(PaymentOrderUseCase.class);
+        PaymentOrderExportProperties properties = new PaymentOrderExportProperties();
+        properties.setDirectory(directory);
+        Clock clock = Clock.fixed(Instant.parse("2025-10-30T18:00:00Z"), ZoneOffset.UTC);
+        exporter = new PaymentOrderExporter(useCase, properties, clock);
+        // two pages, the second one reached through the cursor of the first
+        when(useCase.searchPaymentOrders(argThat(query -> query != null && query.getCursor() == null)))
+                .thenReturn(new PaymentOrderPage(List.of(
+                        order("PO-1", "150.75", "EUR", "Invoice 1, \"October\""),
+                        order("PO-2", "20.00", "USD", null)), "PO-2"));
+        when(useCase.searchPaymentOrders(argThat(query -> query != null && "PO-2".equals(query.getCursor()))))
+                .thenReturn(new PaymentOrderPage(List.of(order("PO-3", "9.25", "EUR", null)), null));
+    }
+
+    @Test
+    void shouldWritePain001WithGroupHeaderTotalsBeforeTheTransactions() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        PaymentOrderExportSummary summary = exporter.export(DATE, null, PaymentOrderExportFormat.PAIN_001, out);
+
+        // Then
+        assertThat(summary.getOrders()).isEqualTo(3);
+        assertThat(summary.getControlSum()).isEqualByComparingTo("180.00");
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(out.toByteArray()));
+        Element root = document.getDocumentElement();
+        assertThat(root.getNamespaceURI()).isEqualTo(Pain001ExportWriter.PAIN_001_NS);
+        assertThat(text(root, "MsgId")).isEqualTo("EXP-20251031-20251030180000000");
+        assertThat(text(root, "CreDtTm")).isEqualTo("2025-10-30T18:00:00");
+        assertThat(text(root, "NbOfTxs")).isEqualTo("3");
+        assertThat(text(root, "CtrlSum")).isEqualTo("180.00");
+        assertThat(root.getElementsByTagNameNS(Pain001ExportWriter.PAIN_001_NS, "PmtInf").getLength()).isEqualTo(3);
+        Element amount = (Element) root.getElementsByTagNameNS(Pain001ExportWriter.PAIN_001_NS, "InstdAmt").item(1);
+        assertThat(amount.getAttribute("Ccy")).isEqualTo("USD");
+        assertThat(amount.getTextContent()).isEqualTo("20.00");
+        assertThat(text(root, "Ustrd")).isEqualTo("Invoice 1, \"October\"");
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    void shouldWriteCsvQuotingFieldsThatNeedIt() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exporter.export(DATE, PaymentOrder.PaymentOrderStatus.PENDING, PaymentOrderExportFormat.CSV, out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n")).containsExactly(
+                CsvExportWriter.HEADER,
+                "PO-1,EXT-PO-1,ES9121000418450200051332,DE89370400440532013000,150.75,EUR,2025-10-31,PENDING,"
+                        + "\"Invoice 1, \"\"October\"\"\",2025-10-30T10:15:00,2025-10-30T10:15:00",
+                "PO-2,EXT-PO-2,ES9121000418450200051332,DE89370400440532013000,20.00,USD,2025-10-31,PENDING,,"
+                        + "2025-10-30T10:15:00,2025-10-30T10:15:00",
+                "PO-3,EXT-PO-3,ES9121000418450200051332,DE89370400440532013000,9.25,EUR,2025-10-31,PENDING,,"
+                        + "2025-10-30T10:15:00,2025-10-30T10:15:00");
+    }
+
+    @Test
+    void shouldReplaceTheFileOfTheDateAtomically() throws Exception {
+        // Given
+        Path previous = directory.resolve("payment-orders-2025-10-31-PENDING.csv");
+        Files.writeString(previous, "stale");
+
+        // When
+        PaymentOrderExportSummary summary = exporter.exportToFile(DATE, PaymentOrder.PaymentOrderStatus.PENDING,
+                PaymentOrderExportFormat.CSV);
+
+        // Then
+        assertThat(summary.getFile()).isEqualTo(previous);
+        assertThat(Files.readAllLines(previous)).hasSize(4);
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(previous);
+        }
+    }
+
+    private static String text(Element root, String name) {
+        return root.getElementsByTagNameNS(Pain001ExportWriter.PAIN_001_NS, name).item(0).getTextContent();
+    }
+
+    private static PaymentOrder order(String id, String amount, String currency, String remittanceInformation) {
+        LocalDateTime time = LocalDateTime.of(2025, 10, 30, 10, 15);
+        return PaymentOrder.builder()
+                .id(id)
+                .externalReference("EXT-" + id)
+                .debtorAccount(new Account("ES9121000418450200051332"))
+                .creditorAccount(new Account("DE89370400440532013000"))
+                .instructedAmount(new Amount(new BigDecimal(amount), currency))
+                .remittanceInformation(remittanceInformation)
+                .requestedExecutionDate(DATE)
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .createdAt(time)
+                .lastUpdate(time)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeBasedPaymentOrderIdGeneratorTest {
+
+    @Test
+    void shouldGenerateUniqueIdsAcrossThreadsAndNodes() throws Exception {
+        // Given
+        var nodeA = new TimeBasedPaymentOrderIdGenerator(1, Clock.systemUTC());
+        var nodeB = new TimeBasedPaymentOrderIdGenerator(2, Clock.systemUTC());
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            var generator = t % 2 == 0 ? nodeA : nodeB;
+            tasks.add(executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(ids).hasSize(8 * 20_000);
+    }
+
+    @Test
+    void shouldSortIdsByCreationTimeAndStayMonotonicWhenClockStepsBack() {
+        // Given
+        var clock = new SteppingClock(Instant.parse("2025-10-31T10:00:00Z"));
+        var generator = new TimeBasedPaymentOrderIdGenerator(7, clock);
+
+        // When
+        String first = generator.nextId();
+        clock.instant = clock.instant.plusMillis(5);
+        String second = generator.nextId();
+        clock.instant = clock.instant.minusSeconds(1);
+        String third = generator.nextId();
+
+        // Then
+        assertThat(first).startsWith("PO-").hasSize(16);
+        assertThat(first).isLessThan(second);
+        assertThat(second).isLessThan(third);
+        long value = PaymentOrderIds.parse(second);
+        assertThat(value >>> 22).isEqualTo(clock.instant.plusSeconds(1).toEpochMilli() - TimeBasedPaymentOrderIdGenerator.EPOCH_MILLIS);
+        assertThat((value >>> 12) & TimeBasedPaymentOrderIdGenerator.MAX_NODE_ID).isEqualTo(7);
+    }
+
+    @Test
+    void shouldTakeNodeIdFromConfigurationOrOptedInReplicaOrdinal() {
+        // When & Then
+        assertThat(TimeBasedPaymentOrderIdGenerator.resolveNodeId(5, true, "payment-initiation-3")).isEqualTo(5);
+        assertThat(TimeBasedPaymentOrderIdGenerator.resolveNodeId(null, true, "payment-initiation-3")).isEqualTo(3);
+        assertThatThrownBy(() -> TimeBasedPaymentOrderIdGenerator.resolveNodeId(null, false, "payment-initiation-3"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> TimeBasedPaymentOrderIdGenerator.resolveNodeId(null, false, "ip-10-0-1-23"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> TimeBasedPaymentOrderIdGenerator.resolveNodeId(
+                null, true, "payment-initiation-7d9f8b6c5-x2k4p"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> TimeBasedPaymentOrderIdGenerator.resolveNodeId(null, true, "payment-initiation-1024"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldBorrowNextMillisecondWhenStripeIsExhausted() {
+        // Given
+        var clock = new SteppingClock(Instant.parse("2025-10-31T10:00:00Z"));
+        var generator = new TimeBasedPaymentOrderIdGenerator(0, clock);
+
+        // When
+        long previous = -1;
+        for (int i = 0; i < 1_000; i++) {
+            long next = generator.nextValue();
+
+            // Then
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void shouldRoundTripTextForm() {
+        assertThat(PaymentOrderIds.parse(PaymentOrderIds.format(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+        assertThat(PaymentOrderIds.parse(PaymentOrderIds.format(42))).isEqualTo(42);
+        assertThat(PaymentOrderIds.parse("PO-0001")).isEqualTo(-1);
+    }
+
+    private static final class SteppingClock extends Clock {
+        private Instant instant;
+
+        private SteppingClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
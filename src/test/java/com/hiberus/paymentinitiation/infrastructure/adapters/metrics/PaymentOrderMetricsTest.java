@@ -0,0 +1,82 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.metrics;
+
+import com.hiberus.paymentinitiation.application.ports.output.PaymentOrderRepositoryPort;
+import com.hiberus.paymentinitiation.application.services.PaymentOrderExecutionEngine;
+import com.hiberus.paymentinitiation.application.services.PaymentOrderDuplicateDetector;
+import com.hiberus.paymentinitiation.application.services.PaymentOrderExposureProjection;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.InMemoryPaymentOrderRepositoryAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentOrderMetricsTest {
+
+    @Test
+    void shouldTimeRepositoryCallsAndCountLookupHits() {
+        // Given
+        var registry = new SimpleMeterRegistry();
+        var factory = new AspectJProxyFactory(new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties())));
+        factory.addAspect(new PaymentOrderPortMetricsAspect(registry));
+        PaymentOrderRepositoryPort repository = factory.getProxy();
+        repository.save(order(PaymentOrder.PaymentOrderStatus.PENDING));
+
+        // When
+        repository.findById("PO-1");
+        repository.findById("PO-1");
+        repository.findById("PO-2");
+
+        // Then
+        assertThat(registry.get(PaymentOrderPortMetricsAspect.TIMER).tags("port", "repository", "method", "findById").timer().count()).isEqualTo(3);
+        assertThat(registry.get(PaymentOrderPortMetricsAspect.TIMER).tags("port", "repository", "method", "save").timer().count()).isEqualTo(1);
+        assertThat(registry.get("payment.orders.lookups").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(registry.get("payment.orders.lookups").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountStatusTransitionsAndRepositorySize() {
+        // Given
+        var registry = new SimpleMeterRegistry();
+        var repository = new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+        var beanFactory = new StaticListableBeanFactory();
+        new PaymentOrderMetrics(registry, repository, beanFactory.getBeanProvider(PaymentOrderExecutionEngine.class),
+                beanFactory.getBeanProvider(PaymentOrderExposureProjection.class),
+                beanFactory.getBeanProvider(PaymentOrderDuplicateDetector.class));
+
+        // When
+        repository.save(order(PaymentOrder.PaymentOrderStatus.PENDING));
+        repository.save(order(PaymentOrder.PaymentOrderStatus.PENDING));
+        repository.save(order(PaymentOrder.PaymentOrderStatus.EXECUTED));
+
+        // Then
+        assertThat(registry.get("payment.orders.status").tag("status", "PENDING").counter().count()).isEqualTo(1);
+        assertThat(registry.get("payment.orders.status").tag("status", "EXECUTED").counter().count()).isEqualTo(1);
+        assertThat(registry.get("payment.orders.stored").gauge().value()).isEqualTo(1);
+    }
+
+    private static PaymentOrder order(PaymentOrder.PaymentOrderStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        return PaymentOrder.builder()
+                .id("PO-1")
+                .externalReference("EXT-1")
+                .debtorAccount(new Account("ES9121000418450200051332"))
+                .creditorAccount(new Account("ES7921000813610123456789"))
+                .instructedAmount(new Amount(new BigDecimal("10.00"), "EUR"))
+                .requestedExecutionDate(LocalDate.now())
+                .status(status)
+                .createdAt(now)
+                .lastUpdate(now)
+                .build();
+    }
+}
@@ -0,0 +1,244 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryPaymentOrderRepositoryAdapterTest {
+
+    @Test
+    void shouldReturnOriginalOrderWhenExternalReferenceIsReplayed() {
+        // Given
+        var repository = new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+        var original = repository.saveIfAbsent(order("PO-1", "EXT-1", "DEBTOR-A"));
+
+        // When
+        var replayed = repository.saveIfAbsent(order("PO-2", "EXT-1", "DEBTOR-A"));
+
+        // Then
+        assertThat(replayed).isSameAs(original);
+        assertThat(repository.findById("PO-2")).isEmpty();
+    }
+
+    @Test
+    void shouldStoreOneOrderWhenSameReferenceArrivesConcurrently() throws Exception {
+        // Given
+        var repository = new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+        int threads = 16;
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<PaymentOrder>> attempts = IntStream.range(0, threads)
+                .<Callable<PaymentOrder>>mapToObj(i -> () -> {
+                    start.await();
+                    return repository.saveIfAbsent(order("PO-" + i, "EXT-1", "DEBTOR-A"));
+                })
+                .toList();
+
+        // When
+        List<Future<PaymentOrder>> results = attempts.stream().map(executor::submit).toList();
+        start.countDown();
+        Set<String> returnedIds = ConcurrentHashMap.newKeySet();
+        for (Future<PaymentOrder> result : results) {
+            returnedIds.add(result.get().getId());
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(returnedIds).hasSize(1);
+        long stored = IntStream.range(0, threads).filter(i -> repository.findById("PO-" + i).isPresent()).count();
+        assertThat(stored).isEqualTo(1);
+    }
+
+    @Test
+    void shouldScopeReferencesPerDebtorWhenConfigured() {
+        // Given
+        var properties = new IdempotencyProperties();
+        properties.setScope(IdempotencyProperties.Scope.DEBTOR_AND_EXTERNAL_REFERENCE);
+        var repository = new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(properties));
+
+        // When
+        var first = repository.saveIfAbsent(order("PO-1", "EXT-1", "DEBTOR-A"));
+        var second = repository.saveIfAbsent(order("PO-2", "EXT-1", "DEBTOR-B"));
+
+        // Then
+        assertThat(first.getId()).isEqualTo("PO-1");
+        assertThat(second.getId()).isEqualTo("PO-2");
+    }
+
+    @Test
+    void shouldForgetReferencesAfterRetention() {
+        // Given
+        var properties = new IdempotencyProperties();
+        properties.setRetention(Duration.ofMinutes(5));
+        var clock = new MutableClock(Instant.parse("2025-10-31T10:00:00Z"));
+        var index = new IdempotencyIndex(properties, clock);
+        var repository = new InMemoryPaymentOrderRepositoryAdapter(index);
+        repository.saveIfAbsent(order("PO-1", "EXT-1", "DEBTOR-A"));
+
+        // When
+        clock.instant = clock.instant.plus(Duration.ofMinutes(6));
+        var afterRetention = repository.saveIfAbsent(order("PO-2", "EXT-1", "DEBTOR-A"));
+
+        // Then
+        assertThat(afterRetention.getId()).isEqualTo("PO-2");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPageThroughDebtorOrdersWithCursor() {
+        // Given
+        var repository = new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+        var created = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < 25; i++) {
+            repository.save(order("PO-" + i, "EXT-" + i, i % 2 == 0 ? "DEBTOR-A" : "DEBTOR-B").toBuilder()
+                    .createdAt(created.plusMinutes(i))
+                    .build());
+        }
+        var query = PaymentOrderQuery.builder().debtorIban("DEBTOR-A").limit(5).build();
+
+        // When
+        List<String> ids = new ArrayList<>();
+        PaymentOrderPage page = repository.search(query);
+        ids.addAll(page.getItems().stream().map(PaymentOrder::getId).toList());
+        while (page.getNextCursor() != null) {
+            page = repository.search(query.toBuilder().cursor(page.getNextCursor()).build());
+            ids.addAll(page.getItems().stream().map(PaymentOrder::getId).toList());
+        }
+
+        // Then
+        assertThat(ids).containsExactlyElementsOf(IntStream.range(0, 25).filter(i -> i % 2 == 0).mapToObj(i -> "PO-" + i).toList());
+    }
+
+    @Test
+    void shouldKeepIndexesConsistentWhenStatusChanges() {
+        // Given
+        var repository = new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+        var date = LocalDate.of(2025, 3, 10);
+        var created = LocalDateTime.of(2025, 3, 1, 9, 0);
+        var pending = order("PO-1", "EXT-1", "DEBTOR-A").toBuilder().requestedExecutionDate(date).createdAt(created).build();
+        repository.save(pending);
+        repository.save(order("PO-2", "EXT-2", "DEBTOR-A").toBuilder().requestedExecutionDate(date).createdAt(created.plusHours(2)).build());
+
+        // When
+        repository.save(pending.toBuilder().status(PaymentOrder.PaymentOrderStatus.EXECUTED).build());
+
+        // Then
+        var pendingOnDate = PaymentOrderQuery.builder().status(PaymentOrder.PaymentOrderStatus.PENDING).requestedExecutionDate(date).build();
+        assertThat(repository.search(pendingOnDate).getItems()).extracting(PaymentOrder::getId).containsExactly("PO-2");
+        var executed = PaymentOrderQuery.builder().status(PaymentOrder.PaymentOrderStatus.EXECUTED).build();
+        assertThat(repository.search(executed).getItems()).extracting(PaymentOrder::getId).containsExactly("PO-1");
+        var createdWindow = PaymentOrderQuery.builder().createdFrom(created.plusHours(1)).createdTo(created.plusHours(3)).build();
+        assertThat(repository.search(createdWindow).getItems()).extracting(PaymentOrder::getId).containsExactly("PO-2");
+    }
+
+    @Test
+    void shouldResumeFromCursorWhenScanCapIsReached() {
+        // Given
+        var repository = new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+        var created = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < PaymentOrderIndexes.MAX_EXAMINED + 10; i++) {
+            repository.save(order("PO-" + i, "EXT-" + i, "DEBTOR-A").toBuilder()
+                    .requestedExecutionDate(LocalDate.of(2025, 3, 10))
+                    .createdAt(created.plusSeconds(i))
+                    .build());
+        }
+        repository.save(order("PO-LAST", "EXT-LAST", "DEBTOR-A").toBuilder()
+                .requestedExecutionDate(LocalDate.of(2025, 3, 11))
+                .createdAt(created.plusDays(1))
+                .build());
+        var query = PaymentOrderQuery.builder().debtorIban("DEBTOR-A").requestedExecutionDate(LocalDate.of(2025, 3, 11)).build();
+
+        // When
+        PaymentOrderPage first = repository.search(query);
+        PaymentOrderPage second = repository.search(query.toBuilder().cursor(first.getNextCursor()).build());
+
+        // Then
+        assertThat(first.getItems()).isEmpty();
+        assertThat(first.getNextCursor()).isNotNull();
+        assertThat(second.getItems()).extracting(PaymentOrder::getId).containsExactly("PO-LAST");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldSearchStatusWithinCreatedWindowAndPerDebtor() {
+        // Given
+        var repository = new InMemoryPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+        var created = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < 10; i++) {
+            repository.save(order("PO-" + i, "EXT-" + i, i % 2 == 0 ? "DEBTOR-A" : "DEBTOR-B").toBuilder()
+                    .status(i % 3 == 0 ? PaymentOrder.PaymentOrderStatus.EXECUTED : PaymentOrder.PaymentOrderStatus.PENDING)
+                    .requestedExecutionDate(LocalDate.of(2025, 3, 10 + i))
+                    .createdAt(created.plusHours(i))
+                    .build());
+        }
+
+        // When
+        var pendingInWindow = repository.search(PaymentOrderQuery.builder()
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .createdFrom(created.plusHours(2))
+                .createdTo(created.plusHours(8))
+                .build());
+        var executedOfDebtor = repository.search(PaymentOrderQuery.builder()
+                .debtorIban("DEBTOR-A")
+                .status(PaymentOrder.PaymentOrderStatus.EXECUTED)
+                .build());
+
+        // Then
+        assertThat(pendingInWindow.getItems()).extracting(PaymentOrder::getId).containsExactly("PO-2", "PO-4", "PO-5", "PO-7");
+        assertThat(executedOfDebtor.getItems()).extracting(PaymentOrder::getId).containsExactly("PO-0", "PO-6");
+    }
+
+    private static PaymentOrder order(String id, String externalReference, String debtorIban) {
+        return PaymentOrder.builder()
+                .id(id)
+                .externalReference(externalReference)
+                .debtorAccount(new Account(debtorIban))
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.columnar;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import com.hiberus.paymentinitiation.infrastructure.adapters.id.PaymentOrderIds;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarPaymentOrderRepositoryAdapterTest {
+
+    private final ColumnarPaymentOrderRepositoryAdapter repository =
+            new ColumnarPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()));
+
+    @Test
+    void shouldMaterializeStoredOrdersFieldByField() {
+        // Given
+        var generated = order(PaymentOrderIds.format(123_456_789L), new Amount(new BigDecimal("1500.25"), "EUR"));
+        var foreign = order("LEGACY-0001", new Amount(new BigDecimal("123456789012345678901234.5"), "XBT-TEST"))
+                .toBuilder()
+                .remittanceInformation("Fáctura ñ 1")
+                .requestedExecutionDate(null)
+                .build();
+        var sparse = PaymentOrder.builder().id("PO-SPARSE").build();
+
+        // When
+        repository.saveAll(List.of(generated, foreign, sparse));
+
+        // Then
+        assertThat(repository.findById(generated.getId())).contains(generated);
+        assertThat(repository.findById("LEGACY-0001")).contains(foreign);
+        assertThat(repository.findById("PO-SPARSE").orElseThrow())
+                .returns(null, PaymentOrder::getExternalReference)
+                .returns(null, PaymentOrder::getStatus)
+                .returns(null, PaymentOrder::getCreatedAt);
+        assertThat(repository.findById(PaymentOrderIds.format(1L))).isEmpty();
+        assertThat(repository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldOverwriteRowAndReportPreviousState() {
+        // Given
+        var pending = order(PaymentOrderIds.format(7L), new Amount(new BigDecimal("10.00"), "EUR"));
+        List<PaymentOrder> previousStates = new ArrayList<>();
+        repository.addChangeListener((previous, current) -> previousStates.add(previous));
+        repository.save(pending);
+        var executed = pending.toBuilder()
+                .status(PaymentOrder.PaymentOrderStatus.EXECUTED)
+                .lastUpdate(pending.getLastUpdate().plusSeconds(5))
+                .build();
+
+        // When
+        repository.save(executed);
+
+        // Then
+        assertThat(repository.findById(pending.getId())).contains(executed);
+        assertThat(previousStates).containsExactly(null, pending);
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(repository.search(PaymentOrderQuery.builder().status(PaymentOrder.PaymentOrderStatus.EXECUTED).build()).getItems())
+                .containsExactly(executed);
+        assertThat(repository.search(PaymentOrderQuery.builder().status(PaymentOrder.PaymentOrderStatus.PENDING).build()).getItems())
+                .isEmpty();
+    }
+
+    @Test
+    void shouldReturnOriginalOrderWhenExternalReferenceIsReplayed() {
+        // Given
+        var original = repository.saveIfAbsent(order(PaymentOrderIds.format(1L), new Amount(BigDecimal.ONE, "EUR")));
+
+        // When
+        var replayed = repository.saveIfAbsent(order(PaymentOrderIds.format(2L), new Amount(BigDecimal.ONE, "EUR")));
+
+        // Then
+        assertThat(replayed).isEqualTo(original);
+        assertThat(repository.findById(PaymentOrderIds.format(2L))).isEmpty();
+    }
+
+    @Test
+    void shouldPageThroughIndexedRowsInRowOrder() {
+        // Given
+        List<PaymentOrder> stored = new ArrayList<>();
+        for (long id = 0; id < 5; id++) {
+            var order = order(PaymentOrderIds.format(id), new Amount(BigDecimal.TEN, "EUR"));
+            stored.add(id % 2 == 0 ? order : order.toBuilder().creditorAccount(new Account("ES0000000000000000000001")).build());
+        }
+        repository.saveAll(stored);
+        var byDebtor = PaymentOrderQuery.builder().debtorIban("ES9121000418450200051332").limit(2).build();
+
+        // When
+        List<PaymentOrder> pagedByDebtor = new ArrayList<>();
+        String cursor = null;
+        do {
+            var page = repository.search(byDebtor.toBuilder().cursor(cursor).build());
+            pagedByDebtor.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        var byPair = repository.search(byDebtor.toBuilder().creditorIban("ES0000000000000000000001").build());
+
+        // Then
+        assertThat(pagedByDebtor).containsExactlyElementsOf(stored);
+        assertThat(byPair.getItems()).containsExactly(stored.get(1), stored.get(3));
+        assertThat(byPair.getNextCursor()).isNull();
+        assertThat(repository.search(PaymentOrderQuery.builder().debtorIban("ES0000000000000000000002").build()).getItems())
+                .isEmpty();
+    }
+
+    @Test
+    void shouldFindRowOnlyUnderItsCurrentValuesAfterOverwrite() {
+        // Given
+        var original = order(PaymentOrderIds.format(3L), new Amount(BigDecimal.ONE, "EUR"));
+        repository.save(original);
+        var moved = original.toBuilder()
+                .debtorAccount(new Account("ES0000000000000000000002"))
+                .requestedExecutionDate(original.getRequestedExecutionDate().plusDays(1))
+                .build();
+
+        // When
+        repository.save(moved);
+
+        // Then
+        assertThat(repository.search(PaymentOrderQuery.builder().debtorIban("ES9121000418450200051332").build()).getItems())
+                .isEmpty();
+        assertThat(repository.search(PaymentOrderQuery.builder().debtorIban("ES0000000000000000000002").build()).getItems())
+                .containsExactly(moved);
+        assertThat(repository.search(PaymentOrderQuery.builder().requestedExecutionDate(LocalDate.of(2025, 3, 10)).build())
+                .getItems()).isEmpty();
+        assertThat(repository.search(PaymentOrderQuery.builder().requestedExecutionDate(LocalDate.of(2025, 3, 11)).build())
+                .getItems()).containsExactly(moved);
+    }
+
+    @Test
+    void shouldReturnCursorWhenScanVisitsOneChunkWithoutFillingPage() {
+        // Given
+        int orders = ColumnarPaymentOrderRepositoryAdapter.MAX_VISITED + 10;
+        List<PaymentOrder> stored = new ArrayList<>(orders);
+        for (long id = 0; id < orders; id++) {
+            stored.add(order(PaymentOrderIds.format(id), new Amount(BigDecimal.ONE, "EUR")));
+        }
+        var last = stored.get(orders - 1).toBuilder().status(PaymentOrder.PaymentOrderStatus.EXECUTED).build();
+        stored.set(orders - 1, last);
+        repository.saveAll(stored);
+        var query = PaymentOrderQuery.builder().status(PaymentOrder.PaymentOrderStatus.EXECUTED).build();
+
+        // When
+        var first = repository.search(query);
+        var second = repository.search(query.toBuilder().cursor(first.getNextCursor()).build());
+
+        // Then
+        assertThat(first.getItems()).isEmpty();
+        assertThat(first.getNextCursor()).isNotNull();
+        assertThat(second.getItems()).containsExactly(last);
+        assertThat(second.getNextCursor()).isNull();
+        assertThatThrownBy(() -> repository.search(query.toBuilder()
+                .debtorIban("ES9121000418450200051332").cursor(first.getNextCursor()).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void shouldServeConsistentReadsWhileRowsAreAppended() throws Exception {
+        // Given
+        int orders = 200_000;
+        var writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> readers = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            readers.add(executor.submit(() -> {
+                int checked = 0;
+                while (writing.get()) {
+                    long id = (long) (Math.random() * orders);
+                    var found = repository.findById(PaymentOrderIds.format(id));
+                    if (found.isPresent()) {
+                        assertThat(found.get().getExternalReference()).isEqualTo("EXT-" + id);
+                        assertThat(found.get().getInstructedAmount().getAmount()).isEqualByComparingTo(BigDecimal.valueOf(id, 2));
+                        checked++;
+                    }
+                }
+                return checked;
+            }));
+        }
+
+        // When
+        for (long id = 0; id < orders; id++) {
+            repository.save(order(PaymentOrderIds.format(id), new Amount(BigDecimal.valueOf(id, 2), "EUR"))
+                    .toBuilder().externalReference("EXT-" + id).build());
+        }
+        writing.set(false);
+
+        // Then
+        for (Future<Integer> reader : readers) {
+            assertThat(reader.get()).isPositive();
+        }
+        executor.shutdown();
+        assertThat(repository.count()).isEqualTo(orders);
+    }
+
+    private static PaymentOrder order(String id, Amount amount) {
+        LocalDateTime created = LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_456_789);
+        return PaymentOrder.builder()
+                .id(id)
+                .externalReference("EXT-1")
+                .debtorAccount(new Account("ES9121000418450200051332"))
+                .creditorAccount(new Account("ES7921000813610123456789"))
+                .instructedAmount(amount)
+                .remittanceInformation("Invoice 2025-001")
+                .requestedExecutionDate(LocalDate.of(2025, 3, 10))
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .createdAt(created)
+                .lastUpdate(created)
+                .build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.journal;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalPaymentOrderRepositoryAdapterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecoverOrdersAfterRestart() throws IOException {
+        // Given
+        var repository = open();
+        var order = order("PO-1", "EXT-1");
+        repository.saveIfAbsent(order);
+        repository.save(order.toBuilder().status(PaymentOrder.PaymentOrderStatus.EXECUTED).build());
+        repository.close();
+
+        // When
+        var recovered = open();
+
+        // Then
+        assertThat(recovered.findById("PO-1")).get()
+                .isEqualTo(order.toBuilder().status(PaymentOrder.PaymentOrderStatus.EXECUTED).build());
+        assertThat(recovered.saveIfAbsent(order("PO-2", "EXT-1")).getId()).isEqualTo("PO-1");
+        recovered.close();
+    }
+
+    @Test
+    void shouldReleaseExternalReferenceWhenTheWriteFails() throws IOException {
+        // Given
+        var repository = open();
+        var oversized = order("PO-1", "EXT-1").toBuilder().remittanceInformation("x".repeat(128 * 1024)).build();
+        assertThatThrownBy(() -> repository.saveIfAbsent(oversized)).isInstanceOf(IllegalArgumentException.class);
+
+        // When
+        var retried = repository.saveIfAbsent(order("PO-2", "EXT-1"));
+
+        // Then
+        assertThat(retried.getId()).isEqualTo("PO-2");
+        assertThat(repository.findById("PO-2")).isPresent();
+        assertThat(repository.findById("PO-1")).isEmpty();
+        repository.close();
+    }
+
+    @Test
+    void shouldReplayOnlyJournalTailAfterSnapshot() throws IOException {
+        // Given
+        var repository = open();
+        repository.saveAll(IntStream.range(0, 100).mapToObj(i -> order("PO-" + i, "EXT-" + i)).toList());
+        repository.snapshot();
+        repository.save(order("PO-100", "EXT-100"));
+        repository.close();
+
+        // When
+        var recovered = open();
+
+        // Then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .filteredOn(name -> name.startsWith("segment-"))
+                    .hasSize(1);
+        }
+        assertThat(recovered.findById("PO-0")).isPresent();
+        assertThat(recovered.findById("PO-100")).isPresent();
+        recovered.close();
+    }
+
+    @Test
+    void shouldDiscardTornRecordAtTheTail() throws IOException {
+        // Given
+        var repository = open();
+        repository.save(order("PO-1", "EXT-1"));
+        repository.save(order("PO-2", "EXT-2"));
+        repository.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.getFileName().toString().startsWith("segment-")).findFirst().orElseThrow();
+        }
+        corruptLastRecord(segment);
+
+        // When
+        var recovered = open();
+
+        // Then
+        assertThat(recovered.findById("PO-1")).isPresent();
+        assertThat(recovered.findById("PO-2")).isEmpty();
+        recovered.save(order("PO-3", "EXT-3"));
+        recovered.close();
+        var reopened = open();
+        assertThat(reopened.findById("PO-3")).isPresent();
+        reopened.close();
+    }
+
+    @Test
+    void shouldRoundTripEveryFieldThroughTheCodec() {
+        // Given
+        var order = order("PO-1", "EXT-1").toBuilder()
+                .instructedAmount(new Amount(new BigDecimal("123456789012345678901234567890.12"), "EUR"))
+                .remittanceInformation("Factura ñ 001")
+                .duplicateSuspect(true)
+                .build();
+
+        // When
+        var buffer = PaymentOrderCodec.encode(order, ByteBuffer.allocate(8), 1 << 20);
+
+        // Then
+        assertThat(PaymentOrderCodec.decode(buffer)).isEqualTo(order);
+    }
+
+    @Test
+    void shouldDecodeRecordsWrittenBeforeTheFlagsByte() {
+        // Given
+        var order = order("PO-1", "EXT-1");
+        var buffer = PaymentOrderCodec.encode(order.toBuilder().duplicateSuspect(true).build(), ByteBuffer.allocate(8), 1 << 20);
+        buffer.put(0, (byte) 1).limit(buffer.limit() - 1);
+
+        // When
+        var decoded = PaymentOrderCodec.decode(buffer);
+
+        // Then
+        assertThat(decoded).isEqualTo(order);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    private JournalPaymentOrderRepositoryAdapter open() throws IOException {
+        var properties = new JournalProperties();
+        properties.setDirectory(directory);
+        properties.setSegmentSize(DataSize.ofKilobytes(64));
+        var repository = new JournalPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()), properties);
+        repository.recover();
+        return repository;
+    }
+
+    private static void corruptLastRecord(Path segment) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            int offset = 0;
+            int last = 0;
+            while (true) {
+                file.seek(offset);
+                int length = file.readInt();
+                if (length == 0) {
+                    break;
+                }
+                last = offset;
+                offset += 8 + length;
+            }
+            file.seek(last + 12);
+            file.write(0xFF);
+        }
+    }
+
+    private static PaymentOrder order(String id, String externalReference) {
+        LocalDateTime now = LocalDateTime.now();
+        return PaymentOrder.builder()
+                .id(id)
+                .externalReference(externalReference)
+                .debtorAccount(new Account("DEBTOR-IBAN"))
+                .creditorAccount(new Account("CREDITOR-IBAN"))
+                .instructedAmount(new Amount(new BigDecimal("150.75"), "USD"))
+                .requestedExecutionDate(LocalDate.of(2025, 10, 31))
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .createdAt(now)
+                .lastUpdate(now)
+                .build();
+    }
+}
@@ -0,0 +1,236 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.sharded;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.PaymentOrderIndexes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedPaymentOrderRepositoryAdapterTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private ShardedPaymentOrderRepositoryAdapter repository;
+
+    @AfterEach
+    void tearDown() {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void shouldStoreConcurrentWritesAcrossShards() throws Exception {
+        // Given
+        repository = repository(4, ShardingProperties.PartitionKey.ID, false, new IdempotencyProperties());
+        int threads = 8;
+        int perThread = 500;
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<Void>> writers = IntStream.range(0, threads)
+                .<Callable<Void>>mapToObj(t -> () -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        repository.save(order("PO-" + t + "-" + i, "EXT-" + t + "-" + i, "DEBTOR-" + i % 7, i));
+                    }
+                    return null;
+                })
+                .toList();
+
+        // When
+        List<Future<Void>> results = writers.stream().map(executor::submit).toList();
+        start.countDown();
+        for (Future<Void> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(repository.count()).isEqualTo(threads * perThread);
+        assertThat(repository.findById("PO-3-42")).map(PaymentOrder::getExternalReference).contains("EXT-3-42");
+        assertThat(Arrays.stream(repository.shardSizes()).min().orElseThrow()).isGreaterThan(threads * perThread / 8);
+    }
+
+    @Test
+    void shouldMergeShardPagesInIndexOrder() {
+        // Given
+        repository = repository(4, ShardingProperties.PartitionKey.ID, false, new IdempotencyProperties());
+        List<PaymentOrder> saved = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            saved.add(order("PO-" + i, "EXT-" + i, "DEBTOR-A", i));
+        }
+        repository.saveAll(saved);
+
+        // When
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaymentOrderPage page = repository.search(PaymentOrderQuery.builder()
+                    .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                    .limit(4)
+                    .cursor(cursor)
+                    .build());
+            page.getItems().forEach(order -> ids.add(order.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertThat(ids).containsExactlyElementsOf(saved.stream().map(PaymentOrder::getId).toList());
+    }
+
+    @Test
+    void shouldNotSkipPastShardsThatStoppedAtTheScanCap() {
+        // Given
+        repository = repository(4, ShardingProperties.PartitionKey.ID, false, new IdempotencyProperties());
+        List<PaymentOrder> saved = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        // the shards hit the cap around order 4 * MAX_EXAMINED, each at a slightly different one
+        for (int i = 0; i < 4 * PaymentOrderIndexes.MAX_EXAMINED + 400; i++) {
+            boolean match = Math.abs(i - 4 * PaymentOrderIndexes.MAX_EXAMINED) < 100;
+            saved.add(order("PO-" + i, "EXT-" + i, "DEBTOR-A", i).toBuilder()
+                    .requestedExecutionDate(match ? CREATED.toLocalDate().plusDays(1) : CREATED.toLocalDate())
+                    .build());
+            if (match) {
+                expected.add("PO-" + i);
+            }
+        }
+        repository.saveAll(saved);
+
+        // When
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaymentOrderPage page = repository.search(PaymentOrderQuery.builder()
+                    .debtorIban("DEBTOR-A")
+                    .requestedExecutionDate(CREATED.toLocalDate().plusDays(1))
+                    .limit(PaymentOrderQuery.MAX_LIMIT)
+                    .cursor(cursor)
+                    .build());
+            page.getItems().forEach(order -> ids.add(order.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertThat(ids).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldStoreOneOrderWhenSameReferenceArrivesConcurrently() throws Exception {
+        // Given
+        repository = repository(4, ShardingProperties.PartitionKey.ID, false, new IdempotencyProperties());
+        int threads = 16;
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<PaymentOrder>> attempts = IntStream.range(0, threads)
+                .<Callable<PaymentOrder>>mapToObj(i -> () -> {
+                    start.await();
+                    return repository.saveIfAbsent(order("PO-" + i, "EXT-1", "DEBTOR-A", 0));
+                })
+                .toList();
+
+        // When
+        List<Future<PaymentOrder>> results = attempts.stream().map(executor::submit).toList();
+        start.countDown();
+        Set<String> returnedIds = ConcurrentHashMap.newKeySet();
+        for (Future<PaymentOrder> result : results) {
+            returnedIds.add(result.get().getId());
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(returnedIds).hasSize(1);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepDebtorOnOneIsolatedNode() {
+        // Given
+        var idempotency = new IdempotencyProperties();
+        idempotency.setScope(IdempotencyProperties.Scope.DEBTOR_AND_EXTERNAL_REFERENCE);
+        repository = repository(4, ShardingProperties.PartitionKey.DEBTOR_IBAN, true, idempotency);
+        List<PaymentOrder> stored = repository.saveAllIfAbsent(List.of(
+                order("PO-1", "EXT-1", "DEBTOR-A", 0),
+                order("PO-2", "EXT-2", "DEBTOR-A", 1),
+                order("PO-3", "EXT-1", "DEBTOR-B", 2)));
+        var updated = repository.save(stored.get(0).toBuilder().status(PaymentOrder.PaymentOrderStatus.EXECUTED).build());
+
+        // When
+        var replayed = repository.saveIfAbsent(order("PO-4", "EXT-1", "DEBTOR-A", 3));
+        PaymentOrderPage debtorA = repository.search(PaymentOrderQuery.builder().debtorIban("DEBTOR-A").limit(10).build());
+
+        // Then
+        assertThat(replayed).isSameAs(updated);
+        assertThat(repository.findById("PO-3")).isPresent();
+        assertThat(repository.findById("PO-4")).isEmpty();
+        assertThat(debtorA.getItems()).extracting(PaymentOrder::getId).containsExactly("PO-1", "PO-2");
+        assertThat(repository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRejectIsolatedNodesPartitionedById() {
+        // Given
+        var idempotency = new IdempotencyProperties();
+        idempotency.setScope(IdempotencyProperties.Scope.DEBTOR_AND_EXTERNAL_REFERENCE);
+
+        // When / Then
+        assertThatThrownBy(() -> repository(4, ShardingProperties.PartitionKey.ID, true, idempotency))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("DEBTOR_IBAN");
+    }
+
+    @Test
+    void shouldNotifyListenersWithPreviousStateInWriteOrder() {
+        // Given
+        repository = repository(2, ShardingProperties.PartitionKey.ID, false, new IdempotencyProperties());
+        List<String> changes = new ArrayList<>();
+        repository.addChangeListener((previous, current) ->
+                changes.add((previous == null ? "-" : previous.getStatus()) + ">" + current.getStatus()));
+        var pending = repository.save(order("PO-1", "EXT-1", "DEBTOR-A", 0));
+
+        // When
+        repository.save(pending.toBuilder().status(PaymentOrder.PaymentOrderStatus.EXECUTED).build());
+
+        // Then
+        assertThat(changes).containsExactly("->PENDING", "PENDING>EXECUTED");
+    }
+
+    private static ShardedPaymentOrderRepositoryAdapter repository(int shards, ShardingProperties.PartitionKey partitionKey,
+                                                                   boolean isolatedNodes, IdempotencyProperties idempotency) {
+        var sharding = new ShardingProperties();
+        sharding.setShards(shards);
+        sharding.setPartitionKey(partitionKey);
+        sharding.setIsolatedNodes(isolatedNodes);
+        return new ShardedPaymentOrderRepositoryAdapter(sharding, idempotency, new IdempotencyIndex(idempotency));
+    }
+
+    private static PaymentOrder order(String id, String externalReference, String debtorIban, int minute) {
+        return PaymentOrder.builder()
+                .id(id)
+                .externalReference(externalReference)
+                .debtorAccount(new Account(debtorIban))
+                .status(PaymentOrder.PaymentOrderStatus.PENDING)
+                .requestedExecutionDate(CREATED.toLocalDate())
+                .createdAt(CREATED.plusMinutes(minute))
+                .build();
+    }
+}
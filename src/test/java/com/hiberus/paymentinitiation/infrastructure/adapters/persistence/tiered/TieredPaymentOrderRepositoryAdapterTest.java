@@ -0,0 +1,190 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.persistence.tiered;
+
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.domain.PaymentOrderPage;
+import com.hiberus.paymentinitiation.domain.PaymentOrderQuery;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyIndex;
+import com.hiberus.paymentinitiation.infrastructure.adapters.persistence.IdempotencyProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TieredPaymentOrderRepositoryAdapterTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-10-31T10:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    @TempDir
+    Path directory;
+
+    private TieredPaymentOrderRepositoryAdapter repository;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void shouldMoveOldSettledOrdersToDiskAndFaultThemBack() throws IOException {
+        // Given
+        repository = open(4);
+        List<PaymentOrder> settled = IntStream.range(0, 10)
+                .mapToObj(i -> order("PO-" + i, PaymentOrder.PaymentOrderStatus.EXECUTED, NOW.minusHours(2)))
+                .toList();
+        repository.saveAll(settled);
+        repository.save(order("PO-pending", PaymentOrder.PaymentOrderStatus.PENDING, NOW.minusHours(2)));
+        repository.save(order("PO-recent", PaymentOrder.PaymentOrderStatus.FAILED, NOW.minusMinutes(5)));
+
+        // When
+        int evicted = repository.sweep();
+
+        // Then
+        assertThat(evicted).isEqualTo(10);
+        assertThat(repository.count()).isEqualTo(12);
+        assertThat(repository.findById("PO-7")).contains(settled.get(7));
+        assertThat(repository.findById("PO-missing")).isEmpty();
+        assertThat(repository.search(PaymentOrderQuery.builder().limit(50).build()).getItems())
+                .extracting(PaymentOrder::getId)
+                .containsExactly("PO-pending", "PO-recent");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString())).containsExactly("cold-0000000000000000.seg");
+        }
+    }
+
+    @Test
+    void shouldPageThroughBothTiersWhenSearchingByExecutionDate() throws IOException {
+        // Given
+        repository = open(4);
+        IntStream.range(0, 10).forEach(i ->
+                repository.save(order("PO-" + i, PaymentOrder.PaymentOrderStatus.EXECUTED, NOW.minusHours(2))));
+        repository.save(order("PO-other", PaymentOrder.PaymentOrderStatus.EXECUTED, NOW.minusHours(2)).toBuilder()
+                .requestedExecutionDate(LocalDate.of(2025, 10, 29))
+                .build());
+        repository.sweep();
+        repository.save(order("PO-pending", PaymentOrder.PaymentOrderStatus.PENDING, NOW.minusHours(2)));
+        repository.save(repository.findById("PO-5").orElseThrow().toBuilder().lastUpdate(NOW).build());
+
+        // When
+        List<String> ids = new ArrayList<>();
+        PaymentOrderQuery query = PaymentOrderQuery.builder()
+                .requestedExecutionDate(LocalDate.of(2025, 10, 30))
+                .limit(4)
+                .build();
+        PaymentOrderPage page;
+        do {
+            page = repository.search(query);
+            page.getItems().forEach(order -> ids.add(order.getId()));
+            query = query.toBuilder().cursor(page.getNextCursor()).build();
+        } while (page.getNextCursor() != null);
+
+        // Then
+        assertThat(ids).containsExactly("PO-0", "PO-1", "PO-2", "PO-3", "PO-4", "PO-5", "PO-6", "PO-7", "PO-8", "PO-9",
+                "PO-pending");
+    }
+
+    @Test
+    void shouldPreferOrderSavedAgainOverItsCopyOnDisk() throws IOException {
+        // Given
+        repository = open(16);
+        var executed = order("PO-1", PaymentOrder.PaymentOrderStatus.EXECUTED, NOW.minusHours(2));
+        repository.save(executed);
+        repository.sweep();
+
+        // When
+        var corrected = repository.save(executed.toBuilder()
+                .status(PaymentOrder.PaymentOrderStatus.FAILED)
+                .lastUpdate(NOW)
+                .build());
+
+        // Then
+        assertThat(repository.findById("PO-1")).contains(corrected);
+        assertThat(repository.sweep()).isZero();
+    }
+
+    @Test
+    void shouldCountAnOrderOnceAndCompactSupersededSegments() throws IOException {
+        // Given
+        repository = open(16);
+        var executed = order("PO-1", PaymentOrder.PaymentOrderStatus.EXECUTED, NOW.minusHours(3));
+        repository.saveIfAbsent(executed);
+        repository.save(order("PO-2", PaymentOrder.PaymentOrderStatus.PENDING, NOW));
+        repository.sweep();
+        var corrected = repository.save(executed.toBuilder()
+                .status(PaymentOrder.PaymentOrderStatus.FAILED)
+                .lastUpdate(NOW.minusHours(2))
+                .build());
+        assertThat(repository.count()).isEqualTo(2);
+
+        // When
+        int evicted = repository.sweep();
+
+        // Then
+        assertThat(evicted).isEqualTo(1);
+        assertThat(repository.count()).isEqualTo(2);
+        assertThat(repository.coldSegments()).isEqualTo(1);
+        assertThat(repository.findById("PO-1")).contains(corrected);
+        assertThat(repository.saveIfAbsent(order("PO-3", PaymentOrder.PaymentOrderStatus.PENDING, NOW).toBuilder()
+                .externalReference("EXT-PO-1")
+                .build())).isEqualTo(corrected);
+    }
+
+    @Test
+    void shouldDeleteSegmentsLeftByPreviousRun() throws IOException {
+        // Given
+        repository = open(16);
+        repository.save(order("PO-1", PaymentOrder.PaymentOrderStatus.EXECUTED, NOW.minusHours(2)));
+        repository.sweep();
+        repository.close();
+
+        // When
+        repository = open(16);
+
+        // Then
+        assertThat(repository.findById("PO-1")).isEmpty();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private TieredPaymentOrderRepositoryAdapter open(int blockSize) throws IOException {
+        var properties = new TieredStorageProperties();
+        properties.setDirectory(directory);
+        properties.setEvictAfter(Duration.ofHours(1));
+        properties.setBlockSize(blockSize);
+        return new TieredPaymentOrderRepositoryAdapter(new IdempotencyIndex(new IdempotencyProperties()), properties, CLOCK);
+    }
+
+    private static PaymentOrder order(String id, PaymentOrder.PaymentOrderStatus status, LocalDateTime lastUpdate) {
+        return PaymentOrder.builder()
+                .id(id)
+                .externalReference("EXT-" + id)
+                .debtorAccount(new Account("ES9121000418450200051332"))
+                .creditorAccount(new Account("ES7921000813610123456789"))
+                .instructedAmount(new Amount(new BigDecimal("100.00"), "EUR"))
+                .remittanceInformation("Invoice " + id)
+                .requestedExecutionDate(LocalDate.of(2025, 10, 30))
+                .status(status)
+                .createdAt(lastUpdate.minusMinutes(1))
+                .lastUpdate(lastUpdate)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.soap;
+
+import com.hiberus.paymentinitiation.application.ports.input.PaymentOrderUseCase;
+import com.hiberus.paymentinitiation.domain.Account;
+import com.hiberus.paymentinitiation.domain.Amount;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.admission.AdmissionRejectedException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.xpath;
+
+@WebMvcTest(LegacyPaymentOrderSoapControllerAdapter.class)
+class LegacyPaymentOrderSoapControllerAdapterTest {
+
+    private static final String ENVELOPE = "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+            + "<soapenv:Header/><soapenv:Body>%s</soapenv:Body></soapenv:Envelope>";
+    private static final String SUBMIT = """
+            <SubmitPaymentOrderRequest xmlns="http://legacy.bank/payments">
+              <externalId>EXT-123</externalId>
+              <debtorIban>EC12DEBTOR</debtorIban>
+              <creditorIban>EC98CREDITOR</creditorIban>
+              <amount>150.75</amount>
+              <currency>USD</currency>
+              <remittanceInfo>Factura 001-123</remittanceInfo>
+              <requestedExecutionDate>2025-10-31</requestedExecutionDate>
+            </SubmitPaymentOrderRequest>""";
+    private static final String STATUS = """
+            <GetPaymentOrderStatusRequest xmlns="http://legacy.bank/payments">
+              <paymentOrderId>PO-0001</paymentOrderId>
+            </GetPaymentOrderStatusRequest>""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PaymentOrderUseCase useCase;
+
+    @Test
+    void shouldSubmitPaymentOrderFromSoapEnvelope() throws Exception {
+        // Given
+        when(useCase.initiatePaymentOrder(any())).thenReturn(order(PaymentOrder.PaymentOrderStatus.PENDING));
+        ArgumentCaptor<PaymentOrder> captor = ArgumentCaptor.forClass(PaymentOrder.class);
+
+        // When / Then
+        mockMvc.perform(post("/legacy/payments")
+                .contentType(MediaType.TEXT_XML)
+                .header("SOAPAction", "submit")
+                .content(ENVELOPE.formatted(SUBMIT)))
+                .andExpect(status().isOk())
+                .andExpect(xpath("//*[local-name()='paymentOrderId']").string("PO-0001"))
+                .andExpect(xpath("//*[local-name()='status']").string("ACCEPTED"));
+        verify(useCase).initiatePaymentOrder(captor.capture());
+        PaymentOrder request = captor.getValue();
+        assertThat(request.getExternalReference()).isEqualTo("EXT-123");
+        assertThat(request.getDebtorAccount().getIban()).isEqualTo("EC12DEBTOR");
+        assertThat(request.getCreditorAccount().getIban()).isEqualTo("EC98CREDITOR");
+        assertThat(request.getInstructedAmount().getAmount()).isEqualByComparingTo("150.75");
+        assertThat(request.getInstructedAmount().getCurrency()).isEqualTo("USD");
+        assertThat(request.getRemittanceInformation()).isEqualTo("Factura 001-123");
+        assertThat(request.getRequestedExecutionDate()).isEqualTo(LocalDate.of(2025, 10, 31));
+    }
+
+    @Test
+    void shouldMapExecutedStatusToSettledForBarePayload() throws Exception {
+        // Given
+        when(useCase.retrievePaymentOrderStatus("PO-0001")).thenReturn(Optional.of(order(PaymentOrder.PaymentOrderStatus.EXECUTED)));
+
+        // When / Then
+        mockMvc.perform(post("/legacy/payments")
+                .contentType(MediaType.TEXT_XML)
+                .content(STATUS))
+                .andExpect(status().isOk())
+                .andExpect(xpath("/*[local-name()='GetPaymentOrderStatusResponse']/*[local-name()='status']")
+                        .string("SETTLED"))
+                .andExpect(xpath("//*[local-name()='lastUpdate']").exists());
+    }
+
+    @Test
+    void shouldAnswerUnknownOrderWithClientFault() throws Exception {
+        // Given
+        when(useCase.retrievePaymentOrderStatus("PO-0001")).thenReturn(Optional.empty());
+
+        // When / Then
+        mockMvc.perform(post("/legacy/payments")
+                .contentType(MediaType.TEXT_XML)
+                .content(ENVELOPE.formatted(STATUS)))
+                .andExpect(status().isInternalServerError())
+                .andExpect(xpath("//faultcode").string("soap:Client"))
+                .andExpect(xpath("//faultstring").string("Payment order not found: PO-0001"));
+    }
+
+    @Test
+    void shouldAnswerMissingFieldWithClientFault() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/legacy/payments")
+                .contentType(MediaType.TEXT_XML)
+                .content(ENVELOPE.formatted(SUBMIT.replace("<amount>150.75</amount>", ""))))
+                .andExpect(status().isInternalServerError())
+                .andExpect(xpath("//faultstring").string("Missing amount"));
+    }
+
+    @Test
+    void shouldAnswerAdmissionRejectionWithServerFault() throws Exception {
+        // Given
+        when(useCase.initiatePaymentOrder(any())).thenThrow(
+                new AdmissionRejectedException(AdmissionRejectedException.Reason.DEBTOR_RATE, Duration.ofMillis(1500)));
+
+        // When / Then
+        mockMvc.perform(post("/legacy/payments")
+                .contentType(MediaType.TEXT_XML)
+                .content(ENVELOPE.formatted(SUBMIT)))
+                .andExpect(status().isInternalServerError())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(xpath("//faultcode").string("soap:Server"))
+                .andExpect(xpath("//faultstring").string("Too many payment orders for this debtor account"));
+    }
+
+    private static PaymentOrder order(PaymentOrder.PaymentOrderStatus status) {
+        return PaymentOrder.builder()
+                .id("PO-0001")
+                .externalReference("EXT-123")
+                .debtorAccount(new Account("EC12DEBTOR"))
+                .creditorAccount(new Account("EC98CREDITOR"))
+                .instructedAmount(new Amount(new BigDecimal("150.75"), "USD"))
+                .requestedExecutionDate(LocalDate.of(2025, 10, 31))
+                .status(status)
+                .createdAt(LocalDateTime.of(2025, 10, 30, 16, 25, 30))
+                .lastUpdate(LocalDateTime.of(2025, 10, 30, 16, 25, 30))
+                .build();
+    }
+}
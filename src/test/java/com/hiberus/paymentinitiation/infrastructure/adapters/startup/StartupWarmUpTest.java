@@ -0,0 +1,82 @@
+package com.hiberus.paymentinitiation.infrastructure.adapters.startup;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.hiberus.paymentinitiation.application.services.PaymentOrderValidator;
+import com.hiberus.paymentinitiation.application.services.ValidationProperties;
+import com.hiberus.paymentinitiation.domain.InvalidPaymentOrderException;
+import com.hiberus.paymentinitiation.domain.PaymentOrder;
+import com.hiberus.paymentinitiation.infrastructure.adapters.api.PaymentOrderJsonModule;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StartupWarmUpTest {
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<byte[]> bodies = new CopyOnWriteArrayList<>();
+    private final MockEnvironment environment = new MockEnvironment();
+    private final WarmUpProperties properties = new WarmUpProperties();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI());
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            if (body.length > 0) {
+                bodies.add(body);
+            }
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        environment.setProperty("local.server.port", Integer.toString(server.getAddress().getPort()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldSendOnlyRequestsThatChangeNothing() throws IOException {
+        // Given
+        properties.setEnabled(true);
+        properties.setRounds(2);
+
+        // When
+        new StartupWarmUp(properties, environment).run(new DefaultApplicationArguments());
+
+        // Then
+        assertThat(requests).hasSize(8)
+                .allMatch(request -> !request.startsWith("POST") || request.equals("POST /payment-initiation/payment-orders"))
+                .filteredOn(request -> request.startsWith("GET")).hasSize(6);
+        assertThat(bodies).hasSize(2);
+        PaymentOrder initiation = JsonMapper.builder().findAndAddModules().addModule(new PaymentOrderJsonModule()).build()
+                .readValue(bodies.get(0), PaymentOrder.class);
+        assertThatThrownBy(() -> new PaymentOrderValidator(new ValidationProperties()).validate(initiation))
+                .isInstanceOf(InvalidPaymentOrderException.class)
+                .hasMessageContaining("requestedExecutionDate");
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        // When
+        new StartupWarmUp(properties, environment).run(new DefaultApplicationArguments());
+
+        // Then
+        assertThat(requests).isEmpty();
+    }
+}